@@ -0,0 +1,55 @@
+package edu.neu.coe.info6205.jmh;
+
+import edu.neu.coe.info6205.sort.Sort;
+import edu.neu.coe.info6205.util.Config;
+import edu.neu.coe.info6205.util.workload.Distribution;
+import edu.neu.coe.info6205.util.workload.Workload;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JMH benchmark of the elementary (sub-linearithmic) sorts, which are only feasible for small sizes.
+ * See SortBenchmark for the rationale of the setup.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+@State(Scope.Thread)
+public class ElementarySortBenchmark {
+
+    @Param({"1000", "10000"})
+    public int n;
+
+    @Param({"UNIFORM", "SORTED", "REVERSE", "NEARLY_SORTED", "FEW_UNIQUE"})
+    public Distribution shape;
+
+    @Param({"InsertionSort", "ShellSort"})
+    public String sorter;
+
+    @Setup(Level.Trial)
+    public void setupTrial() throws IOException {
+        pristine = new Workload(shape, SortBenchmark.SEED).integers(n);
+        xs = new Integer[n];
+        sort = SortBenchmark.create(sorter, n, Config.load(ElementarySortBenchmark.class));
+        sort.init(n);
+    }
+
+    @Setup(Level.Invocation)
+    public void setupInvocation() {
+        System.arraycopy(pristine, 0, xs, 0, n);
+    }
+
+    @Benchmark
+    public Integer[] sort() {
+        sort.sort(xs, false);
+        return xs;
+    }
+
+    private Integer[] pristine;
+    private Integer[] xs;
+    private Sort<Integer> sort;
+}
@@ -0,0 +1,58 @@
+package edu.neu.coe.info6205.jmh;
+
+import edu.neu.coe.info6205.hashtable.HashTable;
+import edu.neu.coe.info6205.util.workload.Distribution;
+import edu.neu.coe.info6205.util.workload.Workload;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JMH benchmark of hashtable.HashTable (linear probing): n puts into a table sized for the given load factor,
+ * and then n lookups of the same keys.
+ * <p>
+ * NOTE HashTable compares keys by identity, so the lookups use the very Integer objects which were put.
+ * SORTED keys are the best case (consecutive hash codes, so no collisions); UNIFORM keys cluster as usual.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+@State(Scope.Thread)
+public class HashTableBenchmark {
+
+    @Param({"10000", "100000", "1000000"})
+    public int n;
+
+    @Param({"UNIFORM", "SORTED"})
+    public Distribution shape;
+
+    @Param({"0.5", "0.75", "0.9"})
+    public double load;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        keys = new Workload(shape, SortBenchmark.SEED).integers(n);
+        capacity = (int) Math.ceil(n / load);
+        table = new HashTable(capacity);
+        for (Integer key : keys) table.put(key, key);
+    }
+
+    @Benchmark
+    public HashTable put() {
+        final HashTable result = new HashTable(capacity);
+        for (Integer key : keys) result.put(key, key);
+        return result;
+    }
+
+    @Benchmark
+    public void get(Blackhole blackhole) {
+        for (Integer key : keys) blackhole.consume(table.getValueMaybe(key));
+    }
+
+    private Integer[] keys;
+    private int capacity;
+    private HashTable table;
+}
@@ -0,0 +1,50 @@
+package edu.neu.coe.info6205.jmh;
+
+import edu.neu.coe.info6205.sort.par.ParSort;
+import edu.neu.coe.info6205.util.workload.Distribution;
+import edu.neu.coe.info6205.util.workload.Workload;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JMH benchmark of ParSort (on ints), with the same sizes and shapes as SortBenchmark.
+ * <p>
+ * This is a class of its own (rather than a method of SortBenchmark) so that its state does not include the sorter parameter,
+ * which would otherwise run the very same work once for each sorter.
+ * The input is regenerated before every invocation, as in SortBenchmark.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 2, jvmArgsAppend = {"-Xms2g", "-Xmx2g"})
+@State(Scope.Thread)
+public class ParSortBenchmark {
+
+    @Param({"10000", "100000", "1000000"})
+    public int n;
+
+    @Param({"UNIFORM", "SORTED", "REVERSE", "NEARLY_SORTED", "FEW_UNIQUE"})
+    public Distribution shape;
+
+    @Setup(Level.Trial)
+    public void setupTrial() {
+        pristine = new Workload(shape, SortBenchmark.SEED).ints(n);
+        xs = new int[n];
+    }
+
+    @Setup(Level.Invocation)
+    public void setupInvocation() {
+        System.arraycopy(pristine, 0, xs, 0, n);
+    }
+
+    @Benchmark
+    public int[] parSort() {
+        ParSort.sort(xs, 0, xs.length);
+        return xs;
+    }
+
+    private int[] pristine;
+    private int[] xs;
+}
@@ -0,0 +1,79 @@
+package edu.neu.coe.info6205.jmh;
+
+import edu.neu.coe.info6205.util.parallel.ParallelPrimitives;
+import edu.neu.coe.info6205.util.workload.Distribution;
+import edu.neu.coe.info6205.util.workload.Workload;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JMH benchmark of the parallel primitives (util.parallel.ParallelPrimitives) used by the counting sorts:
+ * scan, histogram, scatter and pack, on ints.
+ * <p>
+ * Each trial has a pool of its own with the given number of threads (and the default grain),
+ * so that threads = 1 is the sequential baseline: the same blocks, run one after another.
+ * The keys are the low byte of each element, i.e. one pass of an LSD radix sort.
+ * The scans are in place, so the array is restored before every invocation.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 2, jvmArgsAppend = {"-Xms2g", "-Xmx2g"})
+@State(Scope.Thread)
+public class ParallelPrimitivesBenchmark {
+
+    @Param({"100000", "1000000", "10000000"})
+    public int n;
+
+    @Param({"1", "2", "4"})
+    public int threads;
+
+    @Setup(Level.Trial)
+    public void setupTrial() {
+        pool = new ForkJoinPool(threads);
+        parallel = new ParallelPrimitives(pool, ParallelPrimitives.DEFAULT_GRAIN);
+        pristine = new Workload(Distribution.UNIFORM, SortBenchmark.SEED).ints(n);
+        xs = new int[n];
+        dst = new int[n];
+    }
+
+    @Setup(Level.Invocation)
+    public void setupInvocation() {
+        System.arraycopy(pristine, 0, xs, 0, n);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        pool.shutdown();
+    }
+
+    @Benchmark
+    public int exclusiveScan() {
+        return parallel.exclusiveScan(xs, 0, n);
+    }
+
+    @Benchmark
+    public int[] histogram() {
+        return parallel.histogram(0, n, i -> xs[i] & 0xFF, 256);
+    }
+
+    @Benchmark
+    public int[] scatter() {
+        parallel.scatter(xs, 0, n, i -> xs[i] & 0xFF, 256, dst, 0);
+        return dst;
+    }
+
+    @Benchmark
+    public int[] pack() {
+        return parallel.pack(xs, 0, n, x -> (x & 1) == 0);
+    }
+
+    private ForkJoinPool pool;
+    private ParallelPrimitives parallel;
+    private int[] pristine;
+    private int[] xs;
+    private int[] dst;
+}
@@ -0,0 +1,46 @@
+package edu.neu.coe.info6205.jmh;
+
+import edu.neu.coe.info6205.pq.PQException;
+import edu.neu.coe.info6205.pq.PriorityQueue;
+import edu.neu.coe.info6205.util.workload.Distribution;
+import edu.neu.coe.info6205.util.workload.Workload;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.Comparator;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JMH benchmark of pq.PriorityQueue: n insertions (give) followed by n removals (take), with and without Floyd's trick.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+@State(Scope.Thread)
+public class PriorityQueueBenchmark {
+
+    @Param({"10000", "100000", "1000000"})
+    public int n;
+
+    @Param({"UNIFORM", "SORTED", "REVERSE", "FEW_UNIQUE"})
+    public Distribution shape;
+
+    @Param({"false", "true"})
+    public boolean floyd;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        xs = new Workload(shape, SortBenchmark.SEED).integers(n);
+    }
+
+    @Benchmark
+    public void giveAndTake(Blackhole blackhole) throws PQException {
+        final PriorityQueue<Integer> pq = new PriorityQueue<>(n, true, Comparator.<Integer>naturalOrder(), floyd);
+        for (Integer x : xs) pq.give(x);
+        while (!pq.isEmpty()) blackhole.consume(pq.take());
+    }
+
+    private Integer[] xs;
+}
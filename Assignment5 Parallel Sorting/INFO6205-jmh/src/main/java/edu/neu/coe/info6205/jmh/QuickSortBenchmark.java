@@ -0,0 +1,60 @@
+package edu.neu.coe.info6205.jmh;
+
+import edu.neu.coe.info6205.sort.Sort;
+import edu.neu.coe.info6205.util.Config;
+import edu.neu.coe.info6205.util.workload.Distribution;
+import edu.neu.coe.info6205.util.workload.Workload;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JMH benchmark of the quicksorts (on Integers): see SortBenchmark for the rationale of the setup.
+ * <p>
+ * NOTE none of these quicksorts shuffles its input, and their pivots are taken from the ends of each partition.
+ * So, on SORTED or REVERSE input (and, for QuickSort_DualPivot, FEW_UNIQUE input), they take quadratic time
+ * and recurse about n deep, which overflows the stack even for n = 10000.
+ * For that reason, the only default shape is UNIFORM.
+ * Other shapes may be given with -p shape=..., but only for sizes small enough for the stack.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 2, jvmArgsAppend = {"-Xms2g", "-Xmx2g"})
+@State(Scope.Thread)
+public class QuickSortBenchmark {
+
+    @Param({"10000", "100000", "1000000"})
+    public int n;
+
+    @Param({"UNIFORM"})
+    public Distribution shape;
+
+    @Param({"QuickSort_Basic", "QuickSort_3way", "QuickSort_DualPivot"})
+    public String sorter;
+
+    @Setup(Level.Trial)
+    public void setupTrial() throws IOException {
+        pristine = new Workload(shape, SortBenchmark.SEED).integers(n);
+        xs = new Integer[n];
+        sort = SortBenchmark.create(sorter, n, Config.load(QuickSortBenchmark.class));
+        sort.init(n);
+    }
+
+    @Setup(Level.Invocation)
+    public void setupInvocation() {
+        System.arraycopy(pristine, 0, xs, 0, n);
+    }
+
+    @Benchmark
+    public Integer[] sort() {
+        sort.sort(xs, false);
+        return xs;
+    }
+
+    private Integer[] pristine;
+    private Integer[] xs;
+    private Sort<Integer> sort;
+}
@@ -0,0 +1,111 @@
+package edu.neu.coe.info6205.jmh;
+
+import edu.neu.coe.info6205.sort.BaseHelper;
+import edu.neu.coe.info6205.sort.Helper;
+import edu.neu.coe.info6205.sort.Sort;
+import edu.neu.coe.info6205.sort.elementary.InsertionSort;
+import edu.neu.coe.info6205.sort.elementary.ShellSort;
+import edu.neu.coe.info6205.sort.linearithmic.*;
+import edu.neu.coe.info6205.util.Config;
+import edu.neu.coe.info6205.util.workload.Distribution;
+import edu.neu.coe.info6205.util.workload.Workload;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JMH benchmark of the comparison sorts (on Integers), with Arrays.sort as the baseline (for ParSort, see ParSortBenchmark).
+ * <p>
+ * The input is regenerated (copied from the pristine array) before every invocation and is not part of the measurement.
+ * Since each invocation sorts a whole array, Level.Invocation is acceptable here: the sorts take far longer than the setup overhead.
+ * The sorted array is returned so that JMH consumes it (and the sort cannot be eliminated as dead code).
+ * The quadratic sorts are only run for the smaller sizes (see ElementarySortBenchmark).
+ * MergeSort is not in the default list because its (non in-place) sort is left as an exercise; add it with -p sorter=MergeSort once that is done.
+ * Nor are the quicksorts, which do not shuffle their input and so overflow the stack on some shapes: see QuickSortBenchmark.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 2, jvmArgsAppend = {"-Xms2g", "-Xmx2g"})
+@State(Scope.Thread)
+public class SortBenchmark {
+
+    @Param({"10000", "100000", "1000000"})
+    public int n;
+
+    @Param({"UNIFORM", "SORTED", "REVERSE", "NEARLY_SORTED", "FEW_UNIQUE"})
+    public Distribution shape;
+
+    @Param({"ArraysSort", "MergeSortBasic", "BlockMergeSort", "IntroSort", "TimSort"})
+    public String sorter;
+
+    @Setup(Level.Trial)
+    public void setupTrial() throws IOException {
+        pristine = new Workload(shape, SEED).integers(n);
+        xs = new Integer[n];
+        sort = create(sorter, n, Config.load(SortBenchmark.class));
+        if (sort != null) sort.init(n);
+    }
+
+    @Setup(Level.Invocation)
+    public void setupInvocation() {
+        System.arraycopy(pristine, 0, xs, 0, n);
+    }
+
+    @Benchmark
+    public Integer[] sort() {
+        if (sort == null) Arrays.sort(xs);
+        else sort.sort(xs, false);
+        return xs;
+    }
+
+    /**
+     * Method to create the named sorter.
+     *
+     * @param name   the (simple) class name of the sorter, or ArraysSort for the baseline.
+     * @param n      the number of elements to be sorted.
+     * @param config the configuration.
+     * @return a Sort, or null for the baseline.
+     */
+    static Sort<Integer> create(String name, int n, Config config) {
+        switch (name) {
+            case "ArraysSort":
+                return null;
+            case "MergeSortBasic":
+                return new MergeSortBasic<>(n, config);
+            case "MergeSort":
+                return new MergeSort<>(n, config);
+            case "BlockMergeSort":
+                return new BlockMergeSort<>(n, config);
+            case "QuickSort_Basic":
+                return new QuickSort_Basic<>(n, config);
+            case "QuickSort_3way":
+                return new QuickSort_3way<>(n, config);
+            case "QuickSort_DualPivot":
+                return new QuickSort_DualPivot<>(n, config);
+            case "IntroSort":
+                return new IntroSort<>(n, config);
+            case "TimSort":
+                return new TimSort<>(n, config);
+            case "InsertionSort":
+                return new InsertionSort<>(n, config);
+            case "ShellSort":
+                final Helper<Integer> helper = new BaseHelper<>("ShellSort", n, config);
+                return new ShellSort<>(3, helper);
+            default:
+                throw new IllegalArgumentException("unknown sorter: " + name);
+        }
+    }
+
+    /**
+     * The seed of all the generated inputs, so that every fork of a benchmark sees the same input.
+     */
+    static final long SEED = 0L;
+
+    private Integer[] pristine;
+    private Integer[] xs;
+    private Sort<Integer> sort;
+}
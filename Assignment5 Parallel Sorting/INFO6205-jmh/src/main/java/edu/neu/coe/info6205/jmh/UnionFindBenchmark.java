@@ -0,0 +1,59 @@
+package edu.neu.coe.info6205.jmh;
+
+import edu.neu.coe.info6205.union_find.UF_HWQUPC;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JMH benchmark of union_find.UF_HWQUPC: random connections are made until there is only one component
+ * (the experiment of the union-find assignment), with and without path compression.
+ * <p>
+ * The pairs are generated in advance (more than enough of them, since about n ln n / 2 are needed) so that the random number
+ * generator is not part of the measurement.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+@State(Scope.Thread)
+public class UnionFindBenchmark {
+
+    @Param({"10000", "100000", "1000000"})
+    public int n;
+
+    @Param({"false", "true"})
+    public boolean pathCompression;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        final Random random = new Random(SortBenchmark.SEED);
+        final int m = (int) (n * Math.log(n)) + n;
+        ps = new int[m];
+        qs = new int[m];
+        for (int i = 0; i < m; i++) {
+            ps[i] = random.nextInt(n);
+            qs[i] = random.nextInt(n);
+        }
+    }
+
+    /**
+     * @return the number of pairs consumed before all the sites were connected
+     * (or the number available, if that is fewer, though that is extremely improbable).
+     */
+    @Benchmark
+    public int connectAll() {
+        final UF_HWQUPC uf = new UF_HWQUPC(n, pathCompression);
+        int i = 0;
+        while (uf.components() > 1 && i < ps.length) {
+            uf.connect(ps[i], qs[i]);
+            i++;
+        }
+        return i;
+    }
+
+    private int[] ps;
+    private int[] qs;
+}
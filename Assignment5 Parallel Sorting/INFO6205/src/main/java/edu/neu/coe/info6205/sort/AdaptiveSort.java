@@ -0,0 +1,244 @@
+package edu.neu.coe.info6205.sort;
+
+import edu.neu.coe.info6205.sort.counting.RadixSort;
+import edu.neu.coe.info6205.sort.elementary.InsertionSort;
+import edu.neu.coe.info6205.sort.linearithmic.QuickSort_3way;
+import edu.neu.coe.info6205.sort.linearithmic.QuickSort_DualPivot;
+import edu.neu.coe.info6205.sort.linearithmic.TimSort;
+import edu.neu.coe.info6205.sort.par.ParSort;
+import edu.neu.coe.info6205.util.Config;
+import edu.neu.coe.info6205.util.LazyLogger;
+
+import java.util.Arrays;
+
+import static edu.neu.coe.info6205.util.Utilities.formatDecimal3Places;
+import static edu.neu.coe.info6205.util.Utilities.formatWhole;
+
+/**
+ * Sorter which takes a cheap look at the shape of its input and then dispatches to whichever of the existing sorters
+ * is expected to do best on that shape:
+ * <ul>
+ * <li>small sub-arrays go to insertion sort;</li>
+ * <li>presorted (or reverse-sorted) input goes to TimSort, which exploits existing runs;</li>
+ * <li>non-negative Integers go to radix sort, or to ParSort when there are enough of them;</li>
+ * <li>input with many duplicate keys goes to 3-way quicksort;</li>
+ * <li>everything else goes to dual-pivot quicksort, or to Arrays.parallelSort when there are enough elements.</li>
+ * </ul>
+ * The pre-scan is one O(n) pass counting descents plus an O(sqrt n) sample for estimating duplicates.
+ * The thresholds are taken from the [adaptivesort] section of the configuration.
+ * Each decision is logged (at debug level), together with the time taken by the chosen sorter,
+ * so that the thresholds can be refined.
+ * <p>
+ * NOTE that TimSort, radix sort and the parallel sorts do not go through the Helper and so are not instrumented.
+ *
+ * @param <X> the underlying type which must extend Comparable.
+ */
+public class AdaptiveSort<X extends Comparable<X>> extends SortWithHelper<X> {
+
+    public static final String DESCRIPTION = "Adaptive sort";
+
+    /**
+     * The sorters which AdaptiveSort may choose between.
+     */
+    public enum Algorithm {
+        INSERTION, TIMSORT, QUICKSORT_3WAY, QUICKSORT_DUAL_PIVOT, RADIX, PARSORT, PARALLEL
+    }
+
+    /**
+     * Constructor for AdaptiveSort
+     *
+     * @param helper an explicit instance of Helper to be used.
+     */
+    public AdaptiveSort(Helper<X> helper) {
+        super(helper);
+        thresholds = new Thresholds(helper.getConfig());
+        insertionSort = new InsertionSort<>(helper);
+        timSort = new TimSort<>(helper);
+        quickSort3way = new QuickSort_3way<>(helper);
+        quickSortDualPivot = new QuickSort_DualPivot<>(helper);
+    }
+
+    /**
+     * Constructor for AdaptiveSort
+     *
+     * @param N      the number elements we expect to sort.
+     * @param config the configuration.
+     */
+    public AdaptiveSort(int N, Config config) {
+        super(DESCRIPTION, N, config);
+        thresholds = new Thresholds(config);
+        insertionSort = new InsertionSort<>(getHelper());
+        timSort = new TimSort<>(getHelper());
+        quickSort3way = new QuickSort_3way<>(getHelper());
+        quickSortDualPivot = new QuickSort_DualPivot<>(getHelper());
+    }
+
+    /**
+     * Sort the sub-array xs[from] .. xs[to-1] using whichever sorter best suits its shape.
+     *
+     * @param xs   the array to be sorted.
+     * @param from the index of the first element to sort.
+     * @param to   the index of the first element not to sort.
+     */
+    public void sort(X[] xs, int from, int to) {
+        final Profile profile = profile(xs, from, to);
+        final Algorithm algorithm = choose(profile);
+        final long start = System.nanoTime();
+        sort(algorithm, xs, from, to);
+        final double millisecs = (System.nanoTime() - start) / 1E6;
+        logger.debug(() -> "AdaptiveSort: " + profile + " => " + algorithm + " in " + formatDecimal3Places(millisecs) + " mSec");
+    }
+
+    /**
+     * Method to scan the sub-array xs[from] .. xs[to-1] and summarize its shape.
+     * <p>
+     * NOTE: this is package-private because it is used by unit tests.
+     *
+     * @param xs   the array to be profiled.
+     * @param from the index of the first element to profile.
+     * @param to   the index of the first element not to profile.
+     * @return a Profile.
+     */
+    Profile profile(X[] xs, int from, int to) {
+        final int n = to - from;
+        int descents = 0;
+        boolean nonNegativeIntegers = n > 0 && xs[from] instanceof Integer;
+        for (int i = from; i < to; i++) {
+            if (i > from && xs[i - 1].compareTo(xs[i]) > 0) descents++;
+            if (nonNegativeIntegers) nonNegativeIntegers = xs[i] instanceof Integer && (Integer) xs[i] >= 0;
+        }
+        // NOTE we take an evenly spaced sample of about sqrt(n) elements in order to estimate the proportion of duplicates.
+        final int sampleSize = n > 0 ? (int) Math.sqrt(n) : 0;
+        int distinct = 0;
+        if (sampleSize > 0) {
+            final X[] sample = Arrays.copyOf(xs, sampleSize);
+            final int stride = n / sampleSize;
+            for (int i = 0; i < sampleSize; i++) sample[i] = xs[from + i * stride];
+            Arrays.sort(sample);
+            distinct = 1;
+            for (int i = 1; i < sampleSize; i++) if (sample[i - 1].compareTo(sample[i]) != 0) distinct++;
+        }
+        return new Profile(n, descents, sampleSize, distinct, nonNegativeIntegers);
+    }
+
+    /**
+     * Method to choose the sorter for a given profile.
+     * <p>
+     * NOTE: this is package-private because it is used by unit tests.
+     *
+     * @param profile the profile of the input.
+     * @return the Algorithm to be used.
+     */
+    Algorithm choose(Profile profile) {
+        if (profile.n <= thresholds.insertion) return Algorithm.INSERTION;
+        final double descentRatio = profile.descentRatio();
+        if (descentRatio <= thresholds.presorted || descentRatio >= 1 - thresholds.presorted) return Algorithm.TIMSORT;
+        if (profile.nonNegativeIntegers) return profile.n >= thresholds.parallel ? Algorithm.PARSORT : Algorithm.RADIX;
+        if (profile.duplicateRatio() >= thresholds.duplicates) return Algorithm.QUICKSORT_3WAY;
+        return profile.n >= thresholds.parallel ? Algorithm.PARALLEL : Algorithm.QUICKSORT_DUAL_PIVOT;
+    }
+
+    /**
+     * A summary of the shape of a sub-array, as determined by a pre-scan.
+     */
+    static class Profile {
+        final int n;
+        final int descents;
+        final int sampleSize;
+        final int distinct;
+        final boolean nonNegativeIntegers;
+
+        Profile(int n, int descents, int sampleSize, int distinct, boolean nonNegativeIntegers) {
+            this.n = n;
+            this.descents = descents;
+            this.sampleSize = sampleSize;
+            this.distinct = distinct;
+            this.nonNegativeIntegers = nonNegativeIntegers;
+        }
+
+        /**
+         * @return the proportion of adjacent pairs which are out of order (0 for sorted input, 1 for reverse-sorted input).
+         */
+        double descentRatio() {
+            return n > 1 ? (double) descents / (n - 1) : 0;
+        }
+
+        /**
+         * @return the estimated proportion of elements which duplicate some other element.
+         */
+        double duplicateRatio() {
+            return sampleSize > 0 ? 1 - (double) distinct / sampleSize : 0;
+        }
+
+        @Override
+        public String toString() {
+            return "Profile{n=" + formatWhole(n) + ", descents=" + formatWhole(descents) + ", distinct=" + distinct + "/" + sampleSize + (nonNegativeIntegers ? ", non-negative integers" : "") + '}';
+        }
+    }
+
+    private void sort(Algorithm algorithm, X[] xs, int from, int to) {
+        switch (algorithm) {
+            case INSERTION:
+                insertionSort.sort(xs, from, to);
+                break;
+            case TIMSORT:
+                timSort.sort(xs, from, to);
+                break;
+            case QUICKSORT_3WAY:
+                quickSort3way.sort(xs, from, to, 0);
+                break;
+            case QUICKSORT_DUAL_PIVOT:
+                quickSortDualPivot.sort(xs, from, to, 0);
+                break;
+            case RADIX:
+            case PARSORT:
+                sortIntegers(algorithm, xs, from, to);
+                break;
+            case PARALLEL:
+                Arrays.parallelSort(xs, from, to);
+                break;
+            default:
+                throw new SortException("AdaptiveSort: unsupported algorithm: " + algorithm);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private void sortIntegers(Algorithm algorithm, X[] xs, int from, int to) {
+        final int[] ints = new int[to - from];
+        for (int i = 0; i < ints.length; i++) ints[i] = (Integer) xs[from + i];
+        if (algorithm == Algorithm.PARSORT) ParSort.sort(ints, 0, ints.length);
+        else try {
+            new RadixSort().sort(ints, 0, ints.length - 1);
+        } catch (Exception e) {
+            throw new SortException("AdaptiveSort: radix sort failed", e);
+        }
+        for (int i = 0; i < ints.length; i++) xs[from + i] = (X) Integer.valueOf(ints[i]);
+    }
+
+    /**
+     * The thresholds which determine the choice of sorter.
+     */
+    private static class Thresholds {
+        Thresholds(Config config) {
+            insertion = config.getInt(ADAPTIVESORT, "insertion", 16);
+            presorted = config.getDouble(ADAPTIVESORT, "presorted", 0.05);
+            duplicates = config.getDouble(ADAPTIVESORT, "duplicates", 0.5);
+            parallel = config.getInt(ADAPTIVESORT, "parallel", 1000000);
+        }
+
+        private final int insertion;
+        private final double presorted;
+        private final double duplicates;
+        private final int parallel;
+    }
+
+    public static final String ADAPTIVESORT = "adaptivesort";
+
+    final static LazyLogger logger = new LazyLogger(AdaptiveSort.class);
+
+    private final Thresholds thresholds;
+    private final InsertionSort<X> insertionSort;
+    private final TimSort<X> timSort;
+    private final QuickSort_3way<X> quickSort3way;
+    private final QuickSort_DualPivot<X> quickSortDualPivot;
+}
@@ -0,0 +1,312 @@
+package edu.neu.coe.info6205.sort;
+
+import edu.neu.coe.info6205.util.Config;
+
+import java.util.function.Function;
+
+/**
+ * Index sorting (argsort): rather than moving the elements of an array, compute the permutation which would sort it.
+ * <p>
+ * The result p of argsort(xs) is such that xs[p[0]], xs[p[1]], ... is in order, and (since all of these sorts are stable)
+ * elements which compare equal keep their original relative order.
+ * A permutation can then be applied to the array it came from, or to any number of parallel arrays (co-sorting),
+ * by applyPermutation, which uses cycle-leader moves and so needs only O(1) extra memory.
+ * <p>
+ * Any existing sorter can be used to compute the permutation via the Index adapter:
+ * each Index compares by its element and then by its position, so that even an unstable sorter yields the stable permutation.
+ */
+public final class ArgSort {
+
+    /**
+     * Compute the permutation which stably sorts xs, using merge sort on the indices.
+     *
+     * @param xs  an array of Xs (which will not be mutated).
+     * @param <X> the underlying type which must extend Comparable.
+     * @return a permutation p such that xs[p[0]] &le; xs[p[1]] &le; ...
+     */
+    public static <X extends Comparable<X>> int[] argsort(X[] xs) {
+        return argsort(xs.length, (i, j) -> xs[i].compareTo(xs[j]));
+    }
+
+    /**
+     * Compute the permutation which stably sorts xs, using merge sort on the indices.
+     *
+     * @param xs an array of ints (which will not be mutated).
+     * @return a permutation p such that xs[p[0]] &le; xs[p[1]] &le; ...
+     */
+    public static int[] argsort(int[] xs) {
+        return argsort(xs.length, (i, j) -> Integer.compare(xs[i], xs[j]));
+    }
+
+    /**
+     * Compute the permutation which stably sorts xs, using merge sort on the indices.
+     *
+     * @param xs an array of longs (which will not be mutated).
+     * @return a permutation p such that xs[p[0]] &le; xs[p[1]] &le; ...
+     */
+    public static int[] argsort(long[] xs) {
+        return argsort(xs.length, (i, j) -> Long.compare(xs[i], xs[j]));
+    }
+
+    /**
+     * Compute the permutation which stably sorts xs (in the order of Double.compare), using merge sort on the indices.
+     *
+     * @param xs an array of doubles (which will not be mutated).
+     * @return a permutation p such that xs[p[0]] &le; xs[p[1]] &le; ...
+     */
+    public static int[] argsort(double[] xs) {
+        return argsort(xs.length, (i, j) -> Double.compare(xs[i], xs[j]));
+    }
+
+    /**
+     * Compute the permutation which stably sorts xs, using a sorter of our choice.
+     * For example, <code>argsort(xs, QuickSort_DualPivot::new, config)</code>.
+     *
+     * @param xs      an array of Xs (which will not be mutated).
+     * @param factory a function which creates a Sort of Index from a Helper.
+     * @param config  the configuration for the Helper.
+     * @param <X>     the underlying type which must extend Comparable.
+     * @return a permutation p such that xs[p[0]] &le; xs[p[1]] &le; ...
+     */
+    public static <X extends Comparable<X>> int[] argsort(X[] xs, Function<Helper<Index<X>>, Sort<Index<X>>> factory, Config config) {
+        final Helper<Index<X>> helper = HelperFactory.create("argsort", xs.length, config);
+        final Sort<Index<X>> sorter = factory.apply(helper);
+        final Index<X>[] indices = Index.of(xs);
+        sorter.sort(indices, false);
+        sorter.close();
+        final int[] result = new int[xs.length];
+        for (int i = 0; i < result.length; i++) result[i] = indices[i].position;
+        return result;
+    }
+
+    /**
+     * Rearrange xs (in place) so that its new element i is its old element perm[i].
+     * <p>
+     * Each cycle of the permutation is followed from its leader (the first position in the cycle), moving each element once.
+     * Visited entries of perm are marked by complementing them; they are restored before returning,
+     * so that the same permutation can be applied to several parallel arrays in turn.
+     *
+     * @param xs   an array of Xs.
+     * @param perm a permutation of 0 .. xs.length-1 (unchanged on return).
+     * @param <X>  the underlying type.
+     */
+    public static <X> void applyPermutation(X[] xs, int[] perm) {
+        checkPermutation(xs.length, perm);
+        for (int i = 0; i < perm.length; i++) {
+            if (perm[i] < 0) continue;
+            final X leader = xs[i];
+            int j = i;
+            for (int k = perm[j]; k != i; k = perm[j]) {
+                xs[j] = xs[k];
+                perm[j] = ~k;
+                j = k;
+            }
+            xs[j] = leader;
+            perm[j] = ~i;
+        }
+        restore(perm);
+    }
+
+    /**
+     * Rearrange xs (in place) so that its new element i is its old element perm[i].
+     *
+     * @param xs   an array of ints.
+     * @param perm a permutation of 0 .. xs.length-1 (unchanged on return).
+     */
+    public static void applyPermutation(int[] xs, int[] perm) {
+        checkPermutation(xs.length, perm);
+        for (int i = 0; i < perm.length; i++) {
+            if (perm[i] < 0) continue;
+            final int leader = xs[i];
+            int j = i;
+            for (int k = perm[j]; k != i; k = perm[j]) {
+                xs[j] = xs[k];
+                perm[j] = ~k;
+                j = k;
+            }
+            xs[j] = leader;
+            perm[j] = ~i;
+        }
+        restore(perm);
+    }
+
+    /**
+     * Rearrange xs (in place) so that its new element i is its old element perm[i].
+     *
+     * @param xs   an array of longs.
+     * @param perm a permutation of 0 .. xs.length-1 (unchanged on return).
+     */
+    public static void applyPermutation(long[] xs, int[] perm) {
+        checkPermutation(xs.length, perm);
+        for (int i = 0; i < perm.length; i++) {
+            if (perm[i] < 0) continue;
+            final long leader = xs[i];
+            int j = i;
+            for (int k = perm[j]; k != i; k = perm[j]) {
+                xs[j] = xs[k];
+                perm[j] = ~k;
+                j = k;
+            }
+            xs[j] = leader;
+            perm[j] = ~i;
+        }
+        restore(perm);
+    }
+
+    /**
+     * Rearrange xs (in place) so that its new element i is its old element perm[i].
+     *
+     * @param xs   an array of doubles.
+     * @param perm a permutation of 0 .. xs.length-1 (unchanged on return).
+     */
+    public static void applyPermutation(double[] xs, int[] perm) {
+        checkPermutation(xs.length, perm);
+        for (int i = 0; i < perm.length; i++) {
+            if (perm[i] < 0) continue;
+            final double leader = xs[i];
+            int j = i;
+            for (int k = perm[j]; k != i; k = perm[j]) {
+                xs[j] = xs[k];
+                perm[j] = ~k;
+                j = k;
+            }
+            xs[j] = leader;
+            perm[j] = ~i;
+        }
+        restore(perm);
+    }
+
+    /**
+     * @param perm a permutation.
+     * @return the inverse of perm, i.e. q such that q[perm[i]] = i (the rank of each original element).
+     */
+    public static int[] invert(int[] perm) {
+        final int[] result = new int[perm.length];
+        for (int i = 0; i < perm.length; i++) result[perm[i]] = i;
+        return result;
+    }
+
+    /**
+     * Adapter which allows any Sort (with its Helper) to compute a permutation:
+     * an element of the array being sorted together with its original position.
+     * Indices compare by element and then by position, so no two are ever equal.
+     *
+     * @param <X> the underlying type which must extend Comparable.
+     */
+    public static final class Index<X extends Comparable<X>> implements Comparable<Index<X>> {
+
+        /**
+         * @param xs  an array of Xs.
+         * @param <X> the underlying type.
+         * @return an array of Index, one for each element of xs, in the same order.
+         */
+        @SuppressWarnings("unchecked")
+        public static <X extends Comparable<X>> Index<X>[] of(X[] xs) {
+            final Index<X>[] result = (Index<X>[]) new Index<?>[xs.length];
+            for (int i = 0; i < xs.length; i++) result[i] = new Index<>(xs[i], i);
+            return result;
+        }
+
+        public Index(X x, int position) {
+            this.x = x;
+            this.position = position;
+        }
+
+        public X getX() {
+            return x;
+        }
+
+        public int getPosition() {
+            return position;
+        }
+
+        @Override
+        public int compareTo(Index<X> o) {
+            final int cf = x.compareTo(o.x);
+            return cf != 0 ? cf : Integer.compare(position, o.position);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (!(o instanceof Index)) return false;
+            final Index<?> index = (Index<?>) o;
+            return position == index.position && x.equals(index.x);
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * x.hashCode() + position;
+        }
+
+        @Override
+        public String toString() {
+            return x + "@" + position;
+        }
+
+        private final X x;
+        private final int position;
+    }
+
+    /**
+     * Comparison of the elements at two indices of some underlying array.
+     */
+    private interface IndexComparator {
+        int compare(int i, int j);
+    }
+
+    /**
+     * Stable merge sort of the identity permutation of n elements, according to comparator.
+     */
+    private static int[] argsort(int n, IndexComparator comparator) {
+        final int[] result = new int[n];
+        for (int i = 0; i < n; i++) result[i] = i;
+        mergeSort(result, SortWorkspace.get().borrowInts(n), 0, n, comparator);
+        return result;
+    }
+
+    private static void mergeSort(int[] a, int[] aux, int lo, int hi, IndexComparator comparator) {
+        if (hi - lo <= CUTOFF) {
+            insertionSort(a, lo, hi, comparator);
+            return;
+        }
+        final int mid = (lo + hi) >>> 1;
+        mergeSort(a, aux, lo, mid, comparator);
+        mergeSort(a, aux, mid, hi, comparator);
+        // NOTE if the two runs are already in order, there is nothing to merge.
+        if (comparator.compare(a[mid - 1], a[mid]) <= 0) return;
+        System.arraycopy(a, lo, aux, lo, hi - lo);
+        int i = lo;
+        int j = mid;
+        for (int k = lo; k < hi; k++)
+            if (i >= mid) a[k] = aux[j++];
+            else if (j >= hi) a[k] = aux[i++];
+            // NOTE ties go to the left run so that the sort is stable.
+            else if (comparator.compare(aux[j], aux[i]) < 0) a[k] = aux[j++];
+            else a[k] = aux[i++];
+    }
+
+    private static void insertionSort(int[] a, int lo, int hi, IndexComparator comparator) {
+        for (int i = lo + 1; i < hi; i++) {
+            final int x = a[i];
+            int j = i;
+            for (; j > lo && comparator.compare(a[j - 1], x) > 0; j--) a[j] = a[j - 1];
+            a[j] = x;
+        }
+    }
+
+    private static void checkPermutation(int n, int[] perm) {
+        if (perm.length != n)
+            throw new SortException("applyPermutation: permutation has " + perm.length + " elements but array has " + n);
+    }
+
+    private static void restore(int[] perm) {
+        for (int i = 0; i < perm.length; i++) perm[i] = ~perm[i];
+    }
+
+    private static final int CUTOFF = 15;
+
+    // NOTE private constructor (utility class)
+    private ArgSort() {
+    }
+}
@@ -2,6 +2,7 @@ package edu.neu.coe.info6205.sort;
 
 import edu.neu.coe.info6205.util.Config;
 import edu.neu.coe.info6205.util.Utilities;
+import edu.neu.coe.info6205.util.parallel.ParallelRandom;
 
 import java.util.Random;
 import java.util.function.Function;
@@ -102,12 +103,14 @@ public class BaseHelper<X extends Comparable<X>> implements Helper<X> {
         return true;
     }
 
-    public int inversions(X[] xs) {
-        int result = 0;
-        for (int i = 0; i < xs.length; i++)
-            for (int j = i + 1; j < xs.length; j++)
-                if (xs[i].compareTo(xs[j]) > 0) result++;
-        return result;
+    /**
+     * Count the number of inversions of xs in O(n log n) time (in parallel if xs is large).
+     *
+     * @param xs an array of Xs (which will not be mutated).
+     * @return the number of inversions.
+     */
+    public long inversions(X[] xs) {
+        return Inversions.countParallel(xs);
     }
 
     public X[] random(Class<X> clazz, Function<Random, X> f) {
@@ -116,6 +119,12 @@ public class BaseHelper<X extends Comparable<X>> implements Helper<X> {
         return randomArray;
     }
 
+    public X[] randomInParallel(Class<X> clazz, Function<Random, X> f) {
+        if (n <= 0) throw new HelperException("Helper.randomInParallel: not initialized");
+        randomArray = ParallelRandom.fill(clazz, n, random, f);
+        return randomArray;
+    }
+
     /**
      * Method to post-process the array xs after sorting.
      * By default, this method does nothing.
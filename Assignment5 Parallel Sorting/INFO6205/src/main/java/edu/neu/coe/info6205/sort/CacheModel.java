@@ -0,0 +1,218 @@
+package edu.neu.coe.info6205.sort;
+
+import edu.neu.coe.info6205.util.Config;
+
+import java.lang.reflect.Array;
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Simulation of a multi-level, set-associative, LRU cache hierarchy.
+ * <p>
+ * Each array access reported by an (instrumented) Helper is mapped to a (simulated) address:
+ * every array that is seen is given its own region of the address space, and element i of an array
+ * is found at base + HEADER + i * elementSize.
+ * The address is then mapped to a cache line which is looked up in each level in turn until it is found.
+ * The line is then installed in each level where it was missed (evicting the least recently used line of its set).
+ * <p>
+ * NOTE that only accesses to the array elements themselves are modeled, not accesses to the objects they refer to.
+ * NOTE also that accesses are serialized, so that this model can be shared by parallel sorts (but at some cost).
+ */
+public class CacheModel {
+
+    /**
+     * Method to create a CacheModel from the [cache] section of the given configuration.
+     * A level whose size is configured as zero is omitted; a level which is not configured at all has a typical size.
+     *
+     * @param config the configuration.
+     * @return a new CacheModel.
+     */
+    public static CacheModel create(Config config) {
+        final List<Level> levels = new ArrayList<>();
+        final int lineSize = config.getInt(CACHE, "linesize", 64);
+        for (int i = 0; i < LEVEL_NAMES.length; i++) {
+            final String name = LEVEL_NAMES[i];
+            final int size = config.getInt(CACHE, name + "size", DEFAULT_SIZES[i]);
+            if (size > 0) levels.add(new Level(name, size, config.getInt(CACHE, name + "ways", DEFAULT_WAYS[i]), lineSize));
+        }
+        return new CacheModel(lineSize, config.getInt(CACHE, "elementsize", 4), levels.toArray(new Level[0]));
+    }
+
+    /**
+     * Constructor for a CacheModel.
+     *
+     * @param lineSize    the size of a cache line in bytes.
+     * @param elementSize the size of an array element in bytes (4 for compressed references).
+     * @param levels      the levels of the cache, beginning with L1.
+     */
+    public CacheModel(int lineSize, int elementSize, Level... levels) {
+        this.lineSize = lineSize;
+        this.elementSize = elementSize;
+        this.levels = levels;
+    }
+
+    /**
+     * Record an access to element index of array.
+     *
+     * @param array the array (the identity of which determines its simulated address).
+     * @param index the index of the element.
+     */
+    public synchronized void access(Object array, int index) {
+        final long line = (base(array) + HEADER + (long) index * elementSize) / lineSize;
+        int missed = 0;
+        while (missed < levels.length && !levels[missed].lookup(line)) missed++;
+        for (int i = 0; i < missed; i++) levels[i].install(line);
+    }
+
+    /**
+     * Record an access to each element of array from index i up to (but not including) index j.
+     *
+     * @param array the array.
+     * @param i     the index of the first element accessed.
+     * @param j     the index of the first element not accessed.
+     */
+    public void access(Object array, int i, int j) {
+        for (int k = i; k < j; k++) access(array, k);
+    }
+
+    /**
+     * @return the number of levels in this model.
+     */
+    public int getLevels() {
+        return levels.length;
+    }
+
+    /**
+     * @param level the level (0 for L1).
+     * @return the name of the given level.
+     */
+    public String getName(int level) {
+        return levels[level].name;
+    }
+
+    /**
+     * @param level the level (0 for L1).
+     * @return the number of misses at the given level since the last reset.
+     */
+    public synchronized long getMisses(int level) {
+        return levels[level].misses;
+    }
+
+    /**
+     * Empty all of the levels, reset the miss counts, and forget the arrays that have been seen.
+     */
+    public synchronized void reset() {
+        for (Level level : levels) level.reset();
+        bases.clear();
+        nextBase = 0L;
+    }
+
+    @Override
+    public String toString() {
+        final StringBuilder sb = new StringBuilder("CacheModel{lineSize=").append(lineSize);
+        for (Level level : levels) sb.append(", ").append(level);
+        return sb.append('}').toString();
+    }
+
+    /**
+     * One level of the cache hierarchy.
+     */
+    public static class Level {
+
+        /**
+         * Constructor for a Level.
+         *
+         * @param name     the name of this level, e.g. "l1".
+         * @param size     the total size in bytes.
+         * @param ways     the associativity, i.e. the number of lines in each set.
+         * @param lineSize the size of a cache line in bytes.
+         */
+        public Level(String name, int size, int ways, int lineSize) {
+            this.name = name;
+            this.ways = ways;
+            this.sets = Math.max(1, size / lineSize / ways);
+            tags = new long[sets][ways];
+            used = new int[sets];
+        }
+
+        /**
+         * Look up a line, counting a miss if it is not present, and making it the most recently used if it is.
+         *
+         * @param line the line number.
+         * @return true if the line was present.
+         */
+        boolean lookup(long line) {
+            final int set = (int) (line % sets);
+            final long[] lines = tags[set];
+            for (int i = 0; i < used[set]; i++)
+                if (lines[i] == line) {
+                    System.arraycopy(lines, 0, lines, 1, i);
+                    lines[0] = line;
+                    return true;
+                }
+            misses++;
+            return false;
+        }
+
+        /**
+         * Install a line as the most recently used of its set, evicting the least recently used if the set is full.
+         *
+         * @param line the line number.
+         */
+        void install(long line) {
+            final int set = (int) (line % sets);
+            final long[] lines = tags[set];
+            final int n = Math.min(used[set], ways - 1);
+            System.arraycopy(lines, 0, lines, 1, n);
+            lines[0] = line;
+            used[set] = n + 1;
+        }
+
+        void reset() {
+            for (int i = 0; i < sets; i++) used[i] = 0;
+            misses = 0;
+        }
+
+        @Override
+        public String toString() {
+            return name + "{sets=" + sets + ", ways=" + ways + '}';
+        }
+
+        private final String name;
+        private final int ways;
+        private final int sets;
+        private final long[][] tags;
+        private final int[] used;
+        private long misses = 0;
+    }
+
+    public static final String CACHE = "cache";
+
+    private long base(Object array) {
+        final Long base = bases.get(array);
+        if (base != null) return base;
+        final long result = nextBase;
+        // NOTE we leave a gap of at least one line between arrays so that no line is shared by two arrays.
+        final long length = HEADER + (long) Array.getLength(array) * elementSize;
+        nextBase += (length / lineSize + 2) * lineSize;
+        bases.put(array, result);
+        return result;
+    }
+
+    private static final String[] LEVEL_NAMES = {"l1", "l2", "llc"};
+    private static final int[] DEFAULT_SIZES = {32 * 1024, 256 * 1024, 8 * 1024 * 1024};
+    private static final int[] DEFAULT_WAYS = {8, 8, 16};
+
+    /**
+     * The size of an array header in bytes (with compressed class pointers).
+     */
+    private static final int HEADER = 16;
+
+    private final int lineSize;
+    private final int elementSize;
+    private final Level[] levels;
+    private final Map<Object, Long> bases = new IdentityHashMap<>();
+    private long nextBase = 0L;
+}
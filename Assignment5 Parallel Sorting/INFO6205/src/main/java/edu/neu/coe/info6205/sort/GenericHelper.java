@@ -46,6 +46,7 @@ public interface GenericHelper<X> {
 
     /**
      * Method to generate an array of randomly chosen X elements.
+     * The elements are generated in order, by applying f to this helper's Random.
      *
      * @param clazz the class of X.
      * @param f     a function which takes a Random and generates a random value of X.
@@ -53,6 +54,18 @@ public interface GenericHelper<X> {
      */
     X[] random(Class<X> clazz, Function<Random, X> f);
 
+    /**
+     * Method to generate an array of randomly chosen X elements, in parallel if the array is large (see ParallelRandom).
+     * <p>
+     * NOTE f may be applied concurrently, each thread with a Random of its own, so it must be thread-safe:
+     * it may read shared state (such as an array of words) but must not update it.
+     *
+     * @param clazz the class of X.
+     * @param f     a thread-safe function which takes a Random and generates a random value of X.
+     * @return an array of X of length determined by the current value according to setN.
+     */
+    X[] randomInParallel(Class<X> clazz, Function<Random, X> f);
+
     /**
      * @return the description of this Helper.
      */
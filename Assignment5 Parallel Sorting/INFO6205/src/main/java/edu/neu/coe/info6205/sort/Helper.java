@@ -145,7 +145,7 @@ public interface Helper<X extends Comparable<X>> extends GenericHelper<X> {
      * @param xs an array of Xs.
      * @return the number of inversions.
      */
-    int inversions(X[] xs);
+    long inversions(X[] xs);
 
     /**
      * Method to post-process the array xs after sorting.
@@ -6,12 +6,22 @@ import edu.neu.coe.info6205.util.StatPack;
 import edu.neu.coe.info6205.util.Utilities;
 
 import java.util.Random;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
 
 import static edu.neu.coe.info6205.util.Utilities.formatWhole;
 
 /**
  * Helper class for sorting methods with instrumentation of compares and swaps, and in addition, bounds checks.
  * This Helper class may be used for analyzing sort methods but will run at slightly slower speeds than the super-class.
+ * <p>
+ * The counters are LongAdders, so a single instance may safely be shared by the threads of a parallel sort:
+ * the per-thread cells are merged into the StatPack by postProcess.
+ * The overhead may be reduced further by configuring sampling (in [instrumenting]) to count only one operation in N.
+ * <p>
+ * If cache (in [instrumenting]) is true, then every array access seen by this Helper is also fed to a CacheModel,
+ * and the resulting misses for each level (e.g. l1misses) are recorded in the StatPack.
  *
  * @param <X> the underlying type (must be Comparable).
  */
@@ -31,8 +41,8 @@ public class InstrumentedHelper<X extends Comparable<X>> extends BaseHelper<X> {
      * @return true only if v is less than w.
      */
     public boolean less(X v, X w) {
-        if (countCompares)
-            compares++;
+        if (countCompares && sampled())
+            compares.add(scale);
         return v.compareTo(w) < 0;
     }
 
@@ -45,18 +55,23 @@ public class InstrumentedHelper<X extends Comparable<X>> extends BaseHelper<X> {
      */
     public void swap(X[] xs, int i, int j) {
         if (i == j) return;
-        if (countSwaps)
-            swaps++;
+        access(xs, i);
+        access(xs, j);
         X v = xs[i];
         X w = xs[j];
-        if (countHits)
-            hits += 4;
-        if (countFixes) {
-            int sense = Integer.signum(v.compareTo(w));
-            fixes += sense;
-            for (int k = i + 1; k < j; k++) {
-                X x = xs[k];
-                if (w.compareTo(x) < 0 && x.compareTo(v) < 0) fixes += 2 * sense;
+        if (sampled()) {
+            if (countSwaps)
+                swaps.add(scale);
+            if (countHits)
+                hits.add(4L * scale);
+            if (countFixes) {
+                int sense = Integer.signum(v.compareTo(w));
+                long fixed = sense;
+                for (int k = i + 1; k < j; k++) {
+                    X x = xs[k];
+                    if (w.compareTo(x) < 0 && x.compareTo(v) < 0) fixed += 2 * sense;
+                }
+                fixes.add(fixed * scale);
             }
         }
         xs[i] = w;
@@ -75,12 +90,15 @@ public class InstrumentedHelper<X extends Comparable<X>> extends BaseHelper<X> {
      */
     @Override
     public void swapInto(X[] xs, int i, int j) {
-        if (countSwaps)
-            swaps += (j - i);
-        if (countFixes)
-            fixes += (j - i);
-        if (countHits)
-            hits += (j - i + 1) * 2;
+        if (sampled()) {
+            if (countSwaps)
+                swaps.add((long) (j - i) * scale);
+            if (countFixes)
+                fixes.add((long) (j - i) * scale);
+            if (countHits)
+                hits.add((j - i + 1) * 2L * scale);
+        }
+        if (cacheModel != null) cacheModel.access(xs, i, j + 1);
         super.swapInto(xs, i, j);
     }
 
@@ -95,9 +113,10 @@ public class InstrumentedHelper<X extends Comparable<X>> extends BaseHelper<X> {
      */
     @Override
     public void swapIntoSorted(X[] xs, int i) {
+        access(xs, i);
         int j = binarySearch(xs, 0, i, xs[i]);
-        if (countHits)
-            hits += 1 + (int) Utilities.lg(xs.length);
+        if (countHits && sampled())
+            hits.add((1 + (int) Utilities.lg(xs.length)) * scale);
         if (j < 0) j = -j - 1;
         if (j < i) swapInto(xs, j, i);
     }
@@ -118,6 +137,7 @@ public class InstrumentedHelper<X extends Comparable<X>> extends BaseHelper<X> {
 
         while (low <= high) {
             int mid = (low + high) >>> 1;
+            access(xs, mid);
             int cmp = compare(xs[mid], key);
             if (cmp < 0)
                 low = mid + 1;
@@ -139,10 +159,14 @@ public class InstrumentedHelper<X extends Comparable<X>> extends BaseHelper<X> {
      */
     @Override
     public boolean swapConditional(X[] xs, int i, int j) {
-        if (countCompares)
-            compares++;
-        if (countHits)
-            hits += 2;
+        if (sampled()) {
+            if (countCompares)
+                compares.add(scale);
+            if (countHits)
+                hits.add(2L * scale);
+        }
+        access(xs, i);
+        access(xs, j);
         int cf = xs[i].compareTo(xs[j]);
         if (cf > 0)
             swap(xs, i, j);
@@ -161,20 +185,25 @@ public class InstrumentedHelper<X extends Comparable<X>> extends BaseHelper<X> {
         // CONSIDER invoke super-method
         final X v = xs[i];
         final X w = xs[i - 1];
-        if (countHits)
-            hits += 2;
+        access(xs, i);
+        access(xs, i - 1);
+        final boolean sampled = sampled();
+        if (countHits && sampled)
+            hits.add(2L * scale);
         boolean result = v.compareTo(w) < 0;
-        if (countCompares)
-            compares++;
+        if (countCompares && sampled)
+            compares.add(scale);
         if (result) {
             xs[i] = w;
             xs[i - 1] = v;
-            if (countSwaps)
-                swaps++;
-            if (countHits)
-                hits += 2;
-            if (countFixes)
-                fixes++;
+            if (sampled) {
+                if (countSwaps)
+                    swaps.add(scale);
+                if (countHits)
+                    hits.add(2L * scale);
+                if (countFixes)
+                    fixes.add(scale);
+            }
         }
         return result;
 
@@ -190,10 +219,14 @@ public class InstrumentedHelper<X extends Comparable<X>> extends BaseHelper<X> {
      */
     @Override
     public void copy(X[] source, int i, X[] target, int j) {
-        if (countCopies)
-            copies++;
-        if (countHits)
-            hits += 2;
+        if (sampled()) {
+            if (countCopies)
+                copies.add(scale);
+            if (countHits)
+                hits.add(2L * scale);
+        }
+        access(source, i);
+        access(target, j);
         target[j] = source[i];
     }
 
@@ -204,8 +237,28 @@ public class InstrumentedHelper<X extends Comparable<X>> extends BaseHelper<X> {
      */
     @Override
     public void incrementCopies(int n) {
-        if (countCopies) copies += n;
-        if (countHits) hits += n * 2;
+        if (sampled()) {
+            if (countCopies) copies.add((long) n * scale);
+            if (countHits) hits.add(n * 2L * scale);
+        }
+    }
+
+    /**
+     * Record an access to array[index] in the cache model (if any).
+     */
+    private void access(Object array, int index) {
+        if (cacheModel != null) cacheModel.access(array, index);
+    }
+
+    /**
+     * Method to determine whether the current operation should be counted.
+     * If sampling is configured as N (greater than 1), then one operation in N (chosen at random) is counted,
+     * and each count is scaled up by N.
+     *
+     * @return true if the current operation is to be counted.
+     */
+    private boolean sampled() {
+        return sampling <= 1 || ThreadLocalRandom.current().nextInt(sampling) == 0;
     }
 
     // NOTE: the following private methods are only for testing.
@@ -217,7 +270,7 @@ public class InstrumentedHelper<X extends Comparable<X>> extends BaseHelper<X> {
      */
     @Override
     public void incrementFixes(int n) {
-        if (countFixes) fixes += n;
+        if (countFixes && sampled()) fixes.add((long) n * scale);
     }
 
     /**
@@ -230,6 +283,8 @@ public class InstrumentedHelper<X extends Comparable<X>> extends BaseHelper<X> {
      */
     public int compare(X[] xs, int i, int j) {
         // CONSIDER using compareTo method if it improves performance.
+        access(xs, i);
+        access(xs, j);
         return compare(xs[i], xs[j]);
     }
 
@@ -242,8 +297,8 @@ public class InstrumentedHelper<X extends Comparable<X>> extends BaseHelper<X> {
      */
     @Override
     public int compare(X v, X w) {
-        if (countCompares)
-            compares++;
+        if (countCompares && sampled())
+            compares.add(scale);
         return v.compareTo(w);
     }
 
@@ -269,15 +324,15 @@ public class InstrumentedHelper<X extends Comparable<X>> extends BaseHelper<X> {
      * @param n the size to be managed.
      */
     public void init(int n) {
-        compares = 0;
-        swaps = 0;
-        copies = 0;
-        fixes = 0;
-        hits = 0;
+        compares.reset();
+        swaps.reset();
+        copies.reset();
+        fixes.reset();
+        hits.reset();
         // NOTE: it's an error to reset the StatPack if we've been here before
         if (n == this.n && statPack != null) return;
         super.init(n);
-        statPack = new StatPack(n, COMPARES, SWAPS, COPIES, INVERSIONS, FIXES, HITS);
+        statPack = cacheModel != null ? new StatPack(n, cacheKeys(COMPARES, SWAPS, COPIES, INVERSIONS, FIXES, HITS)) : new StatPack(n, COMPARES, SWAPS, COPIES, INVERSIONS, FIXES, HITS);
     }
 
     /**
@@ -289,14 +344,27 @@ public class InstrumentedHelper<X extends Comparable<X>> extends BaseHelper<X> {
     @Override
     public X[] preProcess(X[] xs) {
         final X[] result = super.preProcess(xs);
-        // NOTE: because counting inversions is so slow, we only do if for a (configured) number of samples.
+        // NOTE: because counting inversions is relatively slow, we only do if for a (configured) number of samples.
         if (countInversions-- > 0) {
-            if (statPack != null) statPack.add(INVERSIONS, inversions(result));
+            if (statPack != null) statPack.add(INVERSIONS, inversionSamples > 0 ? estimateInversions(result) : inversions(result));
             else throw new RuntimeException("InstrumentedHelper.postProcess: no StatPack");
         }
         return result;
     }
 
+    /**
+     * Method to estimate the number of inversions of xs by sampling (configured) inversionsamples random pairs.
+     * This is much cheaper than an exact count for very large arrays.
+     *
+     * @param xs an array of Xs.
+     * @return the estimated number of inversions.
+     */
+    private long estimateInversions(X[] xs) {
+        final Inversions.Estimate estimate = Inversions.estimate(xs, inversionSamples, random);
+        logger.debug(() -> "InstrumentedHelper.estimateInversions: " + estimate);
+        return estimate.inversions;
+    }
+
     /**
      * Method to post-process the array xs after sorting.
      * By default, this method checks that an array is sorted.
@@ -310,26 +378,41 @@ public class InstrumentedHelper<X extends Comparable<X>> extends BaseHelper<X> {
         super.postProcess(xs);
         if (!sorted(xs)) throw new BaseHelper.HelperException("Array is not sorted");
         if (statPack == null) throw new RuntimeException("InstrumentedHelper.postProcess: no StatPack");
+        // NOTE: the sums merge the counts made by all threads which have used this Helper.
         if (countCompares)
-            statPack.add(COMPARES, compares);
+            statPack.add(COMPARES, compares.sum());
         if (countSwaps)
-            statPack.add(SWAPS, swaps);
+            statPack.add(SWAPS, swaps.sum());
         if (countCopies)
-            statPack.add(COPIES, copies);
+            statPack.add(COPIES, copies.sum());
         if (countFixes)
-            statPack.add(FIXES, fixes);
+            statPack.add(FIXES, fixes.sum());
         if (countHits)
-            statPack.add(HITS, hits);
+            statPack.add(HITS, hits.sum());
+        if (cacheModel != null) {
+            for (int level = 0; level < cacheModel.getLevels(); level++)
+                statPack.add(cacheModel.getName(level) + MISSES, cacheModel.getMisses(level));
+            // NOTE: each sort begins with a cold cache.
+            cacheModel.reset();
+        }
+    }
+
+    private String[] cacheKeys(String... keys) {
+        final String[] result = new String[keys.length + cacheModel.getLevels()];
+        System.arraycopy(keys, 0, result, 0, keys.length);
+        for (int level = 0; level < cacheModel.getLevels(); level++)
+            result[keys.length + level] = cacheModel.getName(level) + MISSES;
+        return result;
     }
 
     @Override
     public void registerDepth(int depth) {
-        if (depth > maxDepth) maxDepth = depth;
+        maxDepth.accumulateAndGet(depth, Math::max);
     }
 
     @Override
     public int maxDepth() {
-        return maxDepth;
+        return maxDepth.get();
     }
 
     @Override
@@ -366,9 +449,13 @@ public class InstrumentedHelper<X extends Comparable<X>> extends BaseHelper<X> {
         this.countSwaps = config.getBoolean(INSTRUMENTING, SWAPS);
         this.countCompares = config.getBoolean(INSTRUMENTING, COMPARES);
         this.countInversions = config.getInt(INSTRUMENTING, INVERSIONS, 0);
+        this.inversionSamples = config.getInt(INSTRUMENTING, INVERSION_SAMPLES, 0);
         this.countFixes = config.getBoolean(INSTRUMENTING, FIXES);
         this.countHits = config.getBoolean(INSTRUMENTING, HITS); // the number of array accesses
         this.cutoff = config.getInt("helper", "cutoff", 0);
+        this.sampling = config.getInt(INSTRUMENTING, SAMPLING, 1);
+        this.scale = Math.max(1, sampling);
+        this.cacheModel = config.getBoolean(INSTRUMENTING, CACHE) ? CacheModel.create(config) : null;
     }
 
     /**
@@ -409,26 +496,30 @@ public class InstrumentedHelper<X extends Comparable<X>> extends BaseHelper<X> {
     public static final String COMPARES = "compares";
     public static final String COPIES = "copies";
     public static final String INVERSIONS = "inversions";
+    public static final String INVERSION_SAMPLES = "inversionsamples";
     public static final String FIXES = "fixes";
     public static final String HITS = "hits";
     public static final String INSTRUMENTING = "instrumenting";
+    public static final String SAMPLING = "sampling";
+    public static final String CACHE = "cache";
+    public static final String MISSES = "misses";
 
     // NOTE: the following private methods are only for testing.
 
     public int getCompares() {
-        return compares;
+        return compares.intValue();
     }
 
     public int getSwaps() {
-        return swaps;
+        return swaps.intValue();
     }
 
     private int getFixes() {
-        return fixes;
+        return fixes.intValue();
     }
 
     private int getHits() {
-        return hits;
+        return hits.intValue();
     }
 
     private final int cutoff;
@@ -438,11 +529,15 @@ public class InstrumentedHelper<X extends Comparable<X>> extends BaseHelper<X> {
     private final boolean countFixes;
     private final boolean countHits;
     private StatPack statPack;
-    private int compares = 0;
-    private int swaps = 0;
-    private int copies = 0;
-    private int fixes = 0;
-    private int hits = 0;
+    private final int sampling;
+    private final CacheModel cacheModel;
+    private final long scale;
+    private final LongAdder compares = new LongAdder();
+    private final LongAdder swaps = new LongAdder();
+    private final LongAdder copies = new LongAdder();
+    private final LongAdder fixes = new LongAdder();
+    private final LongAdder hits = new LongAdder();
     private int countInversions;
-    private int maxDepth = 0;
+    private final int inversionSamples;
+    private final AtomicInteger maxDepth = new AtomicInteger();
 }
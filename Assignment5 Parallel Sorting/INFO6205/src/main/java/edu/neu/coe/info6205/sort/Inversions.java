@@ -0,0 +1,207 @@
+package edu.neu.coe.info6205.sort;
+
+import java.util.Arrays;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+import static edu.neu.coe.info6205.util.Utilities.formatDecimal3Places;
+
+/**
+ * Utilities for counting (or estimating) the number of inversions in an array, i.e. its presortedness.
+ * <p>
+ * The exact counts are based on merge sort (each element which is merged from the right half
+ * jumps over all the elements remaining in the left half) and so take O(n log n) time rather than O(n^2).
+ * The counts are made on a copy: the given array is never mutated.
+ */
+public class Inversions {
+
+    /**
+     * Count the inversions of xs in O(n log n) time.
+     *
+     * @param xs  an array of Xs (which will not be mutated).
+     * @param <X> the underlying type which must extend Comparable.
+     * @return the number of pairs i &lt; j such that xs[i] &gt; xs[j].
+     */
+    public static <X extends Comparable<X>> long count(X[] xs) {
+        final X[] a = Arrays.copyOf(xs, xs.length);
+        return count(a, Arrays.copyOf(xs, xs.length), 0, a.length);
+    }
+
+    /**
+     * Count the inversions of xs in O(n log n) time, using the common fork-join pool.
+     * Below a threshold of PARALLEL_CUTOFF elements, this is no different from count.
+     *
+     * @param xs  an array of Xs (which will not be mutated).
+     * @param <X> the underlying type which must extend Comparable.
+     * @return the number of pairs i &lt; j such that xs[i] &gt; xs[j].
+     */
+    public static <X extends Comparable<X>> long countParallel(X[] xs) {
+        return countParallel(xs, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Count the inversions of xs in O(n log n) time, using the given fork-join pool.
+     *
+     * @param xs   an array of Xs (which will not be mutated).
+     * @param pool the pool in which to run the count.
+     * @param <X>  the underlying type which must extend Comparable.
+     * @return the number of pairs i &lt; j such that xs[i] &gt; xs[j].
+     */
+    public static <X extends Comparable<X>> long countParallel(X[] xs, ForkJoinPool pool) {
+        if (xs.length < PARALLEL_CUTOFF) return count(xs);
+        final X[] a = Arrays.copyOf(xs, xs.length);
+        return pool.invoke(new CountTask<>(a, Arrays.copyOf(xs, xs.length), 0, a.length));
+    }
+
+    /**
+     * Estimate the inversions of xs by comparing randomly chosen pairs of elements.
+     * This takes time proportional to the number of samples, regardless of the length of xs.
+     *
+     * @param xs      an array of Xs.
+     * @param samples the number of pairs to compare.
+     * @param random  a random number generator.
+     * @param <X>     the underlying type which must extend Comparable.
+     * @return an Estimate, including a 95% confidence interval.
+     */
+    public static <X extends Comparable<X>> Estimate estimate(X[] xs, int samples, Random random) {
+        final int n = xs.length;
+        final double pairs = 0.5 * n * (n - 1);
+        if (n < 2 || samples <= 0) return new Estimate(pairs, 0, 0, 0);
+        int inverted = 0;
+        for (int k = 0; k < samples; k++) {
+            final int i = random.nextInt(n);
+            int j = random.nextInt(n - 1);
+            if (j >= i) j++;
+            if (i < j ? xs[i].compareTo(xs[j]) > 0 : xs[j].compareTo(xs[i]) > 0) inverted++;
+        }
+        return new Estimate(pairs, samples, inverted, Z95);
+    }
+
+    /**
+     * The result of estimating the number of inversions by sampling.
+     * The confidence interval is the Wilson score interval for the proportion of inverted pairs.
+     */
+    public static class Estimate {
+        /**
+         * The estimated proportion of all pairs which are inverted (0 for sorted, 1 for reverse-sorted).
+         */
+        public final double fraction;
+        /**
+         * The estimated number of inversions.
+         */
+        public final long inversions;
+        /**
+         * The lower bound of the confidence interval for the number of inversions.
+         */
+        public final long lower;
+        /**
+         * The upper bound of the confidence interval for the number of inversions.
+         */
+        public final long upper;
+        /**
+         * The number of pairs sampled.
+         */
+        public final int samples;
+
+        Estimate(double pairs, int samples, int inverted, double z) {
+            this.samples = samples;
+            fraction = samples > 0 ? (double) inverted / samples : 0;
+            inversions = Math.round(fraction * pairs);
+            if (samples > 0) {
+                final double z2n = z * z / samples;
+                final double centre = (fraction + z2n / 2) / (1 + z2n);
+                final double halfWidth = z / (1 + z2n) * Math.sqrt(fraction * (1 - fraction) / samples + z2n / samples / 4);
+                lower = Math.round(Math.max(0, centre - halfWidth) * pairs);
+                upper = Math.round(Math.min(1, centre + halfWidth) * pairs);
+            } else {
+                lower = 0;
+                upper = Math.round(pairs);
+            }
+        }
+
+        @Override
+        public String toString() {
+            return "Estimate{inversions=" + inversions + " (" + lower + " .. " + upper + "), fraction=" + formatDecimal3Places(fraction) + ", samples=" + samples + '}';
+        }
+    }
+
+    /**
+     * Sort a[lo..hi) (using aux as scratch space) and return the number of inversions which were fixed.
+     */
+    private static <X extends Comparable<X>> long count(X[] a, X[] aux, int lo, int hi) {
+        if (hi - lo <= CUTOFF) return countInsertion(a, lo, hi);
+        final int mid = (lo + hi) >>> 1;
+        return count(a, aux, lo, mid) + count(a, aux, mid, hi) + merge(a, aux, lo, mid, hi);
+    }
+
+    private static <X extends Comparable<X>> long countInsertion(X[] a, int lo, int hi) {
+        long result = 0;
+        for (int i = lo + 1; i < hi; i++) {
+            final X x = a[i];
+            int j = i;
+            for (; j > lo && a[j - 1].compareTo(x) > 0; j--) a[j] = a[j - 1];
+            result += i - j;
+            a[j] = x;
+        }
+        return result;
+    }
+
+    private static <X extends Comparable<X>> long merge(X[] a, X[] aux, int lo, int mid, int hi) {
+        if (a[mid - 1].compareTo(a[mid]) <= 0) return 0;
+        System.arraycopy(a, lo, aux, lo, hi - lo);
+        long result = 0;
+        int i = lo;
+        int j = mid;
+        for (int k = lo; k < hi; k++)
+            if (i >= mid) a[k] = aux[j++];
+            else if (j >= hi) a[k] = aux[i++];
+            else if (aux[j].compareTo(aux[i]) < 0) {
+                result += mid - i;
+                a[k] = aux[j++];
+            } else a[k] = aux[i++];
+        return result;
+    }
+
+    private static class CountTask<X extends Comparable<X>> extends RecursiveTask<Long> {
+        CountTask(X[] a, X[] aux, int lo, int hi) {
+            this.a = a;
+            this.aux = aux;
+            this.lo = lo;
+            this.hi = hi;
+        }
+
+        @Override
+        protected Long compute() {
+            if (hi - lo < PARALLEL_CUTOFF) return count(a, aux, lo, hi);
+            final int mid = (lo + hi) >>> 1;
+            final CountTask<X> left = new CountTask<>(a, aux, lo, mid);
+            left.fork();
+            final long right = new CountTask<>(a, aux, mid, hi).compute();
+            return left.join() + right + merge(a, aux, lo, mid, hi);
+        }
+
+        private static final long serialVersionUID = 1L;
+
+        private final X[] a;
+        private final X[] aux;
+        private final int lo;
+        private final int hi;
+    }
+
+    /**
+     * The size below which we use insertion sort to count inversions.
+     */
+    private static final int CUTOFF = 7;
+
+    /**
+     * The size below which we do not fork a new task.
+     */
+    static final int PARALLEL_CUTOFF = 8192;
+
+    private static final double Z95 = 1.96;
+
+    // NOTE private constructor (utility class)
+    private Inversions() {
+    }
+}
@@ -0,0 +1,211 @@
+package edu.neu.coe.info6205.sort;
+
+import edu.neu.coe.info6205.util.Config;
+
+import java.time.chrono.ChronoLocalDateTime;
+
+/**
+ * Non-instrumented Helpers which are specialized for one element type.
+ * <p>
+ * In BaseHelper, the call v.compareTo(w) is shared by every element type that is ever sorted in the JVM.
+ * Once Strings, Integers and LocalDateTimes have all been sorted, that call site is megamorphic and can no longer be inlined.
+ * Each of the helpers here is a final class which invokes compareTo on a concrete (final) type,
+ * so that the compareTo call sites inside the helper stay monomorphic regardless of what else has been sorted.
+ * <p>
+ * NOTE that this does not make a sort monomorphic.
+ * The sorters call helper.less, helper.swap and so on at call sites which are shared by every Helper class used with them,
+ * and each class here is one more receiver type at those sites:
+ * once three or more Helper classes have been used with the same sorter, its calls to the helper can no longer be inlined,
+ * and the inlined compareTo inside the helper does not make up for that (see HelperInliningBenchmark).
+ * These helpers therefore pay off only where a sorter sees a single Helper class,
+ * for example in a JVM which sorts only one element type (such as a cell of ForkedRunner).
+ * <p>
+ * For that reason, HelperFactory never returns these helpers:
+ * use create(description, nElements, clazz, config) (or a constructor) only where the sorter is known to see this one Helper class.
+ */
+public class MonomorphicHelpers {
+
+    /**
+     * Method to get a specialized (non-instrumented) Helper for the given element class, if there is one.
+     *
+     * @param description the description of the Helper.
+     * @param nElements   the number of elements to be sorted.
+     * @param clazz       the class of the elements.
+     * @param config      the configuration.
+     * @param <X>         the underlying type.
+     * @return a specialized Helper, or null if clazz has no specialization.
+     */
+    @SuppressWarnings("unchecked")
+    public static <X extends Comparable<X>> Helper<X> create(String description, int nElements, Class<?> clazz, Config config) {
+        if (clazz == String.class) return (Helper<X>) new StringHelper(description, nElements, config);
+        if (clazz == Integer.class) return (Helper<X>) new IntegerHelper(description, nElements, config);
+        if (ChronoLocalDateTime.class.isAssignableFrom(clazz))
+            return (Helper<X>) new DateTimeHelper(description, nElements, config);
+        return null;
+    }
+
+    public static final class StringHelper extends BaseHelper<String> {
+
+        public StringHelper(String description, int n, Config config) {
+            super(description, n, config);
+        }
+
+        @Override
+        public boolean less(String v, String w) {
+            return v.compareTo(w) < 0;
+        }
+
+        @Override
+        public int compare(String[] xs, int i, int j) {
+            return xs[i].compareTo(xs[j]);
+        }
+
+        @Override
+        public int compare(String v, String w) {
+            return v.compareTo(w);
+        }
+
+        @Override
+        public boolean swapConditional(String[] xs, int i, int j) {
+            final String v = xs[i];
+            final String w = xs[j];
+            final boolean result = v.compareTo(w) > 0;
+            if (result) {
+                xs[i] = w;
+                xs[j] = v;
+            }
+            return result;
+        }
+
+        @Override
+        public boolean swapStableConditional(String[] xs, int i) {
+            final String v = xs[i];
+            final String w = xs[i - 1];
+            final boolean result = v.compareTo(w) < 0;
+            if (result) {
+                xs[i] = w;
+                xs[i - 1] = v;
+            }
+            return result;
+        }
+
+        @Override
+        public boolean sorted(String[] xs) {
+            for (int i = 1; i < xs.length; i++) if (xs[i - 1].compareTo(xs[i]) > 0) return false;
+            return true;
+        }
+    }
+
+    public static final class IntegerHelper extends BaseHelper<Integer> {
+
+        public IntegerHelper(String description, int n, Config config) {
+            super(description, n, config);
+        }
+
+        @Override
+        public boolean less(Integer v, Integer w) {
+            return v < w;
+        }
+
+        @Override
+        public int compare(Integer[] xs, int i, int j) {
+            return Integer.compare(xs[i], xs[j]);
+        }
+
+        @Override
+        public int compare(Integer v, Integer w) {
+            return Integer.compare(v, w);
+        }
+
+        @Override
+        public boolean swapConditional(Integer[] xs, int i, int j) {
+            final Integer v = xs[i];
+            final Integer w = xs[j];
+            final boolean result = v > w;
+            if (result) {
+                xs[i] = w;
+                xs[j] = v;
+            }
+            return result;
+        }
+
+        @Override
+        public boolean swapStableConditional(Integer[] xs, int i) {
+            final Integer v = xs[i];
+            final Integer w = xs[i - 1];
+            final boolean result = v < w;
+            if (result) {
+                xs[i] = w;
+                xs[i - 1] = v;
+            }
+            return result;
+        }
+
+        @Override
+        public boolean sorted(Integer[] xs) {
+            for (int i = 1; i < xs.length; i++) if (xs[i - 1] > xs[i]) return false;
+            return true;
+        }
+    }
+
+    /**
+     * NOTE that ChronoLocalDateTime is an interface, so the compareTo call sites here are monomorphic
+     * only so long as a single implementation (in practice, LocalDateTime) is sorted.
+     * Even so, they are not polluted by Strings or Integers.
+     */
+    public static final class DateTimeHelper extends BaseHelper<ChronoLocalDateTime<?>> {
+
+        public DateTimeHelper(String description, int n, Config config) {
+            super(description, n, config);
+        }
+
+        @Override
+        public boolean less(ChronoLocalDateTime<?> v, ChronoLocalDateTime<?> w) {
+            return v.compareTo(w) < 0;
+        }
+
+        @Override
+        public int compare(ChronoLocalDateTime<?>[] xs, int i, int j) {
+            return xs[i].compareTo(xs[j]);
+        }
+
+        @Override
+        public int compare(ChronoLocalDateTime<?> v, ChronoLocalDateTime<?> w) {
+            return v.compareTo(w);
+        }
+
+        @Override
+        public boolean swapConditional(ChronoLocalDateTime<?>[] xs, int i, int j) {
+            final ChronoLocalDateTime<?> v = xs[i];
+            final ChronoLocalDateTime<?> w = xs[j];
+            final boolean result = v.compareTo(w) > 0;
+            if (result) {
+                xs[i] = w;
+                xs[j] = v;
+            }
+            return result;
+        }
+
+        @Override
+        public boolean swapStableConditional(ChronoLocalDateTime<?>[] xs, int i) {
+            final ChronoLocalDateTime<?> v = xs[i];
+            final ChronoLocalDateTime<?> w = xs[i - 1];
+            final boolean result = v.compareTo(w) < 0;
+            if (result) {
+                xs[i] = w;
+                xs[i - 1] = v;
+            }
+            return result;
+        }
+
+        @Override
+        public boolean sorted(ChronoLocalDateTime<?>[] xs) {
+            for (int i = 1; i < xs.length; i++) if (xs[i - 1].compareTo(xs[i]) > 0) return false;
+            return true;
+        }
+    }
+
+    // NOTE private constructor (utility class)
+    private MonomorphicHelpers() {
+    }
+}
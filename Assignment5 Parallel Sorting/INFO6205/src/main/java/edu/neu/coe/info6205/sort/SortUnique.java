@@ -0,0 +1,231 @@
+package edu.neu.coe.info6205.sort;
+
+import java.util.Arrays;
+
+/**
+ * Fused sort-and-deduplicate operations: the result is sorted and each distinct value appears only once.
+ * <p>
+ * Rather than sorting and then removing duplicates in a separate pass (or hashing them away beforehand),
+ * duplicates are dropped as they are found: in the merge phase of a merge sort (where equal heads are output once),
+ * or in the scatter phase of an MSD radix sort (where a bucket of keys which are entirely equal is output once).
+ * Each recursive step leaves its distinct elements compacted at the start of its sub-array,
+ * so that later steps have less to do when there are many duplicates.
+ * <p>
+ * None of these methods mutates its input.
+ */
+public class SortUnique {
+
+    /**
+     * Sort and deduplicate xs by merge sort.
+     *
+     * @param xs  an array of Xs (which will not be mutated).
+     * @param <X> the underlying type which must extend Comparable.
+     * @return a new array with the distinct elements of xs in order.
+     */
+    public static <X extends Comparable<X>> X[] mergeSort(X[] xs) {
+        final X[] a = Arrays.copyOf(xs, xs.length);
+        final int k = mergeSort(a, SortWorkspace.get().borrow(a, a.length), 0, a.length);
+        return Arrays.copyOf(a, k);
+    }
+
+    /**
+     * Sort and deduplicate xs by merge sort.
+     *
+     * @param xs an array of ints (which will not be mutated).
+     * @return a new array with the distinct elements of xs in order.
+     */
+    public static int[] mergeSort(int[] xs) {
+        final int[] a = Arrays.copyOf(xs, xs.length);
+        final int k = mergeSort(a, SortWorkspace.get().borrowInts(a.length), 0, a.length);
+        return Arrays.copyOf(a, k);
+    }
+
+    /**
+     * Sort and deduplicate xs by MSD radix sort (taking each char as two bytes, so that the order is that of String.compareTo).
+     *
+     * @param xs an array of Strings (which will not be mutated).
+     * @return a new array with the distinct elements of xs in order.
+     */
+    public static String[] radixSort(String[] xs) {
+        final String[] a = Arrays.copyOf(xs, xs.length);
+        final int k = radixSort(a, SortWorkspace.get().borrow(a, a.length), 0, a.length, 0);
+        return Arrays.copyOf(a, k);
+    }
+
+    /**
+     * Sort and deduplicate xs by MSD radix sort on bytes (most significant first).
+     *
+     * @param xs an array of ints (which will not be mutated).
+     * @return a new array with the distinct elements of xs in order.
+     */
+    public static int[] radixSort(int[] xs) {
+        final int[] a = Arrays.copyOf(xs, xs.length);
+        final int k = radixSort(a, SortWorkspace.get().borrowInts(a.length), 0, a.length, 0);
+        return Arrays.copyOf(a, k);
+    }
+
+    /**
+     * Sort a[lo..hi), dropping duplicates.
+     *
+     * @return the number of distinct elements, which are now in a[lo..lo+k).
+     */
+    private static <X extends Comparable<X>> int mergeSort(X[] a, X[] aux, int lo, int hi) {
+        if (hi - lo <= CUTOFF) return insertionSort(a, lo, hi);
+        final int mid = (lo + hi) >>> 1;
+        final int m = lo + mergeSort(a, aux, lo, mid);
+        final int n = mid + mergeSort(a, aux, mid, hi);
+        int i = lo;
+        int j = mid;
+        int k = lo;
+        while (i < m && j < n) {
+            final int cf = a[i].compareTo(a[j]);
+            if (cf < 0) aux[k++] = a[i++];
+            else if (cf > 0) aux[k++] = a[j++];
+            else {
+                aux[k++] = a[i++];
+                j++;
+            }
+        }
+        while (i < m) aux[k++] = a[i++];
+        while (j < n) aux[k++] = a[j++];
+        System.arraycopy(aux, lo, a, lo, k - lo);
+        return k - lo;
+    }
+
+    private static <X extends Comparable<X>> int insertionSort(X[] a, int lo, int hi) {
+        for (int i = lo + 1; i < hi; i++) {
+            final X x = a[i];
+            int j = i;
+            for (; j > lo && a[j - 1].compareTo(x) > 0; j--) a[j] = a[j - 1];
+            a[j] = x;
+        }
+        if (hi <= lo) return 0;
+        int k = lo + 1;
+        for (int i = lo + 1; i < hi; i++) if (a[i].compareTo(a[k - 1]) != 0) a[k++] = a[i];
+        return k - lo;
+    }
+
+    private static int mergeSort(int[] a, int[] aux, int lo, int hi) {
+        if (hi - lo <= CUTOFF) return insertionSort(a, lo, hi);
+        final int mid = (lo + hi) >>> 1;
+        final int m = lo + mergeSort(a, aux, lo, mid);
+        final int n = mid + mergeSort(a, aux, mid, hi);
+        int i = lo;
+        int j = mid;
+        int k = lo;
+        while (i < m && j < n) {
+            final int x = a[i];
+            final int y = a[j];
+            if (x < y) {
+                aux[k++] = x;
+                i++;
+            } else if (x > y) {
+                aux[k++] = y;
+                j++;
+            } else {
+                aux[k++] = x;
+                i++;
+                j++;
+            }
+        }
+        while (i < m) aux[k++] = a[i++];
+        while (j < n) aux[k++] = a[j++];
+        System.arraycopy(aux, lo, a, lo, k - lo);
+        return k - lo;
+    }
+
+    private static int insertionSort(int[] a, int lo, int hi) {
+        for (int i = lo + 1; i < hi; i++) {
+            final int x = a[i];
+            int j = i;
+            for (; j > lo && a[j - 1] > x; j--) a[j] = a[j - 1];
+            a[j] = x;
+        }
+        if (hi <= lo) return 0;
+        int k = lo + 1;
+        for (int i = lo + 1; i < hi; i++) if (a[i] != a[k - 1]) a[k++] = a[i];
+        return k - lo;
+    }
+
+    /**
+     * Sort a[lo..hi), all of whose elements share the same first d bytes, dropping duplicates.
+     *
+     * @return the number of distinct elements, which are now in a[lo..lo+k).
+     */
+    private static int radixSort(String[] a, String[] aux, int lo, int hi, int d) {
+        if (hi - lo <= CUTOFF) return insertionSort(a, lo, hi);
+        final int[] count = SortWorkspace.get().counts(d, RADIX + 2);
+        for (int i = lo; i < hi; i++)
+            count[byteAt(a[i], d) + 2]++;
+        for (int r = 0; r < RADIX + 1; r++)
+            count[r + 1] += count[r];
+        for (int i = lo; i < hi; i++)
+            aux[count[byteAt(a[i], d) + 1]++] = a[i];
+        System.arraycopy(aux, 0, a, lo, hi - lo);
+        // NOTE count[r] is now the start (relative to lo) of bucket r, and count[0] is the end of the bucket of Strings which end before d.
+        int k = lo;
+        // NOTE the Strings which end before d are all equal, so we keep just one of them.
+        if (count[0] > 0) k++;
+        for (int r = 0; r < RADIX; r++) {
+            final int from = lo + count[r];
+            final int to = lo + count[r + 1];
+            if (to == from) continue;
+            final int distinct = radixSort(a, aux, from, to, d + 1);
+            System.arraycopy(a, from, a, k, distinct);
+            k += distinct;
+        }
+        return k - lo;
+    }
+
+    /**
+     * Sort a[lo..hi), all of whose elements share the same first d bytes, dropping duplicates.
+     */
+    private static int radixSort(int[] a, int[] aux, int lo, int hi, int d) {
+        if (hi - lo <= CUTOFF) return insertionSort(a, lo, hi);
+        final int[] count = SortWorkspace.get().counts(d, RADIX + 1);
+        final int shift = 24 - 8 * d;
+        for (int i = lo; i < hi; i++)
+            count[byteAt(a[i], shift) + 1]++;
+        for (int r = 0; r < RADIX; r++)
+            count[r + 1] += count[r];
+        for (int i = lo; i < hi; i++)
+            aux[count[byteAt(a[i], shift)]++] = a[i];
+        System.arraycopy(aux, 0, a, lo, hi - lo);
+        // NOTE count[r] is now the end (relative to lo) of bucket r.
+        int k = lo;
+        for (int r = 0; r < RADIX; r++) {
+            final int from = lo + (r == 0 ? 0 : count[r - 1]);
+            final int to = lo + count[r];
+            if (to == from) continue;
+            // NOTE when d is 3, all the elements of a bucket are equal, so we keep just one.
+            final int distinct = d == 3 ? 1 : radixSort(a, aux, from, to, d + 1);
+            System.arraycopy(a, from, a, k, distinct);
+            k += distinct;
+        }
+        return k - lo;
+    }
+
+    /**
+     * @return the byte at d (taking each char as two bytes, high byte first) of s, or -1 if s has no byte at d.
+     */
+    private static int byteAt(String s, int d) {
+        final int i = d >> 1;
+        if (i >= s.length()) return -1;
+        final char c = s.charAt(i);
+        return (d & 1) == 0 ? c >>> 8 : c & 0xFF;
+    }
+
+    /**
+     * @return the byte of x selected by shift, where the most significant byte is flipped so that negative ints come first.
+     */
+    private static int byteAt(int x, int shift) {
+        return ((shift == 24 ? x ^ Integer.MIN_VALUE : x) >>> shift) & 0xFF;
+    }
+
+    private static final int RADIX = 256;
+    private static final int CUTOFF = 15;
+
+    // NOTE private constructor (utility class)
+    private SortUnique() {
+    }
+}
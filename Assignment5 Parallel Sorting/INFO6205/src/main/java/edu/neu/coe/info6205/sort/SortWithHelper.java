@@ -37,6 +37,7 @@ public abstract class SortWithHelper<X extends Comparable<X>> implements Sort<X>
     @Override
     public void init(int n) {
         getHelper().init(n);
+        SortWorkspace.get().init(n);
     }
 
     /**
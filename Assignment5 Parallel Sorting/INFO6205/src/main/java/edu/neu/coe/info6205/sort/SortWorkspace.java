@@ -0,0 +1,139 @@
+package edu.neu.coe.info6205.sort;
+
+import java.lang.reflect.Array;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A per-thread pool of auxiliary arrays for sorts which need them (merge sort, MSD and LSD string sorts, radix sort).
+ * <p>
+ * When the same sorter is run repeatedly on arrays of the same size (as in a benchmark),
+ * the buffers are allocated on the first run and simply reused thereafter,
+ * so that, in the steady state, no auxiliary arrays are allocated at all.
+ * <p>
+ * NOTE that a borrowed buffer belongs to the borrower only until the next borrow (of the same kind) on the same thread.
+ * Sorts must not therefore hold on to a buffer once they have returned.
+ * NOTE also that object buffers retain references to the elements last sorted until they are overwritten or clear is called.
+ */
+public final class SortWorkspace {
+
+    /**
+     * @return the SortWorkspace for the current thread.
+     */
+    public static SortWorkspace get() {
+        return workspaces.get();
+    }
+
+    /**
+     * Size this workspace for sorting n elements: buffers allocated from now on will have at least n elements.
+     * This is normally invoked by Sort.init(n).
+     *
+     * @param n the number of elements to be sorted.
+     */
+    public void init(int n) {
+        if (n > capacity) capacity = n;
+    }
+
+    /**
+     * Borrow an array with the same component type as xs and with at least n elements.
+     * The contents of the result are unspecified.
+     *
+     * @param xs  an array whose component type is to be matched.
+     * @param n   the minimum length of the result.
+     * @param <X> the underlying type.
+     * @return an array of X with length at least n.
+     */
+    @SuppressWarnings("unchecked")
+    public <X> X[] borrow(X[] xs, int n) {
+        final Class<?> componentType = xs.getClass().getComponentType();
+        final Object[] buffer = objects.get(componentType);
+        if (buffer != null && buffer.length >= n) return (X[]) buffer;
+        final X[] result = (X[]) Array.newInstance(componentType, Math.max(n, capacity));
+        allocations++;
+        objects.put(componentType, result);
+        return result;
+    }
+
+    /**
+     * Borrow an array of ints with at least n elements.
+     * The contents of the result are unspecified.
+     *
+     * @param n the minimum length of the result.
+     * @return an array of int with length at least n.
+     */
+    public int[] borrowInts(int n) {
+        return borrowInts(0, n);
+    }
+
+    /**
+     * Borrow one of several arrays of ints with at least n elements (for sorts which need more than one at a time).
+     * The contents of the result are unspecified.
+     *
+     * @param slot the index of the buffer required.
+     * @param n    the minimum length of the result.
+     * @return an array of int with length at least n.
+     */
+    public int[] borrowInts(int slot, int n) {
+        while (ints.size() <= slot) ints.add(new int[0]);
+        final int[] buffer = ints.get(slot);
+        if (buffer.length >= n) return buffer;
+        allocations++;
+        final int[] result = new int[Math.max(n, capacity)];
+        ints.set(slot, result);
+        return result;
+    }
+
+    /**
+     * Borrow an array of counts (as used by counting and radix sorts) for the given level of recursion.
+     * Unlike the other buffers, the first n elements of the result are zero.
+     *
+     * @param level the level of recursion (so that a recursive sort can hold one count array for each level).
+     * @param n     the number of counts required.
+     * @return an array of int with length at least n, of which the first n elements are zero.
+     */
+    public int[] counts(int level, int n) {
+        while (counts.size() <= level) counts.add(new int[0]);
+        int[] result = counts.get(level);
+        if (result.length < n) {
+            allocations++;
+            result = new int[n];
+            counts.set(level, result);
+        } else for (int i = 0; i < n; i++) result[i] = 0;
+        return result;
+    }
+
+    /**
+     * Release all of the buffers of this workspace (for example, to allow the elements last sorted to be garbage-collected).
+     */
+    public void clear() {
+        objects.clear();
+        ints.clear();
+        counts.clear();
+        capacity = 0;
+    }
+
+    /**
+     * @return the number of buffers which have been allocated by this workspace.
+     */
+    public long getAllocations() {
+        return allocations;
+    }
+
+    @Override
+    public String toString() {
+        return "SortWorkspace{capacity=" + capacity + ", allocations=" + allocations + '}';
+    }
+
+    private static final ThreadLocal<SortWorkspace> workspaces = ThreadLocal.withInitial(SortWorkspace::new);
+
+    private final Map<Class<?>, Object[]> objects = new HashMap<>();
+    private final List<int[]> counts = new ArrayList<>();
+    private final List<int[]> ints = new ArrayList<>();
+    private int capacity = 0;
+    private long allocations = 0;
+
+    private SortWorkspace() {
+    }
+}
@@ -4,6 +4,7 @@ import edu.neu.coe.info6205.sort.BaseHelper;
 import edu.neu.coe.info6205.sort.GenericHelper;
 import edu.neu.coe.info6205.util.Config;
 import edu.neu.coe.info6205.util.Utilities;
+import edu.neu.coe.info6205.util.parallel.ParallelRandom;
 
 import java.util.Random;
 import java.util.function.Function;
@@ -19,6 +20,12 @@ public class ClassicHelper<X> implements GenericHelper<X> {
         return randomArray;
     }
 
+    public X[] randomInParallel(Class<X> clazz, Function<Random, X> f) {
+        if (n <= 0) throw new BaseHelper.HelperException("Helper.randomInParallel: not initialized");
+        randomArray = ParallelRandom.fill(clazz, n, random, f);
+        return randomArray;
+    }
+
     @Override
     public void init(int n) {
         this.n = n;
@@ -0,0 +1,73 @@
+package edu.neu.coe.info6205.sort.counting;
+
+import java.text.Collator;
+import java.util.Locale;
+import java.util.stream.IntStream;
+
+/**
+ * Locale-aware sort of Strings which uses precomputed collation keys.
+ * <p>
+ * Using Collator.compare inside a comparison sort is very slow since each comparison must (partially) compute
+ * the collation elements of both of its operands, and there are n lg n comparisons.
+ * Instead, the collation key of each element is computed just once (optionally in parallel) as an array of bytes,
+ * whose unsigned order is the order of the Collator.
+ * The keys are then sorted by MSD radix sort (see StringArena), and the Strings are finally arranged in the order of their keys.
+ */
+public class CollationKeySort {
+
+    /**
+     * Constructor for CollationKeySort
+     *
+     * @param locale   the locale whose Collator determines the order.
+     * @param parallel true if the keys should be computed in parallel.
+     */
+    public CollationKeySort(Locale locale, boolean parallel) {
+        this(Collator.getInstance(locale), parallel);
+    }
+
+    /**
+     * Constructor for CollationKeySort
+     *
+     * @param collator the Collator which determines the order (it is cloned for each thread, and so is never mutated).
+     * @param parallel true if the keys should be computed in parallel.
+     */
+    public CollationKeySort(Collator collator, boolean parallel) {
+        this.collators = ThreadLocal.withInitial(() -> (Collator) collator.clone());
+        this.parallel = parallel;
+    }
+
+    /**
+     * Sort the given Strings according to the Collator.
+     *
+     * @param xs the Strings to be sorted (which are not mutated).
+     * @return the Strings of xs in collation order.
+     */
+    public String[] sort(String[] xs) {
+        final int n = xs.length;
+        final StringArena keys = keys(xs);
+        keys.sort();
+        final String[] result = new String[n];
+        for (int i = 0; i < n; i++) result[i] = xs[keys.original(i)];
+        return result;
+    }
+
+    /**
+     * Compute the collation keys of xs.
+     *
+     * @param xs the Strings.
+     * @return a StringArena whose elements are the collation keys of xs (in the same order).
+     */
+    StringArena keys(String[] xs) {
+        final byte[][] keys = new byte[xs.length][];
+        final IntStream indices = IntStream.range(0, xs.length);
+        (parallel ? indices.parallel() : indices).forEach(i -> keys[i] = collators.get().getCollationKey(xs[i]).toByteArray());
+        int bytes = 0;
+        for (byte[] key : keys) bytes += key.length;
+        final StringArena.Builder builder = new StringArena.Builder(bytes, xs.length);
+        for (byte[] key : keys) builder.add(key, 0, key.length);
+        return builder.build();
+    }
+
+    private final ThreadLocal<Collator> collators;
+    private final boolean parallel;
+}
@@ -1,5 +1,8 @@
 package edu.neu.coe.info6205.sort.counting;
 
+import edu.neu.coe.info6205.sort.SortWorkspace;
+import edu.neu.coe.info6205.util.parallel.ParallelPrimitives;
+
 public class LSDStringSort {
 
     private final int ASCII_RANGE = 256;
@@ -41,8 +44,17 @@ public class LSDStringSort {
      * @param to           This is the ending index up until which sorting operation will be continued
      */
     private void charSort(String[] strArr, int charPosition, int from, int to) {
-        int[] count = new int[ASCII_RANGE + 2];
-        String[] result = new String[strArr.length];
+        final SortWorkspace workspace = SortWorkspace.get();
+        String[] result = workspace.borrow(strArr, to + 1 - from);
+
+        final ParallelPrimitives parallel = ParallelPrimitives.getDefault();
+        if (parallel.worthwhile(to + 1 - from)) {
+            // large arrays are distributed in parallel (stably, block by block)
+            parallel.scatter(strArr, from, to + 1, i -> charAsciiVal(strArr[i], charPosition), ASCII_RANGE, result, 0);
+            System.arraycopy(result, 0, strArr, from, to + 1 - from);
+            return;
+        }
+        int[] count = workspace.counts(0, ASCII_RANGE + 2);
 
         for (int i = from; i <= to; i++) {
             int c = charAsciiVal(strArr[i], charPosition);
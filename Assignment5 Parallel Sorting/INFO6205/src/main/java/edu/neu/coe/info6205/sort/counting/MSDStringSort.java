@@ -1,5 +1,6 @@
 package edu.neu.coe.info6205.sort.counting;
 
+import edu.neu.coe.info6205.sort.SortWorkspace;
 import edu.neu.coe.info6205.sort.elementary.InsertionSortMSD;
 
 /**
@@ -14,8 +15,9 @@ public class MSDStringSort {
      */
     public static void sort(String[] a) {
         int n = a.length;
-        aux = new String[n];
+        aux = SortWorkspace.get().borrow(a, n);
         sort(a, 0, n, 0);
+        aux = null;
     }
 
     /**
@@ -30,7 +32,7 @@ public class MSDStringSort {
     private static void sort(String[] a, int lo, int hi, int d) {
         if (hi < lo + cutoff) InsertionSortMSD.sort(a, lo, hi, d);
         else {
-            int[] count = new int[radix + 2];        // Compute frequency counts.
+            int[] count = SortWorkspace.get().counts(d, radix + 2);        // Compute frequency counts.
             for (int i = lo; i < hi; i++)
                 count[charAt(a[i], d) + 2]++;
             for (int r = 0; r < radix + 1; r++)      // Transform counts to indices.
@@ -0,0 +1,334 @@
+package edu.neu.coe.info6205.sort.counting;
+
+import edu.neu.coe.info6205.pq.PQException;
+import edu.neu.coe.info6205.pq.PriorityQueue;
+import edu.neu.coe.info6205.sort.SortException;
+import edu.neu.coe.info6205.sort.SortWorkspace;
+import edu.neu.coe.info6205.util.parallel.ParallelPrimitives;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Sort of a binary file of fixed-width records, by a key which is a fixed range of bytes within each record
+ * (compared as unsigned bytes, i.e. lexicographically), without deserializing the records at all.
+ * <p>
+ * The file is memory-mapped (FileChannel.map) and only an index of record numbers is sorted:
+ * by MSD radix sort, reading the key bytes straight from the mapping.
+ * The records are then either written out sequentially in sorted order (sort),
+ * or permuted within the mapping by cycle-leader moves, so that only two records need to be buffered (sortInPlace).
+ * <p>
+ * A file larger than the run size (which must be small enough to map and which should fit comfortably in RAM) is sorted externally:
+ * each run is sorted as above into a temporary file, then all of the runs are merged in a single k-way merge
+ * (using a priority queue of run cursors).
+ * The merge is stable: ties are broken by run number.
+ */
+public class MappedRecordSort {
+
+    /**
+     * Constructor for MappedRecordSort.
+     *
+     * @param recordSize the number of bytes in each record.
+     * @param keyOffset  the offset of the key within each record.
+     * @param keyLength  the number of bytes in the key.
+     * @param runSize    the maximum number of bytes to sort in memory (rounded down to a whole number of records).
+     */
+    public MappedRecordSort(int recordSize, int keyOffset, int keyLength, long runSize) {
+        this(recordSize, keyOffset, keyLength, runSize, ParallelPrimitives.getDefault());
+    }
+
+    /**
+     * Constructor for MappedRecordSort with explicit parallel primitives.
+     *
+     * @param recordSize the number of bytes in each record.
+     * @param keyOffset  the offset of the key within each record.
+     * @param keyLength  the number of bytes in the key.
+     * @param runSize    the maximum number of bytes to sort in memory (rounded down to a whole number of records).
+     * @param parallel   the parallel primitives used to distribute large partitions.
+     */
+    MappedRecordSort(int recordSize, int keyOffset, int keyLength, long runSize, ParallelPrimitives parallel) {
+        if (recordSize <= 0 || keyOffset < 0 || keyLength <= 0 || keyOffset + keyLength > recordSize)
+            throw new IllegalArgumentException("MappedRecordSort: key must lie within the record");
+        this.recordSize = recordSize;
+        this.keyOffset = keyOffset;
+        this.keyLength = keyLength;
+        this.runRecords = (int) Math.min(Math.min(runSize, Integer.MAX_VALUE) / recordSize, Integer.MAX_VALUE);
+        if (runRecords < 1) throw new IllegalArgumentException("MappedRecordSort: runSize is smaller than a record");
+        this.parallel = parallel;
+    }
+
+    /**
+     * Constructor for MappedRecordSort with the default run size.
+     *
+     * @param recordSize the number of bytes in each record.
+     * @param keyOffset  the offset of the key within each record.
+     * @param keyLength  the number of bytes in the key.
+     */
+    public MappedRecordSort(int recordSize, int keyOffset, int keyLength) {
+        this(recordSize, keyOffset, keyLength, DEFAULT_RUN_SIZE);
+    }
+
+    /**
+     * Sort the records of input into output (which is created or replaced).
+     *
+     * @param input  the input file, whose length must be a multiple of the record size.
+     * @param output the output file.
+     * @throws IOException if either file cannot be read or written.
+     */
+    public void sort(Path input, Path output) throws IOException {
+        final long n = records(input);
+        if (n <= runRecords) {
+            sortRun(input, 0, (int) n, output);
+            return;
+        }
+        final Path directory = Files.createTempDirectory("runs");
+        final List<Path> runs = new ArrayList<>();
+        try {
+            for (long first = 0; first < n; first += runRecords) {
+                final Path run = directory.resolve("run" + runs.size());
+                sortRun(input, first, (int) Math.min(runRecords, n - first), run);
+                runs.add(run);
+            }
+            merge(runs, output);
+        } finally {
+            for (Path run : runs) Files.deleteIfExists(run);
+            Files.deleteIfExists(directory);
+        }
+    }
+
+    /**
+     * Sort the records of file in place.
+     * The file must be no larger than the run size.
+     *
+     * @param file the file, whose length must be a multiple of the record size.
+     * @throws IOException if the file cannot be read or written.
+     */
+    public void sortInPlace(Path file) throws IOException {
+        final long n = records(file);
+        if (n > runRecords) throw new SortException("MappedRecordSort.sortInPlace: file is larger than the run size");
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            final MappedByteBuffer mapping = channel.map(FileChannel.MapMode.READ_WRITE, 0, n * recordSize);
+            final int[] index = index(mapping, (int) n);
+            permute(mapping, index);
+            mapping.force();
+        }
+    }
+
+    /**
+     * Compute the sorted order of the n records of mapping.
+     *
+     * @param mapping a buffer holding n records, starting at position zero.
+     * @param n       the number of records.
+     * @return the record numbers in sorted (stable) order.
+     */
+    int[] index(ByteBuffer mapping, int n) {
+        final int[] index = new int[n];
+        for (int i = 0; i < n; i++) index[i] = i;
+        final int[] aux = SortWorkspace.get().borrowInts(n);
+        sort(mapping, index, aux, 0, n, 0);
+        return index;
+    }
+
+    /**
+     * Sort records [first..first+n) of input into output, writing them sequentially in sorted order.
+     */
+    private void sortRun(Path input, long first, int n, Path output) throws IOException {
+        try (FileChannel in = FileChannel.open(input, StandardOpenOption.READ);
+             FileChannel out = FileChannel.open(output, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            final MappedByteBuffer mapping = in.map(FileChannel.MapMode.READ_ONLY, first * recordSize, (long) n * recordSize);
+            final int[] index = index(mapping, n);
+            final ByteBuffer buffer = ByteBuffer.allocateDirect(Math.max(recordSize, BUFFER_SIZE / recordSize * recordSize));
+            for (int i = 0; i < n; i++) {
+                if (buffer.remaining() < recordSize) flush(buffer, out);
+                buffer.put(record(mapping, index[i]));
+            }
+            flush(buffer, out);
+        }
+    }
+
+    /**
+     * Merge the sorted runs into output by a single k-way merge.
+     */
+    private void merge(List<Path> runs, Path output) throws IOException {
+        final PriorityQueue<Cursor> pq = new PriorityQueue<>(runs.size(), false, this::compare, false);
+        final List<FileChannel> channels = new ArrayList<>();
+        try (FileChannel out = FileChannel.open(output, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            for (int r = 0; r < runs.size(); r++) {
+                final FileChannel channel = FileChannel.open(runs.get(r), StandardOpenOption.READ);
+                channels.add(channel);
+                final Cursor cursor = new Cursor(r, channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()));
+                if (cursor.remaining() > 0) pq.give(cursor);
+            }
+            final ByteBuffer buffer = ByteBuffer.allocateDirect(Math.max(recordSize, BUFFER_SIZE / recordSize * recordSize));
+            while (!pq.isEmpty()) {
+                final Cursor cursor = pq.take();
+                if (buffer.remaining() < recordSize) flush(buffer, out);
+                buffer.put(record(cursor.mapping, cursor.record++));
+                if (cursor.remaining() > 0) pq.give(cursor);
+            }
+            flush(buffer, out);
+        } catch (PQException e) {
+            throw new SortException("MappedRecordSort.merge: logic error", e);
+        } finally {
+            for (FileChannel channel : channels) channel.close();
+        }
+    }
+
+    /**
+     * A position within a sorted run.
+     */
+    private class Cursor {
+        Cursor(int run, MappedByteBuffer mapping) {
+            this.run = run;
+            this.mapping = mapping;
+            this.records = mapping.capacity() / recordSize;
+        }
+
+        int remaining() {
+            return records - record;
+        }
+
+        final int run;
+        final MappedByteBuffer mapping;
+        final int records;
+        int record = 0;
+    }
+
+    private int compare(Cursor c, Cursor d) {
+        final int cf = compare(c.mapping, c.record, d.mapping, d.record, 0);
+        return cf != 0 ? cf : Integer.compare(c.run, d.run);
+    }
+
+    /**
+     * Rearrange the records of mapping so that record i is the old record index[i], following each cycle from its leader.
+     * As in ArgSort.applyPermutation, visited entries of index are marked by complementing them.
+     */
+    private void permute(ByteBuffer mapping, int[] index) {
+        final byte[] leader = new byte[recordSize];
+        final byte[] temp = new byte[recordSize];
+        for (int i = 0; i < index.length; i++) {
+            if (index[i] < 0) continue;
+            get(mapping, i, leader);
+            int j = i;
+            for (int k = index[j]; k != i; k = index[j]) {
+                get(mapping, k, temp);
+                put(mapping, j, temp);
+                index[j] = ~k;
+                j = k;
+            }
+            put(mapping, j, leader);
+            index[j] = ~i;
+        }
+    }
+
+    /**
+     * Sort index[lo..hi), all of whose records share the same first d key bytes.
+     */
+    private void sort(ByteBuffer mapping, int[] index, int[] aux, int lo, int hi, int d) {
+        if (hi < lo + CUTOFF) {
+            insertionSort(mapping, index, lo, hi, d);
+            return;
+        }
+        if (d == keyLength) return;
+        if (parallel.worthwhile(hi - lo)) {
+            // Large partitions (in practice, the first pass over a run) are distributed in parallel (stably, block by block).
+            // NOTE the blocks only read the mapping with absolute gets, which do not disturb its position.
+            final int[] start = parallel.scatter(index, lo, hi, i -> keyByte(mapping, index[i], d), RADIX, aux, 0);
+            System.arraycopy(aux, 0, index, lo, hi - lo);
+            for (int r = 0; r < RADIX; r++)
+                if (start[r + 1] - start[r] > 1) sort(mapping, index, aux, lo + start[r], lo + start[r + 1], d + 1);
+            return;
+        }
+        final int[] count = SortWorkspace.get().counts(d, RADIX + 1);
+        for (int i = lo; i < hi; i++)
+            count[keyByte(mapping, index[i], d) + 1]++;
+        for (int r = 0; r < RADIX; r++)
+            count[r + 1] += count[r];
+        for (int i = lo; i < hi; i++)
+            aux[count[keyByte(mapping, index[i], d)]++] = index[i];
+        System.arraycopy(aux, 0, index, lo, hi - lo);
+        // NOTE count[r] is now the end (relative to lo) of the records whose key byte at d is r.
+        for (int r = 0; r < RADIX; r++) {
+            final int from = r == 0 ? 0 : count[r - 1];
+            if (count[r] - from > 1) sort(mapping, index, aux, lo + from, lo + count[r], d + 1);
+        }
+    }
+
+    private void insertionSort(ByteBuffer mapping, int[] index, int lo, int hi, int d) {
+        for (int i = lo + 1; i < hi; i++) {
+            final int e = index[i];
+            int j = i;
+            for (; j > lo && compare(mapping, e, mapping, index[j - 1], d) < 0; j--) index[j] = index[j - 1];
+            index[j] = e;
+        }
+    }
+
+    /**
+     * Compare the keys of record e of m and record f of n, from key byte d onwards.
+     */
+    private int compare(ByteBuffer m, int e, ByteBuffer n, int f, int d) {
+        final int i = e * recordSize + keyOffset;
+        final int j = f * recordSize + keyOffset;
+        for (int x = d; x < keyLength; x++) {
+            final int cf = (m.get(i + x) & 0xFF) - (n.get(j + x) & 0xFF);
+            if (cf != 0) return cf;
+        }
+        return 0;
+    }
+
+    private int keyByte(ByteBuffer mapping, int record, int d) {
+        return mapping.get(record * recordSize + keyOffset + d) & 0xFF;
+    }
+
+    /**
+     * @return a view of record i of mapping.
+     */
+    private ByteBuffer record(ByteBuffer mapping, int i) {
+        final ByteBuffer result = mapping.duplicate();
+        result.position(i * recordSize);
+        result.limit(i * recordSize + recordSize);
+        return result;
+    }
+
+    private void get(ByteBuffer mapping, int i, byte[] bytes) {
+        record(mapping, i).get(bytes);
+    }
+
+    private void put(ByteBuffer mapping, int i, byte[] bytes) {
+        final ByteBuffer record = mapping.duplicate();
+        record.position(i * recordSize);
+        record.put(bytes);
+    }
+
+    private long records(Path file) throws IOException {
+        final long size = Files.size(file);
+        if (size % recordSize != 0)
+            throw new SortException("MappedRecordSort: " + file + " is not a whole number of " + recordSize + "-byte records");
+        return size / recordSize;
+    }
+
+    private static void flush(ByteBuffer buffer, FileChannel channel) throws IOException {
+        buffer.flip();
+        while (buffer.hasRemaining()) channel.write(buffer);
+        buffer.clear();
+    }
+
+    public static final long DEFAULT_RUN_SIZE = 1L << 28;
+
+    private static final int RADIX = 256;
+    private static final int CUTOFF = 15;
+    private static final int BUFFER_SIZE = 1 << 20;
+
+    private final int recordSize;
+    private final int keyOffset;
+    private final int keyLength;
+    private final int runRecords;
+    private final ParallelPrimitives parallel;
+}
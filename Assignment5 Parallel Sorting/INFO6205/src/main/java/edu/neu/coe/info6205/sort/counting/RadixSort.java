@@ -1,5 +1,8 @@
 package edu.neu.coe.info6205.sort.counting;
 
+import edu.neu.coe.info6205.sort.SortWorkspace;
+import edu.neu.coe.info6205.util.parallel.ParallelPrimitives;
+
 
 /**
  * <h1>Radix Sort</h1>
@@ -42,9 +45,16 @@ public class RadixSort {
      * @param to     This is the ending index until which sorting operation will be continued
      */
     public void countSort(int[] numArr, int exp, int from, int to) {
-        int arrLength = numArr.length;
-        int[] result = new int[arrLength]; //This stores output result
-        int[] count = new int[10]; // This maintains digit wise occurrence count
+        final SortWorkspace workspace = SortWorkspace.get();
+        int[] result = workspace.borrowInts(numArr.length); //This stores output result (borrowed, so as not to allocate)
+        final ParallelPrimitives parallel = ParallelPrimitives.getDefault();
+        if (parallel.worthwhile(to + 1 - from)) {
+            // Large arrays are distributed in parallel (stably, block by block)
+            parallel.scatter(numArr, from, to + 1, i -> (numArr[i] / exp) % 10, 10, result, from);
+            System.arraycopy(result, from, numArr, from, to + 1 - from);
+            return;
+        }
+        int[] count = workspace.counts(0, 10); // This maintains digit wise occurrence count
 
         //This method records occurrence of digits in count[]
         for (int i = from; i <= to; i++)
@@ -0,0 +1,421 @@
+package edu.neu.coe.info6205.sort.counting;
+
+import edu.neu.coe.info6205.sort.SortWorkspace;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * A collection of Strings held as UTF-8 in a single byte array (the arena), with an index of offsets.
+ * <p>
+ * Compared with an array of String, there are no per-element objects at all (just one int for the offset and one for the index),
+ * and the characters take one byte each (for ASCII).
+ * The elements are sorted by MSD radix sort on their bytes, moving only the (int) index.
+ * Since UTF-8 was designed so that unsigned byte order is the same as Unicode code point order, that is the order of the result.
+ * NOTE that this differs from String.compareTo (UTF-16 code unit order) only for supplementary characters
+ * which sort after (rather than before) the characters U+E000 through U+FFFF.
+ * <p>
+ * Strings are materialized only on output, by get or toStrings.
+ * NOTE that, since the arena is a byte[], its total size is limited to 2GB.
+ */
+public class StringArena {
+
+    /**
+     * Create a StringArena from some Strings.
+     *
+     * @param strings the Strings.
+     * @return a new StringArena, in the same order as strings.
+     */
+    public static StringArena of(String... strings) {
+        final Builder builder = new Builder(strings.length * 8, strings.length);
+        for (String s : strings) builder.add(s);
+        return builder.build();
+    }
+
+    /**
+     * Read the words of a Leipzig corpus file (or any text) directly into a StringArena, without creating any Strings.
+     * <p>
+     * On each line, anything up to and including the first tab (the line number in Leipzig files) is ignored.
+     * The remainder is decoded as UTF-8 and split into words at every code point which is not a letter
+     * (according to Character.isLetter, as in CorpusLoader), so that curly quotes, dashes and full-width punctuation
+     * are not part of a word. Malformed sequences are also treated as separators.
+     *
+     * @param input         the UTF-8 input (which will be read fully but not closed).
+     * @param minimumLength the minimum length of a word (in chars, as String.length).
+     * @return a new StringArena with the words in the order in which they were read.
+     * @throws IOException if the input cannot be read.
+     */
+    public static StringArena readWords(InputStream input, int minimumLength) throws IOException {
+        final byte[] bytes = readFully(input);
+        final Builder builder = new Builder(bytes.length, bytes.length / 8);
+        int i = 0;
+        while (i < bytes.length) {
+            int end = i;
+            while (end < bytes.length && bytes[end] != '\n') end++;
+            int tab = i;
+            while (tab < end && bytes[tab] != '\t') tab++;
+            int j = tab < end ? tab + 1 : i;
+            while (j < end) {
+                while (j < end && letterLength(bytes, j, end) == 0) j++;
+                final int start = j;
+                int chars = 0;
+                int n;
+                while (j < end && (n = letterLength(bytes, j, end)) > 0) {
+                    j += n;
+                    // NOTE only a four-byte sequence is a supplementary code point (two chars).
+                    chars += n == 4 ? 2 : 1;
+                }
+                if (chars >= minimumLength) builder.add(bytes, start, j);
+            }
+            i = end + 1;
+        }
+        return builder.build();
+    }
+
+    /**
+     * Concatenate the elements (each in its current order) of some StringArenas into a new, compact, StringArena.
+     *
+     * @param arenas the StringArenas.
+     * @return a new StringArena whose bytes are those of the elements only (with no gaps), in the order given.
+     */
+    public static StringArena concat(StringArena... arenas) {
+        long bytes = 0;
+        int n = 0;
+        for (StringArena arena : arenas) {
+            for (int i = 0; i < arena.n; i++) bytes += arena.length(arena.index[i]);
+            n += arena.n;
+        }
+        if (bytes > Integer.MAX_VALUE) throw new IllegalArgumentException("StringArena.concat: too many bytes: " + bytes);
+        final Builder builder = new Builder((int) bytes, n);
+        for (StringArena arena : arenas)
+            for (int i = 0; i < arena.n; i++) {
+                final int e = arena.index[i];
+                builder.add(arena.bytes, arena.starts[e], arena.starts[e + 1]);
+            }
+        return builder.build();
+    }
+
+    /**
+     * Read a StringArena in the form written by write.
+     * The elements are copied out of the buffer in bulk (two copies in all), so the buffer may be a mapped file.
+     *
+     * @param buffer the buffer, positioned at the start of the arena (and left positioned at its end).
+     * @return a new StringArena.
+     * @throws IllegalArgumentException if the buffer does not hold a well-formed arena.
+     */
+    public static StringArena read(ByteBuffer buffer) {
+        final int n = buffer.getInt();
+        final int length = buffer.getInt();
+        if (n < 0 || length < 0 || buffer.remaining() < 4L * (n + 1) + length)
+            throw new IllegalArgumentException("StringArena.read: truncated: n=" + n + ", bytes=" + length);
+        final int[] starts = new int[n + 1];
+        buffer.asIntBuffer().get(starts);
+        buffer.position(buffer.position() + 4 * (n + 1));
+        final byte[] bytes = new byte[length];
+        buffer.get(bytes);
+        if (starts[0] != 0 || starts[n] != length) throw new IllegalArgumentException("StringArena.read: inconsistent offsets");
+        for (int i = 0; i < n; i++)
+            if (starts[i + 1] < starts[i]) throw new IllegalArgumentException("StringArena.read: inconsistent offsets");
+        final int[] index = new int[n];
+        for (int i = 0; i < n; i++) index[i] = i;
+        return new StringArena(bytes, starts, index);
+    }
+
+    /**
+     * @return the number of elements.
+     */
+    public int size() {
+        return n;
+    }
+
+    /**
+     * Materialize an element as a String.
+     *
+     * @param i the position of the element (in the current order).
+     * @return the element at position i.
+     */
+    public String get(int i) {
+        final int e = index[i];
+        return new String(bytes, starts[e], starts[e + 1] - starts[e], StandardCharsets.UTF_8);
+    }
+
+    /**
+     * @param i the position of an element (in the current order).
+     * @return the position of the same element when this arena was built.
+     */
+    public int original(int i) {
+        return index[i];
+    }
+
+    /**
+     * Compare two elements in Unicode code point order.
+     *
+     * @param i the position of one element (in the current order).
+     * @param j the position of the other element.
+     * @return negative, zero or positive according to whether element i is less than, equal to or greater than element j.
+     */
+    public int compare(int i, int j) {
+        return compare(index[i], index[j], 0);
+    }
+
+    /**
+     * Sort the elements (in place) by MSD radix sort on their UTF-8 bytes.
+     * Only the index is rearranged; the arena itself is never touched.
+     */
+    public void sort() {
+        aux = SortWorkspace.get().borrowInts(n);
+        sort(0, n, 0);
+        aux = null;
+    }
+
+    /**
+     * @return a copy of this StringArena which shares its (immutable) bytes but has its own index.
+     */
+    public StringArena copy() {
+        return new StringArena(bytes, starts, Arrays.copyOf(index, n));
+    }
+
+    /**
+     * Remove adjacent duplicates, so that, if this arena is sorted, each element appears only once.
+     * NOTE that the bytes of the removed elements remain in the arena.
+     *
+     * @return the new size.
+     */
+    public int distinct() {
+        if (n == 0) return 0;
+        int k = 1;
+        for (int i = 1; i < n; i++)
+            if (compare(index[k - 1], index[i], 0) != 0) index[k++] = index[i];
+        n = k;
+        return n;
+    }
+
+    /**
+     * @return a new StringArena of the elements in their current order, without the bytes of any removed (or reordered) elements.
+     */
+    public StringArena compact() {
+        return concat(this);
+    }
+
+    /**
+     * Write the elements (in their current order) compactly: the number of elements, the number of bytes,
+     * the offset of each element (with an extra entry for the end of the last element) and then the UTF-8 bytes themselves.
+     * All ints are big-endian (as for DataOutput and ByteBuffer), so that the result can be read by read.
+     *
+     * @param output the output.
+     * @throws IOException if the output cannot be written.
+     */
+    public void write(DataOutput output) throws IOException {
+        final StringArena arena = isCompact() ? this : compact();
+        output.writeInt(arena.n);
+        output.writeInt(arena.bytes.length);
+        for (int i = 0; i <= arena.n; i++) output.writeInt(arena.starts[i]);
+        output.write(arena.bytes);
+    }
+
+    /**
+     * @return all of the elements (in the current order) as Strings.
+     */
+    public String[] toStrings() {
+        final String[] result = new String[n];
+        for (int i = 0; i < n; i++) result[i] = get(i);
+        return result;
+    }
+
+    /**
+     * @return the approximate number of bytes of heap used by this arena.
+     */
+    public long heapBytes() {
+        return 3 * ARRAY_HEADER + bytes.length + 4L * starts.length + 4L * index.length;
+    }
+
+    /**
+     * Estimate the number of bytes of heap used by an array of (distinct) Strings.
+     * Each String has a header, a hash and a reference to its array; each array has a header, and one byte per char
+     * if all of the chars are Latin-1 (with compact strings, Java 9 and later), otherwise two.
+     *
+     * @param strings the Strings.
+     * @return the approximate number of bytes of heap used.
+     */
+    public static long heapBytes(String[] strings) {
+        long result = ARRAY_HEADER + 4L * strings.length;
+        for (String s : strings) {
+            boolean latin1 = true;
+            for (int i = 0; latin1 && i < s.length(); i++) latin1 = s.charAt(i) < 0x100;
+            result += 24 + align(ARRAY_HEADER + (latin1 ? 1 : 2) * (long) s.length());
+        }
+        return result;
+    }
+
+    @Override
+    public String toString() {
+        return "StringArena{n=" + n + ", bytes=" + bytes.length + '}';
+    }
+
+    /**
+     * Builder of a StringArena.
+     */
+    public static class Builder {
+
+        /**
+         * Constructor for a Builder.
+         *
+         * @param bytes    the expected number of bytes.
+         * @param elements the expected number of elements.
+         */
+        public Builder(int bytes, int elements) {
+            this.bytes = new byte[Math.max(16, bytes)];
+            this.starts = new int[Math.max(16, elements + 1)];
+        }
+
+        public Builder add(String s) {
+            final byte[] utf8 = s.getBytes(StandardCharsets.UTF_8);
+            return add(utf8, 0, utf8.length);
+        }
+
+        public Builder add(byte[] utf8, int from, int to) {
+            final int length = to - from;
+            if (size + length > bytes.length) bytes = Arrays.copyOf(bytes, Math.max(size + length, 2 * bytes.length));
+            System.arraycopy(utf8, from, bytes, size, length);
+            size += length;
+            if (n + 2 > starts.length) starts = Arrays.copyOf(starts, 2 * starts.length);
+            starts[++n] = size;
+            return this;
+        }
+
+        public StringArena build() {
+            final int[] index = new int[n];
+            for (int i = 0; i < n; i++) index[i] = i;
+            return new StringArena(Arrays.copyOf(bytes, size), Arrays.copyOf(starts, n + 1), index);
+        }
+
+        private byte[] bytes;
+        private int[] starts;
+        private int size = 0;
+        private int n = 0;
+    }
+
+    /**
+     * Constructor for a StringArena.
+     *
+     * @param bytes  the UTF-8 bytes of all of the elements, end to end.
+     * @param starts the offset of each element in bytes (with an extra entry for the end of the last element).
+     * @param index  the element at each position (initially, the identity).
+     */
+    StringArena(byte[] bytes, int[] starts, int[] index) {
+        this.bytes = bytes;
+        this.starts = starts;
+        this.index = index;
+        this.n = index.length;
+    }
+
+    private int length(int e) {
+        return starts[e + 1] - starts[e];
+    }
+
+    private boolean isCompact() {
+        if (n != starts.length - 1 || starts[n] != bytes.length) return false;
+        for (int i = 0; i < n; i++) if (index[i] != i) return false;
+        return true;
+    }
+
+    /**
+     * Sort index[lo..hi), all of whose elements share the same first d bytes.
+     */
+    private void sort(int lo, int hi, int d) {
+        if (hi < lo + CUTOFF) {
+            insertionSort(lo, hi, d);
+            return;
+        }
+        final int[] count = SortWorkspace.get().counts(d, RADIX + 2);
+        for (int i = lo; i < hi; i++)
+            count[byteAt(index[i], d) + 2]++;
+        for (int r = 0; r < RADIX + 1; r++)
+            count[r + 1] += count[r];
+        for (int i = lo; i < hi; i++)
+            aux[count[byteAt(index[i], d) + 1]++] = index[i];
+        System.arraycopy(aux, 0, index, lo, hi - lo);
+        // NOTE count[r] is now the start of the elements whose byte at d is r (relative to lo); those which end at d come first.
+        for (int r = 0; r < RADIX; r++)
+            if (count[r + 1] - count[r] > 1) sort(lo + count[r], lo + count[r + 1], d + 1);
+    }
+
+    private void insertionSort(int lo, int hi, int d) {
+        for (int i = lo + 1; i < hi; i++) {
+            final int e = index[i];
+            int j = i;
+            for (; j > lo && compare(e, index[j - 1], d) < 0; j--) index[j] = index[j - 1];
+            index[j] = e;
+        }
+    }
+
+    /**
+     * Compare elements e and f (not positions) from byte d onwards.
+     */
+    private int compare(int e, int f, int d) {
+        final int i = starts[e] + d;
+        final int j = starts[f] + d;
+        final int m = starts[e + 1] - i;
+        final int k = starts[f + 1] - j;
+        final int length = Math.min(m, k);
+        for (int x = 0; x < length; x++) {
+            final int cf = (bytes[i + x] & 0xFF) - (bytes[j + x] & 0xFF);
+            if (cf != 0) return cf;
+        }
+        return m - k;
+    }
+
+    /**
+     * @return the byte (unsigned) at d of element e, or -1 if element e has no byte at d.
+     */
+    private int byteAt(int e, int d) {
+        final int i = starts[e] + d;
+        return i < starts[e + 1] ? bytes[i] & 0xFF : -1;
+    }
+
+    /**
+     * @return the length in bytes of the UTF-8 sequence at bytes[i] (which must end before end) if it encodes a letter, otherwise 0.
+     */
+    private static int letterLength(byte[] bytes, int i, int end) {
+        final int b = bytes[i] & 0xFF;
+        if (b < 0x80) return (b >= 'a' && b <= 'z') || (b >= 'A' && b <= 'Z') ? 1 : 0;
+        final int n = b >= 0xF0 && b <= 0xF4 ? 4 : b >= 0xE0 ? (b < 0xF0 ? 3 : 0) : b >= 0xC2 ? 2 : 0;
+        if (n == 0 || i + n > end) return 0;
+        int codePoint = b & (0xFF >> (n + 1));
+        for (int j = 1; j < n; j++) {
+            if ((bytes[i + j] & 0xC0) != 0x80) return 0;
+            codePoint = (codePoint << 6) | (bytes[i + j] & 0x3F);
+        }
+        // NOTE overlong sequences, surrogates and code points out of range are malformed.
+        if (n == 3 && (codePoint < 0x800 || (codePoint >= 0xD800 && codePoint <= 0xDFFF))) return 0;
+        if (n == 4 && (codePoint < 0x10000 || codePoint > 0x10FFFF)) return 0;
+        return Character.isLetter(codePoint) ? n : 0;
+    }
+
+    private static byte[] readFully(InputStream input) throws IOException {
+        final ByteArrayOutputStream result = new ByteArrayOutputStream();
+        final byte[] buffer = new byte[65536];
+        int read;
+        while ((read = input.read(buffer)) > 0) result.write(buffer, 0, read);
+        return result.toByteArray();
+    }
+
+    private static long align(long bytes) {
+        return (bytes + 7) & ~7L;
+    }
+
+    private static final int RADIX = 256;
+    private static final int CUTOFF = 15;
+    private static final long ARRAY_HEADER = 16;
+
+    private final byte[] bytes;
+    private final int[] starts;
+    private final int[] index;
+    private int n;
+    private int[] aux; // auxiliary array for distribution (borrowed for the duration of sort)
+}
@@ -4,6 +4,8 @@
 
 package edu.neu.coe.info6205.sort.hashCode;
 
+import edu.neu.coe.info6205.sort.ArgSort;
+
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.List;
@@ -21,20 +23,17 @@ public class HashCodeSort<X extends Comparable<X>> {
         int[] indices = new int[n];
         int[] hashes = new int[n];
         init(a, indices, hashes);
-        insertionSort(n, indices, hashes);
+        sortByHash(indices, hashes);
         verify(n, indices, hashes, a);
         return createResult(n, indices, hashes, a);
     }
 
     // Sort the arrays indices and hashes by comparing hashes
-    private void insertionSort(int n, int[] indices, int[] hashes) {
-        // TO IMPLEMENT (8 points)
-        for (int i = 0; i < n; i++)
-            for (int j = i; j > 0; j--)
-                if (hashes[j] < hashes[j - 1]) {
-                    exchange(indices, j);
-                    exchange(hashes, j);
-                }
+    private void sortByHash(int[] indices, int[] hashes) {
+        // NOTE we sort the hashes only once (stably), then apply the same permutation to both arrays.
+        final int[] permutation = ArgSort.argsort(hashes);
+        ArgSort.applyPermutation(indices, permutation);
+        ArgSort.applyPermutation(hashes, permutation);
     }
 
     // Verify that the arrays are in true order according to natural ordering on X
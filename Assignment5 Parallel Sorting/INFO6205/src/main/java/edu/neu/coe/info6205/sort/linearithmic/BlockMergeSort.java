@@ -0,0 +1,243 @@
+package edu.neu.coe.info6205.sort.linearithmic;
+
+import edu.neu.coe.info6205.sort.Helper;
+import edu.neu.coe.info6205.sort.SortWithHelper;
+import edu.neu.coe.info6205.sort.elementary.InsertionSort;
+import edu.neu.coe.info6205.util.Config;
+
+import java.lang.reflect.Array;
+import java.util.Arrays;
+
+/**
+ * Stable merge sort which needs only O(sqrt(n)) extra memory (or none at all) rather than an auxiliary array of n elements.
+ * <p>
+ * Small blocks (no larger than the cutoff) are sorted by insertion sort and then merged in place, as follows.
+ * If the shorter of the two runs fits in the buffer (of sqrt(n) elements, by default), it is copied there and merged back
+ * in the usual way (forwards or backwards, according to which run is in the buffer).
+ * Otherwise, the runs are split by SymMerge (Kim and Kutzner, 2004): a binary search finds the point at which
+ * the end of the left run and the start of the right run should be exchanged, that exchange is done by a rotation,
+ * and the two halves so formed are merged recursively.
+ * With a buffer of zero, the extra memory is only the O(log n) stack, and the time is O(n log^2 n);
+ * with the default buffer, all but the top levels of the merge tree are ordinary buffered merges.
+ * <p>
+ * The sort is selected in MergeSort by setting inplace (in [mergesort]) to true.
+ *
+ * @param <X> the underlying type which must extend Comparable.
+ */
+public class BlockMergeSort<X extends Comparable<X>> extends SortWithHelper<X> {
+
+    public static final String DESCRIPTION = "Block merge sort";
+
+    /**
+     * Constructor for BlockMergeSort
+     *
+     * @param helper     an explicit instance of Helper to be used.
+     * @param bufferSize the number of elements in the buffer; if negative, sqrt(n) is used.
+     */
+    public BlockMergeSort(Helper<X> helper, int bufferSize) {
+        super(helper);
+        this.bufferSize = bufferSize;
+        insertionSort = new InsertionSort<>(helper);
+    }
+
+    /**
+     * Constructor for BlockMergeSort with a buffer of sqrt(n) elements.
+     *
+     * @param helper an explicit instance of Helper to be used.
+     */
+    public BlockMergeSort(Helper<X> helper) {
+        this(helper, -1);
+    }
+
+    /**
+     * Constructor for BlockMergeSort with a buffer of sqrt(n) elements.
+     *
+     * @param N      the number elements we expect to sort.
+     * @param config the configuration.
+     */
+    public BlockMergeSort(int N, Config config) {
+        super(DESCRIPTION, N, config);
+        this.bufferSize = -1;
+        insertionSort = new InsertionSort<>(getHelper());
+    }
+
+    @Override
+    public X[] sort(X[] xs, boolean makeCopy) {
+        init(xs.length);
+        X[] result = makeCopy ? Arrays.copyOf(xs, xs.length) : xs;
+        sort(result, 0, result.length);
+        return result;
+    }
+
+    @Override
+    public void sort(X[] xs, int from, int to) {
+        final int size = bufferSize >= 0 ? bufferSize : (int) Math.ceil(Math.sqrt(to - from));
+        @SuppressWarnings("unchecked") final X[] buffer = (X[]) Array.newInstance(xs.getClass().getComponentType(), size);
+        temp = Arrays.copyOf(buffer, 1);
+        sort(xs, buffer, from, to, 0);
+        temp = null;
+    }
+
+    private void sort(X[] xs, X[] buffer, int lo, int hi, int depth) {
+        final Helper<X> helper = getHelper();
+        if (hi <= lo + helper.cutoff()) {
+            insertionSort.sort(xs, lo, hi);
+            return;
+        }
+        helper.registerDepth(depth);
+        final int mid = (lo + hi) >>> 1;
+        sort(xs, buffer, lo, mid, depth + 1);
+        sort(xs, buffer, mid, hi, depth + 1);
+        // NOTE if the two runs are already in order, there is nothing to merge.
+        if (!helper.less(xs[mid], xs[mid - 1])) return;
+        merge(xs, buffer, lo, mid, hi);
+    }
+
+    /**
+     * Merge the sorted runs xs[lo..mid) and xs[mid..hi) in place.
+     */
+    private void merge(X[] xs, X[] buffer, int lo, int mid, int hi) {
+        final int left = mid - lo;
+        final int right = hi - mid;
+        if (left <= right && left <= buffer.length) mergeForwards(xs, buffer, lo, mid, hi);
+        else if (right < left && right <= buffer.length) mergeBackwards(xs, buffer, lo, mid, hi);
+        else if (left == 1) insertLeft(xs, lo, hi);
+        else if (right == 1) insertRight(xs, lo, mid);
+        else symMerge(xs, buffer, lo, mid, hi);
+    }
+
+    /**
+     * Move the left run into buffer and merge it with the right run, from the front.
+     */
+    private void mergeForwards(X[] xs, X[] buffer, int lo, int mid, int hi) {
+        final Helper<X> helper = getHelper();
+        final int n = mid - lo;
+        for (int k = 0; k < n; k++) helper.copy(xs, lo + k, buffer, k);
+        int i = 0;
+        int j = mid;
+        int k = lo;
+        while (i < n && j < hi)
+            // NOTE ties go to the left run (the buffer) so that the sort is stable.
+            if (helper.less(xs[j], buffer[i])) {
+                helper.incrementFixes(n - i);
+                helper.copy(xs, j++, xs, k++);
+            } else helper.copy(buffer, i++, xs, k++);
+        while (i < n) helper.copy(buffer, i++, xs, k++);
+    }
+
+    /**
+     * Move the right run into buffer and merge it with the left run, from the back.
+     */
+    private void mergeBackwards(X[] xs, X[] buffer, int lo, int mid, int hi) {
+        final Helper<X> helper = getHelper();
+        final int n = hi - mid;
+        for (int k = 0; k < n; k++) helper.copy(xs, mid + k, buffer, k);
+        int i = mid - 1;
+        int j = n - 1;
+        int k = hi - 1;
+        while (i >= lo && j >= 0)
+            // NOTE ties go to the right run (the buffer) since we are working backwards.
+            if (helper.less(buffer[j], xs[i])) {
+                helper.incrementFixes(j + 1);
+                helper.copy(xs, i--, xs, k--);
+            } else helper.copy(buffer, j--, xs, k--);
+        while (j >= 0) helper.copy(buffer, j--, xs, k--);
+    }
+
+    /**
+     * SymMerge of xs[lo..mid) and xs[mid..hi), neither of which fits in the buffer.
+     */
+    private void symMerge(X[] xs, X[] buffer, int lo, int mid, int hi) {
+        final Helper<X> helper = getHelper();
+        final int half = (lo + hi) >>> 1;
+        final int n = half + mid;
+        int start;
+        int r;
+        if (mid > half) {
+            start = n - hi;
+            r = half;
+        } else {
+            start = lo;
+            r = mid;
+        }
+        final int p = n - 1;
+        while (start < r) {
+            final int c = (start + r) >>> 1;
+            if (!helper.less(xs[p - c], xs[c])) start = c + 1;
+            else r = c;
+        }
+        final int end = n - start;
+        if (start < mid && mid < end) rotate(xs, start, mid, end);
+        if (lo < start && start < half) merge(xs, buffer, lo, start, half);
+        if (half < end && end < hi) merge(xs, buffer, half, end, hi);
+    }
+
+    /**
+     * Insert xs[lo] into its place in the sorted run xs[lo+1..hi).
+     */
+    private void insertLeft(X[] xs, int lo, int hi) {
+        final Helper<X> helper = getHelper();
+        int i = lo + 1;
+        int j = hi;
+        while (i < j) {
+            final int h = (i + j) >>> 1;
+            if (helper.less(xs[h], xs[lo])) i = h + 1;
+            else j = h;
+        }
+        rotate(xs, lo, lo + 1, i);
+    }
+
+    /**
+     * Insert xs[mid] into its place in the sorted run xs[lo..mid).
+     */
+    private void insertRight(X[] xs, int lo, int mid) {
+        final Helper<X> helper = getHelper();
+        int i = lo;
+        int j = mid;
+        while (i < j) {
+            final int h = (i + j) >>> 1;
+            if (!helper.less(xs[mid], xs[h])) i = h + 1;
+            else j = h;
+        }
+        rotate(xs, i, mid, mid + 1);
+    }
+
+    /**
+     * Exchange the blocks xs[lo..mid) and xs[mid..hi), where every element of the first is greater than every element of the second.
+     * <p>
+     * The elements are moved by following the cycles of the rotation (gcd(hi-lo, mid-lo) of them), using copies rather than swaps,
+     * so that each element is moved only once, and the number of inversions fixed (the product of the block lengths) is known exactly.
+     */
+    private void rotate(X[] xs, int lo, int mid, int hi) {
+        if (lo >= mid || mid >= hi) return;
+        final Helper<X> helper = getHelper();
+        final int n = hi - lo;
+        final int k = mid - lo;
+        helper.incrementFixes((int) Math.min(Integer.MAX_VALUE, (long) k * (n - k)));
+        for (int cycle = 0, cycles = gcd(n, k); cycle < cycles; cycle++) {
+            helper.copy(xs, lo + cycle, temp, 0);
+            int i = cycle;
+            while (true) {
+                int j = i + k;
+                if (j >= n) j -= n;
+                if (j == cycle) break;
+                helper.copy(xs, lo + j, xs, lo + i);
+                i = j;
+            }
+            helper.copy(temp, 0, xs, lo + i);
+        }
+    }
+
+    private static int gcd(int a, int b) {
+        while (b != 0) {
+            final int t = a % b;
+            a = b;
+            b = t;
+        }
+        return a;
+    }
+
+    private final int bufferSize;
+    private final InsertionSort<X> insertionSort;
+    private X[] temp; // a single element, for rotations
+}
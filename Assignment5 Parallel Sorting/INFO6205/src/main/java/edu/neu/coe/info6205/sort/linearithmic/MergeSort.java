@@ -2,6 +2,7 @@ package edu.neu.coe.info6205.sort.linearithmic;
 
 import edu.neu.coe.info6205.sort.Helper;
 import edu.neu.coe.info6205.sort.SortWithHelper;
+import edu.neu.coe.info6205.sort.SortWorkspace;
 import edu.neu.coe.info6205.sort.elementary.InsertionSort;
 import edu.neu.coe.info6205.util.Config;
 
@@ -21,6 +22,7 @@ public class MergeSort<X extends Comparable<X>> extends SortWithHelper<X> {
     public MergeSort(Helper<X> helper) {
         super(helper);
         insertionSort = new InsertionSort<>(helper);
+        blockMergeSort = new BlockMergeSort<>(helper);
     }
 
     /**
@@ -32,11 +34,12 @@ public class MergeSort<X extends Comparable<X>> extends SortWithHelper<X> {
     public MergeSort(int N, Config config) {
         super(DESCRIPTION + ":" + getConfigString(config), N, config);
         insertionSort = new InsertionSort<>(getHelper());
+        blockMergeSort = new BlockMergeSort<>(getHelper());
     }
 
     @Override
     public X[] sort(X[] xs, boolean makeCopy) {
-        getHelper().init(xs.length);
+        init(xs.length);
         X[] result = makeCopy ? Arrays.copyOf(xs, xs.length) : xs;
         sort(result, 0, result.length);
         return result;
@@ -44,8 +47,15 @@ public class MergeSort<X extends Comparable<X>> extends SortWithHelper<X> {
 
     @Override
     public void sort(X[] a, int from, int to) {
+        // NOTE when memory is tight, we can merge in place (with a buffer of only sqrt(n) elements) instead.
+        if (getHelper().getConfig().getBoolean(MERGESORT, INPLACE)) {
+            blockMergeSort.sort(a, from, to);
+            return;
+        }
         // TODO don't copy but just allocate according to the xs/aux interchange optimization
-        X[] aux = Arrays.copyOf(a, a.length);
+        // NOTE aux is borrowed from the workspace of this thread, so that repeated sorts do not allocate.
+        X[] aux = SortWorkspace.get().borrow(a, a.length);
+        System.arraycopy(a, from, aux, from, to - from);
         sort(a, aux, from, to);
     }
 
@@ -79,14 +89,17 @@ public class MergeSort<X extends Comparable<X>> extends SortWithHelper<X> {
     public static final String MERGESORT = "mergesort";
     public static final String NOCOPY = "nocopy";
     public static final String INSURANCE = "insurance";
+    public static final String INPLACE = "inplace";
 
     private static String getConfigString(Config config) {
         StringBuilder stringBuilder = new StringBuilder();
         if (config.getBoolean(MERGESORT, INSURANCE)) stringBuilder.append(" with insurance comparison");
         if (config.getBoolean(MERGESORT, NOCOPY)) stringBuilder.append(" with no copy");
+        if (config.getBoolean(MERGESORT, INPLACE)) stringBuilder.append(" in place");
         return stringBuilder.toString();
     }
 
     private final InsertionSort<X> insertionSort;
+    private final BlockMergeSort<X> blockMergeSort;
 }
 
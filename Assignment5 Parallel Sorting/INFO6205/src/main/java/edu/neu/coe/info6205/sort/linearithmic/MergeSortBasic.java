@@ -21,6 +21,7 @@ public class MergeSortBasic<X extends Comparable<X>> extends SortWithHelper<X> {
     public MergeSortBasic(Helper<X> helper) {
         super(helper);
         insertionSort = new InsertionSort<>(helper);
+        blockMergeSort = new BlockMergeSort<>(helper);
     }
 
     /**
@@ -32,11 +33,13 @@ public class MergeSortBasic<X extends Comparable<X>> extends SortWithHelper<X> {
     public MergeSortBasic(int N, Config config) {
         super(DESCRIPTION + ":" + getConfigString(config), N, config);
         insertionSort = new InsertionSort<>(getHelper());
+        blockMergeSort = new BlockMergeSort<>(getHelper());
     }
 
     private static String getConfigString(Config config) {
         StringBuilder stringBuilder = new StringBuilder();
         if (config.getBoolean("mergesort", "insurance")) stringBuilder.append(" with insurance comparison");
+        if (config.getBoolean("mergesort", "inplace")) stringBuilder.append(" in place");
         return stringBuilder.toString();
     }
 
@@ -44,6 +47,11 @@ public class MergeSortBasic<X extends Comparable<X>> extends SortWithHelper<X> {
     public X[] sort(X[] xs, boolean makeCopy) {
         getHelper().init(xs.length);
         X[] result = makeCopy ? Arrays.copyOf(xs, xs.length) : xs;
+        // NOTE when memory is tight, we can merge in place (with a buffer of only sqrt(n) elements), without allocating aux at all.
+        if (getHelper().getConfig().getBoolean("mergesort", "inplace")) {
+            blockMergeSort.sort(result, 0, result.length);
+            return result;
+        }
         // TODO don't copy but just allocate according to the xs/aux interchange optimization
         aux = Arrays.copyOf(xs, xs.length);
         sort(result, 0, result.length);
@@ -82,5 +90,6 @@ public class MergeSortBasic<X extends Comparable<X>> extends SortWithHelper<X> {
 
     private X[] aux = null;
     private final InsertionSort<X> insertionSort;
+    private final BlockMergeSort<X> blockMergeSort;
 }
 
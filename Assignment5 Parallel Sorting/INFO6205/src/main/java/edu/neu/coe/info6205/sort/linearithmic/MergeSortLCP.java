@@ -0,0 +1,155 @@
+package edu.neu.coe.info6205.sort.linearithmic;
+
+import edu.neu.coe.info6205.sort.Helper;
+import edu.neu.coe.info6205.sort.SortWithHelper;
+import edu.neu.coe.info6205.sort.SortWorkspace;
+import edu.neu.coe.info6205.util.Config;
+
+import java.util.Arrays;
+
+/**
+ * Merge sort of Strings which keeps track of the longest common prefix (LCP) of each pair of neighbouring elements.
+ * <p>
+ * When two sorted runs are merged, the LCP of each run's head with the element most recently output is known.
+ * If these differ, the order of the two heads follows without looking at any characters at all;
+ * if they are equal, the heads are compared only from that point on.
+ * Thus, keys which share long prefixes (URLs, paths, sentences) do not pay for the shared prefix at every comparison.
+ * <p>
+ * See Ng and Kakehi, Merging String Sequences by Longest Common Prefixes (2008).
+ */
+public class MergeSortLCP extends SortWithHelper<String> {
+
+    public static final String DESCRIPTION = "MergeSort with LCP";
+
+    /**
+     * Constructor for MergeSortLCP
+     *
+     * @param helper an explicit instance of Helper to be used.
+     */
+    public MergeSortLCP(Helper<String> helper) {
+        super(helper);
+    }
+
+    /**
+     * Constructor for MergeSortLCP
+     *
+     * @param N      the number elements we expect to sort.
+     * @param config the configuration.
+     */
+    public MergeSortLCP(int N, Config config) {
+        super(DESCRIPTION, N, config);
+    }
+
+    @Override
+    public String[] sort(String[] xs, boolean makeCopy) {
+        init(xs.length);
+        String[] result = makeCopy ? Arrays.copyOf(xs, xs.length) : xs;
+        sort(result, 0, result.length);
+        return result;
+    }
+
+    @Override
+    public void sort(String[] xs, int from, int to) {
+        final SortWorkspace workspace = SortWorkspace.get();
+        final String[] aux = workspace.borrow(xs, xs.length);
+        final int[] lcp = workspace.borrowInts(0, xs.length);
+        final int[] lcpAux = workspace.borrowInts(1, xs.length);
+        sort(xs, lcp, aux, lcpAux, from, to, 0);
+    }
+
+    /**
+     * Sort xs[lo..hi) and set lcp[i] (for lo &lt; i &lt; hi) to the LCP of xs[i-1] and xs[i].
+     */
+    private void sort(String[] xs, int[] lcp, String[] aux, int[] lcpAux, int lo, int hi, int depth) {
+        final Helper<String> helper = getHelper();
+        if (hi <= lo + helper.cutoff()) {
+            insertionSort(xs, lcp, lo, hi);
+            return;
+        }
+        helper.registerDepth(depth);
+        final int mid = (lo + hi) >>> 1;
+        sort(xs, lcp, aux, lcpAux, lo, mid, depth + 1);
+        sort(xs, lcp, aux, lcpAux, mid, hi, depth + 1);
+        merge(xs, lcp, aux, lcpAux, lo, mid, hi);
+        System.arraycopy(aux, lo, xs, lo, hi - lo);
+        System.arraycopy(lcpAux, lo, lcp, lo, hi - lo);
+    }
+
+    /**
+     * Merge the sorted runs xs[lo..mid) and xs[mid..hi) (whose LCPs are in lcp) into aux[lo..hi) (and lcpAux).
+     */
+    private void merge(String[] xs, int[] lcp, String[] aux, int[] lcpAux, int lo, int mid, int hi) {
+        final Helper<String> helper = getHelper();
+        int i = lo;
+        int j = mid;
+        int k = lo;
+        // NOTE hLeft and hRight are the LCPs of the heads of the two runs with the element most recently output (initially none).
+        int hLeft = 0;
+        int hRight = 0;
+        while (i < mid && j < hi) {
+            final boolean left;
+            if (hLeft > hRight) left = true;
+            else if (hLeft < hRight) left = false;
+            else {
+                final String v = xs[i];
+                final String w = xs[j];
+                int h = hLeft;
+                final int length = Math.min(v.length(), w.length());
+                while (h < length && v.charAt(h) == w.charAt(h)) h++;
+                // NOTE ties go to the left run so that the sort is stable.
+                left = h == v.length() || h < length && v.charAt(h) < w.charAt(h);
+                if (left) hRight = h;
+                else hLeft = h;
+            }
+            if (left) {
+                lcpAux[k] = hLeft;
+                helper.copy(xs, i++, aux, k++);
+                if (i < mid) hLeft = lcp[i];
+            } else {
+                helper.incrementFixes(mid - i);
+                lcpAux[k] = hRight;
+                helper.copy(xs, j++, aux, k++);
+                if (j < hi) hRight = lcp[j];
+            }
+        }
+        if (i < mid) {
+            lcpAux[k] = hLeft;
+            helper.copy(xs, i++, aux, k++);
+            while (i < mid) {
+                lcpAux[k] = lcp[i];
+                helper.copy(xs, i++, aux, k++);
+            }
+        }
+        if (j < hi) {
+            lcpAux[k] = hRight;
+            helper.copy(xs, j++, aux, k++);
+            while (j < hi) {
+                lcpAux[k] = lcp[j];
+                helper.copy(xs, j++, aux, k++);
+            }
+        }
+    }
+
+    /**
+     * Sort small sub-arrays by insertion sort, then compute their LCPs directly.
+     */
+    private void insertionSort(String[] xs, int[] lcp, int lo, int hi) {
+        final Helper<String> helper = getHelper();
+        for (int i = lo + 1; i < hi; i++)
+            for (int j = i; j > lo && helper.swapStableConditional(xs, j); j--) {
+            }
+        for (int i = lo + 1; i < hi; i++) lcp[i] = lcp(xs[i - 1], xs[i]);
+    }
+
+    /**
+     * @param v a String.
+     * @param w another String.
+     * @return the length of the longest common prefix of v and w.
+     */
+    static int lcp(String v, String w) {
+        final int length = Math.min(v.length(), w.length());
+        int result = 0;
+        while (result < length && v.charAt(result) == w.charAt(result)) result++;
+        return result;
+    }
+}
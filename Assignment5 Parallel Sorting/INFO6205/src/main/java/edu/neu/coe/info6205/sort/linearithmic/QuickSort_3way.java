@@ -37,6 +37,18 @@ public class QuickSort_3way<X extends Comparable<X>> extends QuickSort<X> {
         setPartitioner(createPartitioner());
     }
 
+    /**
+     * Constructor for extensions of QuickSort_3way
+     *
+     * @param description the description of the sort.
+     * @param N           the number elements we expect to sort.
+     * @param config      the configuration.
+     */
+    protected QuickSort_3way(String description, int N, Config config) {
+        super(description, N, config);
+        setPartitioner(createPartitioner());
+    }
+
     /**
      * Constructor for QuickSort_3way which always uses an instrumented helper with a specific seed.
      * <p>
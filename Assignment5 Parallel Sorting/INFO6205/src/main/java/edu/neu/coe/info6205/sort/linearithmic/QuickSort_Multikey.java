@@ -0,0 +1,100 @@
+package edu.neu.coe.info6205.sort.linearithmic;
+
+import edu.neu.coe.info6205.sort.Helper;
+import edu.neu.coe.info6205.util.Config;
+
+/**
+ * Multikey quicksort (3-way radix quicksort) of Strings, due to Bentley and Sedgewick.
+ * <p>
+ * This is QuickSort_3way where the partitioning is on a single character (at position d) rather than on the whole String.
+ * The elements equal to the pivot character are then sorted on the next character (d + 1),
+ * so that the characters of a shared prefix are each examined only once per partition, rather than at every comparison.
+ */
+public class QuickSort_Multikey extends QuickSort_3way<String> {
+
+    public static final String DESCRIPTION = "QuickSort multikey";
+
+    /**
+     * Constructor for QuickSort_Multikey
+     *
+     * @param helper an explicit instance of Helper to be used.
+     */
+    public QuickSort_Multikey(Helper<String> helper) {
+        super(helper);
+    }
+
+    /**
+     * Constructor for QuickSort_Multikey
+     *
+     * @param N      the number elements we expect to sort.
+     * @param config the configuration.
+     */
+    public QuickSort_Multikey(int N, Config config) {
+        super(DESCRIPTION, N, config);
+    }
+
+    /**
+     * Sort the sub-array xs[from] .. xs[to-1]
+     *
+     * @param xs    the complete array from which this sub-array derives.
+     * @param from  the index of the first element to sort.
+     * @param to    the index of the first element not to sort.
+     * @param depth the depth of the recursion.
+     */
+    @Override
+    public void sort(String[] xs, int from, int to, int depth) {
+        sort(xs, from, to, 0, depth);
+    }
+
+    /**
+     * Sort xs[from..to), all of whose elements share the same first d characters.
+     */
+    private void sort(String[] xs, int from, int to, int d, int depth) {
+        final Helper<String> helper = getHelper();
+        if (to <= from + helper.cutoff()) {
+            insertionSort(xs, from, to, d);
+            return;
+        }
+        helper.registerDepth(depth);
+        // NOTE we take the middle element as the pivot so that sorted input is not a worst case.
+        helper.swap(xs, from, (from + to) >>> 1);
+        int lt = from;
+        int gt = to - 1;
+        final int v = charAt(xs[from], d);
+        int i = from + 1;
+        while (i <= gt) {
+            final int t = charAt(xs[i], d);
+            if (t < v) helper.swap(xs, lt++, i++);
+            else if (t > v) helper.swap(xs, i, gt--);
+            else i++;
+        }
+        sort(xs, from, lt, d, depth + 1);
+        // NOTE if v is -1, all of xs[lt..gt] are equal (and end at d), so there is nothing more to do.
+        if (v >= 0) sort(xs, lt, gt + 1, d + 1, depth + 1);
+        sort(xs, gt + 1, to, d, depth + 1);
+    }
+
+    /**
+     * Insertion sort of xs[from..to), comparing only from character d on.
+     */
+    private void insertionSort(String[] xs, int from, int to, int d) {
+        final Helper<String> helper = getHelper();
+        for (int i = from + 1; i < to; i++)
+            for (int j = i; j > from && less(xs[j], xs[j - 1], d); j--)
+                helper.swap(xs, j, j - 1);
+    }
+
+    private static boolean less(String v, String w, int d) {
+        final int length = Math.min(v.length(), w.length());
+        for (int i = d; i < length; i++) {
+            final char c = v.charAt(i);
+            final char e = w.charAt(i);
+            if (c != e) return c < e;
+        }
+        return v.length() < w.length();
+    }
+
+    private static int charAt(String s, int d) {
+        return d < s.length() ? s.charAt(d) : -1;
+    }
+}
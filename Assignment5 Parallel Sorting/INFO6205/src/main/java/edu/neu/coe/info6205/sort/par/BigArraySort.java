@@ -0,0 +1,276 @@
+package edu.neu.coe.info6205.sort.par;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveAction;
+import java.util.function.IntConsumer;
+
+/**
+ * Parallel sorts of a LongBigArray (which may have more than Integer.MAX_VALUE elements).
+ * <p>
+ * The merge sort is the same scheme as ParSort: split in two, sort each half in parallel, merge;
+ * sub-arrays no larger than the cutoff are copied into an ordinary array and sorted by Arrays.sort.
+ * Rather than copying each merged result back, the source and destination alternate between the array and an auxiliary array
+ * from one level to the next, and the merge itself is parallel (each half is split by binary search on the other).
+ * <p>
+ * The radix sort is LSD on 8-bit digits (with the sign bit flipped so that negative values come first).
+ * Each pass counts the digits of a number of chunks in parallel, turns the counts into an offset for each (chunk, digit)
+ * and then scatters the chunks in parallel, which keeps the sort stable.
+ * A pass in which all of the elements have the same digit is skipped.
+ * <p>
+ * Both sorts need an auxiliary LongBigArray of the same length (and kind) as the array being sorted.
+ */
+public class BigArraySort {
+
+    /**
+     * Constructor for BigArraySort.
+     *
+     * @param pool   the pool in which to run the sorts.
+     * @param cutoff the size at or below which sub-arrays are sorted (or merged, or counted) sequentially.
+     */
+    public BigArraySort(ForkJoinPool pool, int cutoff) {
+        if (cutoff < 2) throw new IllegalArgumentException("BigArraySort: cutoff must be at least 2");
+        this.pool = pool;
+        this.cutoff = cutoff;
+        this.buffers = ThreadLocal.withInitial(() -> new long[cutoff]);
+    }
+
+    /**
+     * Constructor for BigArraySort which uses the common pool.
+     */
+    public BigArraySort() {
+        this(ForkJoinPool.commonPool(), DEFAULT_CUTOFF);
+    }
+
+    /**
+     * Sort a (in place) by parallel merge sort.
+     *
+     * @param a the array to be sorted.
+     */
+    public void mergeSort(LongBigArray a) {
+        if (a.length() < 2) return;
+        pool.invoke(new MergeSortTask(a, a.create(a.length()), 0, a.length(), false));
+    }
+
+    /**
+     * Sort a (in place) by parallel LSD radix sort.
+     *
+     * @param a the array to be sorted.
+     */
+    public void radixSort(LongBigArray a) {
+        final long n = a.length();
+        if (n < 2) return;
+        final int chunks = (int) Math.max(1, Math.min(4L * pool.getParallelism(), n / cutoff));
+        final long[] bounds = new long[chunks + 1];
+        for (int c = 0; c <= chunks; c++) bounds[c] = n / chunks * c + Math.min(c, n % chunks);
+        final long[][] counts = new long[chunks][RADIX];
+        LongBigArray src = a;
+        LongBigArray dst = a.create(n);
+        for (int shift = 0; shift < Long.SIZE; shift += BITS) {
+            final int s = shift;
+            final LongBigArray from = src;
+            final LongBigArray to = dst;
+            forEachChunk(chunks, c -> {
+                Arrays.fill(counts[c], 0);
+                for (long i = bounds[c]; i < bounds[c + 1]; i++) counts[c][digit(from.get(i), s)]++;
+            });
+            if (allSameDigit(counts, n)) continue;
+            // NOTE counts[c][r] becomes the position in dst of the first element of chunk c with digit r.
+            long position = 0;
+            for (int r = 0; r < RADIX; r++)
+                for (int c = 0; c < chunks; c++) {
+                    final long count = counts[c][r];
+                    counts[c][r] = position;
+                    position += count;
+                }
+            forEachChunk(chunks, c -> {
+                final long[] offsets = counts[c];
+                for (long i = bounds[c]; i < bounds[c + 1]; i++) {
+                    final long x = from.get(i);
+                    to.set(offsets[digit(x, s)]++, x);
+                }
+            });
+            src = to;
+            dst = from;
+        }
+        if (src != a) {
+            final LongBigArray result = src;
+            forEachChunk(chunks, c -> result.copyTo(bounds[c], a, bounds[c], bounds[c + 1] - bounds[c]));
+        }
+    }
+
+    /**
+     * @param a a LongBigArray.
+     * @return true if a is in ascending order.
+     */
+    public static boolean sorted(LongBigArray a) {
+        for (long i = 1; i < a.length(); i++) if (a.get(i - 1) > a.get(i)) return false;
+        return true;
+    }
+
+    public static final int DEFAULT_CUTOFF = 1 << 16;
+
+    /**
+     * Sort a[lo..hi), leaving the result in aux if toAux is true, otherwise in a.
+     */
+    private class MergeSortTask extends RecursiveAction {
+
+        MergeSortTask(LongBigArray a, LongBigArray aux, long lo, long hi, boolean toAux) {
+            this.a = a;
+            this.aux = aux;
+            this.lo = lo;
+            this.hi = hi;
+            this.toAux = toAux;
+        }
+
+        @Override
+        protected void compute() {
+            if (hi - lo <= cutoff) {
+                final int n = (int) (hi - lo);
+                final long[] buffer = buffers.get();
+                a.copyTo(lo, buffer, 0, n);
+                Arrays.sort(buffer, 0, n);
+                (toAux ? aux : a).copyFrom(buffer, 0, lo, n);
+                return;
+            }
+            final long mid = (lo + hi) >>> 1;
+            // NOTE the halves are sorted into whichever array we are not merging into.
+            invokeAll(new MergeSortTask(a, aux, lo, mid, !toAux), new MergeSortTask(a, aux, mid, hi, !toAux));
+            final LongBigArray src = toAux ? a : aux;
+            final LongBigArray dst = toAux ? aux : a;
+            new MergeTask(src, lo, mid, mid, hi, dst, lo).compute();
+        }
+
+        private static final long serialVersionUID = 1L;
+
+        private final LongBigArray a;
+        private final LongBigArray aux;
+        private final long lo;
+        private final long hi;
+        private final boolean toAux;
+    }
+
+    /**
+     * Merge the sorted runs src[lo1..hi1) and src[lo2..hi2) (the first preceding the second) into dst[to..).
+     */
+    private class MergeTask extends RecursiveAction {
+
+        MergeTask(LongBigArray src, long lo1, long hi1, long lo2, long hi2, LongBigArray dst, long to) {
+            this.src = src;
+            this.lo1 = lo1;
+            this.hi1 = hi1;
+            this.lo2 = lo2;
+            this.hi2 = hi2;
+            this.dst = dst;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            final long n1 = hi1 - lo1;
+            final long n2 = hi2 - lo2;
+            if (n1 + n2 <= cutoff) {
+                merge();
+                return;
+            }
+            // NOTE we split the longer run at its middle and the other run by binary search,
+            // such that equal elements of the first run still precede those of the second.
+            final long m1;
+            final long m2;
+            if (n1 >= n2) {
+                m1 = (lo1 + hi1) >>> 1;
+                m2 = lowerBound(src, lo2, hi2, src.get(m1));
+            } else {
+                m2 = (lo2 + hi2) >>> 1;
+                m1 = upperBound(src, lo1, hi1, src.get(m2));
+            }
+            final long split = to + (m1 - lo1) + (m2 - lo2);
+            invokeAll(new MergeTask(src, lo1, m1, lo2, m2, dst, to), new MergeTask(src, m1, hi1, m2, hi2, dst, split));
+        }
+
+        private void merge() {
+            long i = lo1;
+            long j = lo2;
+            long k = to;
+            while (i < hi1 && j < hi2) {
+                final long x = src.get(i);
+                final long y = src.get(j);
+                if (y < x) {
+                    dst.set(k++, y);
+                    j++;
+                } else {
+                    dst.set(k++, x);
+                    i++;
+                }
+            }
+            if (i < hi1) src.copyTo(i, dst, k, hi1 - i);
+            if (j < hi2) src.copyTo(j, dst, k, hi2 - j);
+        }
+
+        private static final long serialVersionUID = 1L;
+
+        private final LongBigArray src;
+        private final long lo1;
+        private final long hi1;
+        private final long lo2;
+        private final long hi2;
+        private final LongBigArray dst;
+        private final long to;
+    }
+
+    /**
+     * @return the index of the first element of a[lo..hi) which is not less than x.
+     */
+    private static long lowerBound(LongBigArray a, long lo, long hi, long x) {
+        while (lo < hi) {
+            final long mid = (lo + hi) >>> 1;
+            if (a.get(mid) < x) lo = mid + 1;
+            else hi = mid;
+        }
+        return lo;
+    }
+
+    /**
+     * @return the index of the first element of a[lo..hi) which is greater than x.
+     */
+    private static long upperBound(LongBigArray a, long lo, long hi, long x) {
+        while (lo < hi) {
+            final long mid = (lo + hi) >>> 1;
+            if (a.get(mid) <= x) lo = mid + 1;
+            else hi = mid;
+        }
+        return lo;
+    }
+
+    private void forEachChunk(int chunks, IntConsumer f) {
+        final List<ForkJoinTask<?>> tasks = new ArrayList<>(chunks);
+        for (int c = 0; c < chunks; c++) {
+            final int chunk = c;
+            tasks.add(pool.submit(() -> f.accept(chunk)));
+        }
+        for (ForkJoinTask<?> task : tasks) task.join();
+    }
+
+    private static boolean allSameDigit(long[][] counts, long n) {
+        for (int r = 0; r < RADIX; r++) {
+            long total = 0;
+            for (long[] count : counts) total += count[r];
+            if (total != 0) return total == n;
+        }
+        return false;
+    }
+
+    private static int digit(long x, int shift) {
+        return (int) (((x ^ Long.MIN_VALUE) >>> shift) & (RADIX - 1));
+    }
+
+    private static final int BITS = 8;
+    private static final int RADIX = 1 << BITS;
+
+    private final ForkJoinPool pool;
+    private final int cutoff;
+    private final ThreadLocal<long[]> buffers;
+}
@@ -0,0 +1,288 @@
+package edu.neu.coe.info6205.sort.par;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.LongBuffer;
+
+/**
+ * An array of longs with a long index, so that it may have more than Integer.MAX_VALUE elements.
+ * <p>
+ * The elements are held in segments, each of which is an ordinary Java array (onHeap) or a direct buffer (offHeap).
+ * Every segment except the last has exactly 2^segmentShift elements, so that element i is found at offset
+ * (i &amp; mask) of segment (i &gt;&gt;&gt; segmentShift) without any division.
+ * <p>
+ * NOTE that off-heap segments are released only when the LongBigArray is garbage-collected
+ * (that is how direct buffers work in Java 8), so it is better to reuse them than to allocate them repeatedly.
+ */
+public abstract class LongBigArray {
+
+    /**
+     * The default (and maximum) segment shift: 2^27 longs is 1GB per segment.
+     */
+    public static final int DEFAULT_SEGMENT_SHIFT = 27;
+
+    /**
+     * Create a LongBigArray whose segments are long[] on the Java heap.
+     *
+     * @param length the number of elements.
+     * @return a new LongBigArray of zeros.
+     */
+    public static LongBigArray onHeap(long length) {
+        return onHeap(length, DEFAULT_SEGMENT_SHIFT);
+    }
+
+    /**
+     * Create a LongBigArray whose segments are long[] on the Java heap.
+     *
+     * @param length       the number of elements.
+     * @param segmentShift the log (base 2) of the number of elements in a segment.
+     * @return a new LongBigArray of zeros.
+     */
+    public static LongBigArray onHeap(long length, int segmentShift) {
+        return new OnHeap(length, segmentShift);
+    }
+
+    /**
+     * Create a LongBigArray whose segments are direct (off-heap) buffers in native byte order.
+     *
+     * @param length the number of elements.
+     * @return a new LongBigArray of zeros.
+     */
+    public static LongBigArray offHeap(long length) {
+        return offHeap(length, DEFAULT_SEGMENT_SHIFT);
+    }
+
+    /**
+     * Create a LongBigArray whose segments are direct (off-heap) buffers in native byte order.
+     *
+     * @param length       the number of elements.
+     * @param segmentShift the log (base 2) of the number of elements in a segment.
+     * @return a new LongBigArray of zeros.
+     */
+    public static LongBigArray offHeap(long length, int segmentShift) {
+        return new OffHeap(length, segmentShift);
+    }
+
+    /**
+     * @return the number of elements.
+     */
+    public long length() {
+        return length;
+    }
+
+    /**
+     * @return the log (base 2) of the number of elements in each segment.
+     */
+    public int segmentShift() {
+        return segmentShift;
+    }
+
+    /**
+     * @param i the index of an element.
+     * @return the element at i.
+     */
+    public abstract long get(long i);
+
+    /**
+     * @param i the index of an element.
+     * @param x the new value of the element at i.
+     */
+    public abstract void set(long i, long x);
+
+    /**
+     * Create a new LongBigArray of the same kind (and segment size) as this one, for example as an auxiliary array.
+     *
+     * @param length the number of elements.
+     * @return a new LongBigArray of zeros.
+     */
+    public abstract LongBigArray create(long length);
+
+    /**
+     * Copy n elements of this, starting at from, into dst, starting at to.
+     * The ranges must not overlap if dst is this.
+     *
+     * @param from the index of the first element to copy.
+     * @param dst  the destination.
+     * @param to   the index in dst of the first element copied.
+     * @param n    the number of elements to copy.
+     */
+    public void copyTo(long from, LongBigArray dst, long to, long n) {
+        for (long i = 0; i < n; i++) dst.set(to + i, get(from + i));
+    }
+
+    /**
+     * Copy n elements of this, starting at from, into an ordinary array.
+     *
+     * @param from the index of the first element to copy.
+     * @param dst  the destination.
+     * @param to   the index in dst of the first element copied.
+     * @param n    the number of elements to copy.
+     */
+    public void copyTo(long from, long[] dst, int to, int n) {
+        while (n > 0) {
+            final int k = piece(from, n);
+            get(from, dst, to, k);
+            from += k;
+            to += k;
+            n -= k;
+        }
+    }
+
+    /**
+     * Copy n elements of an ordinary array into this, starting at to.
+     *
+     * @param src  the source.
+     * @param from the index in src of the first element to copy.
+     * @param to   the index of the first element copied.
+     * @param n    the number of elements to copy.
+     */
+    public void copyFrom(long[] src, int from, long to, int n) {
+        while (n > 0) {
+            final int k = piece(to, n);
+            put(src, from, to, k);
+            from += k;
+            to += k;
+            n -= k;
+        }
+    }
+
+    @Override
+    public String toString() {
+        return getClass().getSimpleName() + "{length=" + length + ", segments=" + segments + '}';
+    }
+
+    /**
+     * Copy k elements (all in the same segment) from this, starting at i, into dst.
+     */
+    abstract void get(long i, long[] dst, int to, int k);
+
+    /**
+     * Copy k elements (all in the same segment) from src into this, starting at i.
+     */
+    abstract void put(long[] src, int from, long i, int k);
+
+    LongBigArray(long length, int segmentShift) {
+        if (length < 0) throw new IllegalArgumentException("LongBigArray: negative length: " + length);
+        if (segmentShift < 1 || segmentShift > DEFAULT_SEGMENT_SHIFT)
+            throw new IllegalArgumentException("LongBigArray: segmentShift must be between 1 and " + DEFAULT_SEGMENT_SHIFT);
+        this.length = length;
+        this.segmentShift = segmentShift;
+        this.mask = (1L << segmentShift) - 1;
+        final long segments = (length + mask) >>> segmentShift;
+        if (segments > Integer.MAX_VALUE) throw new IllegalArgumentException("LongBigArray: too many segments");
+        this.segments = (int) segments;
+    }
+
+    /**
+     * @return the length of segment s.
+     */
+    int segmentLength(int s) {
+        return (int) Math.min(mask + 1, length - ((long) s << segmentShift));
+    }
+
+    /**
+     * @return the number of the n elements starting at i which lie in the same segment as i.
+     */
+    int piece(long i, long n) {
+        return (int) Math.min(n, mask + 1 - (i & mask));
+    }
+
+    final long length;
+    final int segmentShift;
+    final long mask;
+    final int segments;
+
+    private static final class OnHeap extends LongBigArray {
+
+        OnHeap(long length, int segmentShift) {
+            super(length, segmentShift);
+            arrays = new long[segments][];
+            for (int s = 0; s < segments; s++) arrays[s] = new long[segmentLength(s)];
+        }
+
+        @Override
+        public long get(long i) {
+            return arrays[(int) (i >>> segmentShift)][(int) (i & mask)];
+        }
+
+        @Override
+        public void set(long i, long x) {
+            arrays[(int) (i >>> segmentShift)][(int) (i & mask)] = x;
+        }
+
+        @Override
+        public LongBigArray create(long length) {
+            return new OnHeap(length, segmentShift);
+        }
+
+        @Override
+        public void copyTo(long from, LongBigArray dst, long to, long n) {
+            if (!(dst instanceof OnHeap)) {
+                super.copyTo(from, dst, to, n);
+                return;
+            }
+            final OnHeap that = (OnHeap) dst;
+            while (n > 0) {
+                final int k = Math.min(piece(from, n), that.piece(to, n));
+                System.arraycopy(arrays[(int) (from >>> segmentShift)], (int) (from & mask), that.arrays[(int) (to >>> that.segmentShift)], (int) (to & that.mask), k);
+                from += k;
+                to += k;
+                n -= k;
+            }
+        }
+
+        @Override
+        void get(long i, long[] dst, int to, int k) {
+            System.arraycopy(arrays[(int) (i >>> segmentShift)], (int) (i & mask), dst, to, k);
+        }
+
+        @Override
+        void put(long[] src, int from, long i, int k) {
+            System.arraycopy(src, from, arrays[(int) (i >>> segmentShift)], (int) (i & mask), k);
+        }
+
+        private final long[][] arrays;
+    }
+
+    private static final class OffHeap extends LongBigArray {
+
+        OffHeap(long length, int segmentShift) {
+            super(length, segmentShift);
+            buffers = new LongBuffer[segments];
+            for (int s = 0; s < segments; s++)
+                buffers[s] = ByteBuffer.allocateDirect(segmentLength(s) * Long.BYTES).order(ByteOrder.nativeOrder()).asLongBuffer();
+        }
+
+        @Override
+        public long get(long i) {
+            return buffers[(int) (i >>> segmentShift)].get((int) (i & mask));
+        }
+
+        @Override
+        public void set(long i, long x) {
+            buffers[(int) (i >>> segmentShift)].put((int) (i & mask), x);
+        }
+
+        @Override
+        public LongBigArray create(long length) {
+            return new OffHeap(length, segmentShift);
+        }
+
+        @Override
+        void get(long i, long[] dst, int to, int k) {
+            // NOTE we use a duplicate so that concurrent bulk transfers do not share a position.
+            final LongBuffer buffer = buffers[(int) (i >>> segmentShift)].duplicate();
+            buffer.position((int) (i & mask));
+            buffer.get(dst, to, k);
+        }
+
+        @Override
+        void put(long[] src, int from, long i, int k) {
+            final LongBuffer buffer = buffers[(int) (i >>> segmentShift)].duplicate();
+            buffer.position((int) (i & mask));
+            buffer.put(src, from, k);
+        }
+
+        private final LongBuffer[] buffers;
+    }
+}
@@ -1,5 +1,10 @@
 package edu.neu.coe.info6205.sort.par;
 
+import edu.neu.coe.info6205.util.BenchmarkRecord;
+import edu.neu.coe.info6205.util.Config;
+import edu.neu.coe.info6205.util.ResultStore;
+import edu.neu.coe.info6205.util.parallel.ParallelRandom;
+
 import java.io.BufferedWriter;
 import java.io.FileOutputStream;
 import java.io.IOException;
@@ -22,18 +27,31 @@ public class Main {
         Random random = new Random();
         int[] array = new int[4000000];
         ArrayList<Long> timeList = new ArrayList<>();
+        final ResultStore store = getResultStore();
         for (int j = 0; j < 50; j++) {
             ParSort.cutoff = 80000 * (j + 1);
             // for (int i = 0; i < array.length; i++) array[i] = random.nextInt(10000000);
-            long time;
-            long startTime = System.currentTimeMillis();
+            long total = 0;
+            final double[] laps = new double[10];
             for (int t = 0; t < 10; t++) {
-                for (int i = 0; i < array.length; i++) array[i] = random.nextInt(10000000);
+                array = ParallelRandom.ints(array.length, 0, 10000000, random.nextLong());
+                // NOTE only the sort itself is timed (not the filling of the array).
+                final long start = System.nanoTime();
                 ParSort.sort(array, 0, array.length);
+                final long nanos = System.nanoTime() - start;
+                laps[t] = nanos / 1E6;
+                total += nanos;
             }
-            long endTime = System.currentTimeMillis();
-            time = (endTime - startTime);
+            // NOTE the laps are summed in nanoseconds, and converted to milliseconds only once (so as not to truncate each lap).
+            final long time = total / 1_000_000;
             timeList.add(time);
+            if (store != null) {
+                final Map<String, Object> params = new HashMap<>();
+                params.put("n", array.length);
+                params.put("cutoff", ParSort.cutoff);
+                params.put("threads", ParSort.threadCount);
+                store.appendQuietly(BenchmarkRecord.create("ParSort", params, laps));
+            }
 
 
             System.out.println("cutoff：" + (ParSort.cutoff) + "\t\t10times Time:" + time + "ms");
@@ -57,6 +75,14 @@ public class Main {
         }
     }
 
+    private static ResultStore getResultStore() {
+        try {
+            return ResultStore.create(Config.load(Main.class));
+        } catch (IOException e) {
+            return null;
+        }
+    }
+
     private static void processArgs(String[] args) {
         String[] xs = args;
         while (xs.length > 0)
@@ -8,18 +8,30 @@ import java.util.concurrent.ForkJoinPool;
  * This code has been fleshed out by Ziyao Qiao. Thanks very much.
  * TODO tidy it up a bit.
  */
-class ParSort {
+public class ParSort {
 
     public static int cutoff = 1000;
     public static int  threadCount = 64;
     public static ForkJoinPool myPool = new ForkJoinPool(threadCount);
 
     public static void sort(int[] array, int from, int to) {
+        sort(array, from, to, myPool);
+    }
+
+    /**
+     * Method to sort the given range of array, running the (asynchronous) sub-sorts on the given pool.
+     *
+     * @param array the array.
+     * @param from  the index of the first element to be sorted.
+     * @param to    the index of the first element not to be sorted.
+     * @param pool  the pool on which to run the sub-sorts.
+     */
+    public static void sort(int[] array, int from, int to, ForkJoinPool pool) {
         if (to - from < cutoff) Arrays.sort(array, from, to);
         else {
             // FIXME next few lines should be removed from public repo.
-            CompletableFuture<int[]> parsort1 = parsort(array, from, from + (to - from) / 2); // TO IMPLEMENT
-            CompletableFuture<int[]> parsort2 = parsort(array, from + (to - from) / 2, to); // TO IMPLEMENT
+            CompletableFuture<int[]> parsort1 = parsort(array, from, from + (to - from) / 2, pool); // TO IMPLEMENT
+            CompletableFuture<int[]> parsort2 = parsort(array, from + (to - from) / 2, to, pool); // TO IMPLEMENT
             CompletableFuture<int[]> parsort = parsort1.thenCombine(parsort2, (xs1, xs2) -> {
                 int[] result = new int[xs1.length + xs2.length];
                 // TO IMPLEMENT
@@ -45,15 +57,15 @@ class ParSort {
         }
     }
 
-    private static CompletableFuture<int[]> parsort(int[] array, int from, int to) {
+    private static CompletableFuture<int[]> parsort(int[] array, int from, int to, ForkJoinPool pool) {
         return CompletableFuture.supplyAsync(
                 () -> {
                     int[] result = new int[to - from];
                     // TO IMPLEMENT
                     System.arraycopy(array, from, result, 0, result.length);
-                    sort(result, 0, to - from);
+                    sort(result, 0, to - from, pool);
                     return result;
-                },myPool
+                },pool
         );
     }
 }
\ No newline at end of file
@@ -0,0 +1,65 @@
+package edu.neu.coe.info6205.sort.par;
+
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * The same parallel merge sort as ParSort, but as a fork/join RecursiveAction rather than with CompletableFutures.
+ * <p>
+ * ParSort joins CompletableFutures from within the pool's own workers: each such join blocks its worker,
+ * so the pool adds compensation threads, and a pool of p threads actually runs more than p.
+ * Here each task forks one half, computes the other and then joins the forked half, which the worker helps to complete
+ * (rather than blocking), so the pool never grows beyond its parallelism.
+ * That makes this the workload to use for thread-scaling curves (see ParSortScaling).
+ */
+public class ParSortAction extends RecursiveAction {
+
+    /**
+     * Method to sort the given range of array on the given pool.
+     *
+     * @param array  the array.
+     * @param from   the index of the first element to be sorted.
+     * @param to     the index of the first element not to be sorted.
+     * @param cutoff the size of range below which it is sorted sequentially (by Arrays.sort).
+     * @param pool   the pool on which to run the sort.
+     */
+    public static void sort(int[] array, int from, int to, int cutoff, ForkJoinPool pool) {
+        pool.invoke(new ParSortAction(array, from, to, cutoff));
+    }
+
+    ParSortAction(int[] array, int from, int to, int cutoff) {
+        this.array = array;
+        this.from = from;
+        this.to = to;
+        this.cutoff = cutoff;
+    }
+
+    @Override
+    protected void compute() {
+        if (to - from < cutoff) {
+            Arrays.sort(array, from, to);
+            return;
+        }
+        final int mid = from + (to - from) / 2;
+        invokeAll(new ParSortAction(array, from, mid, cutoff), new ParSortAction(array, mid, to, cutoff));
+        // NOTE as in ParSort, the halves are merged into a new array which is then copied back.
+        final int[] result = new int[to - from];
+        int i = from;
+        int j = mid;
+        for (int k = 0; k < result.length; k++) {
+            if (i >= mid) result[k] = array[j++];
+            else if (j >= to) result[k] = array[i++];
+            else if (array[j] < array[i]) result[k] = array[j++];
+            else result[k] = array[i++];
+        }
+        System.arraycopy(result, 0, array, from, result.length);
+    }
+
+    private static final long serialVersionUID = 1L;
+
+    private final int[] array;
+    private final int from;
+    private final int to;
+    private final int cutoff;
+}
@@ -0,0 +1,68 @@
+package edu.neu.coe.info6205.sort.par;
+
+import edu.neu.coe.info6205.util.Config;
+import edu.neu.coe.info6205.util.ResultStore;
+import edu.neu.coe.info6205.util.parallel.ParallelRandom;
+import edu.neu.coe.info6205.util.parallel.ThreadScaling;
+
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * Thread-scaling benchmark of ParSort: see ThreadScaling.
+ * <p>
+ * Usage: ParSortScaling [n [cutoff [runs [maxThreads [variant]]]]]
+ * <p>
+ * The variant is either forkjoin (the default), which runs the ParSort algorithm as a RecursiveAction (ParSortAction),
+ * or future, which runs ParSort itself.
+ * NOTE ParSort joins CompletableFutures inside the pool's workers, so the pool adds compensation threads
+ * and a "p threads" result of the future variant was actually run with more than p threads (ThreadScaling warns of this).
+ * Only the forkjoin variant gives true scaling curves.
+ * <p>
+ * The results are appended to the ResultStore configured by the [results] section of config.ini (if any).
+ */
+public class ParSortScaling {
+
+    public static void main(String[] args) throws IOException {
+        final int n = args.length > 0 ? Integer.parseInt(args[0]) : 4_000_000;
+        final int cutoff = args.length > 1 ? Integer.parseInt(args[1]) : 100_000;
+        final int runs = args.length > 2 ? Integer.parseInt(args[2]) : 10;
+        final int maxThreads = args.length > 3 ? Integer.parseInt(args[3]) : Runtime.getRuntime().availableProcessors();
+        final String variant = args.length > 4 ? args[4] : FORKJOIN;
+        ParSort.cutoff = cutoff;
+        final int[] array = ParallelRandom.ints(n, 0, 10000000, 0L);
+        final ThreadScaling<int[]> scaling = new ThreadScaling<>("ParSort", workload(variant, cutoff));
+        final List<ThreadScaling.Point> points = scaling.run(array, int[]::clone, runs, maxThreads);
+        System.out.println("ParSort (" + variant + "): n=" + n + ", cutoff=" + cutoff);
+        System.out.print(ThreadScaling.report(points));
+        if (!variant.equals(FORKJOIN))
+            System.out.println("NOTE ParSort blocks in joins inside the pool, which adds compensation threads: each row used more threads than it says");
+        final ResultStore store = ResultStore.create(Config.load(ParSortScaling.class));
+        if (store != null) {
+            final Map<String, Object> params = new HashMap<>();
+            params.put("n", n);
+            params.put("cutoff", cutoff);
+            params.put("variant", variant);
+            scaling.save(store, params, points);
+        }
+    }
+
+    private static Function<ForkJoinPool, Consumer<int[]>> workload(String variant, int cutoff) {
+        switch (variant) {
+            case FORKJOIN:
+                return pool -> xs -> ParSortAction.sort(xs, 0, xs.length, cutoff, pool);
+            case FUTURE:
+                return pool -> xs -> ParSort.sort(xs, 0, xs.length, pool);
+            default:
+                throw new IllegalArgumentException("ParSortScaling: unknown variant: " + variant + " (expected " + FORKJOIN + " or " + FUTURE + ")");
+        }
+    }
+
+    public static final String FORKJOIN = "forkjoin";
+    public static final String FUTURE = "future";
+}
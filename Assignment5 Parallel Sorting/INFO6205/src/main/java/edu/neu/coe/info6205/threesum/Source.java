@@ -1,7 +1,9 @@
 package edu.neu.coe.info6205.threesum;
 
+import edu.neu.coe.info6205.sort.SortUnique;
+import edu.neu.coe.info6205.util.parallel.ParallelRandom;
+
 import java.lang.reflect.Array;
-import java.util.Arrays;
 import java.util.Random;
 import java.util.function.Supplier;
 
@@ -31,10 +33,9 @@ class Source {
      */
     public Supplier<int[]> intsSupplier(int safetyFactor) {
         return () -> {
-            int[] ints = (int[]) Array.newInstance(int.class, safetyFactor * n);
-            for (int i = 0; i < ints.length; i++) ints[i] = random.nextInt(safetyFactor * m) - safetyFactor * m / 2;
-            Arrays.sort(ints);
-            int[] distinct = Arrays.stream(ints).distinct().toArray();
+            final int range = safetyFactor * m;
+            int[] ints = ParallelRandom.ints(safetyFactor * n, -(range / 2), range - range / 2, random);
+            int[] distinct = SortUnique.radixSort(ints);
             int[] result = (int[]) Array.newInstance(int.class, n);
             for (int i = 0; i < n; i++)
                 result[i] = distinct[i * (distinct.length / n)];
@@ -1,6 +1,8 @@
 package edu.neu.coe.info6205.threesum;
 
 import edu.neu.coe.info6205.util.Benchmark_Timer;
+import edu.neu.coe.info6205.util.DoublingExperiment;
+import edu.neu.coe.info6205.util.LazyLogger;
 import edu.neu.coe.info6205.util.TimeLogger;
 import edu.neu.coe.info6205.util.Utilities;
 
@@ -22,7 +24,31 @@ public class ThreeSumBenchmark {
         benchmarkThreeSum("ThreeSumCubic", (xs) -> new ThreeSumCubic(xs).getTriples(), n, timeLoggersCubic);
     }
 
+    /**
+     * Method to run a doubling experiment (see DoublingExperiment) for each of the ThreeSum algorithms.
+     *
+     * @param budget      the time budget for each algorithm, in milliseconds.
+     * @param productionN the problem size for which to project the time.
+     */
+    public static void runDoublingExperiments(double budget, long productionN) {
+        doublingExperiment("ThreeSumQuadratic", (xs) -> new ThreeSumQuadratic(xs).getTriples(), budget, productionN);
+        doublingExperiment("ThreeSumQuadrithmic", (xs) -> new ThreeSumQuadrithmic(xs).getTriples(), budget, productionN);
+        doublingExperiment("ThreeSumCubic", (xs) -> new ThreeSumCubic(xs).getTriples(), budget, productionN);
+    }
+
+    /**
+     * Main program.
+     * With argument "doubling" [budget in seconds [production N]], runs doubling experiments instead of the fixed sizes.
+     *
+     * @param args the command-line arguments.
+     */
     public static void main(String[] args) {
+        if (args.length > 0 && args[0].equals("doubling")) {
+            final double budget = args.length > 1 ? Double.parseDouble(args[1]) * 1000 : 10000;
+            final long productionN = args.length > 2 ? Long.parseLong(args[2]) : 1000000;
+            runDoublingExperiments(budget, productionN);
+            return;
+        }
         new ThreeSumBenchmark(100, 250, 250).runBenchmarks();
         new ThreeSumBenchmark(50, 500, 500).runBenchmarks();
         new ThreeSumBenchmark(20, 1000, 1000).runBenchmarks();
@@ -34,7 +60,13 @@ public class ThreeSumBenchmark {
 
     private void benchmarkThreeSum(final String description, final Consumer<int[]> function, int n, final TimeLogger[] timeLoggers) {
         if (description.equals("ThreeSumCubic") && n > 4000) return;
-        // TO BE IMPLEMENTED
+        final double time = new Benchmark_Timer<int[]>(description, function).runFromSupplier(supplier, runs);
+        for (TimeLogger timeLogger : timeLoggers) timeLogger.log(time, n);
+    }
+
+    private static void doublingExperiment(final String description, final Consumer<int[]> function, double budget, long productionN) {
+        final DoublingExperiment<int[]> experiment = new DoublingExperiment<>(description, new Benchmark_Timer<>(description, function), n -> new Source(n, n).intsSupplier(10));
+        logger.info(experiment.run(1000, 5, budget).report(productionN));
     }
 
     private final static TimeLogger[] timeLoggersCubic = {
@@ -50,6 +82,8 @@ public class ThreeSumBenchmark {
             new TimeLogger("Normalized time per run (n^2): ", (time, n) -> time / n / n * 1e6)
     };
 
+    final static LazyLogger logger = new LazyLogger(ThreeSumBenchmark.class);
+
     private final int runs;
     private final Supplier<int[]> supplier;
     private final int n;
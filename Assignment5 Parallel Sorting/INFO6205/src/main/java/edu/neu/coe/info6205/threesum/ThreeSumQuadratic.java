@@ -1,7 +1,8 @@
 package edu.neu.coe.info6205.threesum;
 
+import edu.neu.coe.info6205.sort.SortUnique;
+
 import java.util.ArrayList;
-import java.util.Collections;
 import java.util.List;
 
 /**
@@ -25,8 +26,7 @@ public class ThreeSumQuadratic implements ThreeSum {
     public Triple[] getTriples() {
         List<Triple> triples = new ArrayList<>();
         for (int i = 0; i < length; i++) triples.addAll(getTriples(i));
-        Collections.sort(triples);
-        return triples.stream().distinct().toArray(Triple[]::new);
+        return SortUnique.mergeSort(triples.toArray(new Triple[0]));
     }
 
     /**
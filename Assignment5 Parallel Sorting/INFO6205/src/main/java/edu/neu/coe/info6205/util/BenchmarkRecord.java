@@ -0,0 +1,223 @@
+package edu.neu.coe.info6205.util;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.*;
+
+/**
+ * One line of a ResultStore: the lap times of one benchmark run, together with the key which identifies it,
+ * i.e. the benchmark, its parameters and the environment (git commit, JDK and CPU count).
+ * <p>
+ * Records are written as CSV lines with the columns given by HEADER.
+ * The parameters are written in a canonical (sorted) form, such as "n=1000;shape=random", and the laps (in milliseconds)
+ * are separated by semicolons.
+ */
+public class BenchmarkRecord {
+
+    public static final String HEADER = "timestamp,benchmark,params,commit,jdk,cpus,mean,median,stddev,laps";
+
+    /**
+     * Constructor for a BenchmarkRecord.
+     *
+     * @param timestamp the time at which the run finished.
+     * @param benchmark the name of the benchmark.
+     * @param params    the parameters of the benchmark (in canonical form).
+     * @param commit    the git commit of the code which was benchmarked.
+     * @param jdk       the version of the JDK.
+     * @param cpus      the number of available processors.
+     * @param laps      the lap times in milliseconds (there must be at least one).
+     */
+    public BenchmarkRecord(Instant timestamp, String benchmark, String params, String commit, String jdk, int cpus, double[] laps) {
+        if (laps.length == 0) throw new IllegalArgumentException("BenchmarkRecord: no laps for " + benchmark);
+        this.timestamp = timestamp;
+        this.benchmark = benchmark;
+        this.params = params;
+        this.commit = commit;
+        this.jdk = jdk;
+        this.cpus = cpus;
+        this.laps = laps.clone();
+    }
+
+    /**
+     * Method to create a BenchmarkRecord for the current environment from a BenchmarkResult.
+     * All of the laps (including any which the result rejected as outliers) are recorded.
+     *
+     * @param benchmark the name of the benchmark.
+     * @param params    the parameters of the benchmark.
+     * @param result    the result.
+     * @return a new BenchmarkRecord.
+     */
+    public static BenchmarkRecord create(String benchmark, Map<String, ?> params, BenchmarkResult result) {
+        return create(benchmark, params, result.getLaps());
+    }
+
+    /**
+     * Method to create a BenchmarkRecord for the current environment.
+     *
+     * @param benchmark the name of the benchmark.
+     * @param params    the parameters of the benchmark.
+     * @param laps      the lap times in milliseconds.
+     * @return a new BenchmarkRecord.
+     */
+    public static BenchmarkRecord create(String benchmark, Map<String, ?> params, double[] laps) {
+        return new BenchmarkRecord(Instant.now(), benchmark, formatParams(params), gitCommit(), System.getProperty("java.version"), Runtime.getRuntime().availableProcessors(), laps);
+    }
+
+    /**
+     * @return the key which identifies the benchmark (independently of the environment): benchmark and parameters.
+     */
+    public String getKey() {
+        return params.isEmpty() ? benchmark : benchmark + "{" + params + "}";
+    }
+
+    public Instant getTimestamp() {
+        return timestamp;
+    }
+
+    public String getBenchmark() {
+        return benchmark;
+    }
+
+    public String getParams() {
+        return params;
+    }
+
+    public String getCommit() {
+        return commit;
+    }
+
+    public String getJdk() {
+        return jdk;
+    }
+
+    public int getCpus() {
+        return cpus;
+    }
+
+    public double[] getLaps() {
+        return laps.clone();
+    }
+
+    /**
+     * @return this record as a line of CSV (without the line separator).
+     */
+    public String toCsv() {
+        final BenchmarkResult result = new BenchmarkResult(benchmark, laps, 0, 0);
+        final StringJoiner lapsJoiner = new StringJoiner(";");
+        for (double lap : laps) lapsJoiner.add(Double.toString(lap));
+        return String.join(",", timestamp.toString(), quote(benchmark), quote(params), quote(commit), quote(jdk), Integer.toString(cpus),
+                Double.toString(result.getMean()), Double.toString(result.getMedian()), Double.toString(result.getStdDev()), lapsJoiner.toString());
+    }
+
+    /**
+     * Method to parse a line of CSV (as written by toCsv).
+     *
+     * @param line the line.
+     * @return a BenchmarkRecord.
+     * @throws IllegalArgumentException if the line is not well-formed.
+     */
+    public static BenchmarkRecord parse(String line) {
+        final List<String> fields = split(line);
+        if (fields.size() != 10) throw new IllegalArgumentException("BenchmarkRecord: expected 10 fields but got " + fields.size() + ": " + line);
+        try {
+            final String lapsField = fields.get(9);
+            final double[] laps = Arrays.stream(lapsField.split(";")).mapToDouble(Double::parseDouble).toArray();
+            return new BenchmarkRecord(Instant.parse(fields.get(0)), fields.get(1), fields.get(2), fields.get(3), fields.get(4), Integer.parseInt(fields.get(5)), laps);
+        } catch (RuntimeException e) {
+            throw new IllegalArgumentException("BenchmarkRecord: cannot parse: " + line, e);
+        }
+    }
+
+    /**
+     * Method to format parameters canonically, i.e. sorted by name, as name=value pairs separated by semicolons.
+     *
+     * @param params the parameters.
+     * @return a String such as "n=1000;shape=random".
+     */
+    public static String formatParams(Map<String, ?> params) {
+        final StringJoiner joiner = new StringJoiner(";");
+        for (Map.Entry<String, ?> entry : new TreeMap<>(params).entrySet()) joiner.add(entry.getKey() + "=" + entry.getValue());
+        return joiner.toString();
+    }
+
+    /**
+     * Method to get the (abbreviated) git commit of the working directory.
+     * The environment variable GIT_COMMIT takes precedence (for builds which do not run in a git working tree).
+     *
+     * @return the commit (HEAD), or "unknown".
+     */
+    public static synchronized String gitCommit() {
+        if (commitCache == null) {
+            final String env = System.getenv("GIT_COMMIT");
+            if (env != null && !env.isEmpty()) commitCache = env;
+            else {
+                final String head = git("rev-parse", "--short", "HEAD");
+                commitCache = head == null || head.isEmpty() ? "unknown" : head;
+            }
+        }
+        return commitCache;
+    }
+
+    @Override
+    public String toString() {
+        return "BenchmarkRecord{" + getKey() + " at " + commit + " on " + jdk + " with " + cpus + " cpus: " + laps.length + " laps}";
+    }
+
+    private static String git(String... args) {
+        final List<String> command = new ArrayList<>();
+        command.add("git");
+        command.addAll(Arrays.asList(args));
+        try {
+            final Process process = new ProcessBuilder(command).redirectErrorStream(true).start();
+            final StringBuilder sb = new StringBuilder();
+            try (BufferedReader reader = new BufferedReader(new InputStreamReader(process.getInputStream(), StandardCharsets.UTF_8))) {
+                String line;
+                while ((line = reader.readLine()) != null) sb.append(line).append('\n');
+            }
+            return process.waitFor() == 0 ? sb.toString().trim() : null;
+        } catch (IOException e) {
+            return null;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return null;
+        }
+    }
+
+    private static String quote(String s) {
+        if (s.indexOf(',') < 0 && s.indexOf('"') < 0 && s.indexOf('\n') < 0) return s;
+        return '"' + s.replace("\"", "\"\"") + '"';
+    }
+
+    private static List<String> split(String line) {
+        final List<String> result = new ArrayList<>();
+        final StringBuilder sb = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < line.length(); i++) {
+            final char c = line.charAt(i);
+            if (quoted) {
+                if (c != '"') sb.append(c);
+                else if (i + 1 < line.length() && line.charAt(i + 1) == '"') sb.append(line.charAt(i++));
+                else quoted = false;
+            } else if (c == '"') quoted = true;
+            else if (c == ',') {
+                result.add(sb.toString());
+                sb.setLength(0);
+            } else sb.append(c);
+        }
+        result.add(sb.toString());
+        return result;
+    }
+
+    private static String commitCache;
+
+    private final Instant timestamp;
+    private final String benchmark;
+    private final String params;
+    private final String commit;
+    private final String jdk;
+    private final int cpus;
+    private final double[] laps;
+}
@@ -0,0 +1,247 @@
+package edu.neu.coe.info6205.util;
+
+import java.util.Arrays;
+
+/**
+ * The result of a Benchmark_Timer measurement: the lap times (in milliseconds) and their summary statistics.
+ * <p>
+ * Laps whose modified z-score (0.6745 * |x - median| / MAD, where MAD is the median absolute deviation) exceeds the
+ * outlier threshold are rejected (they are typically due to GC pauses, JIT compilation or interference from other processes).
+ * All of the statistics are calculated from the laps which were kept.
+ * The confidence interval is that of the mean, based on Student's t distribution.
+ */
+public class BenchmarkResult {
+
+    /**
+     * Constructor for a BenchmarkResult.
+     *
+     * @param description      the description of the benchmark.
+     * @param laps             the lap times in milliseconds (in the order in which they were measured).
+     * @param warmups          the number of warmup laps which preceded the timed laps.
+     * @param outlierThreshold the modified z-score beyond which a lap is rejected (non-positive means that no lap is rejected).
+     * @param resourceUsage    the resources used by all of the laps (may be null).
+     */
+    public BenchmarkResult(String description, double[] laps, int warmups, double outlierThreshold, ResourceUsage resourceUsage) {
+        if (laps.length == 0) throw new IllegalArgumentException("BenchmarkResult: no laps");
+        this.description = description;
+        this.laps = laps.clone();
+        this.warmups = warmups;
+        this.resourceUsage = resourceUsage;
+        final double[] sorted = laps.clone();
+        Arrays.sort(sorted);
+        this.kept = outlierThreshold > 0 ? reject(sorted, outlierThreshold) : sorted;
+        final int n = kept.length;
+        double sum = 0;
+        for (double x : kept) sum += x;
+        this.mean = sum / n;
+        double squares = 0;
+        for (double x : kept) squares += (x - mean) * (x - mean);
+        // NOTE this is the sample standard deviation (with Bessel's correction).
+        this.stdDev = n > 1 ? Math.sqrt(squares / (n - 1)) : 0.0;
+        this.halfWidth = n > 1 ? tQuantile975(n - 1) * stdDev / Math.sqrt(n) : 0.0;
+    }
+
+    /**
+     * Constructor for a BenchmarkResult without a ResourceUsage.
+     *
+     * @param description      the description of the benchmark.
+     * @param laps             the lap times in milliseconds (in the order in which they were measured).
+     * @param warmups          the number of warmup laps which preceded the timed laps.
+     * @param outlierThreshold the modified z-score beyond which a lap is rejected (non-positive means that no lap is rejected).
+     */
+    public BenchmarkResult(String description, double[] laps, int warmups, double outlierThreshold) {
+        this(description, laps, warmups, outlierThreshold, null);
+    }
+
+    public String getDescription() {
+        return description;
+    }
+
+    /**
+     * @return all of the lap times, including any outliers, in the order in which they were measured.
+     */
+    public double[] getLaps() {
+        return laps.clone();
+    }
+
+    /**
+     * @return the number of laps which were kept (i.e. were not rejected as outliers).
+     */
+    public int getCount() {
+        return kept.length;
+    }
+
+    /**
+     * @return the number of laps which were rejected as outliers.
+     */
+    public int getRejected() {
+        return laps.length - kept.length;
+    }
+
+    /**
+     * @return the CPU time, allocation and GC activity of the timed laps (including any outliers), or null if not measured.
+     */
+    public ResourceUsage getResourceUsage() {
+        return resourceUsage;
+    }
+
+    public int getWarmups() {
+        return warmups;
+    }
+
+    public double getMean() {
+        return mean;
+    }
+
+    public double getMedian() {
+        return percentile(50);
+    }
+
+    public double getP90() {
+        return percentile(90);
+    }
+
+    public double getP99() {
+        return percentile(99);
+    }
+
+    public double getStdDev() {
+        return stdDev;
+    }
+
+    /**
+     * @return the coefficient of variation (the standard deviation as a fraction of the mean).
+     */
+    public double getCV() {
+        return mean > 0 ? stdDev / mean : 0.0;
+    }
+
+    /**
+     * @return the lower bound of the 95% confidence interval of the mean.
+     */
+    public double getLower() {
+        return mean - halfWidth;
+    }
+
+    /**
+     * @return the upper bound of the 95% confidence interval of the mean.
+     */
+    public double getUpper() {
+        return mean + halfWidth;
+    }
+
+    /**
+     * @return the half-width of the 95% confidence interval as a fraction of the mean.
+     * For a regression of 3% to be detectable, this should be well under 0.03.
+     */
+    public double getRelativeError() {
+        return mean > 0 ? halfWidth / mean : 0.0;
+    }
+
+    /**
+     * Method to determine whether this result is significantly different from another,
+     * in the sense that their 95% confidence intervals do not overlap.
+     *
+     * @param other the other result.
+     * @return true if the confidence intervals are disjoint.
+     */
+    public boolean differsFrom(BenchmarkResult other) {
+        return getUpper() < other.getLower() || other.getUpper() < getLower();
+    }
+
+    /**
+     * Method to get a percentile of the (kept) lap times, interpolating linearly between the closest ranks.
+     *
+     * @param p the percentile (between 0 and 100).
+     * @return the lap time at the p-th percentile.
+     */
+    public double percentile(double p) {
+        if (p < 0 || p > 100) throw new IllegalArgumentException("percentile: p must be between 0 and 100: " + p);
+        final double rank = p / 100 * (kept.length - 1);
+        final int lo = (int) Math.floor(rank);
+        final int hi = (int) Math.ceil(rank);
+        return kept[lo] + (rank - lo) * (kept[hi] - kept[lo]);
+    }
+
+    @Override
+    public String toString() {
+        return description + ": mean=" + Utilities.formatDecimal3Places(mean) +
+                " (95% CI " + Utilities.formatDecimal3Places(getLower()) + ".." + Utilities.formatDecimal3Places(getUpper()) + ")" +
+                "; median=" + Utilities.formatDecimal3Places(getMedian()) +
+                "; p90=" + Utilities.formatDecimal3Places(getP90()) +
+                "; p99=" + Utilities.formatDecimal3Places(getP99()) +
+                "; stdDev=" + Utilities.formatDecimal3Places(stdDev) +
+                " mSec; laps=" + kept.length + " (" + getRejected() + " rejected, " + warmups + " warmups)";
+    }
+
+    /**
+     * Method to calculate the median of a sorted array.
+     */
+    static double median(double[] sorted, int from, int to) {
+        final int n = to - from;
+        final int mid = from + n / 2;
+        return n % 2 == 1 ? sorted[mid] : (sorted[mid - 1] + sorted[mid]) / 2;
+    }
+
+    /**
+     * Method to calculate the coefficient of variation of xs[from..to).
+     */
+    static double cv(double[] xs, int from, int to) {
+        final int n = to - from;
+        if (n < 2) return Double.POSITIVE_INFINITY;
+        double sum = 0;
+        for (int i = from; i < to; i++) sum += xs[i];
+        final double mean = sum / n;
+        double squares = 0;
+        for (int i = from; i < to; i++) squares += (xs[i] - mean) * (xs[i] - mean);
+        return mean > 0 ? Math.sqrt(squares / (n - 1)) / mean : 0.0;
+    }
+
+    /**
+     * Method to approximate the 97.5th percentile of Student's t distribution (for a two-sided 95% interval).
+     *
+     * @param df the degrees of freedom (at least 1).
+     * @return the value of t.
+     */
+    static double tQuantile975(int df) {
+        if (df <= T_975.length) return T_975[df - 1];
+        // NOTE Cornish-Fisher expansion about the normal quantile, accurate to three places for df > 30.
+        final double z = 1.959964;
+        final double z3 = z * z * z;
+        return z + (z3 + z) / (4 * df) + (5 * z3 * z * z + 16 * z3 + 3 * z) / (96.0 * df * df);
+    }
+
+    private static double[] reject(double[] sorted, double threshold) {
+        final int n = sorted.length;
+        if (n < 3) return sorted;
+        final double median = median(sorted, 0, n);
+        final double[] deviations = new double[n];
+        for (int i = 0; i < n; i++) deviations[i] = Math.abs(sorted[i] - median);
+        Arrays.sort(deviations);
+        final double mad = median(deviations, 0, n);
+        // NOTE if more than half of the laps are identical, MAD is zero and we cannot tell outliers from the rest.
+        if (mad == 0) return sorted;
+        int lo = 0;
+        int hi = n;
+        while (lo < hi && MAD_SCALE * (median - sorted[lo]) / mad > threshold) lo++;
+        while (hi > lo && MAD_SCALE * (sorted[hi - 1] - median) / mad > threshold) hi--;
+        return Arrays.copyOfRange(sorted, lo, hi);
+    }
+
+    private static final double MAD_SCALE = 0.6745;
+
+    private static final double[] T_975 = {
+            12.706, 4.303, 3.182, 2.776, 2.571, 2.447, 2.365, 2.306, 2.262, 2.228,
+            2.201, 2.179, 2.160, 2.145, 2.131, 2.120, 2.110, 2.101, 2.093, 2.086,
+            2.080, 2.074, 2.069, 2.064, 2.060, 2.056, 2.052, 2.048, 2.045, 2.042
+    };
+
+    private final String description;
+    private final double[] laps;
+    private final double[] kept; // sorted
+    private final int warmups;
+    private final ResourceUsage resourceUsage;
+    private final double mean;
+    private final double stdDev;
+    private final double halfWidth;
+}
@@ -5,7 +5,6 @@
 package edu.neu.coe.info6205.util;
 
 import java.util.function.Consumer;
-import java.util.function.Function;
 import java.util.function.Supplier;
 import java.util.function.UnaryOperator;
 
@@ -18,6 +17,7 @@ import edu.neu.coe.info6205.sort.elementary.InsertionSort;
 
 import java.util.Random;
 
+import static edu.neu.coe.info6205.util.Utilities.formatDecimal3Places;
 import static edu.neu.coe.info6205.util.Utilities.formatWhole;
 
 /**
@@ -58,8 +58,20 @@ public class Benchmark_Timer<T> implements Benchmark<T> {
 		return Integer.max(2, Integer.min(10, m / 10));
 	}
 
+	/**
+	 * Calculate the default limit on the number of warmup runs, so that the warmup never takes (much) longer than the timed runs.
+	 *
+	 * @param m the number of runs.
+	 * @return at least getWarmupRuns(m) and at most DEFAULT_MAX_WARMUP_RUNS (otherwise m).
+	 */
+	static int getMaxWarmupRuns(int m) {
+		return Integer.max(getWarmupRuns(m), Integer.min(DEFAULT_MAX_WARMUP_RUNS, m));
+	}
+
 	/**
 	 * Run function f m times and return the average time in milliseconds.
+	 * <p>
+	 * NOTE the average excludes any laps rejected as outliers (see measure).
 	 *
 	 * @param supplier a Supplier of a T
 	 * @param m        the number of times the function f will be called.
@@ -67,16 +79,99 @@ public class Benchmark_Timer<T> implements Benchmark<T> {
 	 */
 	@Override
 	public double runFromSupplier(Supplier<T> supplier, int m) {
-//		logger.info("Begin run: " + description + " with " + formatWhole(m) + " runs");
-		// Warmup phase
-		final Function<T, T> function = t -> {
-			fRun.accept(t);
-			return t;
-		};
-		new Timer().repeat(getWarmupRuns(m), supplier, function, fPre, null);
+		return measure(supplier, m).getMean();
+	}
+
+	/**
+	 * Run function f m times (after warming up) and return the statistics of the lap times.
+	 * <p>
+	 * The warmup begins with getWarmupRuns(m) laps and continues, a window of that many laps at a time,
+	 * until the coefficient of variation of the latest window is below cvThreshold (i.e. the lap times have stabilised),
+	 * or until maxWarmupRuns laps have been run (by default, getMaxWarmupRuns(m): see withConvergence).
+	 * Every timed lap is recorded: see BenchmarkResult for the rejection of outliers and the statistics.
+	 *
+	 * @param supplier a Supplier of a T
+	 * @param m        the number of times the function f will be timed.
+	 * @return a BenchmarkResult.
+	 */
+	public BenchmarkResult measure(Supplier<T> supplier, int m) {
+		logger.trace(() -> "Begin measure: " + description + " with " + formatWhole(m) + " runs");
+		final int window = getWarmupRuns(m);
+		final double[] warmupLaps = new double[Integer.max(window, maxWarmupRuns > 0 ? maxWarmupRuns : getMaxWarmupRuns(m))];
+		int warmups = 0;
+		double cv;
+		do {
+			for (int i = 0; i < window && warmups < warmupLaps.length; i++)
+				warmupLaps[warmups++] = lap(supplier, false, null);
+			cv = BenchmarkResult.cv(warmupLaps, warmups - window, warmups);
+		} while (warmups < warmupLaps.length && cv > cvThreshold);
+		if (cv > cvThreshold) {
+			final int w = warmups;
+			final double c = cv;
+			logger.debug(() -> description + ": lap times did not stabilise within " + w + " warmup runs (CV=" + formatDecimal3Places(c) + ")");
+		}
+
+		final ResourceUsage resourceUsage = withResources ? new ResourceUsage() : null;
+		final double[] laps = new double[m];
+		for (int i = 0; i < m; i++) laps[i] = lap(supplier, true, resourceUsage);
+		final BenchmarkResult result = new BenchmarkResult(description, laps, warmups, outlierThreshold, resourceUsage);
+		logger.debug(result::toString);
+		return result;
+	}
+
+	/**
+	 * Method to set the criterion for the end of the warmup phase.
+	 *
+	 * @param cvThreshold   the coefficient of variation below which the lap times are considered to have stabilised.
+	 * @param maxWarmupRuns the maximum number of warmup runs (non-positive means getMaxWarmupRuns(m), which is the default).
+	 * @return this Benchmark_Timer.
+	 */
+	public Benchmark_Timer<T> withConvergence(double cvThreshold, int maxWarmupRuns) {
+		this.cvThreshold = cvThreshold;
+		this.maxWarmupRuns = maxWarmupRuns;
+		return this;
+	}
 
-		// Timed phase
-		return new Timer().repeat(m, supplier, function, fPre, fPost);
+	/**
+	 * Method to set the modified z-score beyond which a lap is rejected as an outlier.
+	 *
+	 * @param outlierThreshold the threshold (non-positive means that all laps are kept).
+	 * @return this Benchmark_Timer.
+	 */
+	public Benchmark_Timer<T> withOutlierThreshold(double outlierThreshold) {
+		this.outlierThreshold = outlierThreshold;
+		return this;
+	}
+
+	/**
+	 * Method to measure the CPU time, allocation and GC activity of the timed laps (see ResourceUsage).
+	 * The result of measure will then include a ResourceUsage.
+	 *
+	 * @param withResources true if the resources are to be measured.
+	 * @return this Benchmark_Timer.
+	 */
+	public Benchmark_Timer<T> withResources(boolean withResources) {
+		this.withResources = withResources;
+		return this;
+	}
+
+	/**
+	 * Run one lap: the pre-function, then the (timed) run function, then (if post is true) the post-function.
+	 *
+	 * @param resourceUsage if not null, the ResourceUsage which is to measure the call of fRun.
+	 * @return the time taken by fRun in milliseconds.
+	 */
+	private double lap(Supplier<T> supplier, boolean post, ResourceUsage resourceUsage) {
+		T t = supplier.get();
+		if (fPre != null) t = fPre.apply(t);
+		if (resourceUsage != null) resourceUsage.begin();
+		// NOTE we use the same clock as Timer but keep the fractional milliseconds, since laps may be very short.
+		final long start = System.nanoTime();
+		fRun.accept(t);
+		final long ticks = System.nanoTime() - start;
+		if (resourceUsage != null) resourceUsage.end();
+		if (post && fPost != null) fPost.accept(t);
+		return ticks / 1_000_000.0;
 	}
 
 	/**
@@ -152,6 +247,14 @@ public class Benchmark_Timer<T> implements Benchmark<T> {
 	private final UnaryOperator<T> fPre;
 	private final Consumer<T> fRun;
 	private final Consumer<T> fPost;
+	private double cvThreshold = DEFAULT_CV_THRESHOLD;
+	private int maxWarmupRuns = 0;
+	private double outlierThreshold = DEFAULT_OUTLIER_THRESHOLD;
+	private boolean withResources = false;
+
+	public static final double DEFAULT_CV_THRESHOLD = 0.05;
+	public static final int DEFAULT_MAX_WARMUP_RUNS = 100;
+	public static final double DEFAULT_OUTLIER_THRESHOLD = 3.5;
 
 	final static LazyLogger logger = new LazyLogger(Benchmark_Timer.class);
 
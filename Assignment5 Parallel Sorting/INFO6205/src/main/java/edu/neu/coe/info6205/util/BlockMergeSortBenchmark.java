@@ -0,0 +1,58 @@
+package edu.neu.coe.info6205.util;
+
+import edu.neu.coe.info6205.sort.BaseHelper;
+import edu.neu.coe.info6205.sort.Helper;
+import edu.neu.coe.info6205.sort.SortWithHelper;
+import edu.neu.coe.info6205.sort.linearithmic.BlockMergeSort;
+import edu.neu.coe.info6205.sort.linearithmic.MergeSortBasic;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Random;
+import java.util.function.Function;
+
+/**
+ * Benchmark of the time-versus-memory trade-off of merging in place (BlockMergeSort) rather than via an auxiliary array (MergeSortBasic).
+ * <p>
+ * For each sorter, we show the mean time (from Benchmark_Timer) and the bytes allocated by one sort (excluding the copy of its input),
+ * as measured by the (HotSpot) ThreadMXBean (see ResourceUsage).
+ */
+public class BlockMergeSortBenchmark {
+
+    public BlockMergeSortBenchmark(Config config) {
+        this.config = config;
+    }
+
+    public static void main(String[] args) throws IOException {
+        Config config = Config.load(BlockMergeSortBenchmark.class);
+        final int n = args.length > 0 ? Integer.parseInt(args[0]) : 1_000_000;
+        final int m = args.length > 1 ? Integer.parseInt(args[1]) : 10;
+        new BlockMergeSortBenchmark(config).run(n, m);
+    }
+
+    public void run(int n, int m) {
+        final Random random = new Random(0L);
+        final Integer[] xs = new Integer[n];
+        for (int i = 0; i < n; i++) xs[i] = random.nextInt();
+        final double basic = benchmark("MergeSortBasic", xs, MergeSortBasic::new, m);
+        final double buffered = benchmark("BlockMergeSort (sqrt(n) buffer)", xs, BlockMergeSort::new, m);
+        final double unbuffered = benchmark("BlockMergeSort (no buffer)", xs, h -> new BlockMergeSort<>(h, 0), m);
+        logger.info("BlockMergeSortBenchmark: n=" + n + ": time relative to MergeSortBasic: sqrt(n) buffer: " + Utilities.formatDecimal3Places(buffered / basic) +
+                "; no buffer: " + Utilities.formatDecimal3Places(unbuffered / basic));
+    }
+
+    private double benchmark(String description, Integer[] xs, Function<Helper<Integer>, SortWithHelper<Integer>> f, int m) {
+        final SortWithHelper<Integer> sorter = f.apply(new BaseHelper<>(description, xs.length, config));
+        final Integer[] ys = Arrays.copyOf(xs, xs.length);
+        final long before = ResourceUsage.allocatedBytes();
+        sorter.sort(ys, false);
+        final long allocated = ResourceUsage.allocatedBytes() - before;
+        final double result = new Benchmark_Timer<Integer[]>(description, zs -> Arrays.copyOf(zs, zs.length), zs -> sorter.sort(zs, false), null).run(xs, m);
+        logger.info(description + ": " + Utilities.formatDecimal3Places(result) + " mSec; allocated: " + (allocated >= 0 ? allocated + " bytes" : "unknown"));
+        return result;
+    }
+
+    final static LazyLogger logger = new LazyLogger(BlockMergeSortBenchmark.class);
+
+    private final Config config;
+}
@@ -59,6 +59,12 @@ public class Config {
         return Long.parseLong(s);
     }
 
+    public double getDouble(final String sectionName, final String optionName, final double defaultValue) {
+        final String s = get(sectionName, optionName);
+        if (s == null || s.isEmpty()) return defaultValue;
+        return Double.parseDouble(s);
+    }
+
     public String getComment(String key) {
         final String comment = ini.getComment(key);
         if (unLogged(key))
@@ -0,0 +1,326 @@
+package edu.neu.coe.info6205.util;
+
+import edu.neu.coe.info6205.sort.counting.StringArena;
+
+import java.io.*;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.net.URLConnection;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.*;
+import java.util.stream.IntStream;
+
+/**
+ * Loader of the distinct words of a Leipzig corpus file (words or sentences), with an optional binary cache.
+ * <p>
+ * The words are exactly those which SortBenchmarkHelper.getWords yields with SortBenchmark.regexLeipzig
+ * (but always decoded as UTF-8, whatever the platform charset):
+ * on each line, the text after the first tab is split into runs of letters at ASCII whitespace, ASCII punctuation and
+ * the full-width comma (U+FF0C);
+ * any other character (a digit, for example) ends the words of that line;
+ * and only words of at least minimumLength (UTF-16) chars are kept.
+ * <p>
+ * Rather than reading the file line by line and matching a regex against each line, the file is memory-mapped,
+ * divided into ranges at line boundaries and each range is tokenized (in parallel, on the common pool)
+ * by a hand-written scanner of the UTF-8 bytes, straight into a StringArena: there are no per-line or per-word Strings.
+ * The words are then sorted (by MSD radix sort) and deduplicated.
+ * A resource which is not a file (for example, one which is packaged in a jar) is read as a stream instead of being mapped.
+ * <p>
+ * If a cache directory is configured (see create), the result is cached there in a file named for the source
+ * (with the suffix CACHE_SUFFIX): a short header which identifies the source (its size and modification time)
+ * and the minimum length, followed by the arena as written by StringArena.write (offsets and then the UTF-8 bytes).
+ * Thereafter, a load is a single mmap of the cache file.
+ * As for WorkloadCache, the cache file is written under a temporary name and then moved into place,
+ * and any failure to read or write it is logged and otherwise ignored.
+ */
+public class CorpusLoader {
+
+    public static final String CORPUS = "corpus";
+    public static final String CACHE_SUFFIX = ".words";
+
+    /**
+     * Constructor for a CorpusLoader.
+     *
+     * @param directory the directory in which to cache the words (created if necessary), or null for no cache.
+     */
+    public CorpusLoader(Path directory) {
+        this.directory = directory;
+    }
+
+    /**
+     * Method to create a CorpusLoader according to the [corpus] section of the given config.
+     *
+     * @param config the configuration.
+     * @return a new CorpusLoader, which caches in the configured directory (if any).
+     */
+    public static CorpusLoader create(Config config) {
+        final String directory = config.get(CORPUS, "cache");
+        return new CorpusLoader(directory == null || directory.isEmpty() ? null : Paths.get(directory));
+    }
+
+    public Path getDirectory() {
+        return directory;
+    }
+
+    /**
+     * Method to load the distinct words of a corpus resource, using (and if necessary creating) its cache.
+     *
+     * @param resource      the URL of the resource (a file is mapped; anything else is read as a stream).
+     * @param minimumLength the minimum length of a word.
+     * @return a compact StringArena of the distinct words, in (UTF-8, i.e. code point) order.
+     * @throws IOException if the resource cannot be read.
+     */
+    public StringArena load(URL resource, int minimumLength) throws IOException {
+        if ("file".equals(resource.getProtocol())) {
+            try {
+                return load(Paths.get(resource.toURI()), minimumLength);
+            } catch (URISyntaxException | IllegalArgumentException e) {
+                logger.debug(() -> "CorpusLoader: reading " + resource + " as a stream: " + e.getMessage());
+            }
+        }
+        final URLConnection connection = resource.openConnection();
+        final String path = resource.getPath();
+        return load(path.substring(path.lastIndexOf('/') + 1), connection.getContentLengthLong(), connection.getLastModified(), minimumLength, () -> {
+            try (InputStream input = connection.getInputStream()) {
+                return ByteBuffer.wrap(readFully(input));
+            }
+        });
+    }
+
+    /**
+     * Method to load the distinct words of a corpus file, using (and if necessary creating) its cache.
+     *
+     * @param source        the corpus file.
+     * @param minimumLength the minimum length of a word.
+     * @return a compact StringArena of the distinct words, in (UTF-8, i.e. code point) order.
+     * @throws IOException if the source cannot be read.
+     */
+    public StringArena load(Path source, int minimumLength) throws IOException {
+        return load(source.getFileName().toString(), Files.size(source), Files.getLastModifiedTime(source).toMillis(), minimumLength, () -> map(source));
+    }
+
+    /**
+     * Method to tokenize a corpus file (without any cache) and yield its distinct words.
+     *
+     * @param source        the corpus file.
+     * @param minimumLength the minimum length of a word.
+     * @return a compact StringArena of the distinct words, in (UTF-8, i.e. code point) order.
+     * @throws IOException if the source cannot be read.
+     */
+    public static StringArena words(Path source, int minimumLength) throws IOException {
+        return words(map(source), minimumLength);
+    }
+
+    /**
+     * @param name the name of a corpus file (or resource).
+     * @return the path of its cache file, or null if there is no cache directory.
+     */
+    Path cachePath(String name) {
+        return directory == null ? null : directory.resolve(name + CACHE_SUFFIX);
+    }
+
+    /**
+     * The bytes of a corpus, which are only read if they are not cached.
+     */
+    private interface Source {
+        ByteBuffer bytes() throws IOException;
+    }
+
+    private StringArena load(String name, long size, long modified, int minimumLength, Source source) throws IOException {
+        // NOTE a source whose size is unknown cannot be cached, since a stale cache could not be detected.
+        final Path cache = size < 0 ? null : cachePath(name);
+        try {
+            if (cache != null && Files.exists(cache)) {
+                final StringArena result = readCache(cache, size, modified, minimumLength);
+                if (result != null) {
+                    logger.debug(() -> "CorpusLoader: loaded " + cache);
+                    return result;
+                }
+            }
+        } catch (IOException | RuntimeException e) {
+            logger.warn("CorpusLoader: unable to read " + cache, e);
+        }
+        final StringArena result = words(source.bytes(), minimumLength);
+        if (cache == null) return result;
+        try {
+            writeCache(cache, result, size, modified, minimumLength);
+            logger.debug(() -> "CorpusLoader: wrote " + cache);
+        } catch (IOException e) {
+            logger.warn("CorpusLoader: unable to write " + cache, e);
+        }
+        return result;
+    }
+
+    private static StringArena words(ByteBuffer bytes, int minimumLength) {
+        final StringArena arena = tokenize(bytes, minimumLength);
+        arena.sort();
+        arena.distinct();
+        return arena.compact();
+    }
+
+    /**
+     * Method to tokenize the given bytes (all of them, from position zero), in parallel by ranges of lines.
+     *
+     * @param buffer        the UTF-8 bytes (which will not be mutated, nor will its position be changed).
+     * @param minimumLength the minimum length of a word.
+     * @return a StringArena of the words, in the order in which they occur (not necessarily distinct).
+     */
+    static StringArena tokenize(ByteBuffer buffer, int minimumLength) {
+        final int length = buffer.limit();
+        final int ranges = (int) Math.max(1, Math.min(4L * Runtime.getRuntime().availableProcessors(), length / RANGE));
+        final int[] boundaries = new int[ranges + 1];
+        boundaries[ranges] = length;
+        for (int r = 1; r < ranges; r++) {
+            int i = Math.max(boundaries[r - 1], (int) ((long) length * r / ranges));
+            while (i < length && !isLineEnd(buffer.get(i))) i++;
+            boundaries[r] = Math.min(length, i + 1);
+        }
+        final StringArena[] arenas = new StringArena[ranges];
+        IntStream.range(0, ranges).parallel().forEach(r -> {
+            final byte[] bytes = new byte[boundaries[r + 1] - boundaries[r]];
+            final ByteBuffer range = buffer.duplicate();
+            range.position(boundaries[r]);
+            range.get(bytes);
+            arenas[r] = tokenize(bytes, minimumLength);
+        });
+        return arenas.length == 1 ? arenas[0] : StringArena.concat(arenas);
+    }
+
+    /**
+     * Method to tokenize whole lines.
+     *
+     * @param bytes         the UTF-8 bytes of zero or more lines.
+     * @param minimumLength the minimum length of a word.
+     * @return a StringArena of the words, in the order in which they occur.
+     */
+    static StringArena tokenize(byte[] bytes, int minimumLength) {
+        final StringArena.Builder builder = new StringArena.Builder(bytes.length / 2, bytes.length / 8);
+        int i = 0;
+        while (i < bytes.length) {
+            // NOTE skip to the first tab (or the end of the line, in which case the line has no words).
+            while (i < bytes.length && bytes[i] != '\t' && !isLineEnd(bytes[i])) i++;
+            if (i < bytes.length && bytes[i] == '\t') {
+                int start = ++i;
+                int chars = 0;
+                while (i < bytes.length && !isLineEnd(bytes[i])) {
+                    final int b = bytes[i];
+                    if (b >= 0) {
+                        if (isSeparator(b)) {
+                            if (chars >= minimumLength) builder.add(bytes, start, i);
+                            start = ++i;
+                            chars = 0;
+                        } else if (Character.isLetter(b)) {
+                            i++;
+                            chars++;
+                        } else break;
+                    } else {
+                        final int n = sequenceLength(bytes, i);
+                        final int codePoint = n > 0 ? decode(bytes, i, n) : -1;
+                        if (codePoint == FULLWIDTH_COMMA) {
+                            if (chars >= minimumLength) builder.add(bytes, start, i);
+                            i += n;
+                            start = i;
+                            chars = 0;
+                        } else if (codePoint >= 0 && Character.isLetter(codePoint)) {
+                            i += n;
+                            chars += Character.charCount(codePoint);
+                        } else break;
+                    }
+                }
+                // NOTE the line ends here (at its end, or at a character which is neither letter nor separator).
+                if (chars >= minimumLength) builder.add(bytes, start, i);
+            }
+            while (i < bytes.length && !isLineEnd(bytes[i])) i++;
+            i++;
+        }
+        return builder.build();
+    }
+
+    private static StringArena readCache(Path cache, long size, long modified, int minimumLength) throws IOException {
+        final MappedByteBuffer buffer = map(cache);
+        if (buffer.limit() < HEADER || buffer.getInt() != MAGIC || buffer.getInt() != VERSION || buffer.getLong() != size || buffer.getLong() != modified || buffer.getInt() != minimumLength)
+            return null;
+        return StringArena.read(buffer);
+    }
+
+    private void writeCache(Path cache, StringArena arena, long size, long modified, int minimumLength) throws IOException {
+        Files.createDirectories(directory);
+        final Path temporary = Files.createTempFile(directory, cache.getFileName().toString(), ".tmp");
+        try {
+            try (OutputStream stream = Files.newOutputStream(temporary); DataOutputStream output = new DataOutputStream(new BufferedOutputStream(stream, 1 << 16))) {
+                output.writeInt(MAGIC);
+                output.writeInt(VERSION);
+                output.writeLong(size);
+                output.writeLong(modified);
+                output.writeInt(minimumLength);
+                arena.write(output);
+            }
+            Files.move(temporary, cache, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(temporary);
+        }
+    }
+
+    private static MappedByteBuffer map(Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            // NOTE a mapping is limited to 2GB, as is a StringArena.
+            if (channel.size() > Integer.MAX_VALUE) throw new IOException("CorpusLoader: file too large to map: " + path);
+            return channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        }
+    }
+
+    private static byte[] readFully(InputStream input) throws IOException {
+        final ByteArrayOutputStream result = new ByteArrayOutputStream();
+        final byte[] buffer = new byte[1 << 16];
+        int read;
+        while ((read = input.read(buffer)) > 0) result.write(buffer, 0, read);
+        return result.toByteArray();
+    }
+
+    private static boolean isLineEnd(byte b) {
+        return b == '\n' || b == '\r';
+    }
+
+    /**
+     * @return true if b is ASCII whitespace (as matched by \s) or ASCII punctuation (as matched by \p{Punct}).
+     */
+    private static boolean isSeparator(int b) {
+        return b == ' ' || (b >= '\t' && b <= '\r') || (b > ' ' && b < 0x7F && !Character.isLetterOrDigit(b));
+    }
+
+    /**
+     * @return the length of the (well-formed) UTF-8 sequence which starts at bytes[i], or zero if it is malformed.
+     */
+    private static int sequenceLength(byte[] bytes, int i) {
+        final int b = bytes[i] & 0xFF;
+        final int n = b >= 0xF0 && b <= 0xF4 ? 4 : b >= 0xE0 ? (b < 0xF0 ? 3 : 0) : b >= 0xC2 ? 2 : 0;
+        if (n == 0 || i + n > bytes.length) return 0;
+        for (int j = 1; j < n; j++) if ((bytes[i + j] & 0xC0) != 0x80) return 0;
+        return n;
+    }
+
+    /**
+     * @return the code point of the n-byte sequence at bytes[i], or -1 if it is overlong, a surrogate or out of range.
+     */
+    private static int decode(byte[] bytes, int i, int n) {
+        int result = bytes[i] & (0xFF >> (n + 1));
+        for (int j = 1; j < n; j++) result = (result << 6) | (bytes[i + j] & 0x3F);
+        if (n == 3 && (result < 0x800 || (result >= 0xD800 && result <= 0xDFFF))) return -1;
+        if (n == 4 && (result < 0x10000 || result > 0x10FFFF)) return -1;
+        return result;
+    }
+
+    private static final int MAGIC = 0x434F5250; // "CORP"
+    // NOTE this must be incremented whenever the tokenization or the format changes, so that stale cache files are not used.
+    private static final int VERSION = 1;
+    private static final int HEADER = 28;
+    private static final int FULLWIDTH_COMMA = 0xFF0C;
+    // NOTE the minimum number of bytes in a range (smaller files are tokenized in a single range).
+    private static final int RANGE = 1 << 20;
+
+    final static LazyLogger logger = new LazyLogger(CorpusLoader.class);
+
+    private final Path directory;
+}
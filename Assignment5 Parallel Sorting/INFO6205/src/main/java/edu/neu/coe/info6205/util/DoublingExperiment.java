@@ -0,0 +1,153 @@
+package edu.neu.coe.info6205.util;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.IntFunction;
+import java.util.function.Supplier;
+
+/**
+ * A doubling experiment: a Benchmark is run at problem sizes N, 2N, 4N, ... until a time budget is used up,
+ * and a power law t = c * n^b is fitted to the mean times (see PowerLawFit).
+ * <p>
+ * Rather than normalizing the times by an assumed order of growth (as the TimeLoggers do),
+ * this estimates the order of growth b, with confidence bounds, and so can project the time for a much larger (production) N.
+ * <p>
+ * The budget is checked before each new size: the next size is only run if its expected cost
+ * (the cost of the previous size scaled by the latest estimate of the growth) fits in what remains of the budget.
+ * At least two sizes are always run, since otherwise there would be nothing to fit.
+ *
+ * @param <T> the type of the input to the benchmark.
+ */
+public class DoublingExperiment<T> {
+
+    /**
+     * Constructor for a DoublingExperiment.
+     *
+     * @param description the description of the experiment.
+     * @param benchmark   the benchmark to be run at each size.
+     * @param generator   a function which, given a problem size n, yields a Supplier of inputs of size n.
+     */
+    public DoublingExperiment(String description, Benchmark<T> benchmark, IntFunction<Supplier<T>> generator) {
+        this.description = description;
+        this.benchmark = benchmark;
+        this.generator = generator;
+    }
+
+    /**
+     * Method to run the experiment.
+     *
+     * @param n0     the first problem size.
+     * @param runs   the number of runs at each size.
+     * @param budget the time budget in milliseconds (for the whole experiment, including warmups and generation of inputs).
+     * @return the Result of the experiment.
+     */
+    public Result run(int n0, int runs, double budget) {
+        if (n0 < 1) throw new IllegalArgumentException("DoublingExperiment: n0 must be positive");
+        final List<Double> ns = new ArrayList<>();
+        final List<Double> ts = new ArrayList<>();
+        final long start = System.nanoTime();
+        double ratio = 2;
+        double cost = 0;
+        for (int n = n0; n > 0; n *= 2) {
+            final double elapsed = (System.nanoTime() - start) / 1E6;
+            if (ns.size() >= 2 && (elapsed >= budget || elapsed + cost * ratio > budget)) break;
+            final long begin = System.nanoTime();
+            final double t = benchmark.runFromSupplier(generator.apply(n), runs);
+            cost = (System.nanoTime() - begin) / 1E6;
+            logger.info(description + ": n=" + Utilities.formatWhole(n) + ": mean time " + formatMillis(t) + " mSec");
+            if (t > 0) {
+                if (!ts.isEmpty()) ratio = Math.max(1, t / ts.get(ts.size() - 1));
+                ns.add((double) n);
+                ts.add(t);
+            }
+            if (n > Integer.MAX_VALUE / 2) break;
+        }
+        final double elapsed = (System.nanoTime() - start) / 1E6;
+        return new Result(description, toArray(ns), toArray(ts), elapsed);
+    }
+
+    /**
+     * The result of a DoublingExperiment: the mean time at each size and the fitted power law.
+     */
+    public static class Result {
+
+        Result(String description, double[] ns, double[] ts, double elapsed) {
+            this.description = description;
+            this.ns = ns;
+            this.ts = ts;
+            this.elapsed = elapsed;
+            this.fit = ns.length >= 2 ? new PowerLawFit(ns, ts) : null;
+        }
+
+        public double[] getNs() {
+            return ns.clone();
+        }
+
+        public double[] getTimes() {
+            return ts.clone();
+        }
+
+        /**
+         * @return the total time taken by the experiment in milliseconds.
+         */
+        public double getElapsed() {
+            return elapsed;
+        }
+
+        /**
+         * @return the fitted power law, or null if fewer than two sizes yielded a (positive) time.
+         */
+        public PowerLawFit getFit() {
+            return fit;
+        }
+
+        /**
+         * Method to report the estimated exponent and the projected time for a production problem size.
+         *
+         * @param productionN the production problem size.
+         * @return a (multi-line) String.
+         */
+        public String report(long productionN) {
+            final StringBuilder sb = new StringBuilder(description).append(": doubling experiment (").append(ns.length).append(" sizes in ")
+                    .append(Utilities.formatDecimal3Places(elapsed / 1000)).append(" secs)\n");
+            for (int i = 0; i < ns.length; i++)
+                sb.append("  n=").append(Utilities.formatWhole((int) ns[i])).append(": ").append(formatMillis(ts[i])).append(" mSec\n");
+            if (fit == null) return sb.append("  insufficient data for a fit").toString();
+            sb.append("  ").append(fit).append('\n');
+            sb.append("  projected time for n=").append(productionN).append(": ").append(formatMillis(fit.project(productionN)))
+                    .append(" mSec (95% CI ").append(formatMillis(fit.projectLower(productionN))).append("..")
+                    .append(formatMillis(fit.projectUpper(productionN))).append(")");
+            return sb.toString();
+        }
+
+        @Override
+        public String toString() {
+            return description + ": " + (fit == null ? "no fit" : fit.toString());
+        }
+
+        private final String description;
+        private final double[] ns;
+        private final double[] ts;
+        private final double elapsed;
+        private final PowerLawFit fit;
+    }
+
+    /**
+     * NOTE projected times can be too large for Utilities.formatDecimal3Places (which rounds via a long).
+     */
+    private static String formatMillis(double x) {
+        return String.format("%.3f", x);
+    }
+
+    private static double[] toArray(List<Double> xs) {
+        final double[] result = new double[xs.size()];
+        for (int i = 0; i < result.length; i++) result[i] = xs.get(i);
+        return result;
+    }
+
+    final static LazyLogger logger = new LazyLogger(DoublingExperiment.class);
+
+    private final String description;
+    private final Benchmark<T> benchmark;
+    private final IntFunction<Supplier<T>> generator;
+}
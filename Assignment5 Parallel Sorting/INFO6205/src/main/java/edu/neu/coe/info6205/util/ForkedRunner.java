@@ -0,0 +1,215 @@
+package edu.neu.coe.info6205.util;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Paths;
+import java.util.*;
+import java.util.concurrent.*;
+
+/**
+ * Runner which runs each benchmark (a "cell": a main class and its arguments) in a fresh child JVM,
+ * so that the JIT profile of one cell cannot pollute another
+ * (for example, by making the compareTo call sites megamorphic, once Strings and LocalDateTimes have been sorted,
+ * before Integers are sorted).
+ * <p>
+ * Each child is started with the heap size, garbage collector and other options of the [fork] section of config.ini,
+ * and with the system property FORKED set, which makes ResultStore.create yield a store that writes each record to
+ * standard output (on a line beginning with RECORD).
+ * The runner collects these records into its own ResultStore and echoes all other output, prefixed by the name of the cell.
+ * <p>
+ * If concurrency is greater than one, up to that many cells run at the same time.
+ * In that case, on Linux (where taskset is available), each running cell is pinned to its own disjoint set of cores
+ * (and told, by -XX:ActiveProcessorCount, how many it has) so that concurrent cells do not interfere.
+ * Cells which are not known to be independent of memory bandwidth should still be run with concurrency of one.
+ * <p>
+ * Usage: ForkedRunner [mainClass [args...]]
+ * With no arguments, the default cells are the integer, string and date suites of SortBenchmark.
+ */
+public class ForkedRunner {
+
+    public static final String FORKED = "info6205.forked";
+    public static final String RECORD = "#record ";
+    public static final String FORK = "fork";
+
+    /**
+     * A cell: one benchmark to be run in its own JVM.
+     */
+    public static class Cell {
+
+        public Cell(String name, String mainClass, String... args) {
+            this.name = name;
+            this.mainClass = mainClass;
+            this.args = args;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        @Override
+        public String toString() {
+            return name + ": " + mainClass + " " + String.join(" ", args);
+        }
+
+        private final String name;
+        private final String mainClass;
+        private final String[] args;
+    }
+
+    /**
+     * Constructor for a ForkedRunner.
+     *
+     * @param jvmOptions  the options for each child JVM (for example, -Xmx2g -XX:+UseParallelGC).
+     * @param store       the store into which records are collected (may be null).
+     * @param concurrency the maximum number of cells to run at the same time.
+     */
+    public ForkedRunner(List<String> jvmOptions, ResultStore store, int concurrency) {
+        this.jvmOptions = new ArrayList<>(jvmOptions);
+        this.store = store;
+        this.concurrency = Math.max(1, concurrency);
+    }
+
+    /**
+     * Method to create a ForkedRunner according to the [fork] and [results] sections of the given config.
+     *
+     * @param config the configuration.
+     * @return a new ForkedRunner.
+     */
+    public static ForkedRunner create(Config config) {
+        final List<String> options = new ArrayList<>();
+        final String heap = config.get(FORK, "heap");
+        if (heap != null && !heap.isEmpty()) {
+            options.add("-Xms" + heap);
+            options.add("-Xmx" + heap);
+        }
+        for (String option : new String[]{"gc", "options"}) {
+            final String value = config.get(FORK, option);
+            if (value != null && !value.trim().isEmpty()) options.addAll(Arrays.asList(value.trim().split("\\s+")));
+        }
+        return new ForkedRunner(options, ResultStore.create(config), config.getInt(FORK, "concurrency", 1));
+    }
+
+    public static void main(String[] args) throws IOException {
+        final ForkedRunner runner = create(Config.load(ForkedRunner.class));
+        final List<Cell> cells = new ArrayList<>();
+        if (args.length > 0) cells.add(new Cell(args[0], args[0], Arrays.copyOfRange(args, 1, args.length)));
+        else {
+            final String sortBenchmark = SortBenchmark.class.getName();
+            cells.add(new Cell("integers", sortBenchmark, "integers"));
+            cells.add(new Cell("strings", sortBenchmark, "strings"));
+            cells.add(new Cell("dates", sortBenchmark, "dates"));
+        }
+        final List<BenchmarkRecord> records = runner.run(cells);
+        logger.info("ForkedRunner: " + cells.size() + " cells yielded " + records.size() + " records" + (runner.store != null ? " (appended to " + runner.store + ")" : ""));
+    }
+
+    /**
+     * Method to run the given cells, each in its own JVM.
+     *
+     * @param cells the cells.
+     * @return the records yielded by all of the cells (in order of cell).
+     */
+    public List<BenchmarkRecord> run(List<Cell> cells) {
+        final int cpus = Runtime.getRuntime().availableProcessors();
+        final int slots = Math.min(concurrency, cells.size());
+        final boolean pin = slots > 1 && slots <= cpus && tasksetAvailable();
+        final int coresPerSlot = Math.max(1, cpus / Math.max(1, slots));
+        final BlockingQueue<Integer> freeSlots = new ArrayBlockingQueue<>(Math.max(1, slots));
+        for (int i = 0; i < Math.max(1, slots); i++) freeSlots.add(i);
+        final ExecutorService executor = Executors.newFixedThreadPool(Math.max(1, slots));
+        try {
+            final List<Future<List<BenchmarkRecord>>> futures = new ArrayList<>();
+            for (Cell cell : cells)
+                futures.add(executor.submit(() -> {
+                    final int slot = freeSlots.take();
+                    try {
+                        return runCell(cell, pin ? slot * coresPerSlot : -1, coresPerSlot);
+                    } finally {
+                        freeSlots.add(slot);
+                    }
+                }));
+            final List<BenchmarkRecord> result = new ArrayList<>();
+            for (Future<List<BenchmarkRecord>> future : futures) {
+                try {
+                    result.addAll(future.get());
+                } catch (ExecutionException e) {
+                    logger.warn("ForkedRunner: cell failed", e.getCause());
+                }
+            }
+            return result;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return new ArrayList<>();
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    /**
+     * Method to build the command which runs a cell.
+     *
+     * @param cell      the cell.
+     * @param firstCore the first of the cores to which to pin the JVM, or -1 not to pin it.
+     * @param cores     the number of cores (used only if firstCore is not negative).
+     * @return the command (as a list of words).
+     */
+    List<String> command(Cell cell, int firstCore, int cores) {
+        final List<String> result = new ArrayList<>();
+        if (firstCore >= 0) {
+            result.add("taskset");
+            result.add("-c");
+            result.add(firstCore + "-" + (firstCore + cores - 1));
+        }
+        result.add(Paths.get(System.getProperty("java.home"), "bin", "java").toString());
+        result.addAll(jvmOptions);
+        if (firstCore >= 0) result.add("-XX:ActiveProcessorCount=" + cores);
+        result.add("-D" + FORKED + "=true");
+        result.add("-cp");
+        result.add(System.getProperty("java.class.path"));
+        result.add(cell.mainClass);
+        result.addAll(Arrays.asList(cell.args));
+        return result;
+    }
+
+    private List<BenchmarkRecord> runCell(Cell cell, int firstCore, int cores) throws IOException, InterruptedException {
+        final List<String> command = command(cell, firstCore, cores);
+        logger.info("ForkedRunner: starting " + cell + (firstCore >= 0 ? " on cores " + firstCore + "-" + (firstCore + cores - 1) : ""));
+        final Process process = new ProcessBuilder(command).redirectErrorStream(true).start();
+        final List<BenchmarkRecord> result = new ArrayList<>();
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(process.getInputStream(), StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (line.startsWith(RECORD)) {
+                    try {
+                        final BenchmarkRecord record = BenchmarkRecord.parse(line.substring(RECORD.length()));
+                        result.add(record);
+                        if (store != null) store.appendQuietly(record);
+                    } catch (IllegalArgumentException e) {
+                        logger.warn("ForkedRunner: " + cell.name + ": malformed record: " + e.getMessage());
+                    }
+                } else System.out.println("[" + cell.name + "] " + line);
+            }
+        }
+        final int status = process.waitFor();
+        if (status != 0) logger.warn("ForkedRunner: " + cell.name + " exited with status " + status);
+        return result;
+    }
+
+    private static boolean tasksetAvailable() {
+        if (!System.getProperty("os.name", "").toLowerCase(Locale.ROOT).contains("linux")) return false;
+        final String path = System.getenv("PATH");
+        if (path == null) return false;
+        for (String directory : path.split(File.pathSeparator))
+            if (new File(directory, "taskset").canExecute()) return true;
+        return false;
+    }
+
+    final static LazyLogger logger = new LazyLogger(ForkedRunner.class);
+
+    private final List<String> jvmOptions;
+    private final ResultStore store;
+    private final int concurrency;
+}
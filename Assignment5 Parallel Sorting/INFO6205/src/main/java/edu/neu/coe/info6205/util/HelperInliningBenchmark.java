@@ -0,0 +1,106 @@
+/*
+  (c) Copyright 2018, 2019 Phasmid Software
+ */
+package edu.neu.coe.info6205.util;
+
+import edu.neu.coe.info6205.sort.BaseHelper;
+import edu.neu.coe.info6205.sort.Helper;
+import edu.neu.coe.info6205.sort.MonomorphicHelpers;
+import edu.neu.coe.info6205.sort.elementary.InsertionSort;
+
+import java.io.IOException;
+import java.time.chrono.ChronoLocalDateTime;
+import java.util.Arrays;
+import java.util.Random;
+import java.util.function.Consumer;
+
+import static edu.neu.coe.info6205.util.SortBenchmarkHelper.generateRandomLocalDateTimeArray;
+
+/**
+ * Benchmark to show whether the comparisons made through a Helper are inlined.
+ * <p>
+ * First, InsertionSort is run on Strings, LocalDateTimes and Integers, with BaseHelper and with the MonomorphicHelpers for String and
+ * LocalDateTime. This makes two sets of call sites megamorphic:
+ * the compareTo call sites in BaseHelper (three element types); and the helper call sites in InsertionSort
+ * (three Helper classes, and a fourth once IntegerHelper is timed), which is the situation in any JVM which sorts several types.
+ * Then insertion sort of an Integer array is timed three ways:
+ * <ol>
+ * <li>with a BaseHelper (both sets of call sites polluted);</li>
+ * <li>with MonomorphicHelpers.IntegerHelper,
+ * whose compareTo is monomorphic, but which is called from the megamorphic call sites of InsertionSort;</li>
+ * <li>with a hand-inlined loop, which is the best that we can hope for.</li>
+ * </ol>
+ * Specializing the helper alone cannot restore inlining here, so the second time is not expected to approach the third:
+ * only a sorter which is itself specialized (or a JVM which sorts a single type) can do that.
+ */
+public class HelperInliningBenchmark {
+
+    public HelperInliningBenchmark(Config config) {
+        this.config = config;
+    }
+
+    public static void main(String[] args) throws IOException {
+        Config config = Config.load(HelperInliningBenchmark.class);
+        final int n = args.length > 0 ? Integer.parseInt(args[0]) : 2000;
+        final int m = args.length > 1 ? Integer.parseInt(args[1]) : 200;
+        new HelperInliningBenchmark(config).run(n, m);
+    }
+
+    public void run(int n, int m) {
+        pollute(n);
+        final Random random = new Random(0L);
+        final Integer[] xs = new Integer[n];
+        for (int i = 0; i < n; i++) xs[i] = random.nextInt();
+        final Helper<Integer> baseHelper = new BaseHelper<>("polluted", n, config);
+        final Helper<Integer> helper = new MonomorphicHelpers.IntegerHelper("monomorphic", n, config);
+        final double polluted = time("InsertionSort with " + baseHelper.getClass().getSimpleName(), xs, new InsertionSort<>(baseHelper)::mutatingSort, m);
+        final double specialized = time("InsertionSort with " + helper.getClass().getSimpleName(), xs, new InsertionSort<>(helper)::mutatingSort, m);
+        final double inlined = time("hand-inlined insertion sort", xs, HelperInliningBenchmark::insertionSort, m);
+        logger.info("HelperInliningBenchmark: n=" + n + ": polluted/inlined: " + Utilities.formatDecimal3Places(polluted / inlined) +
+                "; specialized/inlined: " + Utilities.formatDecimal3Places(specialized / inlined));
+    }
+
+    /**
+     * Make the call sites in BaseHelper (and the default methods of Helper) megamorphic,
+     * and also the call sites in InsertionSort, by using it with three Helper classes.
+     */
+    private void pollute(int n) {
+        final Random random = new Random(1L);
+        final String[] strings = new String[n];
+        for (int i = 0; i < n; i++) strings[i] = Long.toString(random.nextLong(), 36);
+        final ChronoLocalDateTime<?>[] dateTimes = generateRandomLocalDateTimeArray(n);
+        final Integer[] integers = new Integer[n];
+        for (int i = 0; i < n; i++) integers[i] = random.nextInt();
+        for (int k = 0; k < 20; k++) {
+            new InsertionSort<>(new BaseHelper<String>("pollute", n, config)).mutatingSort(strings.clone());
+            new InsertionSort<>(new BaseHelper<ChronoLocalDateTime<?>>("pollute", n, config)).mutatingSort(dateTimes.clone());
+            new InsertionSort<>(new BaseHelper<Integer>("pollute", n, config)).mutatingSort(integers.clone());
+            new InsertionSort<>(new MonomorphicHelpers.StringHelper("pollute", n, config)).mutatingSort(strings.clone());
+            new InsertionSort<>(new MonomorphicHelpers.DateTimeHelper("pollute", n, config)).mutatingSort(dateTimes.clone());
+        }
+    }
+
+    private static double time(String description, Integer[] xs, Consumer<Integer[]> sorter, int m) {
+        final double result = new Benchmark_Timer<Integer[]>(description, ys -> Arrays.copyOf(ys, ys.length), sorter, null).run(xs, m);
+        logger.info(description + ": " + Utilities.formatDecimal3Places(result) + " mSec");
+        return result;
+    }
+
+    /**
+     * Insertion sort with the comparison and swap written out by hand.
+     *
+     * @param xs the array to be sorted.
+     */
+    static void insertionSort(Integer[] xs) {
+        for (int i = 1; i < xs.length; i++)
+            for (int j = i; j > 0 && xs[j] < xs[j - 1]; j--) {
+                final Integer x = xs[j];
+                xs[j] = xs[j - 1];
+                xs[j - 1] = x;
+            }
+    }
+
+    final static LazyLogger logger = new LazyLogger(HelperInliningBenchmark.class);
+
+    private final Config config;
+}
@@ -0,0 +1,121 @@
+package edu.neu.coe.info6205.util;
+
+import java.util.Arrays;
+
+/**
+ * The Mann-Whitney U test (also known as the Wilcoxon rank-sum test) of whether one sample tends to be larger than another.
+ * <p>
+ * Unlike a t-test, it makes no assumption about the distribution of the samples,
+ * which suits lap times (these are typically skewed, with a long tail to the right).
+ * The p-value is calculated from the normal approximation (with a correction for ties and for continuity),
+ * which is adequate when each sample has at least (say) eight elements.
+ */
+public final class MannWhitney {
+
+    /**
+     * Method to calculate the U statistic for the first sample, i.e. the number of pairs (x, y), with x from xs and y from ys,
+     * such that x &gt; y (ties counting one half).
+     *
+     * @param xs the first sample.
+     * @param ys the second sample.
+     * @return the value of U for xs.
+     */
+    public static double u(double[] xs, double[] ys) {
+        return rankSum(xs, ys) - xs.length * (xs.length + 1) / 2.0;
+    }
+
+    /**
+     * Method to calculate the one-sided p-value for the hypothesis that the candidate sample tends to be larger
+     * (for lap times: slower) than the baseline sample.
+     *
+     * @param baseline  the baseline sample.
+     * @param candidate the candidate sample.
+     * @return the probability of a U at least as large as that observed, if the two samples came from the same distribution.
+     */
+    public static double pGreater(double[] baseline, double[] candidate) {
+        final int n1 = candidate.length;
+        final int n2 = baseline.length;
+        if (n1 == 0 || n2 == 0) return 1.0;
+        final double u = u(candidate, baseline);
+        final double mean = n1 * (double) n2 / 2;
+        final double sigma = sigma(candidate, baseline);
+        if (sigma == 0) return u > mean ? 0.0 : 1.0;
+        final double z = (u - mean - 0.5) / sigma;
+        return 1 - phi(z);
+    }
+
+    /**
+     * Method to calculate the two-sided p-value for the hypothesis that the two samples come from different distributions.
+     *
+     * @param xs the first sample.
+     * @param ys the second sample.
+     * @return the two-sided p-value.
+     */
+    public static double pTwoSided(double[] xs, double[] ys) {
+        return Math.min(1.0, 2 * Math.min(pGreater(xs, ys), pGreater(ys, xs)));
+    }
+
+    /**
+     * The cumulative distribution function of the standard normal distribution.
+     * NOTE this uses the approximation of Abramowitz and Stegun (7.1.26) to erf, whose error is less than 1.5E-7.
+     *
+     * @param z the value.
+     * @return the probability that a standard normal variate is less than z.
+     */
+    static double phi(double z) {
+        final double x = Math.abs(z) / Math.sqrt(2);
+        final double t = 1 / (1 + 0.3275911 * x);
+        final double erf = 1 - ((((1.061405429 * t - 1.453152027) * t + 1.421413741) * t - 0.284496736) * t + 0.254829592) * t * Math.exp(-x * x);
+        return z >= 0 ? (1 + erf) / 2 : (1 - erf) / 2;
+    }
+
+    /**
+     * Method to calculate the sum of the (mid-)ranks of xs in the combined sample.
+     */
+    private static double rankSum(double[] xs, double[] ys) {
+        final double[][] combined = combine(xs, ys);
+        double result = 0;
+        final int n = combined.length;
+        for (int i = 0; i < n; ) {
+            int j = i;
+            while (j < n && combined[j][0] == combined[i][0]) j++;
+            // NOTE elements i..j-1 are tied: each gets the mean of ranks i+1..j.
+            final double rank = (i + 1 + j) / 2.0;
+            for (int k = i; k < j; k++) if (combined[k][1] == 0) result += rank;
+            i = j;
+        }
+        return result;
+    }
+
+    /**
+     * Method to calculate the standard deviation of U under the null hypothesis, corrected for ties.
+     */
+    private static double sigma(double[] xs, double[] ys) {
+        final double[][] combined = combine(xs, ys);
+        final int n = combined.length;
+        double ties = 0;
+        for (int i = 0; i < n; ) {
+            int j = i;
+            while (j < n && combined[j][0] == combined[i][0]) j++;
+            final double t = j - i;
+            ties += t * t * t - t;
+            i = j;
+        }
+        final double n1n2 = (double) xs.length * ys.length;
+        return Math.sqrt(n1n2 / 12 * ((n + 1) - ties / ((double) n * (n - 1))));
+    }
+
+    /**
+     * Method to combine two samples into one sorted array of (value, 0 for xs or 1 for ys) pairs.
+     */
+    private static double[][] combine(double[] xs, double[] ys) {
+        final double[][] result = new double[xs.length + ys.length][];
+        for (int i = 0; i < xs.length; i++) result[i] = new double[]{xs[i], 0};
+        for (int i = 0; i < ys.length; i++) result[xs.length + i] = new double[]{ys[i], 1};
+        Arrays.sort(result, (a, b) -> Double.compare(a[0], b[0]));
+        return result;
+    }
+
+    private MannWhitney() {
+    }
+}
@@ -0,0 +1,143 @@
+package edu.neu.coe.info6205.util;
+
+/**
+ * A least-squares fit of the power law t = c * n^b to a set of (n, t) points, i.e. a straight line fitted to (lg n, lg t).
+ * <p>
+ * The confidence bounds (95%) are based on Student's t distribution with k-2 degrees of freedom, where k is the number of points.
+ * Two points (the minimum) give a fit whose bounds are unbounded (infinite), since there are no degrees of freedom left;
+ * three points give very wide bounds, and more doublings give much tighter ones.
+ */
+public class PowerLawFit {
+
+    /**
+     * Constructor for a PowerLawFit.
+     *
+     * @param ns the problem sizes (all positive).
+     * @param ts the corresponding times (all positive).
+     */
+    public PowerLawFit(double[] ns, double[] ts) {
+        if (ns.length != ts.length) throw new IllegalArgumentException("PowerLawFit: ns and ts must have the same length");
+        if (ns.length < 2) throw new IllegalArgumentException("PowerLawFit: at least two points are required");
+        k = ns.length;
+        final double[] xs = new double[k];
+        final double[] ys = new double[k];
+        for (int i = 0; i < k; i++) {
+            if (ns[i] <= 0 || ts[i] <= 0) throw new IllegalArgumentException("PowerLawFit: sizes and times must be positive");
+            xs[i] = Math.log(ns[i]);
+            ys[i] = Math.log(ts[i]);
+        }
+        double sx = 0, sy = 0;
+        for (int i = 0; i < k; i++) {
+            sx += xs[i];
+            sy += ys[i];
+        }
+        xMean = sx / k;
+        final double yMean = sy / k;
+        double sxx = 0, sxy = 0, syy = 0;
+        for (int i = 0; i < k; i++) {
+            sxx += (xs[i] - xMean) * (xs[i] - xMean);
+            sxy += (xs[i] - xMean) * (ys[i] - yMean);
+            syy += (ys[i] - yMean) * (ys[i] - yMean);
+        }
+        if (sxx == 0) throw new IllegalArgumentException("PowerLawFit: at least two distinct sizes are required");
+        this.sxx = sxx;
+        exponent = sxy / sxx;
+        intercept = yMean - exponent * xMean;
+        final double sse = Math.max(0, syy - exponent * sxy);
+        rSquared = syy > 0 ? 1 - sse / syy : 1;
+        s = k > 2 ? Math.sqrt(sse / (k - 2)) : 0;
+        tValue = k > 2 ? BenchmarkResult.tQuantile975(k - 2) : Double.POSITIVE_INFINITY;
+    }
+
+    /**
+     * @return the estimated exponent b.
+     */
+    public double getExponent() {
+        return exponent;
+    }
+
+    /**
+     * @return the lower 95% confidence bound of the exponent (negative infinity if there are only two points).
+     */
+    public double getExponentLower() {
+        return exponent - halfWidth();
+    }
+
+    /**
+     * @return the upper 95% confidence bound of the exponent (infinity if there are only two points).
+     */
+    public double getExponentUpper() {
+        return exponent + halfWidth();
+    }
+
+    /**
+     * @return the estimated coefficient c.
+     */
+    public double getCoefficient() {
+        return Math.exp(intercept);
+    }
+
+    /**
+     * @return the coefficient of determination of the fit in log-log space.
+     */
+    public double getRSquared() {
+        return rSquared;
+    }
+
+    public int getPoints() {
+        return k;
+    }
+
+    /**
+     * Method to project the time for a given problem size.
+     *
+     * @param n the problem size.
+     * @return c * n^b.
+     */
+    public double project(double n) {
+        return Math.exp(intercept + exponent * Math.log(n));
+    }
+
+    /**
+     * @param n the problem size.
+     * @return the lower 95% confidence bound of the projected (mean) time.
+     */
+    public double projectLower(double n) {
+        return Math.exp(intercept + exponent * Math.log(n) - projectionHalfWidth(n));
+    }
+
+    /**
+     * @param n the problem size.
+     * @return the upper 95% confidence bound of the projected (mean) time.
+     */
+    public double projectUpper(double n) {
+        return Math.exp(intercept + exponent * Math.log(n) + projectionHalfWidth(n));
+    }
+
+    @Override
+    public String toString() {
+        return "t = " + String.format("%.4g", getCoefficient()) + " * n^" + Utilities.formatDecimal3Places(exponent) +
+                " (exponent 95% CI " + (k > 2 ? Utilities.formatDecimal3Places(getExponentLower()) + ".." + Utilities.formatDecimal3Places(getExponentUpper()) : "unbounded") +
+                "; R^2=" + Utilities.formatDecimal3Places(rSquared) + "; " + k + " points)";
+    }
+
+    private double halfWidth() {
+        if (k <= 2) return Double.POSITIVE_INFINITY;
+        return tValue * s / Math.sqrt(sxx);
+    }
+
+    private double projectionHalfWidth(double n) {
+        if (k <= 2) return Double.POSITIVE_INFINITY;
+        final double dx = Math.log(n) - xMean;
+        return tValue * s * Math.sqrt(1.0 / k + dx * dx / sxx);
+    }
+
+    private final int k;
+    private final double xMean;
+    private final double sxx;
+    private final double exponent;
+    private final double intercept;
+    private final double rSquared;
+    private final double s;
+    private final double tValue;
+}
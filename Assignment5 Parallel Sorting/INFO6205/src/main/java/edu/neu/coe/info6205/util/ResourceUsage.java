@@ -0,0 +1,186 @@
+package edu.neu.coe.info6205.util;
+
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.List;
+
+/**
+ * The resources used by the laps of a Timer (or Benchmark_Timer) in addition to the wall-clock time:
+ * the CPU time and the bytes allocated by the current thread (from ThreadMXBean),
+ * and the number of garbage collections and their total (pause) time (from the GarbageCollectorMXBeans).
+ * <p>
+ * Each lap is bracketed by calls of begin and end.
+ * The CPU time and allocation are those of the current thread only, whereas the garbage collections are JVM-wide,
+ * so they include any collections caused by other threads.
+ * If the JVM does not support a measurement, the corresponding value is negative.
+ */
+public class ResourceUsage {
+
+    /**
+     * Method to mark the beginning of a lap.
+     */
+    public void begin() {
+        wall0 = System.nanoTime();
+        cpu0 = cpuTime();
+        allocated0 = allocatedBytes();
+        gcCount0 = gcCount();
+        gcTime0 = gcTime();
+    }
+
+    /**
+     * Method to mark the end of a lap (which must have begun by a call of begin).
+     */
+    public void end() {
+        // NOTE we sample the GC beans first, since they are the least likely to change while we are sampling the others.
+        final long gcTime1 = gcTime();
+        final long gcCount1 = gcCount();
+        final long allocated1 = allocatedBytes();
+        final long cpu1 = cpuTime();
+        wallNanos += System.nanoTime() - wall0;
+        cpuNanos += cpu1 - cpu0;
+        allocated += allocated1 - allocated0;
+        gcCount += gcCount1 - gcCount0;
+        gcMillis += gcTime1 - gcTime0;
+        laps++;
+    }
+
+    public int getLaps() {
+        return laps;
+    }
+
+    /**
+     * @return the mean wall-clock time per lap in milliseconds.
+     */
+    public double meanWallTime() {
+        return laps > 0 ? wallNanos / 1E6 / laps : 0;
+    }
+
+    /**
+     * @return the mean CPU time (of the current thread) per lap in milliseconds, or a negative number if unsupported.
+     */
+    public double meanCpuTime() {
+        return cpuSupported && laps > 0 ? cpuNanos / 1E6 / laps : -1;
+    }
+
+    /**
+     * @return the mean number of bytes allocated (by the current thread) per lap, or a negative number if unsupported.
+     */
+    public double meanAllocatedBytes() {
+        return allocationSupported && laps > 0 ? (double) allocated / laps : -1;
+    }
+
+    /**
+     * @return the total number of garbage collections during the laps.
+     */
+    public long getGcCount() {
+        return gcCount;
+    }
+
+    /**
+     * @return the total time spent in garbage collection during the laps, in milliseconds.
+     */
+    public long getGcTime() {
+        return gcMillis;
+    }
+
+    /**
+     * @return the fraction of the wall-clock time of the laps which was spent in garbage collection.
+     */
+    public double gcShare() {
+        return wallNanos > 0 ? gcMillis * 1E6 / wallNanos : 0;
+    }
+
+    /**
+     * Method to summarize this ResourceUsage relative to the size of the problem.
+     *
+     * @param n the number of elements (for example) processed by each lap.
+     * @return a String such as "cpu=1.23 mSec; allocated=4.00 bytes/element; GC: 2 collections, 3.10% of time".
+     */
+    public String format(int n) {
+        final StringBuilder sb = new StringBuilder();
+        final double cpu = meanCpuTime();
+        sb.append("cpu=").append(cpu >= 0 ? Utilities.formatDecimal3Places(cpu) + " mSec" : "unknown");
+        final double bytes = meanAllocatedBytes();
+        sb.append("; allocated=").append(bytes >= 0 ? Utilities.formatDecimal3Places(n > 0 ? bytes / n : bytes) + " bytes/element" : "unknown");
+        sb.append("; GC: ").append(gcCount).append(" collections, ").append(Utilities.formatDecimal3Places(100 * gcShare())).append("% of time");
+        return sb.toString();
+    }
+
+    @Override
+    public String toString() {
+        return "ResourceUsage{laps=" + laps + ", " + format(0) + "}";
+    }
+
+    /**
+     * @return the CPU time used so far by the current thread in nanoseconds, or zero if that is not supported.
+     */
+    public static long cpuTime() {
+        return cpuSupported ? threadBean.getCurrentThreadCpuTime() : 0;
+    }
+
+    /**
+     * @return the number of bytes allocated so far by the current thread, or a negative number if that is not supported.
+     */
+    public static long allocatedBytes() {
+        if (allocationSupported)
+            return ((com.sun.management.ThreadMXBean) threadBean).getThreadAllocatedBytes(Thread.currentThread().getId());
+        return -1;
+    }
+
+    /**
+     * @return the total number of garbage collections so far.
+     */
+    public static long gcCount() {
+        long result = 0;
+        for (GarbageCollectorMXBean bean : gcBeans) result += Math.max(0, bean.getCollectionCount());
+        return result;
+    }
+
+    /**
+     * @return the total time spent in garbage collection so far, in milliseconds.
+     */
+    public static long gcTime() {
+        long result = 0;
+        for (GarbageCollectorMXBean bean : gcBeans) result += Math.max(0, bean.getCollectionTime());
+        return result;
+    }
+
+    private static final ThreadMXBean threadBean = ManagementFactory.getThreadMXBean();
+    private static final List<GarbageCollectorMXBean> gcBeans = ManagementFactory.getGarbageCollectorMXBeans();
+    private static final boolean cpuSupported = threadBean.isCurrentThreadCpuTimeSupported() && enableCpuTime();
+    private static final boolean allocationSupported = threadBean instanceof com.sun.management.ThreadMXBean && enableAllocation();
+
+    private static boolean enableCpuTime() {
+        try {
+            if (!threadBean.isThreadCpuTimeEnabled()) threadBean.setThreadCpuTimeEnabled(true);
+            return true;
+        } catch (UnsupportedOperationException | SecurityException e) {
+            return false;
+        }
+    }
+
+    private static boolean enableAllocation() {
+        try {
+            final com.sun.management.ThreadMXBean bean = (com.sun.management.ThreadMXBean) threadBean;
+            if (!bean.isThreadAllocatedMemorySupported()) return false;
+            if (!bean.isThreadAllocatedMemoryEnabled()) bean.setThreadAllocatedMemoryEnabled(true);
+            return true;
+        } catch (UnsupportedOperationException | SecurityException e) {
+            return false;
+        }
+    }
+
+    private long wall0;
+    private long cpu0;
+    private long allocated0;
+    private long gcCount0;
+    private long gcTime0;
+
+    private int laps = 0;
+    private long wallNanos = 0;
+    private long cpuNanos = 0;
+    private long allocated = 0;
+    private long gcCount = 0;
+    private long gcMillis = 0;
+}
@@ -0,0 +1,177 @@
+package edu.neu.coe.info6205.util;
+
+import java.io.IOException;
+import java.nio.file.Paths;
+import java.util.*;
+
+/**
+ * Command to compare two sets of benchmark results and to flag statistically significant slowdowns.
+ * <p>
+ * Usage: ResultComparison baseline candidate [alpha [threshold]]
+ * where each of baseline and candidate is the path of a ResultStore, optionally followed by @commit to select the records
+ * of one commit (so that two commits in the same store may be compared).
+ * Records are grouped by benchmark key (benchmark and parameters) and by environment (jdk and cpus):
+ * records of the same key but of different environments are never compared (a warning is logged instead).
+ * For each group present in both sets, the candidate is flagged as a regression if it is slower than the baseline
+ * according to a one-sided Mann-Whitney U test at significance level alpha (default 0.01)
+ * and its median is at least threshold (default 0.02, i.e. 2%) greater.
+ * <p>
+ * If each set has at least MIN_RECORDS records of the group, the test compares the median lap of each record,
+ * so that the sample size is the number of runs.
+ * Otherwise, the laps of all of the records are pooled: NOTE that laps of the same run are not independent
+ * (they share the JIT state, the heap and the machine's load), so a pooled p-value is optimistic
+ * and the threshold on the change of the median is then the real guard against noise.
+ * Such comparisons are marked as pooled.
+ * The exit status is 1 if there is any regression, so that the command can be used to gate changes.
+ */
+public class ResultComparison {
+
+    public static final double DEFAULT_ALPHA = 0.01;
+    public static final double DEFAULT_THRESHOLD = 0.02;
+    public static final int MIN_RECORDS = 5;
+
+    public static void main(String[] args) throws IOException {
+        if (args.length < 2) {
+            System.err.println("Usage: ResultComparison baseline[@commit] candidate[@commit] [alpha [threshold]]");
+            System.exit(2);
+        }
+        final double alpha = args.length > 2 ? Double.parseDouble(args[2]) : DEFAULT_ALPHA;
+        final double threshold = args.length > 3 ? Double.parseDouble(args[3]) : DEFAULT_THRESHOLD;
+        final List<Comparison> comparisons = compare(load(args[0]), load(args[1]), alpha, threshold);
+        int regressions = 0;
+        for (Comparison comparison : comparisons) {
+            System.out.println(comparison);
+            if (comparison.isRegression()) regressions++;
+        }
+        System.out.println(comparisons.size() + " benchmarks compared: " + regressions + " regression(s)");
+        if (regressions > 0) System.exit(1);
+    }
+
+    /**
+     * Method to compare two sets of records.
+     *
+     * @param baseline  the baseline records.
+     * @param candidate the candidate records.
+     * @param alpha     the significance level.
+     * @param threshold the minimum relative increase of the median to be considered a regression.
+     * @return a Comparison for each key and environment present in both sets (in the order of the baseline).
+     */
+    public static List<Comparison> compare(List<BenchmarkRecord> baseline, List<BenchmarkRecord> candidate, double alpha, double threshold) {
+        final Map<String, List<BenchmarkRecord>> xs = group(baseline);
+        final Map<String, List<BenchmarkRecord>> ys = group(candidate);
+        final List<Comparison> result = new ArrayList<>();
+        for (Map.Entry<String, List<BenchmarkRecord>> entry : xs.entrySet()) {
+            final List<BenchmarkRecord> records = ys.get(entry.getKey());
+            if (records != null) result.add(comparison(entry.getKey(), entry.getValue(), records, alpha, threshold));
+            else {
+                final String key = entry.getValue().get(0).getKey();
+                for (List<BenchmarkRecord> other : ys.values())
+                    if (other.get(0).getKey().equals(key))
+                        logger.warn("ResultComparison: not comparing " + entry.getKey() + " with " + group(other.get(0)) + ": the environments differ");
+            }
+        }
+        return result;
+    }
+
+    /**
+     * The comparison of the laps of one benchmark key.
+     */
+    public static class Comparison {
+
+        Comparison(String key, double[] baseline, double[] candidate, boolean pooled, double alpha, double threshold) {
+            this.key = key;
+            this.pooled = pooled;
+            this.baselineMedian = new BenchmarkResult(key, baseline, 0, 0).getMedian();
+            this.candidateMedian = new BenchmarkResult(key, candidate, 0, 0).getMedian();
+            this.p = MannWhitney.pGreater(baseline, candidate);
+            this.regression = p < alpha && getChange() >= threshold;
+        }
+
+        public String getKey() {
+            return key;
+        }
+
+        public double getBaselineMedian() {
+            return baselineMedian;
+        }
+
+        public double getCandidateMedian() {
+            return candidateMedian;
+        }
+
+        /**
+         * @return the relative change of the median (positive means slower).
+         */
+        public double getChange() {
+            return baselineMedian > 0 ? candidateMedian / baselineMedian - 1 : 0;
+        }
+
+        /**
+         * @return the one-sided p-value of the candidate being slower than the baseline.
+         */
+        public double getP() {
+            return p;
+        }
+
+        /**
+         * @return true if the laps of the records were pooled (rather than the median lap of each record being compared).
+         */
+        public boolean isPooled() {
+            return pooled;
+        }
+
+        public boolean isRegression() {
+            return regression;
+        }
+
+        @Override
+        public String toString() {
+            return (regression ? "REGRESSION " : "ok         ") + key + ": median " + Utilities.formatDecimal3Places(baselineMedian) +
+                    " -> " + Utilities.formatDecimal3Places(candidateMedian) + " mSec (" + (getChange() >= 0 ? "+" : "") +
+                    Utilities.formatDecimal3Places(100 * getChange()) + "%); p=" + String.format("%.4f", p) + (pooled ? " (laps pooled)" : "");
+        }
+
+        private final String key;
+        private final boolean pooled;
+        private final double baselineMedian;
+        private final double candidateMedian;
+        private final double p;
+        private final boolean regression;
+    }
+
+    private static List<BenchmarkRecord> load(String spec) throws IOException {
+        final int at = spec.lastIndexOf('@');
+        if (at < 0) return new ResultStore(Paths.get(spec)).load();
+        final String commit = spec.substring(at + 1);
+        return new ResultStore(Paths.get(spec.substring(0, at))).load(r -> r.getCommit().startsWith(commit) || commit.startsWith(r.getCommit()));
+    }
+
+    private static Comparison comparison(String key, List<BenchmarkRecord> baseline, List<BenchmarkRecord> candidate, double alpha, double threshold) {
+        final boolean pooled = baseline.size() < MIN_RECORDS || candidate.size() < MIN_RECORDS;
+        return new Comparison(key, samples(baseline, pooled), samples(candidate, pooled), pooled, alpha, threshold);
+    }
+
+    /**
+     * @return either all of the laps of records or the median lap of each record.
+     */
+    private static double[] samples(List<BenchmarkRecord> records, boolean pooled) {
+        if (!pooled) return records.stream().mapToDouble(r -> new BenchmarkResult(r.getKey(), r.getLaps(), 0, 0).getMedian()).toArray();
+        return records.stream().flatMapToDouble(r -> Arrays.stream(r.getLaps())).toArray();
+    }
+
+    private static Map<String, List<BenchmarkRecord>> group(List<BenchmarkRecord> records) {
+        final Map<String, List<BenchmarkRecord>> result = new LinkedHashMap<>();
+        for (BenchmarkRecord record : records)
+            result.computeIfAbsent(group(record), k -> new ArrayList<>()).add(record);
+        return result;
+    }
+
+    /**
+     * @return the key of record qualified by its environment.
+     */
+    private static String group(BenchmarkRecord record) {
+        return record.getKey() + " [jdk " + record.getJdk() + ", " + record.getCpus() + " cpus]";
+    }
+
+    final static LazyLogger logger = new LazyLogger(ResultComparison.class);
+}
@@ -0,0 +1,153 @@
+package edu.neu.coe.info6205.util;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Predicate;
+
+/**
+ * An append-only store of BenchmarkRecords in a CSV file (with a header line).
+ * <p>
+ * The default store is the file named by store in the [results] section of config.ini (if any).
+ * Records are never rewritten, so that the results of every run (at every commit) remain available for comparison:
+ * see ResultComparison.
+ * <p>
+ * In a JVM forked by ForkedRunner, the default store instead writes each record to standard output
+ * (as a line beginning with ForkedRunner.RECORD), whence the parent collects it into its own store.
+ */
+public class ResultStore {
+
+    public static final String RESULTS = "results";
+    public static final String STORE = "store";
+
+    public ResultStore(Path path) {
+        this.path = path;
+    }
+
+    /**
+     * Method to get the store configured by the [results] section of the given config.
+     *
+     * @param config the configuration.
+     * @return a ResultStore, or null if no store is configured.
+     */
+    public static ResultStore create(Config config) {
+        if (Boolean.getBoolean(ForkedRunner.FORKED)) return new Forwarder();
+        final String file = config.get(RESULTS, STORE);
+        return file == null || file.isEmpty() ? null : new ResultStore(Paths.get(file));
+    }
+
+    public Path getPath() {
+        return path;
+    }
+
+    /**
+     * Method to append a record to this store (creating the file, with its header, if necessary).
+     *
+     * @param record the record.
+     * @throws IOException if the file cannot be written.
+     */
+    public void append(BenchmarkRecord record) throws IOException {
+        synchronized (ResultStore.class) {
+            final Path parent = path.toAbsolutePath().getParent();
+            if (parent != null) Files.createDirectories(parent);
+            final boolean exists = Files.exists(path) && Files.size(path) > 0;
+            try (BufferedWriter writer = Files.newBufferedWriter(path, StandardCharsets.UTF_8, StandardOpenOption.CREATE, StandardOpenOption.APPEND)) {
+                if (!exists) {
+                    writer.write(BenchmarkRecord.HEADER);
+                    writer.newLine();
+                }
+                writer.write(record.toCsv());
+                writer.newLine();
+            }
+        }
+    }
+
+    /**
+     * Method to append a record to this store, logging (rather than throwing) any failure.
+     *
+     * @param record the record.
+     */
+    public void appendQuietly(BenchmarkRecord record) {
+        try {
+            append(record);
+        } catch (IOException e) {
+            logger.warn("ResultStore: unable to append to " + path, e);
+        }
+    }
+
+    /**
+     * Method to load all of the records in this store.
+     *
+     * @return the records in the order in which they were appended (empty if the file does not exist).
+     * @throws IOException if the file cannot be read.
+     */
+    public List<BenchmarkRecord> load() throws IOException {
+        return load(r -> true);
+    }
+
+    /**
+     * Method to load the records in this store which satisfy a predicate.
+     * Lines which cannot be parsed are logged and skipped.
+     *
+     * @param predicate the predicate (for example, to select one commit).
+     * @return the records in the order in which they were appended.
+     * @throws IOException if the file cannot be read.
+     */
+    public List<BenchmarkRecord> load(Predicate<BenchmarkRecord> predicate) throws IOException {
+        final List<BenchmarkRecord> result = new ArrayList<>();
+        if (!Files.exists(path)) return result;
+        for (String line : Files.readAllLines(path, StandardCharsets.UTF_8)) {
+            if (line.isEmpty() || line.equals(BenchmarkRecord.HEADER)) continue;
+            try {
+                final BenchmarkRecord record = BenchmarkRecord.parse(line);
+                if (predicate.test(record)) result.add(record);
+            } catch (IllegalArgumentException e) {
+                logger.warn("ResultStore: skipping malformed line in " + path + ": " + e.getMessage());
+            }
+        }
+        return result;
+    }
+
+    @Override
+    public String toString() {
+        return "ResultStore{" + path + "}";
+    }
+
+    /**
+     * The store of a forked JVM, which forwards each record to the parent by way of standard output.
+     */
+    private static class Forwarder extends ResultStore {
+
+        Forwarder() {
+            super(Paths.get("-"));
+        }
+
+        @Override
+        public void append(BenchmarkRecord record) {
+            synchronized (ResultStore.class) {
+                System.out.println(ForkedRunner.RECORD + record.toCsv());
+                System.out.flush();
+            }
+        }
+
+        @Override
+        public List<BenchmarkRecord> load(Predicate<BenchmarkRecord> predicate) {
+            return new ArrayList<>();
+        }
+
+        @Override
+        public String toString() {
+            return "ResultStore{forwarded}";
+        }
+    }
+
+    final static LazyLogger logger = new LazyLogger(ResultStore.class);
+
+    private final Path path;
+}
@@ -6,13 +6,16 @@ package edu.neu.coe.info6205.util;
 import edu.neu.coe.info6205.sort.BaseHelper;
 import edu.neu.coe.info6205.sort.Helper;
 import edu.neu.coe.info6205.sort.SortWithHelper;
+import edu.neu.coe.info6205.sort.counting.CollationKeySort;
+import edu.neu.coe.info6205.sort.counting.StringArena;
 import edu.neu.coe.info6205.sort.elementary.InsertionSort;
 import edu.neu.coe.info6205.sort.linearithmic.TimSort;
 import edu.neu.coe.info6205.sort.linearithmic.*;
+import edu.neu.coe.info6205.util.parallel.ParallelRandom;
+import edu.neu.coe.info6205.util.workload.Workload;
 
-import java.io.FileNotFoundException;
 import java.io.IOException;
-import java.lang.reflect.Array;
+import java.text.Collator;
 import java.time.LocalDateTime;
 import java.time.chrono.ChronoLocalDateTime;
 import java.util.*;
@@ -23,7 +26,10 @@ import java.util.regex.Pattern;
 import java.util.stream.Stream;
 
 import static edu.neu.coe.info6205.util.SortBenchmarkHelper.generateRandomLocalDateTimeArray;
+import static edu.neu.coe.info6205.util.SortBenchmarkHelper.getWordArena;
 import static edu.neu.coe.info6205.util.SortBenchmarkHelper.getWords;
+import static edu.neu.coe.info6205.util.SortBenchmarkHelper.loadLeipzigWords;
+import static edu.neu.coe.info6205.util.SortBenchmarkHelper.shuffle;
 import static edu.neu.coe.info6205.util.Utilities.formatWhole;
 
 public class SortBenchmark {
@@ -32,49 +38,83 @@ public class SortBenchmark {
         this.config = config;
     }
 
+    /**
+     * Main program.
+     * The arguments are the word counts for the Leipzig benchmarks, optionally preceded by the name of one suite
+     * (integers, strings or dates) to be run alone (for example, in its own JVM: see ForkedRunner).
+     *
+     * @param args the command-line arguments.
+     * @throws IOException if the configuration cannot be loaded.
+     */
     public static void main(String[] args) throws IOException {
         Config config = Config.load(SortBenchmark.class);
-        logger.info("SortBenchmark.main: " + config.get("sortbenchmark", "version") + " with word counts: " + Arrays.toString(args));
-        if (args.length == 0) logger.warn("No word counts specified on the command line");
+        final String suite = args.length > 0 && SUITES.contains(args[0]) ? args[0] : null;
+        final String[] wordCounts = suite != null ? Arrays.copyOfRange(args, 1, args.length) : args;
+        logger.info("SortBenchmark.main: " + config.get("sortbenchmark", "version") + (suite != null ? " (" + suite + " only)" : "") + " with word counts: " + Arrays.toString(wordCounts));
+        if (wordCounts.length == 0 && (suite == null || suite.equals("strings"))) logger.warn("No word counts specified on the command line");
         SortBenchmark benchmark = new SortBenchmark(config);
-        benchmark.sortIntegers(100000);
-        benchmark.sortStrings(Arrays.stream(args).map(Integer::parseInt));
-        benchmark.sortLocalDateTimes(100000, config);
+        if (suite == null || suite.equals("integers")) benchmark.sortIntegers(100000);
+        if (suite == null || suite.equals("strings")) benchmark.sortStrings(Arrays.stream(wordCounts).map(Integer::parseInt));
+        if (suite == null || suite.equals("dates")) benchmark.sortLocalDateTimes(100000, config);
     }
 
+    private static final List<String> SUITES = Arrays.asList("integers", "strings", "dates");
+
     // CONSIDER generifying common code (but it's difficult if not impossible)
     private void sortIntegers(final int n) {
         final Random random = new Random();
 
         // sort int[]
-        final Supplier<int[]> intsSupplier = () -> {
-            int[] result = (int[]) Array.newInstance(int.class, n);
-            for (int i = 0; i < n; i++) result[i] = random.nextInt();
-            return result;
-        };
+        final Supplier<int[]> intsSupplier = () -> ParallelRandom.ints(n, random.nextLong());
 
-        final double t1 = new Benchmark_Timer<int[]>(
+        final BenchmarkResult r1 = new Benchmark_Timer<int[]>(
                 "intArraysorter",
                 (xs) -> Arrays.copyOf(xs, xs.length),
                 Arrays::sort,
                 null
-        ).runFromSupplier(intsSupplier, 100);
-        for (TimeLogger timeLogger : timeLoggersLinearithmic) timeLogger.log(t1, n);
+        ).withResources(true).measure(intsSupplier, 100);
+        for (TimeLogger timeLogger : timeLoggersLinearithmic) timeLogger.log(r1.getMean(), n);
+        TimeLogger.logResources(r1.getResourceUsage(), n);
+        record("intArraysorter", n, "random", r1);
 
         // sort Integer[]
-        final Supplier<Integer[]> integersSupplier = () -> {
-            Integer[] result = (Integer[]) Array.newInstance(Integer.class, n);
-            for (int i = 0; i < n; i++) result[i] = random.nextInt();
-            return result;
-        };
+        final Supplier<Integer[]> integersSupplier = () -> ParallelRandom.integers(n, random.nextLong());
 
-        final double t2 = new Benchmark_Timer<Integer[]>(
+        final BenchmarkResult r2 = new Benchmark_Timer<Integer[]>(
                 "integerArraysorter",
                 (xs) -> Arrays.copyOf(xs, xs.length),
                 Arrays::sort,
                 null
-        ).runFromSupplier(integersSupplier, 100);
-        for (TimeLogger timeLogger : timeLoggersLinearithmic) timeLogger.log(t2, n);
+        ).withResources(true).measure(integersSupplier, 100);
+        for (TimeLogger timeLogger : timeLoggersLinearithmic) timeLogger.log(r2.getMean(), n);
+        TimeLogger.logResources(r2.getResourceUsage(), n);
+        record("integerArraysorter", n, "random", r2);
+
+        // NOTE: sort int[] with each of the input shapes configured in [workload] (if any).
+        for (Workload workload : Workload.create(config)) {
+            final int[] xs = workload.ints(n);
+            final BenchmarkResult r3 = new Benchmark_Timer<int[]>(
+                    "intArraysorter (" + workload + ")",
+                    (ys) -> Arrays.copyOf(ys, ys.length),
+                    Arrays::sort,
+                    null
+            ).withResources(true).measure(() -> xs, 100);
+            for (TimeLogger timeLogger : timeLoggersLinearithmic) timeLogger.log(r3.getMean(), n);
+            TimeLogger.logResources(r3.getResourceUsage(), n);
+            record("intArraysorter", n, workload.toString(), r3);
+        }
+    }
+
+    /**
+     * Method to append a result to the configured ResultStore (if any).
+     */
+    private void record(String benchmark, int n, String shape, BenchmarkResult result) {
+        final ResultStore store = ResultStore.create(config);
+        if (store == null) return;
+        final Map<String, Object> params = new HashMap<>();
+        params.put("n", n);
+        params.put("shape", shape);
+        store.appendQuietly(BenchmarkRecord.create(benchmark, params, result));
     }
 
     private void sortStrings(Stream<Integer> wordCounts) throws IOException {
@@ -88,14 +128,27 @@ public class SortBenchmark {
 
         // NOTE: Leipzig Chines words benchmarks (according to command-line arguments)
         doLeipzigBenchmark("zho-simp-tw_web_2014_10K-sentences.txt", 5000, 1000);
+
+        // NOTE: Leipzig English sentences benchmark: whole sentences (rather than words) share long prefixes.
+        benchmarkStringSorters(getWords("eng-uk_web_2002_10K-sentences.txt", SortBenchmark::getLeipzigSentence), 5000, 1000);
+
+        // NOTE: locale-aware (collation key) benchmarks for the Chinese and Russian words.
+        if (isConfigBenchmarkStringSorter("collation")) {
+            benchmarkCollation("zho-simp-tw_web_2014_10K-words.txt", Locale.SIMPLIFIED_CHINESE, 100);
+            benchmarkCollation("rus-su_web_2015_10K-words.txt", new Locale("ru"), 100);
+        }
+
+        // NOTE: UTF-8 arena benchmark: the words are read and sorted as bytes, rather than as Strings.
+        if (isConfigBenchmarkStringSorter("arena"))
+            benchmarkStringArena("eng-uk_web_2002_100K-words.txt", 100);
     }
 
     private void doLeipzigBenchmarkEnglish(int x) {
         String resource = "eng-uk_web_2002_" + (x < 50000 ? "10K" : x < 200000 ? "100K" : "1M") + "-sentences.txt";
         try {
             doLeipzigBenchmark(resource, x, Utilities.round(100000000 / minComparisons(x)));
-        } catch (FileNotFoundException e) {
-            logger.warn("Unable to find resource: " + resource, e);
+        } catch (IOException e) {
+            logger.warn("Unable to read resource: " + resource, e);
         }
     }
 
@@ -134,7 +187,7 @@ public class SortBenchmark {
         Random random = new Random();
 
         if (isConfigBenchmarkStringSorter("puresystemsort")) {
-            Benchmark<String[]> benchmark = new Benchmark_Timer<>("SystemSort", null, Arrays::sort, null);
+            Benchmark_Timer<String[]> benchmark = new Benchmark_Timer<>("SystemSort", null, Arrays::sort, null);
             doPureBenchmark(words, nWords, nRuns, random, benchmark);
         }
 
@@ -148,6 +201,12 @@ public class SortBenchmark {
         if (isConfigBenchmarkStringSorter("quicksort3way"))
             runStringSortBenchmark(words, nWords, nRuns, new QuickSort_3way<>(nWords, config), timeLoggersLinearithmic);
 
+        if (isConfigBenchmarkStringSorter("lcpmergesort"))
+            runStringSortBenchmark(words, nWords, nRuns, new MergeSortLCP(nWords, config), timeLoggersLinearithmic);
+
+        if (isConfigBenchmarkStringSorter("multikeyquicksort"))
+            runStringSortBenchmark(words, nWords, nRuns, new QuickSort_Multikey(nWords, config), timeLoggersLinearithmic);
+
         if (isConfigBenchmarkStringSorter("quicksort"))
             runStringSortBenchmark(words, nWords, nRuns, new QuickSort_DualPivot<>(nWords, config), timeLoggersLinearithmic);
 
@@ -160,6 +219,50 @@ public class SortBenchmark {
 
     }
 
+    /**
+     * Method to report the overhead of locale-aware sorting, relative to sorting in code point order, for the words of a resource.
+     *
+     * @param resource the resource.
+     * @param locale   the locale.
+     * @param nRuns    the number of runs.
+     * @throws IOException if the resource cannot be found or read.
+     */
+    void benchmarkCollation(String resource, Locale locale, int nRuns) throws IOException {
+        // NOTE each sort below is timed directly on (a copy of) words, which must therefore not already be in order.
+        final String[] words = shuffle(loadLeipzigWords(resource, CorpusLoader.create(config)), 0L);
+        final int n = words.length;
+        final UnaryOperator<String[]> copy = xs -> Arrays.copyOf(xs, xs.length);
+        final double t0 = new Benchmark_Timer<String[]>("code point order (system sort)", copy, Arrays::sort, null).run(words, nRuns);
+        final CollationKeySort sequential = new CollationKeySort(locale, false);
+        final double t1 = new Benchmark_Timer<String[]>("collation keys for " + locale, null, sequential::sort, null).run(words, nRuns);
+        final CollationKeySort parallel = new CollationKeySort(locale, true);
+        final double t2 = new Benchmark_Timer<String[]>("collation keys (parallel) for " + locale, null, parallel::sort, null).run(words, nRuns);
+        final Collator collator = Collator.getInstance(locale);
+        final double t3 = new Benchmark_Timer<String[]>("Collator.compare for " + locale, copy, xs -> Arrays.sort(xs, collator), null).run(words, Math.max(1, nRuns / 10));
+        logger.info("Collation overhead for " + formatWhole(n) + " words from " + resource + " relative to code point order: keys: " +
+                Utilities.formatDecimal3Places(t1 / t0) + ", parallel keys: " + Utilities.formatDecimal3Places(t2 / t0) +
+                ", Collator.compare: " + Utilities.formatDecimal3Places(t3 / t0));
+    }
+
+    /**
+     * Method to compare sorting the words of a resource in a (UTF-8) StringArena with sorting the same words as Strings.
+     * The heap used by each representation is also reported.
+     *
+     * @param resource the resource.
+     * @param nRuns    the number of runs.
+     * @throws IOException if the resource cannot be read.
+     */
+    void benchmarkStringArena(String resource, int nRuns) throws IOException {
+        final StringArena arena = getWordArena(resource);
+        final String[] strings = arena.toStrings();
+        final int n = strings.length;
+        logger.info("StringArena heap: " + formatWhole((int) (arena.heapBytes() / 1024)) + "K bytes; String[] heap: " + formatWhole((int) (StringArena.heapBytes(strings) / 1024)) + "K bytes");
+        final double t1 = new Benchmark_Timer<StringArena>("StringArena MSD sort", StringArena::copy, StringArena::sort, null).run(arena, nRuns);
+        for (TimeLogger timeLogger : timeLoggersLinearithmic) timeLogger.log(t1, n);
+        final double t2 = new Benchmark_Timer<String[]>("String[] system sort", xs -> Arrays.copyOf(xs, xs.length), Arrays::sort, null).run(strings, nRuns);
+        for (TimeLogger timeLogger : timeLoggersLinearithmic) timeLogger.log(t2, n);
+    }
+
     /**
      * Method to run instrumented string sorter benchmarks.
      * <p>
@@ -175,7 +278,7 @@ public class SortBenchmark {
 
 
         if (isConfigBenchmarkStringSorter("puresystemsort")) {
-            Benchmark<String[]> benchmark = new Benchmark_Timer<>("SystemSort", null, Arrays::sort, null);
+            Benchmark_Timer<String[]> benchmark = new Benchmark_Timer<>("SystemSort", null, Arrays::sort, null);
             doPureBenchmark(words, nWords, nRuns, random, benchmark);
         }
 
@@ -189,6 +292,12 @@ public class SortBenchmark {
         if (isConfigBenchmarkStringSorter("quicksort3way"))
             runStringSortBenchmark(words, nWords, nRuns, new QuickSort_3way<>(nWords, config), timeLoggersLinearithmic);
 
+        if (isConfigBenchmarkStringSorter("lcpmergesort"))
+            runStringSortBenchmark(words, nWords, nRuns, new MergeSortLCP(nWords, config), timeLoggersLinearithmic);
+
+        if (isConfigBenchmarkStringSorter("multikeyquicksort"))
+            runStringSortBenchmark(words, nWords, nRuns, new QuickSort_Multikey(nWords, config), timeLoggersLinearithmic);
+
         if (isConfigBenchmarkStringSorter("quicksort"))
             runStringSortBenchmark(words, nWords, nRuns, new QuickSort_DualPivot<>(nWords, config), timeLoggersLinearithmic);
 
@@ -278,6 +387,10 @@ public class SortBenchmark {
         return getWords(regexLeipzig, line);
     }
 
+    private static Collection<String> getLeipzigSentence(String line) {
+        return lineAsList(line.substring(line.indexOf('\t') + 1));
+    }
+
     // TODO: to be eliminated soon.
     private static Benchmark<LocalDateTime[]> benchmarkFactory(String description, Consumer<LocalDateTime[]> sorter, Consumer<LocalDateTime[]> checker) {
         return new Benchmark_Timer<>(
@@ -288,9 +401,10 @@ public class SortBenchmark {
         );
     }
 
-    private static void doPureBenchmark(String[] words, int nWords, int nRuns, Random random, Benchmark<String[]> benchmark) {
-        final double time = benchmark.runFromSupplier(() -> Utilities.fillRandomArray(String.class, random, nWords, r -> words[r.nextInt(words.length)]), nRuns);
-        for (TimeLogger timeLogger : timeLoggersLinearithmic) timeLogger.log(time, nWords);
+    private static void doPureBenchmark(String[] words, int nWords, int nRuns, Random random, Benchmark_Timer<String[]> benchmark) {
+        final BenchmarkResult result = benchmark.withResources(true).measure(() -> ParallelRandom.fill(String.class, nWords, random, r -> words[r.nextInt(words.length)]), nRuns);
+        for (TimeLogger timeLogger : timeLoggersLinearithmic) timeLogger.log(result.getMean(), nWords);
+        TimeLogger.logResources(result.getResourceUsage(), nWords);
     }
 
 //    private void dateSortBenchmark(Supplier<LocalDateTime[]> localDateTimeSupplier, LocalDateTime[] localDateTimes, Sort<ChronoLocalDateTime<?>> dateHuskySortSystemSort, String s, int i) {
@@ -304,10 +418,11 @@ public class SortBenchmark {
         runStringSortBenchmark(words, nWords, nRuns, new MergeSort<>(nWords, x), timeLoggersLinearithmic);
     }
 
-    private void doLeipzigBenchmark(String resource, int nWords, int nRuns) throws FileNotFoundException {
-        benchmarkStringSorters(getWords(resource, SortBenchmark::getLeipzigWords), nWords, nRuns);
+    private void doLeipzigBenchmark(String resource, int nWords, int nRuns) throws IOException {
+        final String[] words = loadLeipzigWords(resource, CorpusLoader.create(config));
+        benchmarkStringSorters(words, nWords, nRuns);
         if (isConfigBoolean(Config.HELPER, BaseHelper.INSTRUMENT))
-            benchmarkStringSortersInstrumented(getWords(resource, SortBenchmark::getLeipzigWords), nWords, nRuns);
+            benchmarkStringSortersInstrumented(words, nWords, nRuns);
     }
 
     @SuppressWarnings("SameParameterValue")
@@ -2,10 +2,10 @@ package edu.neu.coe.info6205.util;
 
 
 import edu.neu.coe.info6205.sort.SortException;
+import edu.neu.coe.info6205.sort.SortUnique;
+import edu.neu.coe.info6205.sort.counting.StringArena;
 
-import java.io.BufferedReader;
-import java.io.FileNotFoundException;
-import java.io.FileReader;
+import java.io.*;
 import java.net.URL;
 import java.time.LocalDateTime;
 import java.time.ZoneOffset;
@@ -27,6 +27,9 @@ class SortBenchmarkHelper {
 
     final static LazyLogger logger = new LazyLogger(SortBenchmarkHelper.class);
 
+    // NOTE the minimum length of a word, for all of the methods which read words.
+    static final int MINIMUM_LENGTH = 2;
+
     public static LocalDateTime[] generateRandomLocalDateTimeArray(int number) {
         LocalDateTime[] result = new LocalDateTime[number];
         ThreadLocalRandom random = ThreadLocalRandom.current();
@@ -41,16 +44,61 @@ class SortBenchmarkHelper {
         List<String> words = new ArrayList<>();
         FileReader fr = new FileReader(getFile(resource, SortBenchmarkHelper.class));
         for (Object line : new BufferedReader(fr).lines().toArray()) words.addAll(getStrings.apply((String) line));
-        words = words.stream().distinct().filter(new Predicate<String>() {
-            private static final int MINIMUM_LENGTH = 2;
-
+        words = words.stream().filter(new Predicate<String>() {
             public boolean test(String s) {
                 return s.length() >= MINIMUM_LENGTH;
             }
         }).collect(Collectors.toList());
-        logger.info("Testing with words: " + formatWhole(words.size()) + " from " + resource);
-        String[] result = new String[words.size()];
-        result = words.toArray(result);
+        // NOTE the words are deduplicated as they are sorted (so the result is in order).
+        String[] result = SortUnique.radixSort(words.toArray(new String[0]));
+        logger.info("Testing with words: " + formatWhole(result.length) + " from " + resource);
+        return result;
+    }
+
+    /**
+     * Shuffle an array of words (in place) with a seeded Random.
+     * The words of getWords (and of a CorpusLoader) are in order, so they must be shuffled before a sort is timed directly on them.
+     *
+     * @param words the words.
+     * @param seed  the seed.
+     * @return words, shuffled.
+     */
+    static String[] shuffle(String[] words, long seed) {
+        Collections.shuffle(Arrays.asList(words), new Random(seed));
+        return words;
+    }
+
+    /**
+     * Read the words of a resource directly into a (UTF-8) StringArena, without creating a String for each word.
+     *
+     * @param resource the name of the resource.
+     * @return a StringArena of all the words with at least MINIMUM_LENGTH characters (not necessarily distinct).
+     * @throws IOException if the resource cannot be read.
+     */
+    static StringArena getWordArena(String resource) throws IOException {
+        try (InputStream input = new FileInputStream(getFile(resource, SortBenchmarkHelper.class))) {
+            final StringArena result = StringArena.readWords(input, MINIMUM_LENGTH);
+            logger.info("Testing with arena of words: " + formatWhole(result.size()) + " from " + resource);
+            return result;
+        }
+    }
+
+    /**
+     * Load the distinct words of a Leipzig resource with a CorpusLoader (and its cache, if any),
+     * rather than by matching SortBenchmark.regexLeipzig against each line, as getWords does.
+     * NOTE the words are sorted (as CorpusLoader.load yields them), so a sort must not be timed directly on them:
+     * shuffle them first (see shuffle).
+     *
+     * @param resource the name of the resource (which may be a file or, for example, packaged in a jar).
+     * @param loader   the CorpusLoader.
+     * @return the distinct words with at least MINIMUM_LENGTH characters, in (code point) order.
+     * @throws IOException if the resource cannot be found or read.
+     */
+    static String[] loadLeipzigWords(String resource, CorpusLoader loader) throws IOException {
+        final URL url = SortBenchmarkHelper.class.getClassLoader().getResource(resource);
+        if (url == null) throw new FileNotFoundException(resource + " in " + SortBenchmarkHelper.class);
+        final String[] result = loader.load(url, MINIMUM_LENGTH).toStrings();
+        logger.info("Testing with words: " + formatWhole(result.length) + " from " + resource);
         return result;
     }
 
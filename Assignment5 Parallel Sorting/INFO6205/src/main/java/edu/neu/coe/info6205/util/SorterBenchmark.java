@@ -2,6 +2,8 @@ package edu.neu.coe.info6205.util;
 
 import edu.neu.coe.info6205.sort.SortWithHelper;
 
+import java.util.HashMap;
+import java.util.Map;
 import java.util.function.Consumer;
 import java.util.function.UnaryOperator;
 
@@ -25,8 +27,16 @@ public class SorterBenchmark<T extends Comparable<T>> extends Benchmark_Timer<T[
     public void run(int N) {
         logger.info("run: sort " + formatWhole(N) + " elements using " + this);
         sorter.init(N);
-        final double time = super.runFromSupplier(() -> generateRandomArray(ts), nRuns);
-        for (TimeLogger timeLogger : timeLoggers) timeLogger.log(time, N);
+        final BenchmarkResult result = withResources(true).measure(() -> generateRandomArray(ts), nRuns);
+        for (TimeLogger timeLogger : timeLoggers) timeLogger.log(result.getMean(), N);
+        TimeLogger.logResources(result.getResourceUsage(), N);
+        final ResultStore store = ResultStore.create(sorter.getHelper().getConfig());
+        if (store != null) {
+            final Map<String, Object> params = new HashMap<>();
+            params.put("n", N);
+            params.put("type", tClass.getSimpleName());
+            store.appendQuietly(BenchmarkRecord.create(sorter.getHelper().getDescription(), params, result));
+        }
     }
 
     @Override
@@ -85,7 +95,8 @@ public class SorterBenchmark<T extends Comparable<T>> extends Benchmark_Timer<T[
     }
 
     private T[] generateRandomArray(T[] lookupArray) {
-        return sorter.getHelper().random(tClass, (r) -> lookupArray[r.nextInt(lookupArray.length)]);
+        // NOTE this function only reads lookupArray, so it may be applied in parallel.
+        return sorter.getHelper().randomInParallel(tClass, (r) -> lookupArray[r.nextInt(lookupArray.length)]);
     }
 
     protected final SortWithHelper<T> sorter;
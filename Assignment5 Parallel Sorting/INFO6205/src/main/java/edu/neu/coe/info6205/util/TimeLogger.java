@@ -18,6 +18,16 @@ public class TimeLogger {
         logger.info(prefix + " " + formatTime(normalizer.apply(time, N)));
     }
 
+    /**
+     * Method to log the resources used (other than time): CPU time, bytes allocated per element and the share of time spent in GC.
+     *
+     * @param resourceUsage the ResourceUsage (if null, nothing is logged).
+     * @param N             the number of elements processed by each run.
+     */
+    public static void logResources(ResourceUsage resourceUsage, Integer N) {
+        if (resourceUsage != null) logger.info("Resources per run: " + resourceUsage.format(N));
+    }
+
     private static String formatTime(double time) {
         decimalFormat.applyPattern(timePattern);
         return decimalFormat.format(time);
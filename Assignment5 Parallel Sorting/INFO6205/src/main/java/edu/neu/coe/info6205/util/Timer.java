@@ -12,9 +12,29 @@ public class Timer {
 	 * Construct a new Timer and set it running.
 	 */
 	public Timer() {
+		this(false);
+	}
+
+	/**
+	 * Construct a new Timer and set it running.
+	 *
+	 * @param withResources if true, the laps run by repeat will also measure the CPU time, allocation and GC activity
+	 *                      (see getResourceUsage).
+	 */
+	public Timer(boolean withResources) {
+		resourceUsage = withResources ? new ResourceUsage() : null;
 		resume();
 	}
 
+	/**
+	 * Method to get the resources (other than wall-clock time) used by the laps of repeat.
+	 *
+	 * @return the ResourceUsage, or null if this Timer was not constructed with resources.
+	 */
+	public ResourceUsage getResourceUsage() {
+		return resourceUsage;
+	}
+
 	/**
 	 * Run the given function n times, once per "lap" and then return the result of
 	 * calling stop().
@@ -75,12 +95,15 @@ public class Timer {
 		for (int i = 0; i < n; i++) {
 			T s = supplier.get();
 			if(preFunction!= null ) {
-				preFunction.apply(s);
+				// NOTE the result of preFunction (e.g. a fresh copy of the input) is what we time.
+				s = preFunction.apply(s);
 			}
 			
+			if (resourceUsage != null) resourceUsage.begin();
 			resume();
 			U u = function.apply(s);
 			pauseAndLap();
+			if (resourceUsage != null) resourceUsage.end();
 			
 			if(postFunction!= null ) {
 				postFunction.accept(u);
@@ -203,6 +226,7 @@ public class Timer {
 	private long ticks = 0L;
 	private int laps = 0;
 	private boolean running = false;
+	private final ResourceUsage resourceUsage;
 
 	// NOTE: Used by unit tests
 	private long getTicks() {
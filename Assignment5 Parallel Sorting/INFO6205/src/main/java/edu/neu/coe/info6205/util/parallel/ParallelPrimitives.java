@@ -0,0 +1,355 @@
+package edu.neu.coe.info6205.util.parallel;
+
+import edu.neu.coe.info6205.util.Config;
+import edu.neu.coe.info6205.util.LazyLogger;
+
+import java.io.IOException;
+import java.lang.reflect.Array;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.function.IntConsumer;
+import java.util.function.IntPredicate;
+import java.util.function.IntUnaryOperator;
+import java.util.function.Predicate;
+
+/**
+ * Parallel building blocks for counting and radix sorts: prefix sum (scan), histogram, stream compaction (pack) and scatter.
+ * <p>
+ * Every operation divides its range into blocks (no more than four per thread of the pool, and no smaller than the grain)
+ * and works in two or three phases, each of which processes all of the blocks in parallel:
+ * <ul>
+ * <li>scan: sum each block (up-sweep); scan the block sums (sequentially, since there are few); scan each block from its offset (down-sweep);</li>
+ * <li>histogram: count each block into its own bins (so that there is no contention); add up the bins;</li>
+ * <li>scatter: histogram each block; turn the (block, bin) counts into offsets, bin-major, so that the result is stable; move each block;</li>
+ * <li>pack: count the selected elements of each block; scan the counts; copy each block's selected elements.</li>
+ * </ul>
+ * Where there is only one block, the operation runs sequentially in the calling thread.
+ * Keys are given as functions of the index (not the element) so that the same methods serve for arrays of any type.
+ */
+public class ParallelPrimitives {
+
+    /**
+     * Constructor for ParallelPrimitives.
+     *
+     * @param pool  the pool in which to run the blocks.
+     * @param grain the minimum number of elements in a block.
+     */
+    public ParallelPrimitives(ForkJoinPool pool, int grain) {
+        if (grain < 1) throw new IllegalArgumentException("ParallelPrimitives: grain must be positive");
+        this.pool = pool;
+        this.grain = grain;
+    }
+
+    /**
+     * Create a ParallelPrimitives from the [parallel] section of config:
+     * threads (zero for the common pool) and grain.
+     *
+     * @param config the configuration.
+     * @return a new ParallelPrimitives.
+     */
+    public static ParallelPrimitives create(Config config) {
+        final int threads = config.getInt(PARALLEL, "threads", 0);
+        final int grain = config.getInt(PARALLEL, "grain", DEFAULT_GRAIN);
+        return new ParallelPrimitives(threads > 0 ? new ForkJoinPool(threads) : ForkJoinPool.commonPool(), grain);
+    }
+
+    /**
+     * @return the ParallelPrimitives configured by config.ini (or, if that cannot be loaded, the common pool with the default grain).
+     */
+    public static synchronized ParallelPrimitives getDefault() {
+        if (defaultInstance == null)
+            try {
+                defaultInstance = create(Config.load(ParallelPrimitives.class));
+            } catch (IOException e) {
+                logger.warn("ParallelPrimitives: cannot load config: using common pool", e);
+                defaultInstance = new ParallelPrimitives(ForkJoinPool.commonPool(), DEFAULT_GRAIN);
+            }
+        return defaultInstance;
+    }
+
+    /**
+     * @param n the number of elements.
+     * @return true if the pool has more than one thread and n is large enough to make at least two blocks.
+     */
+    public boolean worthwhile(int n) {
+        return pool.getParallelism() > 1 && n >= 2L * grain;
+    }
+
+    /**
+     * Replace xs[from..to) by its exclusive prefix sum, i.e. xs[i] becomes the sum of the original xs[from..i).
+     *
+     * @param xs   an array of ints.
+     * @param from the index of the first element.
+     * @param to   the index of the first element not included.
+     * @return the sum of all of the original elements.
+     */
+    public int exclusiveScan(int[] xs, int from, int to) {
+        return scan(xs, from, to, false);
+    }
+
+    /**
+     * Replace xs[from..to) by its inclusive prefix sum, i.e. xs[i] becomes the sum of the original xs[from..i].
+     *
+     * @param xs   an array of ints.
+     * @param from the index of the first element.
+     * @param to   the index of the first element not included.
+     * @return the sum of all of the original elements.
+     */
+    public int inclusiveScan(int[] xs, int from, int to) {
+        return scan(xs, from, to, true);
+    }
+
+    /**
+     * Replace xs[from..to) by its exclusive prefix sum.
+     *
+     * @param xs   an array of longs.
+     * @param from the index of the first element.
+     * @param to   the index of the first element not included.
+     * @return the sum of all of the original elements.
+     */
+    public long exclusiveScan(long[] xs, int from, int to) {
+        final int blocks = blocks(to - from);
+        final long[] sums = new long[blocks + 1];
+        forEachBlock(from, to, blocks, (b, lo, hi) -> {
+            long sum = 0;
+            for (int i = lo; i < hi; i++) sum += xs[i];
+            sums[b + 1] = sum;
+        });
+        for (int b = 0; b < blocks; b++) sums[b + 1] += sums[b];
+        forEachBlock(from, to, blocks, (b, lo, hi) -> {
+            long running = sums[b];
+            for (int i = lo; i < hi; i++) {
+                final long x = xs[i];
+                xs[i] = running;
+                running += x;
+            }
+        });
+        return sums[blocks];
+    }
+
+    /**
+     * Count the keys of the indices from..to-1.
+     *
+     * @param from the first index.
+     * @param to   the first index not included.
+     * @param key  a function yielding the key (between 0 and bins-1) of an index.
+     * @param bins the number of distinct keys.
+     * @return an array of the counts of each key.
+     */
+    public int[] histogram(int from, int to, IntUnaryOperator key, int bins) {
+        final int[][] counts = blockHistograms(from, to, blocks(to - from), key, bins);
+        final int[] result = counts[0];
+        for (int b = 1; b < counts.length; b++)
+            for (int r = 0; r < bins; r++) result[r] += counts[b][r];
+        return result;
+    }
+
+    /**
+     * Stable distribution (as in counting sort) of src[from..to) into dst[dstFrom..dstFrom+to-from) according to key.
+     *
+     * @param src     the source array.
+     * @param from    the index of the first element of src.
+     * @param to      the index of the first element of src not included.
+     * @param key     a function yielding the key (between 0 and bins-1) of an index of src.
+     * @param bins    the number of distinct keys.
+     * @param dst     the destination array (which must not be src).
+     * @param dstFrom the index in dst of the first element.
+     * @param <X>     the underlying type.
+     * @return an array of bins+1 elements, where element r is the start (relative to dstFrom) of the elements with key r.
+     */
+    public <X> int[] scatter(X[] src, int from, int to, IntUnaryOperator key, int bins, X[] dst, int dstFrom) {
+        final int blocks = blocks(to - from);
+        final int[][] offsets = blockHistograms(from, to, blocks, key, bins);
+        final int[] result = offsets(offsets, bins, dstFrom);
+        forEachBlock(from, to, blocks, (b, lo, hi) -> {
+            final int[] offset = offsets[b];
+            for (int i = lo; i < hi; i++) dst[offset[key.applyAsInt(i)]++] = src[i];
+        });
+        return result;
+    }
+
+    /**
+     * Stable distribution (as in counting sort) of src[from..to) into dst[dstFrom..dstFrom+to-from) according to key.
+     *
+     * @param src     the source array.
+     * @param from    the index of the first element of src.
+     * @param to      the index of the first element of src not included.
+     * @param key     a function yielding the key (between 0 and bins-1) of an index of src.
+     * @param bins    the number of distinct keys.
+     * @param dst     the destination array (which must not be src).
+     * @param dstFrom the index in dst of the first element.
+     * @return an array of bins+1 elements, where element r is the start (relative to dstFrom) of the elements with key r.
+     */
+    public int[] scatter(int[] src, int from, int to, IntUnaryOperator key, int bins, int[] dst, int dstFrom) {
+        final int blocks = blocks(to - from);
+        final int[][] offsets = blockHistograms(from, to, blocks, key, bins);
+        final int[] result = offsets(offsets, bins, dstFrom);
+        forEachBlock(from, to, blocks, (b, lo, hi) -> {
+            final int[] offset = offsets[b];
+            for (int i = lo; i < hi; i++) dst[offset[key.applyAsInt(i)]++] = src[i];
+        });
+        return result;
+    }
+
+    /**
+     * Stream compaction: the elements of xs[from..to) which satisfy p, in their original order.
+     *
+     * @param xs   an array of ints.
+     * @param from the index of the first element.
+     * @param to   the index of the first element not included.
+     * @param p    the predicate.
+     * @return a new array of the selected elements.
+     */
+    public int[] pack(int[] xs, int from, int to, IntPredicate p) {
+        final int blocks = blocks(to - from);
+        final int[] offsets = new int[blocks + 1];
+        forEachBlock(from, to, blocks, (b, lo, hi) -> {
+            int count = 0;
+            for (int i = lo; i < hi; i++) if (p.test(xs[i])) count++;
+            offsets[b + 1] = count;
+        });
+        for (int b = 0; b < blocks; b++) offsets[b + 1] += offsets[b];
+        final int[] result = new int[offsets[blocks]];
+        forEachBlock(from, to, blocks, (b, lo, hi) -> {
+            int k = offsets[b];
+            for (int i = lo; i < hi; i++) if (p.test(xs[i])) result[k++] = xs[i];
+        });
+        return result;
+    }
+
+    /**
+     * Stream compaction: the elements of xs[from..to) which satisfy p, in their original order.
+     *
+     * @param xs   an array of Xs.
+     * @param from the index of the first element.
+     * @param to   the index of the first element not included.
+     * @param p    the predicate.
+     * @param <X>  the underlying type.
+     * @return a new array (of the same component type as xs) of the selected elements.
+     */
+    @SuppressWarnings("unchecked")
+    public <X> X[] pack(X[] xs, int from, int to, Predicate<? super X> p) {
+        final int blocks = blocks(to - from);
+        final int[] offsets = new int[blocks + 1];
+        forEachBlock(from, to, blocks, (b, lo, hi) -> {
+            int count = 0;
+            for (int i = lo; i < hi; i++) if (p.test(xs[i])) count++;
+            offsets[b + 1] = count;
+        });
+        for (int b = 0; b < blocks; b++) offsets[b + 1] += offsets[b];
+        final X[] result = (X[]) Array.newInstance(xs.getClass().getComponentType(), offsets[blocks]);
+        forEachBlock(from, to, blocks, (b, lo, hi) -> {
+            int k = offsets[b];
+            for (int i = lo; i < hi; i++) if (p.test(xs[i])) result[k++] = xs[i];
+        });
+        return result;
+    }
+
+    public ForkJoinPool getPool() {
+        return pool;
+    }
+
+    public int getGrain() {
+        return grain;
+    }
+
+    @Override
+    public String toString() {
+        return "ParallelPrimitives{parallelism=" + pool.getParallelism() + ", grain=" + grain + '}';
+    }
+
+    public static final String PARALLEL = "parallel";
+    public static final int DEFAULT_GRAIN = 1 << 15;
+
+    /**
+     * @return the number of blocks into which to divide n elements.
+     */
+    int blocks(int n) {
+        final long blocks = (n + (long) grain - 1) / grain;
+        return (int) Math.max(1, Math.min(blocks, 4L * pool.getParallelism()));
+    }
+
+    private interface BlockAction {
+        void apply(int block, int lo, int hi);
+    }
+
+    /**
+     * Apply action to each of the blocks of from..to, in parallel (unless there is only one block).
+     */
+    private void forEachBlock(int from, int to, int blocks, BlockAction action) {
+        final long n = to - from;
+        final IntConsumer f = b -> action.apply(b, from + (int) (n * b / blocks), from + (int) (n * (b + 1) / blocks));
+        if (blocks == 1) {
+            f.accept(0);
+            return;
+        }
+        final List<ForkJoinTask<?>> tasks = new ArrayList<>(blocks);
+        for (int b = 0; b < blocks; b++) {
+            final int block = b;
+            tasks.add(pool.submit(() -> f.accept(block)));
+        }
+        for (ForkJoinTask<?> task : tasks) task.join();
+    }
+
+    private int scan(int[] xs, int from, int to, boolean inclusive) {
+        final int blocks = blocks(to - from);
+        final int[] sums = new int[blocks + 1];
+        forEachBlock(from, to, blocks, (b, lo, hi) -> {
+            int sum = 0;
+            for (int i = lo; i < hi; i++) sum += xs[i];
+            sums[b + 1] = sum;
+        });
+        for (int b = 0; b < blocks; b++) sums[b + 1] += sums[b];
+        forEachBlock(from, to, blocks, (b, lo, hi) -> {
+            int running = sums[b];
+            for (int i = lo; i < hi; i++) {
+                final int x = xs[i];
+                if (inclusive) xs[i] = running += x;
+                else {
+                    xs[i] = running;
+                    running += x;
+                }
+            }
+        });
+        return sums[blocks];
+    }
+
+    private int[][] blockHistograms(int from, int to, int blocks, IntUnaryOperator key, int bins) {
+        final int[][] result = new int[blocks][];
+        forEachBlock(from, to, blocks, (b, lo, hi) -> {
+            final int[] count = new int[bins];
+            for (int i = lo; i < hi; i++) count[key.applyAsInt(i)]++;
+            result[b] = count;
+        });
+        return result;
+    }
+
+    /**
+     * Replace each (block, bin) count by the position of the first such element, taking bins in order and then blocks in order.
+     *
+     * @return the start (relative to base) of each bin, plus the total.
+     */
+    private static int[] offsets(int[][] counts, int bins, int base) {
+        final int[] result = new int[bins + 1];
+        int position = base;
+        for (int r = 0; r < bins; r++) {
+            result[r] = position - base;
+            for (int[] count : counts) {
+                final int c = count[r];
+                count[r] = position;
+                position += c;
+            }
+        }
+        result[bins] = position - base;
+        return result;
+    }
+
+    private final static LazyLogger logger = new LazyLogger(ParallelPrimitives.class);
+
+    private static ParallelPrimitives defaultInstance;
+
+    private final ForkJoinPool pool;
+    private final int grain;
+}
@@ -0,0 +1,64 @@
+package edu.neu.coe.info6205.util.parallel;
+
+import edu.neu.coe.info6205.util.Benchmark_Timer;
+import edu.neu.coe.info6205.util.Config;
+import edu.neu.coe.info6205.util.LazyLogger;
+import edu.neu.coe.info6205.util.Utilities;
+
+import java.io.IOException;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Consumer;
+
+/**
+ * Benchmark of the parallel primitives (scan, histogram, pack and scatter) against the same operations run sequentially
+ * (a ParallelPrimitives whose grain is so large that there is only ever one block).
+ * <p>
+ * The parallel instance is the one configured by the [parallel] section of config.ini.
+ */
+public class ParallelPrimitivesBenchmark {
+
+    public ParallelPrimitivesBenchmark(ParallelPrimitives parallel) {
+        this.parallel = parallel;
+        this.sequential = new ParallelPrimitives(ForkJoinPool.commonPool(), Integer.MAX_VALUE);
+    }
+
+    public static void main(String[] args) throws IOException {
+        final int n = args.length > 0 ? Integer.parseInt(args[0]) : 10_000_000;
+        final int m = args.length > 1 ? Integer.parseInt(args[1]) : 20;
+        new ParallelPrimitivesBenchmark(ParallelPrimitives.create(Config.load(ParallelPrimitivesBenchmark.class))).run(n, m);
+    }
+
+    public void run(int n, int m) {
+        logger.info("ParallelPrimitivesBenchmark: n=" + n + " with " + parallel);
+        final Random random = new Random(0L);
+        final int[] xs = new int[n];
+        for (int i = 0; i < n; i++) xs[i] = random.nextInt();
+        final int[] dst = new int[n];
+        compare("scan", xs, (p, ys) -> p.exclusiveScan(ys, 0, ys.length), m);
+        compare("histogram", xs, (p, ys) -> p.histogram(0, ys.length, i -> ys[i] >>> 24, 256), m);
+        compare("pack", xs, (p, ys) -> p.pack(ys, 0, ys.length, y -> (y & 1) == 0), m);
+        compare("scatter", xs, (p, ys) -> p.scatter(ys, 0, ys.length, i -> ys[i] >>> 24, 256, dst, 0), m);
+    }
+
+    private interface Operation {
+        void apply(ParallelPrimitives parallel, int[] xs);
+    }
+
+    private void compare(String description, int[] xs, Operation operation, int m) {
+        final double s = time(description + " (sequential)", xs, ys -> operation.apply(sequential, ys), m);
+        final double p = time(description + " (parallel)", xs, ys -> operation.apply(parallel, ys), m);
+        logger.info(description + ": speedup: " + Utilities.formatDecimal3Places(s / p));
+    }
+
+    private static double time(String description, int[] xs, Consumer<int[]> f, int m) {
+        final double result = new Benchmark_Timer<int[]>(description, int[]::clone, f, null).run(xs, m);
+        logger.info(description + ": " + Utilities.formatDecimal3Places(result) + " mSec");
+        return result;
+    }
+
+    final static LazyLogger logger = new LazyLogger(ParallelPrimitivesBenchmark.class);
+
+    private final ParallelPrimitives parallel;
+    private final ParallelPrimitives sequential;
+}
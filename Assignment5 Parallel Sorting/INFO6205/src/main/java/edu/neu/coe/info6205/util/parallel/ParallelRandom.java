@@ -0,0 +1,152 @@
+package edu.neu.coe.info6205.util.parallel;
+
+import java.lang.reflect.Array;
+import java.util.Random;
+import java.util.SplittableRandom;
+import java.util.function.Function;
+import java.util.stream.IntStream;
+
+/**
+ * Parallel, reproducible generation of random arrays.
+ * <p>
+ * An array is divided into chunks of CHUNK elements and each chunk is filled from its own generator,
+ * split (in chunk order) from a SplittableRandom with the given seed.
+ * The chunks are then filled in parallel (on the common pool).
+ * Since the chunk size does not depend on the number of threads, the result is entirely determined by the seed.
+ * And since no generator is shared between threads, there is none of the contention on the (atomic) seed
+ * which makes filling an array from a single java.util.Random slow.
+ * <p>
+ * The methods which take a java.util.Random (rather than a seed) fill arrays of no more than CHUNK elements sequentially
+ * from that Random, exactly as Utilities.fillRandomArray does (so that small seeded inputs are unchanged);
+ * larger arrays are filled in parallel using a seed taken from that Random.
+ */
+public final class ParallelRandom {
+
+    /**
+     * @param n    the number of elements.
+     * @param seed the seed.
+     * @return an array of n random ints.
+     */
+    public static int[] ints(int n, long seed) {
+        final int[] result = new int[n];
+        forEachChunk(n, seed, (random, lo, hi) -> {
+            for (int i = lo; i < hi; i++) result[i] = random.nextInt();
+        });
+        return result;
+    }
+
+    /**
+     * @param n      the number of elements.
+     * @param origin the least value (inclusive).
+     * @param bound  the upper bound (exclusive).
+     * @param seed   the seed.
+     * @return an array of n random ints, each in the range origin..bound-1.
+     */
+    public static int[] ints(int n, int origin, int bound, long seed) {
+        final int[] result = new int[n];
+        forEachChunk(n, seed, (random, lo, hi) -> {
+            for (int i = lo; i < hi; i++) result[i] = random.nextInt(origin, bound);
+        });
+        return result;
+    }
+
+    /**
+     * @param n    the number of elements.
+     * @param seed the seed.
+     * @return an array of n random longs.
+     */
+    public static long[] longs(int n, long seed) {
+        final long[] result = new long[n];
+        forEachChunk(n, seed, (random, lo, hi) -> {
+            for (int i = lo; i < hi; i++) result[i] = random.nextLong();
+        });
+        return result;
+    }
+
+    /**
+     * @param n    the number of elements.
+     * @param seed the seed.
+     * @return an array of n random Integers.
+     */
+    public static Integer[] integers(int n, long seed) {
+        final Integer[] result = new Integer[n];
+        forEachChunk(n, seed, (random, lo, hi) -> {
+            for (int i = lo; i < hi; i++) result[i] = random.nextInt();
+        });
+        return result;
+    }
+
+    /**
+     * Method to fill an array with n elements, each made by f from a Random.
+     * Each chunk has its own Random, seeded from the SplittableRandom of that chunk.
+     *
+     * @param clazz the class of the elements.
+     * @param n     the number of elements.
+     * @param seed  the seed.
+     * @param f     the function which makes an element.
+     * @param <T>   the type of the elements.
+     * @return an array of n Ts.
+     */
+    public static <T> T[] fill(Class<T> clazz, int n, long seed, Function<Random, T> f) {
+        @SuppressWarnings("unchecked") final T[] result = (T[]) Array.newInstance(clazz, n);
+        forEachChunk(n, seed, (random, lo, hi) -> {
+            final Random r = new Random(random.nextLong());
+            for (int i = lo; i < hi; i++) result[i] = f.apply(r);
+        });
+        return result;
+    }
+
+    /**
+     * Method to fill an array with n elements, each made by f from a Random: see the class documentation.
+     *
+     * @param clazz  the class of the elements.
+     * @param n      the number of elements.
+     * @param random the Random.
+     * @param f      the function which makes an element.
+     * @param <T>    the type of the elements.
+     * @return an array of n Ts.
+     */
+    public static <T> T[] fill(Class<T> clazz, int n, Random random, Function<Random, T> f) {
+        if (n > CHUNK) return fill(clazz, n, random.nextLong(), f);
+        @SuppressWarnings("unchecked") final T[] result = (T[]) Array.newInstance(clazz, n);
+        for (int i = 0; i < n; i++) result[i] = f.apply(random);
+        return result;
+    }
+
+    /**
+     * Method to yield n random ints, each in the range origin..bound-1: see the class documentation.
+     *
+     * @param n      the number of elements.
+     * @param origin the least value (inclusive).
+     * @param bound  the upper bound (exclusive).
+     * @param random the Random.
+     * @return an array of n ints.
+     */
+    public static int[] ints(int n, int origin, int bound, Random random) {
+        if (n > CHUNK) return ints(n, origin, bound, random.nextLong());
+        final int[] result = new int[n];
+        for (int i = 0; i < n; i++) result[i] = random.nextInt(bound - origin) + origin;
+        return result;
+    }
+
+    public static final int CHUNK = 1 << 16;
+
+    private interface ChunkAction {
+        void apply(SplittableRandom random, int lo, int hi);
+    }
+
+    private static void forEachChunk(int n, long seed, ChunkAction action) {
+        final int chunks = (int) ((n + (long) CHUNK - 1) / CHUNK);
+        final SplittableRandom root = new SplittableRandom(seed);
+        if (chunks <= 1) {
+            action.apply(root.split(), 0, n);
+            return;
+        }
+        final SplittableRandom[] randoms = new SplittableRandom[chunks];
+        for (int c = 0; c < chunks; c++) randoms[c] = root.split();
+        IntStream.range(0, chunks).parallel().forEach(c -> action.apply(randoms[c], c * CHUNK, (int) Math.min(n, (c + 1L) * CHUNK)));
+    }
+
+    private ParallelRandom() {
+    }
+}
@@ -0,0 +1,217 @@
+package edu.neu.coe.info6205.util.parallel;
+
+import edu.neu.coe.info6205.util.*;
+
+import java.util.*;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.function.UnaryOperator;
+
+/**
+ * Harness to measure how a parallel workload scales with the number of threads.
+ * <p>
+ * The workload is run with 1, 2, 4, ... threads (and finally with the maximum, if that is not a power of two),
+ * each time on a fresh ForkJoinPool of that parallelism, which is shut down afterwards
+ * (so that no thread count benefits from threads, or a pool, which were warmed up by another).
+ * For each thread count p, with median time T(p), the harness derives:
+ * <ul>
+ *     <li>the speedup S(p) = T(1) / T(p);</li>
+ *     <li>the (parallel) efficiency E(p) = S(p) / p;</li>
+ *     <li>the Karp-Flatt metric e(p) = (1/S(p) - 1/p) / (1 - 1/p), i.e. the experimentally determined serial fraction.</li>
+ * </ul>
+ * A Karp-Flatt metric which is constant as p grows indicates that the limit on speedup is the serial fraction (Amdahl),
+ * whereas one which grows with p indicates parallel overhead (synchronization, contention, load imbalance).
+ * <p>
+ * The median (rather than the mean) is used since lap times of parallel code tend to have a long tail.
+ * <p>
+ * NOTE a workload which blocks inside the pool's workers (for example, by joining a CompletableFuture rather than a ForkJoinTask)
+ * makes the pool add compensation threads, so that "p threads" then means more than p.
+ * If the pool has grown beyond its parallelism after a run, a warning is logged: the curve of such a workload is not a true scaling curve.
+ * Workloads should be written as ForkJoinTasks (e.g. RecursiveAction) which fork and join only other ForkJoinTasks.
+ *
+ * @param <T> the type of the input to the workload.
+ */
+public class ThreadScaling<T> {
+
+    /**
+     * Constructor for a ThreadScaling harness.
+     *
+     * @param description the description of the workload.
+     * @param workload    a function which, given a pool, yields the workload to be run on that pool.
+     */
+    public ThreadScaling(String description, Function<ForkJoinPool, Consumer<T>> workload) {
+        this.description = description;
+        this.workload = workload;
+    }
+
+    /**
+     * Method to run the workload at each thread count up to maxThreads.
+     *
+     * @param t          the input, which is passed through fPre before each run (for example, to clone an array which will be sorted).
+     * @param fPre       the function which prepares each run (may be null).
+     * @param runs       the number of (timed) runs at each thread count.
+     * @param maxThreads the maximum number of threads (typically the number of available processors).
+     * @return the Points, in order of thread count.
+     */
+    public List<Point> run(T t, UnaryOperator<T> fPre, int runs, int maxThreads) {
+        final int[] threads = threadCounts(maxThreads);
+        final BenchmarkResult[] results = new BenchmarkResult[threads.length];
+        for (int i = 0; i < threads.length; i++) {
+            final ForkJoinPool pool = new ForkJoinPool(threads[i]);
+            try {
+                final Benchmark_Timer<T> timer = new Benchmark_Timer<>(description + " (" + threads[i] + " threads)", fPre, workload.apply(pool), null);
+                results[i] = timer.measure(supply(t), runs);
+                if (pool.getPoolSize() > threads[i])
+                    logger.warn(description + ": the pool of " + threads[i] + " threads grew to " + pool.getPoolSize() +
+                            " (compensation threads for blocking joins), so this is not a measurement at " + threads[i] + " threads");
+            } finally {
+                shutdown(pool);
+            }
+            logger.info(description + ": " + results[i]);
+        }
+        return analyze(threads, results);
+    }
+
+    /**
+     * Method to save the results of a run in a ResultStore: one BenchmarkRecord for each thread count,
+     * whose parameters are the given parameters together with threads.
+     * The speedup, efficiency and Karp-Flatt metric can be derived from these records (see fromRecords).
+     *
+     * @param store  the store.
+     * @param params the parameters of the workload (other than the number of threads).
+     * @param points the Points.
+     */
+    public void save(ResultStore store, Map<String, ?> params, List<Point> points) {
+        for (Point point : points) {
+            final Map<String, Object> map = new HashMap<>(params);
+            map.put(THREADS, point.threads);
+            store.appendQuietly(BenchmarkRecord.create(description, map, point.result));
+        }
+    }
+
+    /**
+     * Method to derive the Points from the BenchmarkRecords of one workload which were saved by save
+     * (records without a threads parameter are ignored).
+     * If there are several records for the same thread count, the latest is used.
+     *
+     * @param records the records (for example, those of one commit in a ResultStore).
+     * @return the Points, in order of thread count (empty if there is no record for one thread).
+     */
+    public static List<Point> fromRecords(List<BenchmarkRecord> records) {
+        final SortedMap<Integer, BenchmarkResult> map = new TreeMap<>();
+        for (BenchmarkRecord record : records)
+            for (String param : record.getParams().split(";"))
+                if (param.startsWith(THREADS + "="))
+                    map.put(Integer.parseInt(param.substring(THREADS.length() + 1)), new BenchmarkResult(record.getKey(), record.getLaps(), 0, 0));
+        if (!map.containsKey(1)) return new ArrayList<>();
+        final int[] threads = new int[map.size()];
+        final BenchmarkResult[] results = new BenchmarkResult[map.size()];
+        int i = 0;
+        for (Map.Entry<Integer, BenchmarkResult> entry : map.entrySet()) {
+            threads[i] = entry.getKey();
+            results[i++] = entry.getValue();
+        }
+        return analyze(threads, results);
+    }
+
+    /**
+     * Method to yield the thread counts 1, 2, 4, ... up to (and including) max.
+     *
+     * @param max the maximum number of threads.
+     * @return an array of thread counts.
+     */
+    public static int[] threadCounts(int max) {
+        if (max < 1) throw new IllegalArgumentException("ThreadScaling: max must be positive");
+        final List<Integer> result = new ArrayList<>();
+        for (int p = 1; p < max; p *= 2) result.add(p);
+        result.add(max);
+        return result.stream().mapToInt(Integer::intValue).toArray();
+    }
+
+    /**
+     * Method to format Points as a table.
+     *
+     * @param points the Points.
+     * @return a (multi-line) String.
+     */
+    public static String report(List<Point> points) {
+        final StringBuilder sb = new StringBuilder("threads\tmedian (mSec)\tspeedup\tefficiency\tKarp-Flatt\n");
+        for (Point point : points) sb.append(point).append('\n');
+        return sb.toString();
+    }
+
+    /**
+     * The result of running the workload with one thread count.
+     */
+    public static class Point {
+
+        Point(int threads, BenchmarkResult result, double t1) {
+            this.threads = threads;
+            this.result = result;
+            this.speedup = t1 / result.getMedian();
+        }
+
+        public int getThreads() {
+            return threads;
+        }
+
+        public BenchmarkResult getResult() {
+            return result;
+        }
+
+        public double getSpeedup() {
+            return speedup;
+        }
+
+        public double getEfficiency() {
+            return speedup / threads;
+        }
+
+        /**
+         * @return the Karp-Flatt metric (the experimentally determined serial fraction), or NaN for one thread.
+         */
+        public double getKarpFlatt() {
+            return threads > 1 ? (1 / speedup - 1.0 / threads) / (1 - 1.0 / threads) : Double.NaN;
+        }
+
+        @Override
+        public String toString() {
+            return threads + "\t" + Utilities.formatDecimal3Places(result.getMedian()) + "\t" + Utilities.formatDecimal3Places(speedup) + "\t" +
+                    Utilities.formatDecimal3Places(getEfficiency()) + "\t" + (threads > 1 ? Utilities.formatDecimal3Places(getKarpFlatt()) : "-");
+        }
+
+        private final int threads;
+        private final BenchmarkResult result;
+        private final double speedup;
+    }
+
+    static List<Point> analyze(int[] threads, BenchmarkResult[] results) {
+        final List<Point> points = new ArrayList<>();
+        final double t1 = results[0].getMedian();
+        for (int i = 0; i < threads.length; i++) points.add(new Point(threads[i], results[i], t1));
+        return points;
+    }
+
+    private static <T> Supplier<T> supply(T t) {
+        return () -> t;
+    }
+
+    private static void shutdown(ForkJoinPool pool) {
+        pool.shutdown();
+        try {
+            if (!pool.awaitTermination(10, TimeUnit.SECONDS)) logger.warn("ThreadScaling: pool did not terminate: " + pool);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    public static final String THREADS = "threads";
+
+    final static LazyLogger logger = new LazyLogger(ThreadScaling.class);
+
+    private final String description;
+    private final Function<ForkJoinPool, Consumer<T>> workload;
+}
@@ -0,0 +1,149 @@
+package edu.neu.coe.info6205.util.workload;
+
+import java.util.Random;
+
+/**
+ * The shapes of input which a Workload can generate.
+ * <p>
+ * Each shape is defined by the sequence of int values (ranks) which it yields for a given n.
+ * Except for FEW_UNIQUE and ZIPFIAN, the values are in the range 0 to n-1.
+ * The meaning of the (optional) parameter depends on the shape: see defaultParameter.
+ * The definitions of sawtooth and staggered follow Bentley and McIlroy, "Engineering a Sort Function" (1993).
+ */
+public enum Distribution {
+
+    /**
+     * Independent values chosen uniformly at random from 0 to n-1.
+     */
+    UNIFORM,
+    /**
+     * 0, 1, ... n-1.
+     */
+    SORTED,
+    /**
+     * n-1, n-2, ... 0.
+     */
+    REVERSE,
+    /**
+     * SORTED, followed by k swaps of randomly chosen pairs of elements, where k is the parameter (default n/100).
+     */
+    NEARLY_SORTED,
+    /**
+     * Independent values chosen uniformly at random from 0 to d-1, where d is the parameter (default 16).
+     */
+    FEW_UNIQUE,
+    /**
+     * Independent values from a Zipf distribution with exponent s, where s is the parameter (default 1.0),
+     * over min(n, 2^20) distinct values.
+     * So that the most frequent value is not also the smallest, the values are randomly permuted.
+     */
+    ZIPFIAN,
+    /**
+     * The even values ascending, followed by the odd values descending: 0, 2, 4, ... 5, 3, 1.
+     */
+    ORGAN_PIPE,
+    /**
+     * i % m, where m is the parameter (default sqrt(n)).
+     */
+    SAWTOOTH,
+    /**
+     * (i * m + i) % n, where m is the parameter (default sqrt(n)).
+     */
+    STAGGERED;
+
+    /**
+     * Method to get the default parameter of this shape for a given n.
+     *
+     * @param n the number of elements.
+     * @return the default parameter (zero if this shape has no parameter).
+     */
+    public double defaultParameter(int n) {
+        switch (this) {
+            case NEARLY_SORTED:
+                return Math.max(1, n / 100);
+            case FEW_UNIQUE:
+                return 16;
+            case ZIPFIAN:
+                return 1.0;
+            case SAWTOOTH:
+            case STAGGERED:
+                return Math.max(1, (int) Math.sqrt(n));
+            default:
+                return 0;
+        }
+    }
+
+    /**
+     * Method to generate the values of this shape.
+     *
+     * @param n         the number of elements.
+     * @param parameter the parameter (see defaultParameter).
+     * @param random    the source of randomness (not used by the deterministic shapes).
+     * @return an array of n values.
+     */
+    public int[] generate(int n, double parameter, Random random) {
+        final int[] result = new int[n];
+        final int m = Math.max(1, (int) parameter);
+        switch (this) {
+            case UNIFORM:
+                for (int i = 0; i < n; i++) result[i] = random.nextInt(n);
+                break;
+            case SORTED:
+                for (int i = 0; i < n; i++) result[i] = i;
+                break;
+            case REVERSE:
+                for (int i = 0; i < n; i++) result[i] = n - 1 - i;
+                break;
+            case NEARLY_SORTED:
+                for (int i = 0; i < n; i++) result[i] = i;
+                if (n > 1) for (int k = 0; k < (int) parameter; k++) swap(result, random.nextInt(n), random.nextInt(n));
+                break;
+            case FEW_UNIQUE:
+                for (int i = 0; i < n; i++) result[i] = random.nextInt(m);
+                break;
+            case ZIPFIAN:
+                zipf(result, Math.min(n, MAX_ZIPF_VALUES), parameter, random);
+                break;
+            case ORGAN_PIPE:
+                final int evens = (n + 1) / 2;
+                for (int i = 0; i < n; i++) result[i] = i < evens ? 2 * i : 2 * (n - 1 - i) + 1;
+                break;
+            case SAWTOOTH:
+                for (int i = 0; i < n; i++) result[i] = i % m;
+                break;
+            case STAGGERED:
+                for (int i = 0; i < n; i++) result[i] = (int) (((long) i * m + i) % n);
+                break;
+        }
+        return result;
+    }
+
+    private static void zipf(int[] result, int values, double s, Random random) {
+        if (values < 1) return;
+        // NOTE cumulative[k] is the (unnormalized) probability of a rank no greater than k.
+        final double[] cumulative = new double[values];
+        double sum = 0;
+        for (int k = 0; k < values; k++) cumulative[k] = sum += Math.pow(k + 1, -s);
+        final int[] permutation = new int[values];
+        for (int k = 0; k < values; k++) permutation[k] = k;
+        for (int k = values - 1; k > 0; k--) swap(permutation, k, random.nextInt(k + 1));
+        for (int i = 0; i < result.length; i++) {
+            final double u = random.nextDouble() * sum;
+            int lo = 0, hi = values - 1;
+            while (lo < hi) {
+                final int mid = (lo + hi) >>> 1;
+                if (cumulative[mid] < u) lo = mid + 1;
+                else hi = mid;
+            }
+            result[i] = permutation[lo];
+        }
+    }
+
+    private static void swap(int[] xs, int i, int j) {
+        final int x = xs[i];
+        xs[i] = xs[j];
+        xs[j] = x;
+    }
+
+    static final int MAX_ZIPF_VALUES = 1 << 20;
+}
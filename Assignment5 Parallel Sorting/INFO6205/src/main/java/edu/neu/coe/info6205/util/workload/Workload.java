@@ -0,0 +1,182 @@
+package edu.neu.coe.info6205.util.workload;
+
+import edu.neu.coe.info6205.util.Config;
+
+import java.nio.file.Paths;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Random;
+
+/**
+ * A seeded generator of benchmark inputs of a given shape (see Distribution), as ints, longs, Strings or LocalDateTimes.
+ * <p>
+ * All four types are derived from the same int values by order-preserving mappings,
+ * so that (for example) the Strings of a NEARLY_SORTED workload are nearly sorted, and those of a FEW_UNIQUE workload have few
+ * unique values.
+ * The output is entirely determined by the distribution, its parameter, the seed and n.
+ * <p>
+ * If a WorkloadCache is configured (see create), the int values of datasets of at least cacheThreshold elements are cached:
+ * the other types are cheap to derive from them.
+ */
+public class Workload {
+
+    public static final String WORKLOAD = "workload";
+
+    /**
+     * Constructor for a Workload.
+     *
+     * @param distribution   the shape of the input.
+     * @param parameter      the parameter of the shape (NaN for the default: see Distribution.defaultParameter).
+     * @param seed           the seed.
+     * @param cache          the cache (may be null).
+     * @param cacheThreshold the minimum number of elements of a dataset which is cached.
+     */
+    public Workload(Distribution distribution, double parameter, long seed, WorkloadCache cache, int cacheThreshold) {
+        this.distribution = distribution;
+        this.parameter = parameter;
+        this.seed = seed;
+        this.cache = cache;
+        this.cacheThreshold = cacheThreshold;
+    }
+
+    /**
+     * Constructor for a Workload with the default parameter and no cache.
+     *
+     * @param distribution the shape of the input.
+     * @param seed         the seed.
+     */
+    public Workload(Distribution distribution, long seed) {
+        this(distribution, Double.NaN, seed, null, Integer.MAX_VALUE);
+    }
+
+    /**
+     * Method to create the Workloads configured by the [workload] section of the given config:
+     * one for each of the (comma-separated) distributions, with the given seed, parameter and cache.
+     *
+     * @param config the configuration.
+     * @return a (possibly empty) list of Workloads.
+     */
+    public static List<Workload> create(Config config) {
+        final List<Workload> result = new ArrayList<>();
+        final String distributions = config.get(WORKLOAD, "distributions");
+        if (distributions == null || distributions.trim().isEmpty()) return result;
+        final String directory = config.get(WORKLOAD, "cache");
+        final WorkloadCache cache = directory == null || directory.isEmpty() ? null : new WorkloadCache(Paths.get(directory));
+        final long seed = config.getLong(WORKLOAD, "seed", 0L);
+        final double parameter = config.getDouble(WORKLOAD, "parameter", Double.NaN);
+        final int cacheThreshold = config.getInt(WORKLOAD, "cachethreshold", 1000000);
+        for (String name : distributions.split(","))
+            result.add(new Workload(Distribution.valueOf(name.trim().toUpperCase(Locale.ROOT).replace('-', '_')), parameter, seed, cache, cacheThreshold));
+        return result;
+    }
+
+    public Distribution getDistribution() {
+        return distribution;
+    }
+
+    /**
+     * Method to get the parameter for a given n.
+     *
+     * @param n the number of elements.
+     * @return the parameter, or the default parameter of the distribution if none was given.
+     */
+    public double getParameter(int n) {
+        return Double.isNaN(parameter) ? distribution.defaultParameter(n) : parameter;
+    }
+
+    /**
+     * @param n the number of elements.
+     * @return an array of n ints.
+     */
+    public int[] ints(int n) {
+        if (cache == null || n < cacheThreshold) return generate(n);
+        return cache.ints(key(n), n, () -> generate(n));
+    }
+
+    /**
+     * @param n the number of elements.
+     * @return an array of n longs, each of which is an int value multiplied by LONG_SCALE (so that they do not fit in an int).
+     */
+    public long[] longs(int n) {
+        final int[] xs = ints(n);
+        final long[] result = new long[n];
+        for (int i = 0; i < n; i++) result[i] = xs[i] * LONG_SCALE;
+        return result;
+    }
+
+    /**
+     * @param n the number of elements.
+     * @return an array of n Integers.
+     */
+    public Integer[] integers(int n) {
+        final int[] xs = ints(n);
+        final Integer[] result = new Integer[n];
+        for (int i = 0; i < n; i++) result[i] = xs[i];
+        return result;
+    }
+
+    /**
+     * @param n the number of elements.
+     * @return an array of n Strings, each of which is a (fixed-width, lower-case) base-26 representation of an int value.
+     */
+    public String[] strings(int n) {
+        final int[] xs = ints(n);
+        int width = 1;
+        for (long limit = 26; limit < max(xs) + 1L; limit *= 26) width++;
+        final String[] result = new String[n];
+        final char[] chars = new char[width];
+        for (int i = 0; i < n; i++) {
+            int x = xs[i];
+            for (int j = width - 1; j >= 0; j--) {
+                chars[j] = (char) ('a' + x % 26);
+                x /= 26;
+            }
+            result[i] = new String(chars);
+        }
+        return result;
+    }
+
+    /**
+     * @param n the number of elements.
+     * @return an array of n LocalDateTimes, each of which is EPOCH plus an int value in seconds.
+     */
+    public LocalDateTime[] localDateTimes(int n) {
+        final int[] xs = ints(n);
+        final LocalDateTime[] result = new LocalDateTime[n];
+        for (int i = 0; i < n; i++) result[i] = EPOCH.plusSeconds(xs[i]);
+        return result;
+    }
+
+    @Override
+    public String toString() {
+        return distribution.name().toLowerCase(Locale.ROOT) + (Double.isNaN(parameter) ? "" : "(" + parameter + ")");
+    }
+
+    public static final long LONG_SCALE = 4294967311L;
+    public static final LocalDateTime EPOCH = LocalDateTime.of(2000, 1, 1, 0, 0);
+
+    // NOTE this must be incremented whenever the generated values change, so that stale cache files are not used.
+    private static final int VERSION = 1;
+
+    private int[] generate(int n) {
+        return distribution.generate(n, getParameter(n), new Random(seed));
+    }
+
+    private String key(int n) {
+        return "v" + VERSION + "-" + distribution.name().toLowerCase(Locale.ROOT) + "-" + getParameter(n) + "-" + seed + "-" + n;
+    }
+
+    private static int max(int[] xs) {
+        int result = 0;
+        for (int x : xs) if (x > result) result = x;
+        return result;
+    }
+
+    private final Distribution distribution;
+    private final double parameter;
+    private final long seed;
+    private final WorkloadCache cache;
+    private final int cacheThreshold;
+}
@@ -0,0 +1,103 @@
+package edu.neu.coe.info6205.util.workload;
+
+import edu.neu.coe.info6205.util.LazyLogger;
+
+import java.io.IOException;
+import java.nio.ByteOrder;
+import java.nio.IntBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.*;
+import java.util.function.Supplier;
+
+/**
+ * A cache of generated datasets (int arrays) in memory-mapped binary files, so that a large dataset is generated only once
+ * and can thereafter be loaded at (close to) the speed of a memory copy.
+ * <p>
+ * Each file consists of the n values in native byte order, with no header: the name of the file (the key)
+ * must therefore identify the dataset completely.
+ * A file is written under a temporary name and then moved into place, so that a reader never sees a partial file.
+ * Any failure to read or write the cache is logged and the dataset is simply generated (the cache is an optimization only).
+ */
+public class WorkloadCache {
+
+    /**
+     * Constructor for a WorkloadCache.
+     *
+     * @param directory the directory in which to keep the files (created if necessary).
+     */
+    public WorkloadCache(Path directory) {
+        this.directory = directory;
+    }
+
+    public Path getDirectory() {
+        return directory;
+    }
+
+    /**
+     * Method to get a dataset from the cache, generating (and caching) it if necessary.
+     *
+     * @param key       the key which identifies the dataset (must be usable as a file name).
+     * @param n         the number of values.
+     * @param generator the generator of the dataset (used only if the dataset is not cached).
+     * @return an array of n values.
+     */
+    public int[] ints(String key, int n, Supplier<int[]> generator) {
+        final Path path = directory.resolve(key + ".ints");
+        try {
+            if (Files.exists(path) && Files.size(path) == 4L * n) {
+                final int[] result = read(path, n);
+                logger.debug(() -> "WorkloadCache: loaded " + path);
+                return result;
+            }
+        } catch (IOException e) {
+            logger.warn("WorkloadCache: unable to read " + path, e);
+        }
+        final int[] result = generator.get();
+        try {
+            write(path, result);
+            logger.debug(() -> "WorkloadCache: wrote " + path);
+        } catch (IOException e) {
+            logger.warn("WorkloadCache: unable to write " + path, e);
+        }
+        return result;
+    }
+
+    private static int[] read(Path path, int n) throws IOException {
+        final int[] result = new int[n];
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            for (int from = 0; from < n; from += CHUNK) {
+                final int length = Math.min(CHUNK, n - from);
+                final MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 4L * from, 4L * length);
+                buffer.order(ByteOrder.nativeOrder()).asIntBuffer().get(result, from, length);
+            }
+        }
+        return result;
+    }
+
+    private void write(Path path, int[] xs) throws IOException {
+        Files.createDirectories(directory);
+        final Path temporary = Files.createTempFile(directory, path.getFileName().toString(), ".tmp");
+        try {
+            try (FileChannel channel = FileChannel.open(temporary, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+                for (int from = 0; from < xs.length; from += CHUNK) {
+                    final int length = Math.min(CHUNK, xs.length - from);
+                    final MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_WRITE, 4L * from, 4L * length);
+                    final IntBuffer ints = buffer.order(ByteOrder.nativeOrder()).asIntBuffer();
+                    ints.put(xs, from, length);
+                    buffer.force();
+                }
+            }
+            Files.move(temporary, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(temporary);
+        }
+    }
+
+    // NOTE each mapping is limited to 2GB, so large files are mapped in chunks of this many values.
+    private static final int CHUNK = 1 << 26;
+
+    final static LazyLogger logger = new LazyLogger(WorkloadCache.class);
+
+    private final Path directory;
+}
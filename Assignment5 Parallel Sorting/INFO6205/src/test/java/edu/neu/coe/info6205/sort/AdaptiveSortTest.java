@@ -0,0 +1,109 @@
+package edu.neu.coe.info6205.sort;
+
+import edu.neu.coe.info6205.util.Config;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+public class AdaptiveSortTest {
+
+    @BeforeClass
+    public static void beforeClass() throws IOException {
+        config = Config.load(AdaptiveSortTest.class);
+    }
+
+    @Test
+    public void testSmall() {
+        final Integer[] xs = new Integer[]{3, 4, 2, 1};
+        final AdaptiveSort<Integer> sorter = new AdaptiveSort<>(xs.length, config);
+        assertEquals(AdaptiveSort.Algorithm.INSERTION, sorter.choose(sorter.profile(xs, 0, xs.length)));
+        assertArrayEquals(new Integer[]{1, 2, 3, 4}, sorter.sort(xs));
+    }
+
+    @Test
+    public void testPresorted() {
+        final int n = 1000;
+        final String[] xs = new String[n];
+        for (int i = 0; i < n; i++) xs[i] = String.format("%05d", i);
+        xs[10] = "99999";
+        final AdaptiveSort<String> sorter = new AdaptiveSort<>(n, config);
+        final AdaptiveSort.Profile profile = sorter.profile(xs, 0, n);
+        assertEquals(1, profile.descents);
+        assertEquals(AdaptiveSort.Algorithm.TIMSORT, sorter.choose(profile));
+        final String[] ys = sorter.sort(xs);
+        sorter.postProcess(ys);
+    }
+
+    @Test
+    public void testReverseSorted() {
+        final int n = 1000;
+        final String[] xs = new String[n];
+        for (int i = 0; i < n; i++) xs[i] = String.format("%05d", n - i);
+        final AdaptiveSort<String> sorter = new AdaptiveSort<>(n, config);
+        assertEquals(AdaptiveSort.Algorithm.TIMSORT, sorter.choose(sorter.profile(xs, 0, n)));
+        final String[] ys = sorter.sort(xs);
+        sorter.postProcess(ys);
+    }
+
+    @Test
+    public void testDuplicates() {
+        final int n = 1000;
+        final Random random = new Random(0L);
+        final String[] xs = new String[n];
+        for (int i = 0; i < n; i++) xs[i] = "x" + random.nextInt(5);
+        final AdaptiveSort<String> sorter = new AdaptiveSort<>(n, config);
+        final AdaptiveSort.Profile profile = sorter.profile(xs, 0, n);
+        assertEquals(31, profile.sampleSize);
+        assertTrue(profile.distinct <= 5);
+        assertEquals(AdaptiveSort.Algorithm.QUICKSORT_3WAY, sorter.choose(profile));
+        final String[] ys = sorter.sort(xs);
+        sorter.postProcess(ys);
+    }
+
+    @Test
+    public void testRandomStrings() {
+        final int n = 1000;
+        final Random random = new Random(0L);
+        final String[] xs = new String[n];
+        for (int i = 0; i < n; i++) xs[i] = Long.toString(random.nextLong(), 36);
+        final AdaptiveSort<String> sorter = new AdaptiveSort<>(n, config);
+        assertEquals(AdaptiveSort.Algorithm.QUICKSORT_DUAL_PIVOT, sorter.choose(sorter.profile(xs, 0, n)));
+        final String[] ys = sorter.sort(xs);
+        sorter.postProcess(ys);
+    }
+
+    @Test
+    public void testNonNegativeIntegers() {
+        final int n = 1000;
+        final Random random = new Random(0L);
+        final Integer[] xs = new Integer[n];
+        for (int i = 0; i < n; i++) xs[i] = random.nextInt(1000000);
+        final AdaptiveSort<Integer> sorter = new AdaptiveSort<>(n, config);
+        assertEquals(AdaptiveSort.Algorithm.RADIX, sorter.choose(sorter.profile(xs, 0, n)));
+        final Integer[] ys = sorter.sort(xs);
+        sorter.postProcess(ys);
+    }
+
+    @Test
+    public void testParallel() {
+        final int n = 1000;
+        final Random random = new Random(0L);
+        final Integer[] xs = new Integer[n];
+        for (int i = 0; i < n; i++) xs[i] = random.nextInt();
+        final Config parallel = config.copy(AdaptiveSort.ADAPTIVESORT, "parallel", "100");
+        final AdaptiveSort<Integer> sorter = new AdaptiveSort<>(n, parallel);
+        assertEquals(AdaptiveSort.Algorithm.PARALLEL, sorter.choose(sorter.profile(xs, 0, n)));
+        final Integer[] ys = sorter.sort(xs);
+        sorter.postProcess(ys);
+        for (int i = 0; i < n; i++) xs[i] = random.nextInt(1000000);
+        assertEquals(AdaptiveSort.Algorithm.PARSORT, sorter.choose(sorter.profile(xs, 0, n)));
+        final Integer[] zs = sorter.sort(xs);
+        sorter.postProcess(zs);
+    }
+
+    private static Config config;
+}
@@ -0,0 +1,104 @@
+package edu.neu.coe.info6205.sort;
+
+import edu.neu.coe.info6205.sort.elementary.InsertionSort;
+import edu.neu.coe.info6205.sort.linearithmic.QuickSort_DualPivot;
+import edu.neu.coe.info6205.util.Config;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+public class ArgSortTest {
+
+    @Test
+    public void testArgsortObjects() {
+        final String[] xs = new String[]{"b", "a", "c", "a", "b"};
+        final int[] perm = ArgSort.argsort(xs);
+        assertArrayEquals(new int[]{1, 3, 0, 4, 2}, perm);
+        assertArrayEquals(new String[]{"b", "a", "c", "a", "b"}, xs);
+        assertArrayEquals(new int[0], ArgSort.argsort(new String[0]));
+    }
+
+    @Test
+    public void testArgsortIntsIsStable() {
+        final int[] xs = randomInts(10000, 100, 0L);
+        final int[] perm = ArgSort.argsort(xs);
+        for (int i = 1; i < perm.length; i++) {
+            assertTrue(xs[perm[i - 1]] <= xs[perm[i]]);
+            if (xs[perm[i - 1]] == xs[perm[i]]) assertTrue(perm[i - 1] < perm[i]);
+        }
+    }
+
+    @Test
+    public void testArgsortLongsAndDoubles() {
+        final long[] xs = new long[]{5L, Long.MIN_VALUE, 3L, Long.MAX_VALUE, 3L};
+        assertArrayEquals(new int[]{1, 2, 4, 0, 3}, ArgSort.argsort(xs));
+        final double[] ys = new double[]{2.5, -0.0, 0.0, Double.NaN, -1.0};
+        assertArrayEquals(new int[]{4, 1, 2, 0, 3}, ArgSort.argsort(ys));
+    }
+
+    @Test
+    public void testArgsortWithSorter() throws IOException {
+        final Config config = Config.load(getClass());
+        final Integer[] xs = new Integer[2000];
+        final Random random = new Random(1L);
+        for (int i = 0; i < xs.length; i++) xs[i] = random.nextInt(50);
+        final int[] expected = ArgSort.argsort(xs);
+        // NOTE dual-pivot quicksort is not stable, but the Index adapter makes the permutation stable anyway.
+        assertArrayEquals(expected, ArgSort.argsort(xs, QuickSort_DualPivot::new, config));
+        assertArrayEquals(expected, ArgSort.argsort(xs, InsertionSort::new, config));
+    }
+
+    @Test
+    public void testApplyPermutation() {
+        final String[] xs = new String[]{"d", "a", "c", "b", "e"};
+        final int[] perm = ArgSort.argsort(xs);
+        final int[] copy = Arrays.copyOf(perm, perm.length);
+        ArgSort.applyPermutation(xs, perm);
+        assertArrayEquals(new String[]{"a", "b", "c", "d", "e"}, xs);
+        assertArrayEquals(copy, perm);
+    }
+
+    @Test
+    public void testCoSort() {
+        final int[] keys = randomInts(5000, 1000, 2L);
+        final long[] values = new long[keys.length];
+        final double[] weights = new double[keys.length];
+        for (int i = 0; i < keys.length; i++) {
+            values[i] = 1000L * keys[i] + i;
+            weights[i] = keys[i] / 2.0;
+        }
+        final int[] perm = ArgSort.argsort(keys);
+        ArgSort.applyPermutation(keys, perm);
+        ArgSort.applyPermutation(values, perm);
+        ArgSort.applyPermutation(weights, perm);
+        for (int i = 0; i < keys.length; i++) {
+            if (i > 0) assertTrue(keys[i - 1] <= keys[i]);
+            assertEquals(1000L * keys[i] + perm[i], values[i]);
+            assertEquals(keys[i] / 2.0, weights[i], 0.0);
+        }
+    }
+
+    @Test
+    public void testInvert() {
+        final int[] perm = new int[]{2, 0, 3, 1};
+        final int[] inverse = ArgSort.invert(perm);
+        assertArrayEquals(new int[]{1, 3, 0, 2}, inverse);
+        assertArrayEquals(new int[]{0, 1, 2, 3}, ArgSort.invert(ArgSort.invert(new int[]{0, 1, 2, 3})));
+    }
+
+    @Test(expected = SortException.class)
+    public void testApplyPermutationWrongLength() {
+        ArgSort.applyPermutation(new int[3], new int[]{0, 1});
+    }
+
+    private static int[] randomInts(int n, int bound, long seed) {
+        final Random random = new Random(seed);
+        final int[] result = new int[n];
+        for (int i = 0; i < n; i++) result[i] = random.nextInt(bound);
+        return result;
+    }
+}
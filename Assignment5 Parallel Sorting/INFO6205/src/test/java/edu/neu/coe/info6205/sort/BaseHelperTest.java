@@ -110,6 +110,19 @@ public class BaseHelperTest {
         assertArrayEquals(new String[]{"World", "World", "Hello"}, strings);
     }
 
+    @Test
+    public void randomInParallel() {
+        String[] words = new String[]{"Hello", "World"};
+        // NOTE an array small enough to be filled sequentially is the same as that of random.
+        assertArrayEquals(new String[]{"World", "World", "Hello"}, new BaseHelperWithSortedTest<String>(3, 0L).randomInParallel(String.class, r -> words[r.nextInt(2)]));
+        // NOTE a large array depends only on the seed.
+        final int n = 200_000;
+        final String[] xs = new BaseHelperWithSortedTest<String>(n, 0L).randomInParallel(String.class, r -> words[r.nextInt(2)]);
+        final String[] ys = new BaseHelperWithSortedTest<String>(n, 0L).randomInParallel(String.class, r -> words[r.nextInt(2)]);
+        assertEquals(n, xs.length);
+        assertArrayEquals(xs, ys);
+    }
+
     @Test
     public void testToString() {
         final Helper<String> helper = new BaseHelper<>("test", 3, config);
@@ -0,0 +1,74 @@
+package edu.neu.coe.info6205.sort;
+
+import edu.neu.coe.info6205.sort.elementary.InsertionSort;
+import edu.neu.coe.info6205.util.Config;
+import edu.neu.coe.info6205.util.StatPack;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import java.io.IOException;
+
+import static org.junit.Assert.*;
+
+public class CacheModelTest {
+
+    @BeforeClass
+    public static void beforeClass() throws IOException {
+        config = Config.load(CacheModelTest.class);
+    }
+
+    @Test
+    public void testCreate() {
+        final CacheModel model = CacheModel.create(config);
+        assertEquals(3, model.getLevels());
+        assertEquals("l1", model.getName(0));
+        assertEquals("llc", model.getName(2));
+        final CacheModel noL2 = CacheModel.create(config.copy(CacheModel.CACHE, "l2size", "0"));
+        assertEquals(2, noL2.getLevels());
+        assertEquals("llc", noL2.getName(1));
+    }
+
+    @Test
+    public void testSequentialScan() {
+        final CacheModel model = new CacheModel(64, 4, new CacheModel.Level("l1", 1024, 4, 64));
+        // NOTE the array is aligned on a line, but the header occupies the first 16 bytes of that line.
+        final int[] xs = new int[1024 - 4];
+        model.access(xs, 0, xs.length);
+        assertEquals(64, model.getMisses(0));
+        model.reset();
+        assertEquals(0, model.getMisses(0));
+    }
+
+    @Test
+    public void testRescan() {
+        final CacheModel model = new CacheModel(64, 4, new CacheModel.Level("l1", 1024, 4, 64), new CacheModel.Level("l2", 8192, 8, 64));
+        final int[] small = new int[100];
+        model.access(small, 0, small.length);
+        final long misses = model.getMisses(0);
+        model.access(small, 0, small.length);
+        assertEquals(misses, model.getMisses(0));
+        // NOTE this array does not fit in L1 (so each scan misses in L1) but it does fit in L2.
+        final int[] large = new int[1000];
+        model.access(large, 0, large.length);
+        final long l1 = model.getMisses(0);
+        final long l2 = model.getMisses(1);
+        model.access(large, 0, large.length);
+        assertEquals(l1 + 63, model.getMisses(0));
+        assertEquals(l2, model.getMisses(1));
+    }
+
+    @Test
+    public void testInstrumentedHelper() {
+        final int n = 1000;
+        final Config cached = config.copy(InstrumentedHelper.INSTRUMENTING, InstrumentedHelper.CACHE, "true");
+        final Helper<Integer> helper = HelperFactory.create("cache", n, cached);
+        final InsertionSort<Integer> sorter = new InsertionSort<>(helper);
+        final Integer[] xs = helper.random(Integer.class, r -> r.nextInt(1000));
+        sorter.postProcess(sorter.sort(xs));
+        final StatPack statPack = ((InstrumentedHelper<Integer>) helper).getStatPack();
+        assertTrue(statPack.total("l1misses") > 0);
+        assertEquals(statPack.total("l2misses"), statPack.total("llcmisses"), 0);
+    }
+
+    private static Config config;
+}
@@ -323,6 +323,40 @@ public class InstrumentedHelperTest {
         assertTrue(12 <= compares && compares <= 17);
     }
 
+    @Test
+    public void testConcurrentCounts() throws InterruptedException {
+        final int nThreads = 4;
+        final int m = 100000;
+        final Helper<String> helper = new InstrumentedHelper<>("test", config);
+        final Thread[] threads = new Thread[nThreads];
+        for (int t = 0; t < nThreads; t++) {
+            threads[t] = new Thread(() -> {
+                String[] xs = new String[]{"a", "b"};
+                for (int i = 0; i < m; i++) {
+                    helper.less("a", "b");
+                    helper.swap(xs, 0, 1);
+                }
+            });
+            threads[t].start();
+        }
+        for (Thread thread : threads) thread.join();
+        final PrivateMethodTester privateMethodTester = new PrivateMethodTester(helper);
+        assertEquals(nThreads * m, privateMethodTester.invokePrivate("getCompares"));
+        assertEquals(nThreads * m, privateMethodTester.invokePrivate("getSwaps"));
+        assertEquals(4 * nThreads * m, privateMethodTester.invokePrivate("getHits"));
+    }
+
+    @Test
+    public void testSampling() {
+        final int m = 100000;
+        final Helper<String> helper = new InstrumentedHelper<>("test", config.copy(InstrumentedHelper.INSTRUMENTING, InstrumentedHelper.SAMPLING, "10"));
+        for (int i = 0; i < m; i++) helper.less("a", "b");
+        final PrivateMethodTester privateMethodTester = new PrivateMethodTester(helper);
+        final int compares = (Integer) privateMethodTester.invokePrivate("getCompares");
+        assertEquals(0, compares % 10);
+        assertEquals(m, compares, m / 20.0);
+    }
+
     @BeforeClass
     public static void beforeClass() {
         config = ConfigTest.setupConfig("true", "0", "10", "1", "");
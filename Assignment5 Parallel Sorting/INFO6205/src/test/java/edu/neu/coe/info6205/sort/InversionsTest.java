@@ -0,0 +1,77 @@
+package edu.neu.coe.info6205.sort;
+
+import org.junit.Test;
+
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+public class InversionsTest {
+
+    @Test
+    public void testCount0() {
+        assertEquals(0, Inversions.count(new String[0]));
+        assertEquals(0, Inversions.count(new String[]{"a", "b", "c"}));
+        assertEquals(3, Inversions.count(new String[]{"c", "b", "a"}));
+    }
+
+    @Test
+    public void testCount1() {
+        final Integer[] xs = randomIntegers(1000, 100, 0L);
+        final Integer[] copy = xs.clone();
+        assertEquals(bruteForce(xs), Inversions.count(xs));
+        assertArrayEquals(copy, xs);
+    }
+
+    @Test
+    public void testCountReversed() {
+        final int n = 100000;
+        final Integer[] xs = new Integer[n];
+        for (int i = 0; i < n; i++) xs[i] = n - i;
+        // NOTE this exceeds Integer.MAX_VALUE.
+        assertEquals((long) n * (n - 1) / 2, Inversions.count(xs));
+    }
+
+    @Test
+    public void testCountParallel() {
+        final Integer[] xs = randomIntegers(5 * Inversions.PARALLEL_CUTOFF, 1000000, 1L);
+        final Integer[] copy = xs.clone();
+        assertEquals(Inversions.count(xs), Inversions.countParallel(xs));
+        assertArrayEquals(copy, xs);
+    }
+
+    @Test
+    public void testEstimateSorted() {
+        final Integer[] xs = new Integer[1000];
+        for (int i = 0; i < xs.length; i++) xs[i] = i;
+        final Inversions.Estimate estimate = Inversions.estimate(xs, 1000, new Random(0L));
+        assertEquals(0, estimate.inversions);
+        assertEquals(0, estimate.lower);
+        assertTrue(estimate.upper > 0);
+    }
+
+    @Test
+    public void testEstimateRandom() {
+        final Integer[] xs = randomIntegers(10000, 1000000, 2L);
+        final long inversions = Inversions.count(xs);
+        final Inversions.Estimate estimate = Inversions.estimate(xs, 10000, new Random(0L));
+        assertEquals(0.5, estimate.fraction, 0.02);
+        assertTrue(estimate.lower <= inversions);
+        assertTrue(inversions <= estimate.upper);
+    }
+
+    private static Integer[] randomIntegers(int n, int m, long seed) {
+        final Random random = new Random(seed);
+        final Integer[] result = new Integer[n];
+        for (int i = 0; i < n; i++) result[i] = random.nextInt(m);
+        return result;
+    }
+
+    private static long bruteForce(Integer[] xs) {
+        long result = 0;
+        for (int i = 0; i < xs.length; i++)
+            for (int j = i + 1; j < xs.length; j++)
+                if (xs[i].compareTo(xs[j]) > 0) result++;
+        return result;
+    }
+}
@@ -0,0 +1,68 @@
+package edu.neu.coe.info6205.sort;
+
+import edu.neu.coe.info6205.sort.elementary.InsertionSort;
+import edu.neu.coe.info6205.util.Config;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.time.chrono.ChronoLocalDateTime;
+
+import static org.junit.Assert.*;
+
+public class MonomorphicHelpersTest {
+
+    @BeforeClass
+    public static void beforeClass() throws IOException {
+        config = Config.load(MonomorphicHelpersTest.class).copy(Config.HELPER, BaseHelper.INSTRUMENT, "false");
+    }
+
+    @Test
+    public void testCreate() {
+        assertTrue(MonomorphicHelpers.create("test", 10, String.class, config) instanceof MonomorphicHelpers.StringHelper);
+        assertTrue(MonomorphicHelpers.create("test", 10, Integer.class, config) instanceof MonomorphicHelpers.IntegerHelper);
+        assertTrue(MonomorphicHelpers.create("test", 10, LocalDateTime.class, config) instanceof MonomorphicHelpers.DateTimeHelper);
+        assertNull(MonomorphicHelpers.create("test", 10, Double.class, config));
+    }
+
+    @Test
+    public void testStringHelper() {
+        final Helper<String> helper = MonomorphicHelpers.create("test", 4, String.class, config);
+        final String[] xs = new String[]{"d", "c", "b", "a"};
+        assertTrue(helper.less("a", "b"));
+        assertTrue(helper.compare(xs, 0, 1) > 0);
+        assertFalse(helper.sorted(xs));
+        assertArrayEquals(new String[]{"a", "b", "c", "d"}, new InsertionSort<>(helper).sort(xs));
+        assertTrue(helper.swapConditional(xs, 0, 3));
+        assertFalse(helper.swapConditional(xs, 0, 3));
+        assertTrue(helper.swapStableConditional(xs, 2));
+        assertArrayEquals(new String[]{"a", "b", "c", "d"}, xs);
+        assertTrue(helper.sorted(xs));
+    }
+
+    @Test
+    public void testIntegerHelper() {
+        final Helper<Integer> helper = MonomorphicHelpers.create("test", 4, Integer.class, config);
+        // NOTE these values are not cached by Integer.valueOf so they must be compared by value.
+        final Integer[] xs = new Integer[]{1000, -1000, 2000, 1000};
+        assertTrue(helper.less(-1000, 1000));
+        assertEquals(0, helper.compare(xs, 0, 3));
+        assertTrue(helper.swapStableConditional(xs, 1));
+        assertFalse(helper.swapStableConditional(xs, 2));
+        assertTrue(helper.sorted(new Integer[]{-1000, 1000, 1000, 2000}));
+        assertArrayEquals(new Integer[]{-1000, 1000, 1000, 2000}, new InsertionSort<>(helper).sort(xs));
+    }
+
+    @Test
+    public void testDateTimeHelper() {
+        final Helper<ChronoLocalDateTime<?>> helper = MonomorphicHelpers.create("test", 2, LocalDateTime.class, config);
+        final LocalDateTime now = LocalDateTime.of(2020, 1, 1, 0, 0);
+        final ChronoLocalDateTime<?>[] xs = new ChronoLocalDateTime<?>[]{now.plusDays(1), now};
+        assertTrue(helper.less(now, now.plusSeconds(1)));
+        assertTrue(helper.swapConditional(xs, 0, 1));
+        assertTrue(helper.sorted(xs));
+    }
+
+    private static Config config;
+}
@@ -0,0 +1,59 @@
+package edu.neu.coe.info6205.sort;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+public class SortUniqueTest {
+
+    @Test
+    public void testMergeSort0() {
+        assertArrayEquals(new String[0], SortUnique.mergeSort(new String[0]));
+        final String[] xs = new String[]{"b", "a", "b", "c", "a"};
+        assertArrayEquals(new String[]{"a", "b", "c"}, SortUnique.mergeSort(xs));
+        assertArrayEquals(new String[]{"b", "a", "b", "c", "a"}, xs);
+    }
+
+    @Test
+    public void testMergeSortObjects() {
+        final Integer[] xs = new Integer[10000];
+        final Random random = new Random(0L);
+        for (int i = 0; i < xs.length; i++) xs[i] = random.nextInt(1000);
+        assertArrayEquals(Arrays.stream(xs).sorted().distinct().toArray(Integer[]::new), SortUnique.mergeSort(xs));
+    }
+
+    @Test
+    public void testMergeSortInts() {
+        final int[] xs = randomInts(10000, 2000, 1L);
+        assertArrayEquals(Arrays.stream(xs).sorted().distinct().toArray(), SortUnique.mergeSort(xs));
+    }
+
+    @Test
+    public void testRadixSortInts() {
+        assertArrayEquals(new int[0], SortUnique.radixSort(new int[0]));
+        final int[] xs = randomInts(10000, 2000, 2L);
+        assertArrayEquals(Arrays.stream(xs).sorted().distinct().toArray(), SortUnique.radixSort(xs));
+        final int[] ys = new int[]{Integer.MAX_VALUE, 0, Integer.MIN_VALUE, -1, 1, 0, 256, -256, 65536, Integer.MIN_VALUE, -1, 5, 6, 7, 8, 9, 10, 11, 12};
+        assertArrayEquals(Arrays.stream(ys).sorted().distinct().toArray(), SortUnique.radixSort(ys));
+    }
+
+    @Test
+    public void testRadixSortStrings() {
+        final Random random = new Random(3L);
+        final String[] xs = new String[10000];
+        for (int i = 0; i < xs.length; i++) xs[i] = "w" + Integer.toString(random.nextInt(3000), 36) + (i % 7 == 0 ? "～" : "");
+        xs[0] = "";
+        xs[1] = "";
+        assertArrayEquals(Arrays.stream(xs).sorted().distinct().toArray(String[]::new), SortUnique.radixSort(xs));
+    }
+
+    private static int[] randomInts(int n, int m, long seed) {
+        final Random random = new Random(seed);
+        final int[] result = new int[n];
+        for (int i = 0; i < n; i++) result[i] = random.nextInt(m) - m / 2;
+        return result;
+    }
+}
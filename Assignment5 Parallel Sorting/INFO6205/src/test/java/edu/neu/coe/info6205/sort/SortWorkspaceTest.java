@@ -0,0 +1,83 @@
+package edu.neu.coe.info6205.sort;
+
+import edu.neu.coe.info6205.sort.counting.LSDStringSort;
+import edu.neu.coe.info6205.sort.counting.RadixSort;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+public class SortWorkspaceTest {
+
+    @Before
+    public void before() {
+        SortWorkspace.get().clear();
+    }
+
+    @Test
+    public void testBorrow() {
+        final SortWorkspace workspace = SortWorkspace.get();
+        final String[] xs = new String[10];
+        final String[] buffer = workspace.borrow(xs, 10);
+        assertEquals(String[].class, buffer.getClass());
+        assertSame(buffer, workspace.borrow(xs, 5));
+        final Integer[] integers = workspace.borrow(new Integer[0], 5);
+        assertEquals(Integer[].class, integers.getClass());
+        assertNotSame(buffer, workspace.borrow(xs, 11));
+    }
+
+    @Test
+    public void testInit() {
+        final SortWorkspace workspace = SortWorkspace.get();
+        workspace.init(100);
+        assertEquals(100, workspace.borrowInts(1).length);
+        assertEquals(100, workspace.borrow(new String[0], 1).length);
+    }
+
+    @Test
+    public void testCounts() {
+        final SortWorkspace workspace = SortWorkspace.get();
+        final int[] counts = workspace.counts(2, 10);
+        counts[3] = 42;
+        assertSame(counts, workspace.counts(2, 10));
+        assertEquals(0, counts[3]);
+        assertNotSame(counts, workspace.counts(1, 10));
+    }
+
+    @Test
+    public void testOtherThread() throws InterruptedException {
+        final String[] buffer = SortWorkspace.get().borrow(new String[0], 10);
+        final Object[][] other = new Object[1][];
+        final Thread thread = new Thread(() -> other[0] = SortWorkspace.get().borrow(new String[0], 10));
+        thread.start();
+        thread.join();
+        assertNotSame(buffer, other[0]);
+    }
+
+    @Test
+    public void testSteadyState() throws Exception {
+        final SortWorkspace workspace = SortWorkspace.get();
+        final Random random = new Random(0L);
+        final int n = 1000;
+        final String[] words = new String[n];
+        final int[] ints = new int[n];
+        for (int i = 0; i < n; i++) {
+            words[i] = Long.toString(random.nextLong() & Long.MAX_VALUE, 36);
+            ints[i] = random.nextInt(1000000);
+        }
+        new LSDStringSort().sort(words.clone());
+        new RadixSort().sort(ints.clone(), 0, n - 1);
+        final long allocations = workspace.getAllocations();
+        for (int k = 0; k < 10; k++) {
+            final String[] xs = words.clone();
+            new LSDStringSort().sort(xs);
+            for (int i = 1; i < n; i++) assertTrue(xs[i - 1].compareTo(xs[i]) <= 0);
+            final int[] ys = ints.clone();
+            new RadixSort().sort(ys, 0, n - 1);
+            for (int i = 1; i < n; i++) assertTrue(ys[i - 1] <= ys[i]);
+        }
+        assertEquals(allocations, workspace.getAllocations());
+    }
+}
@@ -0,0 +1,44 @@
+package edu.neu.coe.info6205.sort.counting;
+
+import org.junit.Test;
+
+import java.text.Collator;
+import java.util.Arrays;
+import java.util.Locale;
+
+import static org.junit.Assert.*;
+
+public class CollationKeySortTest {
+
+    @Test
+    public void testRussian() {
+        final Locale locale = new Locale("ru");
+        final String[] xs = new String[]{"яблоко", "Ёлка", "ель", "арбуз", "Арбуз", "ёж", "жук"};
+        final String[] expected = xs.clone();
+        Arrays.sort(expected, Collator.getInstance(locale));
+        final String[] ys = new CollationKeySort(locale, false).sort(xs);
+        assertArrayEquals(expected, ys);
+        // NOTE in code point order, Ё (U+0401) precedes all the other Cyrillic letters.
+        assertNotEquals("Ёлка", ys[0]);
+    }
+
+    @Test
+    public void testChineseParallel() {
+        final Locale locale = Locale.SIMPLIFIED_CHINESE;
+        final String[] xs = new String[1000];
+        for (int i = 0; i < xs.length; i++) xs[i] = new String(Character.toChars(0x4E00 + (i * 7919) % 5000));
+        final String[] expected = xs.clone();
+        Arrays.sort(expected, Collator.getInstance(locale));
+        assertArrayEquals(expected, new CollationKeySort(locale, true).sort(xs));
+    }
+
+    @Test
+    public void testKeys() {
+        final StringArena keys = new CollationKeySort(Locale.ENGLISH, false).keys(new String[]{"b", "A", "a"});
+        assertEquals(3, keys.size());
+        keys.sort();
+        assertEquals(2, keys.original(0));
+        assertEquals(1, keys.original(1));
+        assertEquals(0, keys.original(2));
+    }
+}
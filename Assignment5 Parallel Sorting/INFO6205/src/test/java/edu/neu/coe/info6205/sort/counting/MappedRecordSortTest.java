@@ -0,0 +1,144 @@
+package edu.neu.coe.info6205.sort.counting;
+
+import edu.neu.coe.info6205.sort.SortException;
+import edu.neu.coe.info6205.util.parallel.ParallelPrimitives;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.Assert.*;
+
+public class MappedRecordSortTest {
+
+    @Test
+    public void testSort() throws IOException {
+        final byte[] bytes = records(1000, 256, 0L);
+        final Path input = write(bytes);
+        final Path output = Files.createTempFile("sorted", ".bin");
+        try {
+            new MappedRecordSort(RECORD, KEY_OFFSET, KEY).sort(input, output);
+            assertArrayEquals(expected(bytes), Files.readAllBytes(output));
+            assertArrayEquals(bytes, Files.readAllBytes(input));
+        } finally {
+            Files.delete(input);
+            Files.delete(output);
+        }
+    }
+
+    @Test
+    public void testSortExternal() throws IOException {
+        // NOTE a run size of 100 records (not a power of two) and few distinct keys, so that the merge must be stable.
+        final byte[] bytes = records(1234, 3, 1L);
+        final Path input = write(bytes);
+        final Path output = Files.createTempFile("sorted", ".bin");
+        try {
+            new MappedRecordSort(RECORD, KEY_OFFSET, KEY, 100 * RECORD + 7).sort(input, output);
+            assertArrayEquals(expected(bytes), Files.readAllBytes(output));
+        } finally {
+            Files.delete(input);
+            Files.delete(output);
+        }
+    }
+
+    @Test
+    public void testSortInPlace() throws IOException {
+        final byte[] bytes = records(500, 10, 2L);
+        final Path file = write(bytes);
+        try {
+            new MappedRecordSort(RECORD, KEY_OFFSET, KEY).sortInPlace(file);
+            assertArrayEquals(expected(bytes), Files.readAllBytes(file));
+        } finally {
+            Files.delete(file);
+        }
+    }
+
+    @Test
+    public void testSortInPlaceParallel() throws IOException {
+        // NOTE a grain of 100 records and four threads, so that the first pass is distributed in parallel.
+        final byte[] bytes = records(5000, 40, 3L);
+        final Path file = write(bytes);
+        try {
+            new MappedRecordSort(RECORD, KEY_OFFSET, KEY, MappedRecordSort.DEFAULT_RUN_SIZE, new ParallelPrimitives(new ForkJoinPool(4), 100)).sortInPlace(file);
+            assertArrayEquals(expected(bytes), Files.readAllBytes(file));
+        } finally {
+            Files.delete(file);
+        }
+    }
+
+    @Test
+    public void testIndex() {
+        final ByteBuffer buffer = ByteBuffer.wrap(new byte[]{9, 3, 0, 2, 7, 1, 0, 2, 5, 3, 1, 1});
+        // NOTE records of 4 bytes with a 2-byte key at offset 1.
+        assertArrayEquals(new int[]{1, 0, 2}, new MappedRecordSort(4, 1, 2).index(buffer, 3));
+    }
+
+    @Test(expected = SortException.class)
+    public void testPartialRecord() throws IOException {
+        final Path input = write(new byte[RECORD + 1]);
+        try {
+            new MappedRecordSort(RECORD, KEY_OFFSET, KEY).sortInPlace(input);
+        } finally {
+            Files.delete(input);
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testBadKey() {
+        new MappedRecordSort(16, 8, 9);
+    }
+
+    /**
+     * Create n records, each with a key of which only the first byte is non-zero (with distinct possible values)
+     * and a payload which begins with the record number.
+     */
+    private static byte[] records(int n, int distinct, long seed) {
+        final Random random = new Random(seed);
+        final ByteBuffer result = ByteBuffer.allocate(n * RECORD);
+        for (int i = 0; i < n; i++) {
+            final byte[] record = new byte[RECORD];
+            random.nextBytes(record);
+            Arrays.fill(record, KEY_OFFSET, KEY_OFFSET + KEY, (byte) 0);
+            record[KEY_OFFSET] = (byte) random.nextInt(distinct);
+            ByteBuffer.wrap(record).putInt(KEY_OFFSET + KEY, i);
+            result.put(record);
+        }
+        return result.array();
+    }
+
+    /**
+     * The records in stable order of their keys (as unsigned bytes).
+     */
+    private static byte[] expected(byte[] bytes) {
+        final int n = bytes.length / RECORD;
+        final byte[][] records = new byte[n][];
+        for (int i = 0; i < n; i++) records[i] = Arrays.copyOfRange(bytes, i * RECORD, (i + 1) * RECORD);
+        final Comparator<byte[]> byKey = (x, y) -> {
+            for (int k = KEY_OFFSET; k < KEY_OFFSET + KEY; k++) {
+                final int cf = (x[k] & 0xFF) - (y[k] & 0xFF);
+                if (cf != 0) return cf;
+            }
+            return 0;
+        };
+        Arrays.sort(records, byKey);
+        final ByteBuffer result = ByteBuffer.allocate(bytes.length);
+        for (byte[] record : records) result.put(record);
+        return result.array();
+    }
+
+    private static Path write(byte[] bytes) throws IOException {
+        final Path result = Files.createTempFile("records", ".bin");
+        Files.write(result, bytes);
+        return result;
+    }
+
+    private static final int RECORD = 64;
+    private static final int KEY_OFFSET = 4;
+    private static final int KEY = 16;
+}
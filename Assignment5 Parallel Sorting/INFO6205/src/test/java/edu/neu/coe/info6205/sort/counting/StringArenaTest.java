@@ -0,0 +1,98 @@
+package edu.neu.coe.info6205.sort.counting;
+
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+public class StringArenaTest {
+
+    String[] input = "she sells seashells by the seashore the shells she sells are surely seashells".split(" ");
+    String[] expected = "are by seashells seashells seashore sells sells she she shells surely the the".split(" ");
+
+    @Test
+    public void testSort() {
+        final StringArena arena = StringArena.of(input);
+        assertEquals(input.length, arena.size());
+        assertEquals("she", arena.get(0));
+        arena.sort();
+        assertArrayEquals(expected, arena.toStrings());
+        assertEquals(9, arena.distinct());
+        assertEquals("seashore", arena.get(3));
+    }
+
+    @Test
+    public void testSortLarge() {
+        final Random random = new Random(0L);
+        final int n = 10000;
+        final String[] xs = new String[n];
+        for (int i = 0; i < n; i++) xs[i] = "prefix" + Integer.toString(random.nextInt(n), 36) + (random.nextBoolean() ? "" : "é中");
+        final StringArena arena = StringArena.of(xs);
+        final StringArena copy = arena.copy();
+        arena.sort();
+        Arrays.sort(xs);
+        assertArrayEquals(xs, arena.toStrings());
+        // NOTE the copy has its own index.
+        assertNotEquals(xs[0], copy.get(0));
+    }
+
+    @Test
+    public void testCodePointOrder() {
+        // NOTE U+1F600 (a surrogate pair in UTF-16) is less than U+FF5E according to String.compareTo, but greater in code point order.
+        final String emoji = new String(Character.toChars(0x1F600));
+        final String tilde = "～";
+        assertTrue(emoji.compareTo(tilde) < 0);
+        final StringArena arena = StringArena.of(emoji, tilde, "a");
+        arena.sort();
+        assertArrayEquals(new String[]{"a", tilde, emoji}, arena.toStrings());
+        assertTrue(arena.compare(1, 2) < 0);
+    }
+
+    @Test
+    public void testReadWords() throws IOException {
+        final InputStream input = new ByteArrayInputStream("1\tThe cat, the hat.\n2\t中文 a x9y\n".getBytes(StandardCharsets.UTF_8));
+        final StringArena arena = StringArena.readWords(input, 2);
+        assertArrayEquals(new String[]{"The", "cat", "the", "hat", "中文"}, arena.toStrings());
+    }
+
+    @Test
+    public void testReadWordsNonLetters() throws IOException {
+        final InputStream input = new ByteArrayInputStream("1	\u201cQuote\u201d one\u2014two 北京\uff0c上海。 café\n".getBytes(StandardCharsets.UTF_8));
+        final StringArena arena = StringArena.readWords(input, 2);
+        assertArrayEquals(new String[]{"Quote", "one", "two", "北京", "上海", "café"}, arena.toStrings());
+    }
+
+    @Test
+    public void testHeapBytes() {
+        final StringArena arena = StringArena.of(expected);
+        assertTrue(arena.heapBytes() * 3 < StringArena.heapBytes(expected));
+    }
+
+    @Test
+    public void testWriteRead() throws IOException {
+        final StringArena arena = StringArena.of(input);
+        arena.sort();
+        arena.distinct();
+        final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        arena.write(new DataOutputStream(bytes));
+        final StringArena compact = arena.compact();
+        assertArrayEquals(arena.toStrings(), compact.toStrings());
+        assertTrue(compact.heapBytes() < arena.heapBytes());
+        final ByteBuffer buffer = ByteBuffer.wrap(bytes.toByteArray());
+        final StringArena read = StringArena.read(buffer);
+        assertFalse(buffer.hasRemaining());
+        assertArrayEquals(arena.toStrings(), read.toStrings());
+        final StringArena middle = StringArena.of("中文", "are");
+        middle.sort();
+        assertArrayEquals(new String[]{"she", "are", "中文", "by"}, StringArena.concat(StringArena.of("she"), middle, StringArena.of("by")).toStrings());
+    }
+}
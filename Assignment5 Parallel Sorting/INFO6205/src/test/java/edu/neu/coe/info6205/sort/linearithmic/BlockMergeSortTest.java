@@ -0,0 +1,105 @@
+package edu.neu.coe.info6205.sort.linearithmic;
+
+import edu.neu.coe.info6205.sort.*;
+import edu.neu.coe.info6205.util.*;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+public class BlockMergeSortTest {
+
+    @Test
+    public void testSort() throws IOException {
+        final Config config = Config.load(BlockMergeSortTest.class);
+        final Integer[] xs = randomIntegers(10_000, 100_000, 0L);
+        final Integer[] expected = xs.clone();
+        Arrays.sort(expected);
+        // NOTE buffers of none, very few and the default number (sqrt(n)) of elements.
+        for (int bufferSize : new int[]{0, 3, -1}) {
+            final Sort<Integer> s = new BlockMergeSort<>(new BaseHelper<Integer>("block merge sort", xs.length, config), bufferSize);
+            assertArrayEquals("bufferSize=" + bufferSize, expected, s.sort(xs, true));
+        }
+    }
+
+    @Test
+    public void testStable() throws IOException {
+        final Config config = Config.load(BlockMergeSortTest.class);
+        final Random random = new Random(1L);
+        final Keyed[] xs = new Keyed[5000];
+        for (int i = 0; i < xs.length; i++) xs[i] = new Keyed(random.nextInt(20), i);
+        for (int bufferSize : new int[]{0, 7, -1}) {
+            final Keyed[] ys = new BlockMergeSort<>(new BaseHelper<Keyed>("block merge sort", xs.length, config), bufferSize).sort(xs, true);
+            for (int i = 1; i < ys.length; i++) {
+                assertTrue(ys[i - 1].key <= ys[i].key);
+                if (ys[i - 1].key == ys[i].key) assertTrue("bufferSize=" + bufferSize, ys[i - 1].id < ys[i].id);
+            }
+        }
+    }
+
+    @Test
+    public void testInstrumented() throws Exception {
+        final int N = 1024;
+        final Config config = ConfigTest.setupConfig("true", "0", "1", "", "");
+        for (int bufferSize : new int[]{0, -1}) {
+            final Helper<Integer> helper = HelperFactory.create("block merge sort", N, config);
+            final Sort<Integer> s = new BlockMergeSort<>(helper, bufferSize);
+            s.init(N);
+            final Integer[] xs = helper.random(Integer.class, r -> r.nextInt(10000));
+            helper.preProcess(xs);
+            final Integer[] ys = s.sort(xs);
+            helper.postProcess(ys);
+            final StatPack statPack = (StatPack) new PrivateMethodTester(helper).invokePrivate("getStatPack");
+            final int inversions = (int) statPack.getStatistics(InstrumentedHelper.INVERSIONS).mean();
+            final int fixes = (int) statPack.getStatistics(InstrumentedHelper.FIXES).mean();
+            assertEquals("bufferSize=" + bufferSize, inversions, fixes);
+        }
+    }
+
+    @Test
+    public void testMergeSortInPlace() throws IOException {
+        final Config config = Config.load(BlockMergeSortTest.class).copy(MergeSort.MERGESORT, MergeSort.INPLACE, "true");
+        final Integer[] xs = randomIntegers(2000, 500, 2L);
+        final Integer[] expected = xs.clone();
+        Arrays.sort(expected);
+        final MergeSort<Integer> s = new MergeSort<>(xs.length, config);
+        assertTrue(s.toString().contains("in place"));
+        assertArrayEquals(expected, s.sort(xs, true));
+    }
+
+    @Test
+    public void testMergeSortBasicInPlace() throws IOException {
+        final Config config = Config.load(BlockMergeSortTest.class).copy(MergeSort.MERGESORT, MergeSort.INPLACE, "true");
+        final Integer[] xs = randomIntegers(2000, 500, 3L);
+        final Integer[] expected = xs.clone();
+        Arrays.sort(expected);
+        final MergeSortBasic<Integer> s = new MergeSortBasic<>(xs.length, config);
+        assertTrue(s.toString().contains("in place"));
+        assertArrayEquals(expected, s.sort(xs, true));
+    }
+
+    private static Integer[] randomIntegers(int n, int bound, long seed) {
+        final Random random = new Random(seed);
+        final Integer[] result = new Integer[n];
+        for (int i = 0; i < n; i++) result[i] = random.nextInt(bound);
+        return result;
+    }
+
+    private static class Keyed implements Comparable<Keyed> {
+        Keyed(int key, int id) {
+            this.key = key;
+            this.id = id;
+        }
+
+        @Override
+        public int compareTo(Keyed o) {
+            return Integer.compare(key, o.key);
+        }
+
+        final int key;
+        final int id;
+    }
+}
@@ -0,0 +1,72 @@
+package edu.neu.coe.info6205.sort.linearithmic;
+
+import edu.neu.coe.info6205.sort.Helper;
+import edu.neu.coe.info6205.sort.HelperFactory;
+import edu.neu.coe.info6205.util.Config;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+public class MergeSortLCPTest {
+
+    @BeforeClass
+    public static void beforeClass() throws IOException {
+        config = Config.load(MergeSortLCPTest.class);
+    }
+
+    @Test
+    public void testLcp() {
+        assertEquals(0, MergeSortLCP.lcp("", "abc"));
+        assertEquals(2, MergeSortLCP.lcp("abc", "abd"));
+        assertEquals(3, MergeSortLCP.lcp("abc", "abcd"));
+    }
+
+    @Test
+    public void testSort() {
+        final String[] xs = new String[]{"b", "", "ab", "a", "abc", "ab", "ba", "b"};
+        final String[] ys = new MergeSortLCP(xs.length, config).sort(xs);
+        final String[] expected = xs.clone();
+        Arrays.sort(expected);
+        assertArrayEquals(expected, ys);
+    }
+
+    @Test
+    public void testSortSharedPrefixes() {
+        final int n = 2000;
+        final String[] xs = sharedPrefixes(n, new Random(0L));
+        final Helper<String> helper = HelperFactory.create("MergeSortLCP", n, config);
+        final MergeSortLCP sorter = new MergeSortLCP(helper);
+        final String[] ys = sorter.sort(xs);
+        sorter.postProcess(ys);
+        final String[] expected = xs.clone();
+        Arrays.sort(expected);
+        assertArrayEquals(expected, ys);
+    }
+
+    @Test
+    public void testStable() {
+        // NOTE these Strings are equal but not identical.
+        final String[] xs = new String[]{new String("x"), "a", new String("x"), new String("x")};
+        final String[] ys = new MergeSortLCP(xs.length, config.copy(Config.HELPER, "cutoff", "1")).sort(xs);
+        assertSame(xs[0], ys[1]);
+        assertSame(xs[2], ys[2]);
+        assertSame(xs[3], ys[3]);
+    }
+
+    /**
+     * Create Strings which share long prefixes, like URLs.
+     */
+    static String[] sharedPrefixes(int n, Random random) {
+        final String[] result = new String[n];
+        for (int i = 0; i < n; i++)
+            result[i] = "https://www.example.com/" + "abc".charAt(random.nextInt(3)) + "/path/to/" + random.nextInt(n / 4);
+        return result;
+    }
+
+    private static Config config;
+}
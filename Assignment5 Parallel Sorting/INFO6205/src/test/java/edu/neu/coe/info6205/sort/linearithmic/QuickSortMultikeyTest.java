@@ -0,0 +1,54 @@
+package edu.neu.coe.info6205.sort.linearithmic;
+
+import edu.neu.coe.info6205.sort.Helper;
+import edu.neu.coe.info6205.sort.HelperFactory;
+import edu.neu.coe.info6205.util.Config;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+public class QuickSortMultikeyTest {
+
+    @BeforeClass
+    public static void beforeClass() throws IOException {
+        config = Config.load(QuickSortMultikeyTest.class);
+    }
+
+    @Test
+    public void testSort() {
+        final String[] xs = new String[]{"b", "", "ab", "a", "abc", "ab", "ba", "b"};
+        final String[] ys = new QuickSort_Multikey(xs.length, config.copy(Config.HELPER, "cutoff", "1")).sort(xs);
+        final String[] expected = xs.clone();
+        Arrays.sort(expected);
+        assertArrayEquals(expected, ys);
+    }
+
+    @Test
+    public void testSortSharedPrefixes() {
+        final int n = 2000;
+        final String[] xs = MergeSortLCPTest.sharedPrefixes(n, new Random(0L));
+        final Helper<String> helper = HelperFactory.create("QuickSort_Multikey", n, config);
+        final QuickSort_Multikey sorter = new QuickSort_Multikey(helper);
+        final String[] ys = sorter.sort(xs);
+        sorter.postProcess(ys);
+        final String[] expected = xs.clone();
+        Arrays.sort(expected);
+        assertArrayEquals(expected, ys);
+    }
+
+    @Test
+    public void testSortSorted() {
+        final int n = 10000;
+        final String[] xs = new String[n];
+        for (int i = 0; i < n; i++) xs[i] = String.format("%08d", i);
+        final String[] ys = new QuickSort_Multikey(n, config).sort(xs);
+        assertArrayEquals(xs, ys);
+    }
+
+    private static Config config;
+}
@@ -0,0 +1,103 @@
+package edu.neu.coe.info6205.sort.par;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.Assert.*;
+
+public class BigArraySortTest {
+
+    @Test
+    public void testLongBigArray() {
+        // NOTE segments of 16 elements, so that 100 elements span 7 segments.
+        for (LongBigArray a : new LongBigArray[]{LongBigArray.onHeap(100, 4), LongBigArray.offHeap(100, 4)}) {
+            assertEquals(100, a.length());
+            for (long i = 0; i < a.length(); i++) a.set(i, i * i);
+            assertEquals(99 * 99, a.get(99));
+            final long[] xs = new long[40];
+            a.copyTo(10, xs, 0, 40);
+            for (int i = 0; i < 40; i++) assertEquals((i + 10L) * (i + 10L), xs[i]);
+            a.copyFrom(new long[]{-1, -2, -3}, 0, 15, 3);
+            assertEquals(-3, a.get(17));
+            final LongBigArray b = a.create(50);
+            a.copyTo(14, b, 1, 20);
+            assertEquals(14 * 14, b.get(1));
+            assertEquals(-1, b.get(2));
+            assertEquals(33 * 33, b.get(20));
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testLongBigArrayBadShift() {
+        LongBigArray.onHeap(10, 28);
+    }
+
+    @Test
+    public void testMergeSort() {
+        final BigArraySort sorter = new BigArraySort(pool, 50);
+        for (LongBigArray a : arrays(10000, 0L)) {
+            final long[] expected = contents(a);
+            Arrays.sort(expected);
+            sorter.mergeSort(a);
+            assertArrayEquals(expected, contents(a));
+        }
+    }
+
+    @Test
+    public void testRadixSort() {
+        final BigArraySort sorter = new BigArraySort(pool, 50);
+        for (LongBigArray a : arrays(10000, 1L)) {
+            final long[] expected = contents(a);
+            Arrays.sort(expected);
+            sorter.radixSort(a);
+            assertTrue(BigArraySort.sorted(a));
+            assertArrayEquals(expected, contents(a));
+        }
+    }
+
+    @Test
+    public void testRadixSortSmallRange() {
+        // NOTE most of the passes are skipped here, since all but the lowest digit are the same.
+        final BigArraySort sorter = new BigArraySort(pool, 50);
+        final LongBigArray a = LongBigArray.onHeap(1000, 5);
+        final Random random = new Random(2L);
+        for (long i = 0; i < a.length(); i++) a.set(i, random.nextInt(200));
+        final long[] expected = contents(a);
+        Arrays.sort(expected);
+        sorter.radixSort(a);
+        assertArrayEquals(expected, contents(a));
+    }
+
+    @Test
+    public void testEmptyAndSingleton() {
+        final BigArraySort sorter = new BigArraySort();
+        sorter.mergeSort(LongBigArray.onHeap(0));
+        final LongBigArray a = LongBigArray.offHeap(1);
+        a.set(0, 42);
+        sorter.radixSort(a);
+        assertEquals(42, a.get(0));
+    }
+
+    private static LongBigArray[] arrays(int n, long seed) {
+        final Random random = new Random(seed);
+        final LongBigArray[] result = new LongBigArray[]{LongBigArray.onHeap(n, 7), LongBigArray.offHeap(n, 7)};
+        for (long i = 0; i < n; i++) {
+            final long x = random.nextLong();
+            for (LongBigArray a : result) a.set(i, x);
+        }
+        result[0].set(0, Long.MIN_VALUE);
+        result[1].set(1, Long.MAX_VALUE);
+        return result;
+    }
+
+    private static long[] contents(LongBigArray a) {
+        final long[] result = new long[(int) a.length()];
+        a.copyTo(0, result, 0, result.length);
+        return result;
+    }
+
+    private final ForkJoinPool pool = new ForkJoinPool(4);
+}
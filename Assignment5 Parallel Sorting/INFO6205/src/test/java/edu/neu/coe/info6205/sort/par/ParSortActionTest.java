@@ -0,0 +1,51 @@
+package edu.neu.coe.info6205.sort.par;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.Assert.*;
+
+public class ParSortActionTest {
+
+    @Test
+    public void testSort() {
+        final int[] xs = new Random(0L).ints(100_000, 0, 1000).toArray();
+        final int[] expected = xs.clone();
+        Arrays.sort(expected);
+        final ForkJoinPool pool = new ForkJoinPool(2);
+        try {
+            ParSortAction.sort(xs, 0, xs.length, 1000, pool);
+        } finally {
+            pool.shutdown();
+        }
+        assertArrayEquals(expected, xs);
+    }
+
+    @Test
+    public void testSortRange() {
+        final int[] xs = new int[]{9, 5, 4, 3, 2, 1, 0};
+        final ForkJoinPool pool = new ForkJoinPool(2);
+        try {
+            ParSortAction.sort(xs, 1, 6, 2, pool);
+        } finally {
+            pool.shutdown();
+        }
+        assertArrayEquals(new int[]{9, 1, 2, 3, 4, 5, 0}, xs);
+    }
+
+    @Test
+    public void testPoolDoesNotGrow() {
+        final int[] xs = new Random(1L).ints(200_000).toArray();
+        final ForkJoinPool pool = new ForkJoinPool(2);
+        try {
+            ParSortAction.sort(xs, 0, xs.length, 1000, pool);
+            // NOTE no worker ever blocks in a join, so the pool never adds compensation threads.
+            assertTrue(pool.getPoolSize() <= 2);
+        } finally {
+            pool.shutdown();
+        }
+    }
+}
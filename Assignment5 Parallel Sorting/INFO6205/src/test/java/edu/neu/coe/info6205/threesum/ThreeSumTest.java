@@ -1,5 +1,6 @@
 package edu.neu.coe.info6205.threesum;
 
+import edu.neu.coe.info6205.sort.SortUnique;
 import org.junit.Ignore;
 import org.junit.Test;
 
@@ -7,7 +8,7 @@ import java.util.Arrays;
 import java.util.List;
 import java.util.function.Supplier;
 
-import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.*;
 
 public class ThreeSumTest {
 
@@ -190,4 +191,14 @@ public class ThreeSumTest {
         assertEquals(expected1, triplesQuadratic.length);
     }
 
-}
\ No newline at end of file
+
+    @Test
+    public void testTripleCompareTo() {
+        // NOTE distinct triples which share x must not be deduplicated by SortUnique.
+        final Triple[] triples = new Triple[]{new Triple(-4, 1, 3), new Triple(-4, 0, 4), new Triple(-4, 1, 3), new Triple(-5, 2, 3)};
+        final Triple[] result = SortUnique.mergeSort(triples);
+        assertArrayEquals(new Triple[]{new Triple(-5, 2, 3), new Triple(-4, 0, 4), new Triple(-4, 1, 3)}, result);
+        assertEquals(0, new Triple(-4, 1, 3).compareTo(new Triple(-4, 1, 3)));
+        assertTrue(new Triple(Integer.MIN_VALUE, 0, 0).compareTo(new Triple(Integer.MAX_VALUE, 0, 0)) < 0);
+    }
+}
@@ -0,0 +1,60 @@
+package edu.neu.coe.info6205.util;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class BenchmarkResultTest {
+
+    @Test
+    public void testStatistics() {
+        final BenchmarkResult result = new BenchmarkResult("test", new double[]{5, 1, 4, 2, 3}, 2, 0);
+        assertEquals(5, result.getCount());
+        assertEquals(0, result.getRejected());
+        assertEquals(2, result.getWarmups());
+        assertEquals(3.0, result.getMean(), 1E-9);
+        assertEquals(3.0, result.getMedian(), 1E-9);
+        assertEquals(4.6, result.getP90(), 1E-9);
+        assertEquals(4.96, result.getP99(), 1E-9);
+        assertEquals(Math.sqrt(2.5), result.getStdDev(), 1E-9);
+        // NOTE t(0.975, 4) = 2.776
+        final double halfWidth = 2.776 * Math.sqrt(2.5) / Math.sqrt(5);
+        assertEquals(3.0 - halfWidth, result.getLower(), 1E-9);
+        assertEquals(3.0 + halfWidth, result.getUpper(), 1E-9);
+        assertArrayEquals(new double[]{5, 1, 4, 2, 3}, result.getLaps(), 0);
+    }
+
+    @Test
+    public void testRejectOutliers() {
+        final double[] laps = new double[]{10.1, 9.9, 10.0, 10.2, 9.8, 10.0, 55.0, 10.1, 9.9, 1.0};
+        final BenchmarkResult result = new BenchmarkResult("test", laps, 0, Benchmark_Timer.DEFAULT_OUTLIER_THRESHOLD);
+        assertEquals(2, result.getRejected());
+        assertEquals(10.0, result.getMean(), 1E-9);
+        assertEquals(10.0, result.getMedian(), 1E-9);
+        assertEquals(10, new BenchmarkResult("test", laps, 0, 0).getCount());
+    }
+
+    @Test
+    public void testDiffersFrom() {
+        final BenchmarkResult a = new BenchmarkResult("a", new double[]{10.0, 10.1, 9.9, 10.0, 10.05, 9.95}, 0, 0);
+        final BenchmarkResult b = new BenchmarkResult("b", new double[]{10.3, 10.4, 10.2, 10.3, 10.35, 10.25}, 0, 0);
+        final BenchmarkResult c = new BenchmarkResult("c", new double[]{10.0, 10.5, 9.5, 10.2, 9.8, 10.4}, 0, 0);
+        assertTrue(a.differsFrom(b));
+        assertTrue(b.differsFrom(a));
+        assertFalse(a.differsFrom(c));
+        assertTrue(a.getRelativeError() < 0.01);
+    }
+
+    @Test
+    public void testTQuantile() {
+        assertEquals(12.706, BenchmarkResult.tQuantile975(1), 1E-3);
+        assertEquals(2.042, BenchmarkResult.tQuantile975(30), 1E-3);
+        assertEquals(2.021, BenchmarkResult.tQuantile975(40), 1E-3);
+        assertEquals(1.984, BenchmarkResult.tQuantile975(100), 1E-3);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testNoLaps() {
+        new BenchmarkResult("test", new double[0], 0, 0);
+    }
+}
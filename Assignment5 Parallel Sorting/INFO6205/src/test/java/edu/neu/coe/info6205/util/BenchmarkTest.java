@@ -7,6 +7,7 @@ package edu.neu.coe.info6205.util;
 import org.junit.Test;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
 
 @SuppressWarnings("ALL")
 public class BenchmarkTest {
@@ -49,6 +50,42 @@ public class BenchmarkTest {
         }
     }
 
+    @Test
+    public void testMeasure() {
+        final Benchmark_Timer<int[]> bm = new Benchmark_Timer<int[]>("testMeasure", int[]::clone, java.util.Arrays::sort, xs -> post++)
+                .withConvergence(0.0, 20);
+        final int[] xs = new java.util.Random(0L).ints(1000).toArray();
+        final BenchmarkResult result = bm.measure(() -> xs, 30);
+        // NOTE a CV threshold of zero can never be met, so the warmup runs to its limit.
+        assertEquals(20, result.getWarmups());
+        assertEquals(30, post);
+        assertEquals(30, result.getLaps().length);
+        assertEquals(30, result.getCount() + result.getRejected());
+        assertTrue(result.getLower() <= result.getMean() && result.getMean() <= result.getUpper());
+        assertTrue(result.getMedian() <= result.getP90() && result.getP90() <= result.getP99());
+    }
+
+    @Test
+    public void testMeasureScalesWarmup() {
+        final Benchmark_Timer<int[]> bm = new Benchmark_Timer<int[]>("testMeasureScalesWarmup", int[]::clone, java.util.Arrays::sort, xs -> post++)
+                .withConvergence(0.0, 0);
+        final int[] xs = new java.util.Random(0L).ints(1000).toArray();
+        final BenchmarkResult result = bm.measure(() -> xs, 5);
+        // NOTE the warmup can never converge, so it runs to its default limit, which is no more than the number of timed runs.
+        assertEquals(Benchmark_Timer.getMaxWarmupRuns(5), result.getWarmups());
+        assertEquals(5, result.getWarmups());
+        assertEquals(5, post);
+    }
+
+    @Test
+    public void getMaxWarmupRuns() {
+        assertEquals(2, Benchmark_Timer.getMaxWarmupRuns(0));
+        assertEquals(2, Benchmark_Timer.getMaxWarmupRuns(1));
+        assertEquals(20, Benchmark_Timer.getMaxWarmupRuns(20));
+        assertEquals(100, Benchmark_Timer.getMaxWarmupRuns(100));
+        assertEquals(100, Benchmark_Timer.getMaxWarmupRuns(1000));
+    }
+
     @Test
     public void getWarmupRuns() {
         assertEquals(2, Benchmark_Timer.getWarmupRuns(0));
@@ -0,0 +1,148 @@
+package edu.neu.coe.info6205.util;
+
+import edu.neu.coe.info6205.sort.counting.StringArena;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.attribute.FileTime;
+import java.util.*;
+import java.util.jar.JarEntry;
+import java.util.jar.JarOutputStream;
+
+import static org.junit.Assert.*;
+
+public class CorpusLoaderTest {
+
+    @Test
+    public void testTokenize() {
+        final String text = "1\tThe cat, the hat; a dog.\r\n" +
+                "2\t\tdon't stop 4 words after a digit\n" +
+                "no tab here\n" +
+                "3\t中文，句子。更多\n" +
+                "4\tx-ray 𝐀 𝐀b\n";
+        final String[] expected = reference(text.split("\r\n|\r|\n"));
+        final StringArena arena = CorpusLoader.tokenize(ByteBuffer.wrap(text.getBytes(StandardCharsets.UTF_8)), 2);
+        assertArrayEquals(new String[]{"The", "cat", "the", "hat", "dog", "don", "stop", "中文", "句子", "ray", "𝐀", "𝐀b"}, arena.toStrings());
+        arena.sort();
+        arena.distinct();
+        assertArrayEquals(expected, sorted(arena.toStrings()));
+    }
+
+    @Test
+    public void testResources() throws IOException, URISyntaxException {
+        for (String resource : new String[]{"eng-uk_web_2002_10K-sentences.txt", "zho-simp-tw_web_2014_10K-sentences.txt", "rus-su_web_2015_10K-words.txt"}) {
+            final Path path = resourcePath(resource);
+            final String[] expected = reference(Files.readAllLines(path, StandardCharsets.UTF_8).toArray(new String[0]));
+            final String[] actual = CorpusLoader.words(path, 2).toStrings();
+            assertTrue(actual.length > 1000);
+            assertArrayEquals(resource, expected, sorted(actual));
+        }
+    }
+
+    @Test
+    public void testLeipzigWordsShuffled() throws IOException {
+        // NOTE the loader yields the words in order, so the collation benchmark shuffles them before timing.
+        final String[] words = SortBenchmarkHelper.loadLeipzigWords("rus-su_web_2015_10K-words.txt", new CorpusLoader(null));
+        assertArrayEquals(sorted(words), words);
+        final String[] shuffled = SortBenchmarkHelper.shuffle(words.clone(), 0L);
+        assertFalse(Arrays.equals(words, shuffled));
+        assertArrayEquals(words, sorted(shuffled));
+        assertArrayEquals(shuffled, SortBenchmarkHelper.shuffle(words.clone(), 0L));
+    }
+
+    @Test
+    public void testParallelRanges() throws IOException, URISyntaxException {
+        // NOTE the bytes are repeated so that they are tokenized in more than one range.
+        final byte[] bytes = Files.readAllBytes(resourcePath("eng-uk_web_2002_10K-sentences.txt"));
+        final int copies = (2 << 20) / bytes.length + 1;
+        final ByteBuffer buffer = ByteBuffer.allocate(bytes.length * copies);
+        for (int i = 0; i < copies; i++) buffer.put(bytes);
+        buffer.flip();
+        final StringArena whole = CorpusLoader.tokenize(bytes, 2);
+        final StringArena arena = CorpusLoader.tokenize(buffer, 2);
+        assertEquals(0, buffer.position());
+        assertEquals(copies * whole.size(), arena.size());
+        assertEquals(whole.get(whole.size() - 1), arena.get(arena.size() - 1));
+    }
+
+    @Test
+    public void testCache() throws IOException {
+        final Path directory = Files.createTempDirectory("corpus");
+        final Path source = directory.resolve("corpus.txt");
+        // NOTE the cache directory is separate from the source (and created by the loader).
+        final CorpusLoader loader = new CorpusLoader(directory.resolve("cache"));
+        final Path cache = loader.cachePath("corpus.txt");
+        try {
+            Files.write(source, "1\tthe quick brown fox\n2\tjumps over the lazy dog\n".getBytes(StandardCharsets.UTF_8));
+            final String[] expected = {"brown", "dog", "fox", "jumps", "lazy", "over", "quick", "the"};
+            assertArrayEquals(expected, loader.load(source, 2).toStrings());
+            assertTrue(Files.exists(cache));
+            assertFalse(Files.exists(source.resolveSibling("corpus.txt" + CorpusLoader.CACHE_SUFFIX)));
+            assertArrayEquals(expected, loader.load(source, 2).toStrings());
+            // NOTE the cache is keyed by the minimum length, as well as by the size and modification time of the source.
+            assertArrayEquals(new String[]{"brown", "jumps", "quick"}, loader.load(source, 5).toStrings());
+            Files.write(source, "1\tthe quick brown cat\n2\tjumps over the lazy dog\n".getBytes(StandardCharsets.UTF_8));
+            Files.setLastModifiedTime(source, FileTime.fromMillis(Files.getLastModifiedTime(source).toMillis() + 2000));
+            assertEquals("cat", loader.load(source, 2).get(1));
+            // NOTE a corrupt cache is ignored (and replaced).
+            Files.write(cache, new byte[]{1, 2, 3});
+            assertEquals("cat", loader.load(source, 2).get(1));
+            assertTrue(Files.size(cache) > 3);
+        } finally {
+            Files.deleteIfExists(cache);
+            Files.deleteIfExists(cache.getParent());
+            Files.deleteIfExists(source);
+            Files.deleteIfExists(directory);
+        }
+    }
+
+    @Test
+    public void testJarResource() throws IOException {
+        final Path jar = Files.createTempFile("corpus", ".jar");
+        try {
+            try (JarOutputStream output = new JarOutputStream(Files.newOutputStream(jar))) {
+                output.putNextEntry(new JarEntry("corpus.txt"));
+                output.write("1\tthe quick brown fox\n".getBytes(StandardCharsets.UTF_8));
+                output.closeEntry();
+            }
+            final URL url = new URL("jar:" + jar.toUri() + "!/corpus.txt");
+            final CorpusLoader loader = new CorpusLoader(null);
+            assertNull(loader.cachePath("corpus.txt"));
+            assertArrayEquals(new String[]{"brown", "fox", "quick", "the"}, loader.load(url, 2).toStrings());
+        } finally {
+            Files.deleteIfExists(jar);
+        }
+    }
+
+    @Test
+    public void testCreate() throws IOException {
+        assertNull(CorpusLoader.create(new Config(new StringReader("[corpus]\ncache =\n"))).getDirectory());
+        assertEquals(Paths.get("tmp"), CorpusLoader.create(new Config(new StringReader("[corpus]\ncache = tmp\n"))).getDirectory());
+    }
+
+    private static String[] reference(String[] lines) {
+        final Set<String> words = new HashSet<>();
+        for (String line : lines)
+            for (String word : SortBenchmarkHelper.getWords(SortBenchmark.regexLeipzig, line))
+                if (word.length() >= 2) words.add(word);
+        return sorted(words.toArray(new String[0]));
+    }
+
+    private static String[] sorted(String[] xs) {
+        final String[] result = Arrays.copyOf(xs, xs.length);
+        Arrays.sort(result);
+        return result;
+    }
+
+    private static Path resourcePath(String resource) throws URISyntaxException {
+        return Paths.get(Objects.requireNonNull(CorpusLoaderTest.class.getClassLoader().getResource(resource)).toURI());
+    }
+}
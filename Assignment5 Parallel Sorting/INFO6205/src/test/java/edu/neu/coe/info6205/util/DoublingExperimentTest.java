@@ -0,0 +1,44 @@
+package edu.neu.coe.info6205.util;
+
+import org.junit.Test;
+
+import java.util.function.Supplier;
+
+import static org.junit.Assert.*;
+
+public class DoublingExperimentTest {
+
+    @Test
+    public void testRun() {
+        // NOTE a synthetic benchmark whose "time" grows as n^3.
+        final Benchmark<Integer> benchmark = (Supplier<Integer> supplier, int m) -> 1E-9 * Math.pow(supplier.get(), 3);
+        final DoublingExperiment<Integer> experiment = new DoublingExperiment<>("cubic", benchmark, n -> () -> n);
+        final DoublingExperiment.Result result = experiment.run(100, 1, 1000);
+        final double[] ns = result.getNs();
+        assertTrue(ns.length >= 3);
+        assertEquals(100, ns[0], 0);
+        assertEquals(200, ns[1], 0);
+        assertEquals(400, ns[2], 0);
+        assertEquals(3.0, result.getFit().getExponent(), 1E-6);
+        final String report = result.report(1000000);
+        assertTrue(report.contains("projected time for n=1000000: 1000000000.000"));
+    }
+
+    @Test
+    public void testBudget() {
+        final Benchmark<Integer> benchmark = (Supplier<Integer> supplier, int m) -> {
+            final int n = supplier.get();
+            try {
+                Thread.sleep(n / 100);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return n / 100.0;
+        };
+        final DoublingExperiment.Result result = new DoublingExperiment<>("sleep", benchmark, n -> () -> n).run(100, 1, 50);
+        // NOTE sizes 100..1600 take about 31 mSec in all and size 3200 would take another 32 mSec.
+        assertTrue(result.getNs().length >= 2);
+        assertTrue(result.getNs().length <= 5);
+        assertEquals(1.0, result.getFit().getExponent(), 0.01);
+    }
+}
@@ -0,0 +1,69 @@
+package edu.neu.coe.info6205.util;
+
+import org.junit.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+public class ForkedRunnerTest {
+
+    /**
+     * The main program of a child JVM: appends two records to the default store (which, when forked, forwards them).
+     */
+    public static class Emitter {
+        public static void main(String[] args) throws IOException {
+            final ResultStore store = ResultStore.create(Config.load(Emitter.class));
+            System.out.println("hello from " + args[0]);
+            for (int i = 1; i <= 2; i++)
+                store.append(new BenchmarkRecord(Instant.now(), args[0], "i=" + i, "abc", System.getProperty("java.version"), 1, new double[]{i, i + 0.5}));
+        }
+    }
+
+    @Test
+    public void testRun() throws IOException {
+        final Path path = Files.createTempFile("forked", ".csv");
+        Files.delete(path);
+        try {
+            final ForkedRunner runner = new ForkedRunner(Collections.singletonList("-Xmx64m"), new ResultStore(path), 2);
+            final List<BenchmarkRecord> records = runner.run(Arrays.asList(
+                    new ForkedRunner.Cell("a", Emitter.class.getName(), "alpha"),
+                    new ForkedRunner.Cell("b", Emitter.class.getName(), "beta")));
+            assertEquals(4, records.size());
+            assertEquals("alpha", records.get(0).getBenchmark());
+            assertEquals("beta", records.get(3).getBenchmark());
+            assertArrayEquals(new double[]{2, 2.5}, records.get(1).getLaps(), 0);
+            assertEquals(4, new ResultStore(path).load().size());
+        } finally {
+            Files.deleteIfExists(path);
+        }
+    }
+
+    @Test
+    public void testCommand() {
+        final ForkedRunner runner = new ForkedRunner(Arrays.asList("-Xmx1g", "-XX:+UseParallelGC"), null, 2);
+        final ForkedRunner.Cell cell = new ForkedRunner.Cell("x", "Main", "1", "2");
+        final List<String> unpinned = runner.command(cell, -1, 4);
+        assertTrue(unpinned.get(0).endsWith("java"));
+        assertEquals("-Xmx1g", unpinned.get(1));
+        assertTrue(unpinned.contains("-D" + ForkedRunner.FORKED + "=true"));
+        assertEquals(Arrays.asList("Main", "1", "2"), unpinned.subList(unpinned.size() - 3, unpinned.size()));
+        final List<String> pinned = runner.command(cell, 4, 4);
+        assertEquals(Arrays.asList("taskset", "-c", "4-7"), pinned.subList(0, 3));
+        assertTrue(pinned.contains("-XX:ActiveProcessorCount=4"));
+    }
+
+    @Test
+    public void testCreate() throws IOException {
+        final Config config = Config.load(ForkedRunnerTest.class);
+        final List<String> command = ForkedRunner.create(config).command(new ForkedRunner.Cell("x", "Main"), -1, 1);
+        assertTrue(command.contains("-Xmx2g"));
+        assertTrue(command.contains("-XX:+UseParallelGC"));
+    }
+}
@@ -0,0 +1,68 @@
+package edu.neu.coe.info6205.util;
+
+import org.junit.Test;
+
+import java.time.Instant;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+public class MannWhitneyTest {
+
+    @Test
+    public void testU() {
+        assertEquals(9, MannWhitney.u(new double[]{4, 5, 6}, new double[]{1, 2, 3}), 0);
+        assertEquals(0, MannWhitney.u(new double[]{1, 2, 3}, new double[]{4, 5, 6}), 0);
+        // NOTE ties count one half.
+        assertEquals(4.5, MannWhitney.u(new double[]{1, 2, 3}, new double[]{1, 2, 3}), 0);
+    }
+
+    @Test
+    public void testPhi() {
+        assertEquals(0.5, MannWhitney.phi(0), 1E-7);
+        assertEquals(0.975, MannWhitney.phi(1.959964), 1E-6);
+        assertEquals(0.025, MannWhitney.phi(-1.959964), 1E-6);
+    }
+
+    @Test
+    public void testPGreater() {
+        final double[] baseline = sample(30, 100, 0L);
+        final double[] slower = sample(30, 103, 1L);
+        final double[] same = sample(30, 100, 2L);
+        assertTrue(MannWhitney.pGreater(baseline, slower) < 0.01);
+        assertTrue(MannWhitney.pGreater(slower, baseline) > 0.99);
+        assertTrue(MannWhitney.pGreater(baseline, same) > 0.01);
+        assertTrue(MannWhitney.pTwoSided(baseline, slower) < 0.02);
+        assertEquals(1.0, MannWhitney.pGreater(new double[0], slower), 0);
+    }
+
+    @Test
+    public void testComparison() {
+        final List<BenchmarkRecord> baseline = Collections.singletonList(record("sort", sample(30, 100, 3L)));
+        final List<BenchmarkRecord> slower = Collections.singletonList(record("sort", sample(30, 103, 4L)));
+        final List<ResultComparison.Comparison> comparisons = ResultComparison.compare(baseline, slower, ResultComparison.DEFAULT_ALPHA, ResultComparison.DEFAULT_THRESHOLD);
+        assertEquals(1, comparisons.size());
+        assertTrue(comparisons.get(0).isRegression());
+        assertEquals(0.03, comparisons.get(0).getChange(), 0.01);
+        assertFalse(ResultComparison.compare(slower, baseline, 0.01, 0.02).get(0).isRegression());
+        // NOTE a significant but small change is not a regression.
+        assertFalse(ResultComparison.compare(baseline, slower, 0.01, 0.1).get(0).isRegression());
+        assertTrue(ResultComparison.compare(baseline, Collections.singletonList(record("other", sample(5, 1, 5L))), 0.01, 0.02).isEmpty());
+    }
+
+    private static BenchmarkRecord record(String benchmark, double[] laps) {
+        return new BenchmarkRecord(Instant.now(), benchmark, "n=1000", "c", "1.8", 1, laps);
+    }
+
+    /**
+     * Lap times with the given median and about 0.5% noise.
+     */
+    private static double[] sample(int n, double median, long seed) {
+        final Random random = new Random(seed);
+        final double[] result = new double[n];
+        for (int i = 0; i < n; i++) result[i] = median * (1 + 0.005 * random.nextGaussian());
+        return result;
+    }
+}
@@ -0,0 +1,61 @@
+package edu.neu.coe.info6205.util;
+
+import org.junit.Test;
+
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+public class PowerLawFitTest {
+
+    @Test
+    public void testExactFit() {
+        final double[] ns = {1000, 2000, 4000, 8000};
+        final double[] ts = new double[ns.length];
+        for (int i = 0; i < ns.length; i++) ts[i] = 3E-6 * ns[i] * ns[i];
+        final PowerLawFit fit = new PowerLawFit(ns, ts);
+        assertEquals(2.0, fit.getExponent(), 1E-9);
+        assertEquals(3E-6, fit.getCoefficient(), 1E-15);
+        assertEquals(1.0, fit.getRSquared(), 1E-9);
+        assertEquals(2.0, fit.getExponentLower(), 1E-6);
+        assertEquals(2.0, fit.getExponentUpper(), 1E-6);
+        assertEquals(3E6, fit.project(1000000), 1E-3);
+    }
+
+    @Test
+    public void testNoisyFit() {
+        final Random random = new Random(0L);
+        final double[] ns = new double[8];
+        final double[] ts = new double[ns.length];
+        for (int i = 0; i < ns.length; i++) {
+            ns[i] = 250 << i;
+            ts[i] = 1E-3 * Math.pow(ns[i], 1.5) * (1 + 0.05 * random.nextGaussian());
+        }
+        final PowerLawFit fit = new PowerLawFit(ns, ts);
+        assertEquals(1.5, fit.getExponent(), 0.05);
+        assertTrue(fit.getExponentLower() < 1.5 && fit.getExponentUpper() > 1.5);
+        assertTrue(fit.getExponentLower() < fit.getExponent() && fit.getExponent() < fit.getExponentUpper());
+        final double projected = fit.project(1E7);
+        assertTrue(fit.projectLower(1E7) < projected && projected < fit.projectUpper(1E7));
+        // NOTE the bounds widen with the distance of the projection from the measured sizes.
+        assertTrue(fit.projectUpper(1E7) / projected > fit.projectUpper(2000) / fit.project(2000));
+    }
+
+    @Test
+    public void testTwoPoints() {
+        final PowerLawFit fit = new PowerLawFit(new double[]{100, 200}, new double[]{1, 4});
+        assertEquals(2.0, fit.getExponent(), 1E-9);
+        assertEquals(Double.NEGATIVE_INFINITY, fit.getExponentLower(), 0);
+        assertEquals(Double.POSITIVE_INFINITY, fit.getExponentUpper(), 0);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testOnePoint() {
+        new PowerLawFit(new double[]{100}, new double[]{1});
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testNonPositive() {
+        new PowerLawFit(new double[]{100, 200}, new double[]{1, 0});
+    }
+}
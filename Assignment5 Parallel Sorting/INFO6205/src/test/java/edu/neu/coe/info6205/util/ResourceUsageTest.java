@@ -0,0 +1,57 @@
+package edu.neu.coe.info6205.util;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class ResourceUsageTest {
+
+    @Test
+    public void testAllocation() {
+        final ResourceUsage resourceUsage = new ResourceUsage();
+        for (int i = 0; i < 4; i++) {
+            resourceUsage.begin();
+            sink = new int[250_000];
+            resourceUsage.end();
+        }
+        assertEquals(4, resourceUsage.getLaps());
+        final double bytes = resourceUsage.meanAllocatedBytes();
+        if (ResourceUsage.allocatedBytes() >= 0) assertEquals(1_000_000, bytes, 10_000);
+        else assertTrue(bytes < 0);
+        assertTrue(resourceUsage.format(250_000).contains("bytes/element"));
+    }
+
+    @Test
+    public void testCpuTime() {
+        final ResourceUsage resourceUsage = new ResourceUsage();
+        resourceUsage.begin();
+        long x = 0;
+        for (int i = 0; i < 10_000_000; i++) x += i ^ x;
+        sink = new long[]{x};
+        resourceUsage.end();
+        assertTrue(resourceUsage.meanWallTime() > 0);
+        final double cpu = resourceUsage.meanCpuTime();
+        // NOTE CPU time cannot (meaningfully) exceed wall time for a single thread, but its granularity may be coarse.
+        assertTrue(cpu <= resourceUsage.meanWallTime() + 20);
+    }
+
+    @Test
+    public void testGc() {
+        final ResourceUsage resourceUsage = new ResourceUsage();
+        resourceUsage.begin();
+        System.gc();
+        resourceUsage.end();
+        assertTrue(resourceUsage.getGcCount() >= 0);
+        assertTrue(resourceUsage.gcShare() >= 0);
+    }
+
+    @Test
+    public void testEmpty() {
+        final ResourceUsage resourceUsage = new ResourceUsage();
+        assertEquals(0, resourceUsage.getLaps());
+        assertEquals(0, resourceUsage.meanWallTime(), 0);
+        assertEquals(0, resourceUsage.gcShare(), 0);
+    }
+
+    private static Object sink;
+}
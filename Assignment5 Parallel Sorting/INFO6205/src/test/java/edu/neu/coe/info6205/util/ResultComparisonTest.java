@@ -0,0 +1,60 @@
+package edu.neu.coe.info6205.util;
+
+import org.junit.Test;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+public class ResultComparisonTest {
+
+    @Test
+    public void testComparePooled() {
+        final List<BenchmarkRecord> baseline = Collections.singletonList(record("17", 4, 10, 10));
+        final List<BenchmarkRecord> candidate = Collections.singletonList(record("17", 4, 12, 10));
+        final List<ResultComparison.Comparison> comparisons = ResultComparison.compare(baseline, candidate, 0.01, 0.02);
+        assertEquals(1, comparisons.size());
+        final ResultComparison.Comparison comparison = comparisons.get(0);
+        assertTrue(comparison.isPooled());
+        assertTrue(comparison.isRegression());
+        assertTrue(comparison.toString().endsWith("(laps pooled)"));
+    }
+
+    @Test
+    public void testComparePerRecord() {
+        final List<BenchmarkRecord> baseline = new ArrayList<>();
+        final List<BenchmarkRecord> candidate = new ArrayList<>();
+        for (int i = 0; i < ResultComparison.MIN_RECORDS; i++) {
+            baseline.add(record("17", 4, 10 + i * 0.01, 10));
+            candidate.add(record("17", 4, 12 + i * 0.01, 10));
+        }
+        final ResultComparison.Comparison comparison = ResultComparison.compare(baseline, candidate, 0.01, 0.02).get(0);
+        assertFalse(comparison.isPooled());
+        // NOTE the median of the median laps (each of which is x + 0.0045).
+        assertEquals(10.0245, comparison.getBaselineMedian(), 1E-9);
+        assertEquals(12.0245, comparison.getCandidateMedian(), 1E-9);
+        // NOTE five runs against five, every candidate slower: p is close to the minimum (1/252), which is below alpha.
+        assertTrue(comparison.isRegression());
+        // NOTE with only five samples each (rather than fifty pooled laps) a stricter alpha cannot be met.
+        assertFalse(ResultComparison.compare(baseline, candidate, 0.001, 0.02).get(0).isRegression());
+    }
+
+    @Test
+    public void testCompareDifferentEnvironments() {
+        final List<BenchmarkRecord> baseline = Collections.singletonList(record("17", 4, 10, 10));
+        assertTrue(ResultComparison.compare(baseline, Collections.singletonList(record("21", 4, 12, 10)), 0.01, 0.02).isEmpty());
+        assertTrue(ResultComparison.compare(baseline, Collections.singletonList(record("17", 8, 12, 10)), 0.01, 0.02).isEmpty());
+    }
+
+    /**
+     * A record of benchmark "sort" with n laps, slightly spread around x.
+     */
+    private static BenchmarkRecord record(String jdk, int cpus, double x, int n) {
+        final double[] laps = new double[n];
+        for (int i = 0; i < n; i++) laps[i] = x + i * 0.001;
+        return new BenchmarkRecord(Instant.now(), "sort", "n=1000", "c1", jdk, cpus, laps);
+    }
+}
@@ -0,0 +1,74 @@
+package edu.neu.coe.info6205.util;
+
+import org.junit.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.Assert.*;
+
+public class ResultStoreTest {
+
+    @Test
+    public void testRoundTrip() {
+        final BenchmarkRecord record = new BenchmarkRecord(Instant.parse("2020-01-02T03:04:05Z"), "sort, \"quoted\"", "n=10;shape=random", "abc1234", "1.8.0_292", 8, new double[]{1.5, 2.25, 3.0});
+        final BenchmarkRecord copy = BenchmarkRecord.parse(record.toCsv());
+        assertEquals(record.getTimestamp(), copy.getTimestamp());
+        assertEquals("sort, \"quoted\"", copy.getBenchmark());
+        assertEquals(record.getKey(), copy.getKey());
+        assertEquals("abc1234", copy.getCommit());
+        assertEquals("1.8.0_292", copy.getJdk());
+        assertEquals(8, copy.getCpus());
+        assertArrayEquals(record.getLaps(), copy.getLaps(), 0);
+    }
+
+    @Test
+    public void testFormatParams() {
+        final Map<String, Object> params = new HashMap<>();
+        params.put("shape", "random");
+        params.put("n", 1000);
+        assertEquals("n=1000;shape=random", BenchmarkRecord.formatParams(params));
+        final BenchmarkRecord record = BenchmarkRecord.create("sort", params, new double[]{1});
+        assertEquals("sort{n=1000;shape=random}", record.getKey());
+        assertEquals(Runtime.getRuntime().availableProcessors(), record.getCpus());
+        assertNotNull(record.getCommit());
+    }
+
+    @Test
+    public void testAppendAndLoad() throws IOException {
+        final Path path = Files.createTempDirectory("results").resolve("results.csv");
+        final ResultStore store = new ResultStore(path);
+        assertTrue(store.load().isEmpty());
+        store.append(new BenchmarkRecord(Instant.now(), "a", "", "c1", "11", 4, new double[]{1, 2}));
+        store.append(new BenchmarkRecord(Instant.now(), "b", "n=1", "c2", "11", 4, new double[]{3}));
+        final List<String> lines = Files.readAllLines(path);
+        assertEquals(BenchmarkRecord.HEADER, lines.get(0));
+        assertEquals(3, lines.size());
+        final List<BenchmarkRecord> records = store.load();
+        assertEquals(2, records.size());
+        assertEquals("a", records.get(0).getKey());
+        assertEquals("b{n=1}", records.get(1).getKey());
+        assertEquals(1, store.load(r -> r.getCommit().equals("c2")).size());
+        Files.write(path, "garbage\n".getBytes(), java.nio.file.StandardOpenOption.APPEND);
+        assertEquals(2, store.load().size());
+    }
+
+    @Test
+    public void testCreate() throws IOException {
+        final Config config = Config.load(ResultStoreTest.class);
+        assertNull(ResultStore.create(config));
+        final ResultStore store = ResultStore.create(config.copy(ResultStore.RESULTS, ResultStore.STORE, "target/results.csv"));
+        assertNotNull(store);
+        assertEquals("results.csv", store.getPath().getFileName().toString());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testParseMalformed() {
+        BenchmarkRecord.parse("2020-01-02T03:04:05Z,a,b");
+    }
+}
@@ -3,6 +3,10 @@ package edu.neu.coe.info6205.util;
 import org.junit.Before;
 import org.junit.Test;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
 import static org.junit.Assert.*;
 
 public class TimerTest {
@@ -107,6 +111,19 @@ public class TimerTest {
         assertEquals(0, post);
     }
 
+    @Test
+    public void testRepeatWithResources() {
+        final Timer timer = new Timer(true);
+        timer.repeat(5, () -> 1000, n -> new long[n], null, xs -> post++);
+        final ResourceUsage resourceUsage = timer.getResourceUsage();
+        assertEquals(5, resourceUsage.getLaps());
+        assertEquals(5, post);
+        // NOTE each lap allocates an array of 1000 longs (unless allocation is not measurable, in which case the mean is negative).
+        final double bytes = resourceUsage.meanAllocatedBytes();
+        assertTrue(bytes < 0 || bytes >= 8000);
+        assertNull(new Timer().getResourceUsage());
+    }
+
     @Test
     public void testRepeat2() {
         final Timer timer = new Timer();
@@ -140,6 +157,24 @@ public class TimerTest {
         assertEquals(10, post);
     }
 
+    @Test
+    public void testRepeatUsesResultOfPreFunction() {
+        final Timer timer = new Timer();
+        final int[] xs = new int[]{3, 1, 2};
+        final List<int[]> timed = new ArrayList<>();
+        timer.repeat(3, () -> xs, ys -> {
+            Arrays.sort(ys);
+            return timed.add(ys);
+        }, ys -> Arrays.copyOf(ys, ys.length), null);
+        // NOTE each lap sorts its own copy, so the supplied array is never sorted (and each lap sees unsorted input).
+        assertArrayEquals(new int[]{3, 1, 2}, xs);
+        assertEquals(3, timed.size());
+        for (int[] ys : timed) {
+            assertNotSame(xs, ys);
+            assertArrayEquals(new int[]{1, 2, 3}, ys);
+        }
+    }
+
     int pre = 0;
     int run = 0;
     int post = 0;
@@ -0,0 +1,110 @@
+package edu.neu.coe.info6205.util.parallel;
+
+import edu.neu.coe.info6205.util.Config;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.Assert.*;
+
+public class ParallelPrimitivesTest {
+
+    @Test
+    public void testBlocks() {
+        assertEquals(1, parallel.blocks(0));
+        assertEquals(1, parallel.blocks(100));
+        assertEquals(2, parallel.blocks(101));
+        assertEquals(16, parallel.blocks(1_000_000));
+        assertTrue(parallel.worthwhile(200));
+        assertFalse(parallel.worthwhile(199));
+    }
+
+    @Test
+    public void testExclusiveScan() {
+        final int[] xs = randomInts(10_001, 10, 0L);
+        final int[] expected = new int[xs.length];
+        for (int i = 1; i < xs.length; i++) expected[i] = expected[i - 1] + xs[i - 1];
+        final int total = expected[xs.length - 1] + xs[xs.length - 1];
+        assertEquals(total, parallel.exclusiveScan(xs, 0, xs.length));
+        assertArrayEquals(expected, xs);
+    }
+
+    @Test
+    public void testInclusiveScan() {
+        final int[] xs = randomInts(5000, 10, 1L);
+        final int[] expected = xs.clone();
+        Arrays.parallelPrefix(expected, 100, 4900, Integer::sum);
+        parallel.inclusiveScan(xs, 100, 4900);
+        assertArrayEquals(expected, xs);
+    }
+
+    @Test
+    public void testExclusiveScanLongs() {
+        final long[] xs = new long[3000];
+        Arrays.fill(xs, 1L << 40);
+        assertEquals(3000L << 40, parallel.exclusiveScan(xs, 0, xs.length));
+        assertEquals(0L, xs[0]);
+        assertEquals(2999L << 40, xs[2999]);
+    }
+
+    @Test
+    public void testHistogram() {
+        final int[] xs = randomInts(10_000, 37, 2L);
+        final int[] expected = new int[37];
+        for (int x : xs) expected[x]++;
+        assertArrayEquals(expected, parallel.histogram(0, xs.length, i -> xs[i], 37));
+    }
+
+    @Test
+    public void testScatterIsStable() {
+        final Integer[] xs = new Integer[10_000];
+        final Random random = new Random(3L);
+        for (int i = 0; i < xs.length; i++) xs[i] = random.nextInt(1000);
+        final Integer[] dst = new Integer[xs.length + 5];
+        final int[] starts = parallel.scatter(xs, 0, xs.length, i -> xs[i] % 10, 10, dst, 5);
+        assertEquals(0, starts[0]);
+        assertEquals(xs.length, starts[10]);
+        final Integer[] expected = Arrays.stream(xs).sorted((x, y) -> Integer.compare(x % 10, y % 10)).toArray(Integer[]::new);
+        assertArrayEquals(expected, Arrays.copyOfRange(dst, 5, dst.length));
+        for (int r = 0; r < 10; r++)
+            for (int i = starts[r]; i < starts[r + 1]; i++) assertEquals(r, dst[i + 5] % 10);
+    }
+
+    @Test
+    public void testScatterInts() {
+        final int[] xs = randomInts(3000, 1 << 16, 4L);
+        final int[] dst = new int[xs.length];
+        parallel.scatter(xs, 0, xs.length, i -> xs[i] >>> 8, 256, dst, 0);
+        for (int i = 1; i < dst.length; i++) assertTrue(dst[i - 1] >>> 8 <= dst[i] >>> 8);
+    }
+
+    @Test
+    public void testPack() {
+        final int[] xs = randomInts(10_000, 100, 5L);
+        assertArrayEquals(Arrays.stream(xs).filter(x -> x < 10).toArray(), parallel.pack(xs, 0, xs.length, x -> x < 10));
+        final String[] ys = new String[]{"a", "bb", "c", "dd", "eee"};
+        assertArrayEquals(new String[]{"bb", "dd"}, parallel.pack(ys, 0, ys.length, y -> y.length() == 2));
+        assertEquals(0, parallel.pack(ys, 2, 2, y -> true).length);
+    }
+
+    @Test
+    public void testCreate() throws IOException {
+        final Config config = Config.load(getClass());
+        final ParallelPrimitives primitives = ParallelPrimitives.create(config.copy(ParallelPrimitives.PARALLEL, "threads", "3"));
+        assertEquals(3, primitives.getPool().getParallelism());
+        assertEquals(ParallelPrimitives.DEFAULT_GRAIN, primitives.getGrain());
+        primitives.getPool().shutdown();
+    }
+
+    private static int[] randomInts(int n, int bound, long seed) {
+        final Random random = new Random(seed);
+        final int[] result = new int[n];
+        for (int i = 0; i < n; i++) result[i] = random.nextInt(bound);
+        return result;
+    }
+
+    private final ParallelPrimitives parallel = new ParallelPrimitives(new ForkJoinPool(4), 100);
+}
@@ -0,0 +1,60 @@
+package edu.neu.coe.info6205.util.parallel;
+
+import edu.neu.coe.info6205.util.Utilities;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.Assert.*;
+
+public class ParallelRandomTest {
+
+    @Test
+    public void testIntsDeterministic() {
+        final int n = 5 * ParallelRandom.CHUNK + 17;
+        final int[] xs = ParallelRandom.ints(n, 42L);
+        assertArrayEquals(xs, ParallelRandom.ints(n, 42L));
+        assertFalse(Arrays.equals(xs, ParallelRandom.ints(n, 43L)));
+        // NOTE the result does not depend on the number of threads.
+        final int[] ys = new ForkJoinPool(1).submit(() -> ParallelRandom.ints(n, 42L)).join();
+        assertArrayEquals(xs, ys);
+        // NOTE the chunks are not copies of one another.
+        assertNotEquals(xs[0], xs[ParallelRandom.CHUNK]);
+    }
+
+    @Test
+    public void testIntsBounded() {
+        final int[] xs = ParallelRandom.ints(3 * ParallelRandom.CHUNK, -5, 5, 0L);
+        for (int x : xs) assertTrue(x >= -5 && x < 5);
+        assertEquals(10, Arrays.stream(xs).distinct().count());
+    }
+
+    @Test
+    public void testLongsAndIntegers() {
+        final int n = 2 * ParallelRandom.CHUNK + 1;
+        assertArrayEquals(ParallelRandom.longs(n, 1L), ParallelRandom.longs(n, 1L));
+        final Integer[] xs = ParallelRandom.integers(n, 1L);
+        assertEquals(n, xs.length);
+        assertNotNull(xs[n - 1]);
+    }
+
+    @Test
+    public void testFillSmallMatchesRandom() {
+        // NOTE arrays of no more than CHUNK elements are filled sequentially from the given Random, just as by fillRandomArray.
+        final Integer[] expected = Utilities.fillRandomArray(Integer.class, new Random(7L), 1000, r -> r.nextInt(100));
+        assertArrayEquals(expected, ParallelRandom.fill(Integer.class, 1000, new Random(7L), r -> r.nextInt(100)));
+        final Random random = new Random(7L);
+        final int[] ints = ParallelRandom.ints(1000, -50, 50, new Random(7L));
+        for (int i = 0; i < 1000; i++) assertEquals(random.nextInt(100) - 50, ints[i]);
+    }
+
+    @Test
+    public void testFillLarge() {
+        final int n = 3 * ParallelRandom.CHUNK;
+        final String[] xs = ParallelRandom.fill(String.class, n, new Random(7L), r -> Integer.toString(r.nextInt(1000)));
+        assertArrayEquals(xs, ParallelRandom.fill(String.class, n, new Random(7L), r -> Integer.toString(r.nextInt(1000))));
+        for (String x : xs) assertNotNull(x);
+    }
+}
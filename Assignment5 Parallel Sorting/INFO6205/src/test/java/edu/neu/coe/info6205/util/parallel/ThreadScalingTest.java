@@ -0,0 +1,73 @@
+package edu.neu.coe.info6205.util.parallel;
+
+import edu.neu.coe.info6205.util.BenchmarkRecord;
+import org.junit.Test;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.Assert.*;
+
+public class ThreadScalingTest {
+
+    @Test
+    public void testThreadCounts() {
+        assertArrayEquals(new int[]{1}, ThreadScaling.threadCounts(1));
+        assertArrayEquals(new int[]{1, 2, 4, 8}, ThreadScaling.threadCounts(8));
+        assertArrayEquals(new int[]{1, 2, 4, 6}, ThreadScaling.threadCounts(6));
+    }
+
+    @Test
+    public void testFromRecords() {
+        // NOTE with a serial fraction of 0.1, Amdahl's law gives T(p) = 100 * (0.1 + 0.9 / p).
+        final List<BenchmarkRecord> records = new ArrayList<>();
+        for (int p : new int[]{4, 1, 2}) {
+            final double t = 100 * (0.1 + 0.9 / p);
+            records.add(new BenchmarkRecord(Instant.now(), "test", "n=1000;threads=" + p, "abc", "1.8", 4, new double[]{t, t, t}));
+        }
+        records.add(new BenchmarkRecord(Instant.now(), "test", "n=1000", "abc", "1.8", 4, new double[]{1}));
+        final List<ThreadScaling.Point> points = ThreadScaling.fromRecords(records);
+        assertEquals(3, points.size());
+        assertEquals(1, points.get(0).getThreads());
+        assertEquals(1.0, points.get(0).getSpeedup(), 1E-9);
+        assertTrue(Double.isNaN(points.get(0).getKarpFlatt()));
+        final ThreadScaling.Point p4 = points.get(2);
+        assertEquals(4, p4.getThreads());
+        assertEquals(1 / 0.325, p4.getSpeedup(), 1E-9);
+        assertEquals(1 / 0.325 / 4, p4.getEfficiency(), 1E-9);
+        assertEquals(0.1, p4.getKarpFlatt(), 1E-9);
+        assertEquals(0.1, points.get(1).getKarpFlatt(), 1E-9);
+        assertTrue(ThreadScaling.report(points).startsWith("threads\t"));
+    }
+
+    @Test
+    public void testFromRecordsWithoutOneThread() {
+        final List<BenchmarkRecord> records = new ArrayList<>();
+        records.add(new BenchmarkRecord(Instant.now(), "test", "threads=2", "abc", "1.8", 4, new double[]{1}));
+        assertTrue(ThreadScaling.fromRecords(records).isEmpty());
+    }
+
+    @Test
+    public void testRun() {
+        final List<ForkJoinPool> pools = new ArrayList<>();
+        final ThreadScaling<int[]> scaling = new ThreadScaling<>("sort", pool -> {
+            pools.add(pool);
+            return xs -> pool.submit(() -> Arrays.parallelSort(xs)).join();
+        });
+        final int[] xs = new int[10000];
+        for (int i = 0; i < xs.length; i++) xs[i] = xs.length - i;
+        final List<ThreadScaling.Point> points = scaling.run(xs, int[]::clone, 3, 2);
+        assertEquals(2, points.size());
+        assertEquals(2, points.get(1).getThreads());
+        assertEquals(2, pools.size());
+        assertEquals(1, pools.get(0).getParallelism());
+        assertEquals(2, pools.get(1).getParallelism());
+        assertTrue(pools.get(0).isShutdown());
+        assertTrue(pools.get(1).isShutdown());
+        // NOTE the input itself is never sorted (each run sorts a clone).
+        assertEquals(xs.length, xs[0]);
+    }
+}
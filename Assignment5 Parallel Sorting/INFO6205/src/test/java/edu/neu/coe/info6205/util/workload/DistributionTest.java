@@ -0,0 +1,64 @@
+package edu.neu.coe.info6205.util.workload;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+public class DistributionTest {
+
+    @Test
+    public void testSortedAndReverse() {
+        assertArrayEquals(new int[]{0, 1, 2, 3, 4}, Distribution.SORTED.generate(5, 0, new Random(0L)));
+        assertArrayEquals(new int[]{4, 3, 2, 1, 0}, Distribution.REVERSE.generate(5, 0, new Random(0L)));
+    }
+
+    @Test
+    public void testOrganPipe() {
+        assertArrayEquals(new int[]{0, 2, 4, 5, 3, 1}, Distribution.ORGAN_PIPE.generate(6, 0, new Random(0L)));
+        assertArrayEquals(new int[]{0, 2, 4, 3, 1}, Distribution.ORGAN_PIPE.generate(5, 0, new Random(0L)));
+    }
+
+    @Test
+    public void testSawtoothAndStaggered() {
+        assertArrayEquals(new int[]{0, 1, 2, 0, 1, 2, 0}, Distribution.SAWTOOTH.generate(7, 3, new Random(0L)));
+        assertArrayEquals(new int[]{0, 4, 1, 5, 2, 6, 3}, Distribution.STAGGERED.generate(7, 3, new Random(0L)));
+    }
+
+    @Test
+    public void testNearlySorted() {
+        final int[] xs = Distribution.NEARLY_SORTED.generate(10000, 10, new Random(0L));
+        int displaced = 0;
+        for (int i = 0; i < xs.length; i++) if (xs[i] != i) displaced++;
+        assertTrue(displaced > 0 && displaced <= 20);
+        Arrays.sort(xs);
+        for (int i = 0; i < xs.length; i++) assertEquals(i, xs[i]);
+    }
+
+    @Test
+    public void testFewUnique() {
+        final int[] xs = Distribution.FEW_UNIQUE.generate(10000, 4, new Random(0L));
+        assertEquals(4, Arrays.stream(xs).distinct().count());
+    }
+
+    @Test
+    public void testZipfian() {
+        final int n = 100000;
+        final int[] xs = Distribution.ZIPFIAN.generate(n, 1.0, new Random(0L));
+        final int[] counts = new int[n];
+        for (int x : xs) counts[x]++;
+        Arrays.sort(counts);
+        // NOTE with s = 1 and 100,000 values, the most frequent value has probability 1/H(100000), i.e. about 8%.
+        assertEquals(0.083, counts[n - 1] / (double) n, 0.01);
+        assertEquals(0.042, counts[n - 2] / (double) n, 0.01);
+    }
+
+    @Test
+    public void testDeterministic() {
+        for (Distribution distribution : Distribution.values())
+            assertArrayEquals(distribution.name(), distribution.generate(1000, distribution.defaultParameter(1000), new Random(42L)),
+                    distribution.generate(1000, distribution.defaultParameter(1000), new Random(42L)));
+    }
+}
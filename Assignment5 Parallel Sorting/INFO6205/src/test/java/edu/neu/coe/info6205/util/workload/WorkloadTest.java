@@ -0,0 +1,70 @@
+package edu.neu.coe.info6205.util.workload;
+
+import edu.neu.coe.info6205.util.Config;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.function.Supplier;
+
+import static org.junit.Assert.*;
+
+public class WorkloadTest {
+
+    @Test
+    public void testTypesPreserveOrder() {
+        final Workload workload = new Workload(Distribution.UNIFORM, 0L);
+        final int n = 1000;
+        final int[] xs = workload.ints(n);
+        final long[] ys = workload.longs(n);
+        final String[] ss = workload.strings(n);
+        final LocalDateTime[] ds = workload.localDateTimes(n);
+        final Integer[] is = workload.integers(n);
+        for (int i = 1; i < n; i++) {
+            final int c = Integer.compare(xs[i - 1], xs[i]);
+            assertEquals(c, Long.compare(ys[i - 1], ys[i]));
+            assertEquals(c, Integer.signum(ss[i - 1].compareTo(ss[i])));
+            assertEquals(c, Integer.signum(ds[i - 1].compareTo(ds[i])));
+            assertEquals(xs[i], is[i].intValue());
+        }
+        assertEquals(3, ss[0].length());
+        assertEquals(xs[1] * Workload.LONG_SCALE, ys[1]);
+    }
+
+    @Test
+    public void testCreate() throws IOException {
+        final Config config = new Config(new StringReader("[workload]\ndistributions = sorted, nearly-sorted,zipfian\nparameter =\nseed = 1\ncache =\n"));
+        final List<Workload> workloads = Workload.create(config);
+        assertEquals(3, workloads.size());
+        assertEquals(Distribution.NEARLY_SORTED, workloads.get(1).getDistribution());
+        assertEquals(10, workloads.get(1).getParameter(1000), 0);
+        assertTrue(Workload.create(new Config(new StringReader("[workload]\ndistributions =\n"))).isEmpty());
+    }
+
+    @Test
+    public void testCache() throws IOException {
+        final Path directory = Files.createTempDirectory("workload");
+        try {
+            final WorkloadCache cache = new WorkloadCache(directory);
+            final Workload workload = new Workload(Distribution.ZIPFIAN, Double.NaN, 3L, cache, 100);
+            final int[] expected = new Workload(Distribution.ZIPFIAN, 3L).ints(1000);
+            assertArrayEquals(expected, workload.ints(1000));
+            assertEquals(1, Files.list(directory).count());
+            // NOTE the second call is served from the cache, so the generator is not called.
+            final Supplier<int[]> generator = () -> {
+                throw new AssertionError("generator called");
+            };
+            assertArrayEquals(expected, cache.ints(Files.list(directory).findFirst().get().getFileName().toString().replace(".ints", ""), 1000, generator));
+            // NOTE small datasets are not cached.
+            workload.ints(10);
+            assertEquals(1, Files.list(directory).count());
+        } finally {
+            for (Path path : (Iterable<Path>) Files.list(directory)::iterator) Files.delete(path);
+            Files.delete(directory);
+        }
+    }
+}